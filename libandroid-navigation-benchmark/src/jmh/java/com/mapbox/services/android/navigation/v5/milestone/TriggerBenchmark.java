@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkFixtures;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluating milestone triggers for an update which doesn't trigger them, which is the common case.
+ * <p>
+ * {@link TriggerProperty#getSparseArray(RouteProgress, RouteProgress)} can't run on the JVM, since
+ * {@link android.util.SparseArray} allocates through the Android runtime. The compiled trigger
+ * programs, which are what milestones evaluate, are measured instead.
+ */
+@State(Scope.Benchmark)
+public class TriggerBenchmark {
+
+  private static final int MILESTONE_COUNT = 20;
+
+  private final TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+  private RouteProgress previousRouteProgress;
+  private RouteProgress routeProgress;
+  private TriggerProgram triggerProgram;
+  private MilestoneScheduler milestoneScheduler;
+  private boolean isSwapped;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DIRECTIONS_PRECISION_6);
+    previousRouteProgress = BenchmarkFixtures.buildRouteProgress(route, 0, 1);
+    routeProgress = BenchmarkFixtures.buildRouteProgress(route, 0, 1);
+    triggerProgram = TriggerProgram.compile(buildTrigger(0));
+    List<Milestone> milestones = new ArrayList<>();
+    for (int i = 0; i < MILESTONE_COUNT; i++) {
+      milestones.add(new StepMilestone.Builder().setTrigger(buildTrigger(i)).build());
+    }
+    milestoneScheduler = new MilestoneScheduler();
+    milestoneScheduler.updateMilestones(milestones);
+  }
+
+  /**
+   * Alternates the order of the two route progresses, so each evaluation measures the trigger
+   * snapshot again like a new route processor run does.
+   */
+  @Benchmark
+  public boolean evaluateTriggerProgram() {
+    isSwapped = !isSwapped;
+    if (isSwapped) {
+      triggerSnapshot.update(routeProgress, previousRouteProgress);
+    } else {
+      triggerSnapshot.update(previousRouteProgress, routeProgress);
+    }
+    return triggerProgram.isOccurring(triggerSnapshot);
+  }
+
+  @Benchmark
+  public List<Milestone> findTriggeredMilestones() {
+    return milestoneScheduler.findTriggeredMilestones(previousRouteProgress, routeProgress);
+  }
+
+  private Trigger.Statement buildTrigger(int stepIndex) {
+    return Trigger.all(
+      Trigger.eq(TriggerProperty.STEP_INDEX, stepIndex),
+      Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 200d),
+      Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100d),
+      Trigger.neq(TriggerProperty.LAST_STEP, TriggerProperty.TRUE)
+    );
+  }
+}
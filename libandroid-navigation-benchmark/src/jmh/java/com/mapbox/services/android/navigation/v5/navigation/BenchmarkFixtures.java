@@ -0,0 +1,165 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.io.InputStream;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loads the unit test JSON fixtures for the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+  public static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  public static final String LONG_STEP = "long_step.json";
+  public static final String TWO_LEG_ROUTE = "directions_two_leg_route.json";
+  public static final String DISTANCE_ANNOTATION = "directions_distance_congestion_annotation.json";
+  public static final String DC_ROUTE = "dcmapbox_chipoltle.json";
+  public static final String DC_ROUTE_TRACE = "dcmapbox_chipoltle_trace.json";
+  private static final String UTF_8 = "UTF-8";
+  private static final String TRACE_PROVIDER = "BenchmarkTrace";
+  private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+  private BenchmarkFixtures() {
+    // Utility class
+  }
+
+  public static DirectionsRoute loadRoute(String fixture) {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    DirectionsResponse response = gson.fromJson(loadJson(fixture), DirectionsResponse.class);
+    return response.routes().get(0);
+  }
+
+  /**
+   * Finds the step of the first leg with the longest geometry, which is the worst case for the
+   * per-step work done on a step change.
+   */
+  public static int findLongestStepIndex(DirectionsRoute route) {
+    List<LegStep> steps = route.legs().get(0).steps();
+    int longestStepIndex = 0;
+    int longestGeometryLength = 0;
+    for (int i = 0; i < steps.size(); i++) {
+      String geometry = steps.get(i).geometry();
+      int geometryLength = geometry == null ? 0 : geometry.length();
+      if (geometryLength > longestGeometryLength) {
+        longestGeometryLength = geometryLength;
+        longestStepIndex = i;
+      }
+    }
+    return longestStepIndex;
+  }
+
+  /**
+   * Creates a navigation status for the given indices. The remaining distances and durations are
+   * left at zero, so the resulting progress is at the end of the step.
+   */
+  public static NavigationStatus buildNavigationStatus(int legIndex, int stepIndex) {
+    NavigationStatus status = mock(NavigationStatus.class);
+    when(status.getLegIndex()).thenReturn(legIndex);
+    when(status.getStepIndex()).thenReturn(stepIndex);
+    return status;
+  }
+
+  public static RouteProgress buildRouteProgress(DirectionsRoute route, int legIndex, int stepIndex) {
+    NavigationRouteProcessor routeProcessor = new NavigationRouteProcessor();
+    return routeProcessor.buildNewRouteProgress(buildNavigationStatus(legIndex, stepIndex), route, null);
+  }
+
+  /**
+   * Creates a route progress carrying the geometry index of the route, which the indexed snap and
+   * off route engines match locations with.
+   */
+  public static RouteProgress buildIndexedRouteProgress(DirectionsRoute route, int legIndex, int stepIndex) {
+    NavigationRouteProcessor routeProcessor = new NavigationRouteProcessor();
+    return routeProcessor.buildNewRouteProgress(buildNavigationStatus(legIndex, stepIndex), route,
+      RouteGeometryIndex.create(route));
+  }
+
+  /**
+   * Loads the locations of a replay JSON fixture, in the format the
+   * {@link com.mapbox.services.android.navigation.v5.location.replay.ReplayRouteLocationEngine} reads.
+   */
+  public static List<Location> loadTrace(String fixture) {
+    SimpleDateFormat timestampFormat = new SimpleDateFormat(TIMESTAMP_FORMAT, Locale.US);
+    JsonObject trace = new JsonParser().parse(loadJson(fixture)).getAsJsonObject();
+    JsonArray fixes = trace.getAsJsonArray("locations");
+    List<Location> locations = new ArrayList<>(fixes.size());
+    for (JsonElement element : fixes) {
+      JsonObject fix = element.getAsJsonObject();
+      Location location = new Location(TRACE_PROVIDER);
+      location.setLongitude(fix.get("lng").getAsDouble());
+      location.setLatitude(fix.get("lat").getAsDouble());
+      location.setAccuracy(fix.get("horizontalAccuracy").getAsFloat());
+      location.setSpeed(fix.get("speed").getAsFloat());
+      location.setAltitude(fix.get("altitude").getAsDouble());
+      if (fix.has("course")) {
+        location.setBearing(fix.get("course").getAsFloat());
+      }
+      location.setTime(parseTimestamp(timestampFormat, fix.get("timestamp").getAsString()));
+      locations.add(location);
+    }
+    return locations;
+  }
+
+  /**
+   * Interpolates a trace to one location per interval, for instance to replay a 1 Hz recording at
+   * the 10 Hz some location providers deliver. Positions and speeds are interpolated linearly
+   * between two recorded fixes, the other values are the ones of the earlier fix.
+   */
+  public static List<Location> resampleTrace(List<Location> trace, long intervalInMilliseconds) {
+    List<Location> locations = new ArrayList<>();
+    long endTime = trace.get(trace.size() - 1).getTime();
+    int index = 0;
+    for (long time = trace.get(0).getTime(); time <= endTime; time += intervalInMilliseconds) {
+      while (index < trace.size() - 2 && trace.get(index + 1).getTime() <= time) {
+        index++;
+      }
+      Location from = trace.get(index);
+      Location to = trace.get(index + 1);
+      double fraction = Math.min(1, (time - from.getTime()) / (double) (to.getTime() - from.getTime()));
+      Location location = new Location(from);
+      location.setLongitude(from.getLongitude() + (to.getLongitude() - from.getLongitude()) * fraction);
+      location.setLatitude(from.getLatitude() + (to.getLatitude() - from.getLatitude()) * fraction);
+      location.setSpeed((float) (from.getSpeed() + (to.getSpeed() - from.getSpeed()) * fraction));
+      location.setTime(time);
+      locations.add(location);
+    }
+    return locations;
+  }
+
+  private static long parseTimestamp(SimpleDateFormat timestampFormat, String timestamp) {
+    try {
+      return timestampFormat.parse(timestamp).getTime();
+    } catch (ParseException exception) {
+      throw new IllegalArgumentException("Invalid trace timestamp " + timestamp, exception);
+    }
+  }
+
+  private static String loadJson(String fixture) {
+    InputStream inputStream = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(fixture);
+    Scanner scanner = new Scanner(inputStream, UTF_8).useDelimiter("\\A");
+    return scanner.hasNext() ? scanner.next() : "";
+  }
+}
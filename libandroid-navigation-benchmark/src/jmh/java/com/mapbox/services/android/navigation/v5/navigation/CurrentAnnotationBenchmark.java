@@ -0,0 +1,40 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finding the current leg annotation halfway along the leg. The route fixtures used by the other
+ * benchmarks have no distance annotations, so this uses the distance annotation fixture.
+ */
+@State(Scope.Benchmark)
+public class CurrentAnnotationBenchmark {
+
+  private RouteLeg leg;
+  private double legDistance;
+  private RouteAnnotationTable annotationTable;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DISTANCE_ANNOTATION);
+    leg = route.legs().get(0);
+    legDistance = leg.distance() / 2;
+    annotationTable = RouteAnnotationTable.create(route);
+  }
+
+  @Benchmark
+  public CurrentLegAnnotation createCurrentAnnotation() {
+    return NavigationHelper.createCurrentAnnotation(null, leg, legDistance);
+  }
+
+  @Benchmark
+  public CurrentLegAnnotation createCurrentAnnotationFromTable() {
+    return annotationTable.createCurrentAnnotation(null, leg, 0, legDistance);
+  }
+}
@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Per-step work done by the route processor whenever the step changes, measured on the longest
+ * step of each fixture.
+ */
+@State(Scope.Benchmark)
+public class NavigationHelperBenchmark {
+
+  @Param( {
+    BenchmarkFixtures.DIRECTIONS_PRECISION_6,
+    BenchmarkFixtures.LONG_STEP,
+    BenchmarkFixtures.TWO_LEG_ROUTE
+  })
+  public String fixture;
+
+  private DirectionsRoute route;
+  private int stepIndex;
+  private List<Point> stepPoints;
+  private List<StepIntersection> intersections;
+  private LegStep upcomingStep;
+  private RouteGeometryIndex geometryIndex;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.loadRoute(fixture);
+    stepIndex = BenchmarkFixtures.findLongestStepIndex(route);
+    List<LegStep> steps = route.legs().get(0).steps();
+    upcomingStep = stepIndex + 1 < steps.size() ? steps.get(stepIndex + 1) : null;
+    stepPoints = NavigationHelper.decodeStepPoints(route, null, 0, stepIndex);
+    intersections = NavigationHelper.createIntersectionsList(steps.get(stepIndex), upcomingStep);
+    geometryIndex = RouteGeometryIndex.create(route);
+  }
+
+  @Benchmark
+  public List<Point> decodeStepPoints() {
+    return NavigationHelper.decodeStepPoints(route, null, 0, stepIndex);
+  }
+
+  @Benchmark
+  public List<Pair<StepIntersection, Double>> createDistancesToIntersections() {
+    return NavigationHelper.createDistancesToIntersections(stepPoints, intersections);
+  }
+
+  @Benchmark
+  public IntersectionDistanceTable createIntersectionDistanceTable() {
+    return IntersectionDistanceTable.create(geometryIndex, 0, stepIndex, intersections, upcomingStep);
+  }
+}
@@ -0,0 +1,72 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building a route progress for an update on the same step, which is what almost every run does,
+ * and for an update on a new step, which also decodes and measures the new step.
+ * <p>
+ * Runs with snapshot listeners fill a recycled snapshot as well. When nothing reads the route
+ * progress they only fill the snapshot, which the gc profiler should show allocating nothing.
+ * <p>
+ * The navigation status is a mock, since the native navigator can't run on the JVM. Its getters
+ * add the same constant cost to both benchmarks.
+ */
+@State(Scope.Benchmark)
+public class NavigationRouteProcessorBenchmark {
+
+  @Param( {
+    BenchmarkFixtures.DIRECTIONS_PRECISION_6,
+    BenchmarkFixtures.TWO_LEG_ROUTE
+  })
+  public String fixture;
+
+  private DirectionsRoute route;
+  private NavigationRouteProcessor routeProcessor;
+  private NavigationStatus status;
+  private NavigationStatus nextStepStatus;
+  private MutableRouteProgressSnapshot snapshot;
+  private boolean isOnNextStep;
+
+  @Setup
+  public void setup() {
+    route = BenchmarkFixtures.loadRoute(fixture);
+    int stepIndex = BenchmarkFixtures.findLongestStepIndex(route);
+    int nextStepIndex = stepIndex + 1 < route.legs().get(0).steps().size() ? stepIndex + 1 : stepIndex - 1;
+    status = BenchmarkFixtures.buildNavigationStatus(0, stepIndex);
+    nextStepStatus = BenchmarkFixtures.buildNavigationStatus(0, nextStepIndex);
+    routeProcessor = new NavigationRouteProcessor();
+    routeProcessor.buildNewRouteProgress(status, route, null);
+    snapshot = new MutableRouteProgressSnapshot();
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgress() {
+    return routeProcessor.buildNewRouteProgress(status, route, null);
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgressOnStepChange() {
+    isOnNextStep = !isOnNextStep;
+    return routeProcessor.buildNewRouteProgress(isOnNextStep ? nextStepStatus : status, route, null);
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgressWithSnapshot() {
+    return routeProcessor.buildNewRouteProgress(status, route, null, snapshot);
+  }
+
+  @Benchmark
+  public MutableRouteProgressSnapshot updateRouteProgressSnapshot() {
+    routeProcessor.updateRouteProgressSnapshot(status, route, null, snapshot);
+    return snapshot;
+  }
+}
@@ -0,0 +1,52 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkFixtures;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * Checking a whole drive for off route with the {@link IndexedOffRouteDetector}, from a trace along
+ * the route interpolated to the 10 Hz some location providers deliver. One operation checks every
+ * location of the trace, which stays on route, so each check is a match within the continuity
+ * window of the previous one.
+ * <p>
+ * Each operation starts with a new detector, as starting over at the beginning of the trace would
+ * otherwise look like backing up. Apart from the detector, checks shouldn't allocate.
+ */
+@State(Scope.Benchmark)
+public class IndexedOffRouteDetectorBenchmark {
+
+  private static final long LOCATION_INTERVAL_IN_MILLISECONDS = 100;
+
+  private final MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+  private RouteProgress routeProgress;
+  private Location[] locations;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DC_ROUTE);
+    routeProgress = BenchmarkFixtures.buildIndexedRouteProgress(route, 0, 0);
+    List<Location> trace = BenchmarkFixtures.resampleTrace(
+      BenchmarkFixtures.loadTrace(BenchmarkFixtures.DC_ROUTE_TRACE), LOCATION_INTERVAL_IN_MILLISECONDS);
+    locations = trace.toArray(new Location[trace.size()]);
+  }
+
+  @Benchmark
+  public void detectOffRouteTrace(Blackhole blackhole) {
+    IndexedOffRouteDetector offRouteEngine = new IndexedOffRouteDetector();
+    for (Location location : locations) {
+      blackhole.consume(offRouteEngine.isUserOffRoute(location, routeProgress, options));
+    }
+  }
+}
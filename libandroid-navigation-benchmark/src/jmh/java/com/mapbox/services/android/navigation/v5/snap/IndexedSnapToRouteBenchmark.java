@@ -0,0 +1,50 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkFixtures;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * Snapping a whole drive with the {@link IndexedSnapToRoute}, from a trace along the route
+ * interpolated to the 10 Hz some location providers deliver. One operation snaps every location of
+ * the trace.
+ * <p>
+ * Apart from the snapped locations, which the gc profiler should account for on its own, snapping
+ * doesn't allocate.
+ */
+@State(Scope.Benchmark)
+public class IndexedSnapToRouteBenchmark {
+
+  private static final long LOCATION_INTERVAL_IN_MILLISECONDS = 100;
+
+  private RouteProgress routeProgress;
+  private Location[] locations;
+  private IndexedSnapToRoute snapEngine;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DC_ROUTE);
+    routeProgress = BenchmarkFixtures.buildIndexedRouteProgress(route, 0, 0);
+    List<Location> trace = BenchmarkFixtures.resampleTrace(
+      BenchmarkFixtures.loadTrace(BenchmarkFixtures.DC_ROUTE_TRACE), LOCATION_INTERVAL_IN_MILLISECONDS);
+    locations = trace.toArray(new Location[trace.size()]);
+    snapEngine = new IndexedSnapToRoute();
+  }
+
+  @Benchmark
+  public void snapTrace(Blackhole blackhole) {
+    for (Location location : locations) {
+      blackhole.consume(snapEngine.getSnappedLocation(location, routeProgress));
+    }
+  }
+}
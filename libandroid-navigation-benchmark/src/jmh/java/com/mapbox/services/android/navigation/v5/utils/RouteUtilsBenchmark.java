@@ -0,0 +1,36 @@
+package com.mapbox.services.android.navigation.v5.utils;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.navigation.BenchmarkFixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finding the current banner instructions halfway along the longest step. Only the precision 6
+ * fixture was requested with banner instructions.
+ */
+@State(Scope.Benchmark)
+public class RouteUtilsBenchmark {
+
+  private RouteUtils routeUtils;
+  private LegStep step;
+  private double stepDistanceRemaining;
+
+  @Setup
+  public void setup() {
+    DirectionsRoute route = BenchmarkFixtures.loadRoute(BenchmarkFixtures.DIRECTIONS_PRECISION_6);
+    step = route.legs().get(0).steps().get(BenchmarkFixtures.findLongestStepIndex(route));
+    stepDistanceRemaining = step.distance() / 2;
+    routeUtils = new RouteUtils();
+  }
+
+  @Benchmark
+  public BannerInstructions findCurrentBannerInstructions() {
+    return routeUtils.findCurrentBannerInstructions(step, stepDistanceRemaining);
+  }
+}
@@ -0,0 +1,60 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+/**
+ * One state changing call to the navigator read from a recorded history by the
+ * {@link NavigationHistoryReader}.
+ */
+class HistoryEvent {
+
+  static final int TYPE_SET_ROUTE = 0;
+  static final int TYPE_UPDATE_LOCATION = 1;
+  static final int TYPE_GET_STATUS = 2;
+
+  private final int type;
+  private final long timeMillis;
+  private final String routeJson;
+  private final Location location;
+
+  private HistoryEvent(int type, long timeMillis, @Nullable String routeJson, @Nullable Location location) {
+    this.type = type;
+    this.timeMillis = timeMillis;
+    this.routeJson = routeJson;
+    this.location = location;
+  }
+
+  static HistoryEvent setRoute(long timeMillis, String routeJson) {
+    return new HistoryEvent(TYPE_SET_ROUTE, timeMillis, routeJson, null);
+  }
+
+  static HistoryEvent updateLocation(long timeMillis, Location location) {
+    return new HistoryEvent(TYPE_UPDATE_LOCATION, timeMillis, null, location);
+  }
+
+  static HistoryEvent getStatus(long timeMillis) {
+    return new HistoryEvent(TYPE_GET_STATUS, timeMillis, null, null);
+  }
+
+  int type() {
+    return type;
+  }
+
+  /**
+   * Wall clock time the call was made at.
+   */
+  long timeMillis() {
+    return timeMillis;
+  }
+
+  @Nullable
+  String routeJson() {
+    return routeJson;
+  }
+
+  @Nullable
+  Location location() {
+    return location;
+  }
+}
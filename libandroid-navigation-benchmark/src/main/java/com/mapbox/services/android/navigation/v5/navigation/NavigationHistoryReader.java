@@ -0,0 +1,228 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the events of a recorded navigator history one at a time, so histories of any length can
+ * be replayed without holding them in memory.
+ * <p>
+ * A history is a json object with its events in an {@code events} or {@code history} array, or
+ * the bare array itself. Several histories may follow each other, as in the files written by the
+ * {@link NavigationHistoryRecorder}, which hold one history per line. Each event has a
+ * {@code type} of {@code setRoute}, {@code updateLocation} or {@code getStatus} and the time it
+ * was made at in {@code event_timestamp} or {@code timestamp}. Other event types and fields are
+ * skipped.
+ * <p>
+ * Times below {@link #SECONDS_THRESHOLD} are taken as seconds rather than milliseconds since the
+ * epoch, and events without a time of their own happen at the time of the previous event.
+ */
+class NavigationHistoryReader implements Closeable {
+
+  /**
+   * Millisecond times since the epoch are above this from 1973 on.
+   */
+  private static final double SECONDS_THRESHOLD = 1E11;
+  private static final double MILLISECONDS_PER_SECOND = 1000d;
+  private static final String EVENTS = "events";
+  private static final String HISTORY = "history";
+  private static final String TYPE = "type";
+  private static final String EVENT_TIMESTAMP = "event_timestamp";
+  private static final String TIMESTAMP = "timestamp";
+  private static final String ROUTE = "route";
+  private static final String LOCATION = "location";
+  private static final String SET_ROUTE = "setRoute";
+  private static final String UPDATE_LOCATION = "updateLocation";
+  private static final String GET_STATUS = "getStatus";
+  private static final String LATITUDE = "lat";
+  private static final String LONGITUDE = "lon";
+  private static final String TIME = "time";
+  private static final String SPEED = "speed";
+  private static final String BEARING = "bearing";
+  private static final String ALTITUDE = "altitude";
+  private static final String ACCURACY = "accuracyHorizontal";
+  private static final String PROVIDER = "provider";
+  private static final String DEFAULT_PROVIDER = "history";
+
+  private final JsonReader reader;
+  private boolean isInHistoryObject;
+  private boolean isInEvents;
+  private long lastTimeMillis;
+
+  NavigationHistoryReader(Reader reader) {
+    this.reader = new JsonReader(reader);
+    // Lenient to read several histories following each other
+    this.reader.setLenient(true);
+  }
+
+  /**
+   * Reads the next replayable event.
+   *
+   * @return the next event, or null at the end of the history
+   * @throws IOException if the history can't be read or isn't valid json
+   */
+  @Nullable
+  HistoryEvent next() throws IOException {
+    while (isInEvents || findEvents()) {
+      if (!reader.hasNext()) {
+        reader.endArray();
+        isInEvents = false;
+        continue;
+      }
+      HistoryEvent event = readEvent();
+      if (event != null) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * Moves the reader into the next events array.
+   *
+   * @return true if an events array was found, false at the end of the history
+   */
+  private boolean findEvents() throws IOException {
+    while (true) {
+      if (isInHistoryObject) {
+        while (reader.hasNext()) {
+          String name = reader.nextName();
+          if ((EVENTS.equals(name) || HISTORY.equals(name)) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            isInEvents = true;
+            return true;
+          }
+          reader.skipValue();
+        }
+        reader.endObject();
+        isInHistoryObject = false;
+      }
+      JsonToken token = reader.peek();
+      if (token == JsonToken.END_DOCUMENT) {
+        return false;
+      } else if (token == JsonToken.BEGIN_OBJECT) {
+        reader.beginObject();
+        isInHistoryObject = true;
+      } else if (token == JsonToken.BEGIN_ARRAY) {
+        reader.beginArray();
+        isInEvents = true;
+        return true;
+      } else {
+        reader.skipValue();
+      }
+    }
+  }
+
+  @Nullable
+  private HistoryEvent readEvent() throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+      return null;
+    }
+    String type = null;
+    long timeMillis = -1;
+    String routeJson = null;
+    Location location = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (reader.peek() == JsonToken.NULL) {
+        reader.skipValue();
+      } else if (TYPE.equals(name)) {
+        type = reader.nextString();
+      } else if (EVENT_TIMESTAMP.equals(name) || (TIMESTAMP.equals(name) && timeMillis < 0)) {
+        timeMillis = toMilliseconds(reader.nextDouble());
+      } else if (ROUTE.equals(name)) {
+        routeJson = readRoute();
+      } else if (LOCATION.equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        location = readLocation();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return buildEvent(type, timeMillis, routeJson, location);
+  }
+
+  @Nullable
+  private HistoryEvent buildEvent(String type, long timeMillis, String routeJson, Location location) {
+    long eventTimeMillis = timeMillis;
+    if (eventTimeMillis < 0) {
+      eventTimeMillis = location != null && location.getTime() > 0 ? location.getTime() : lastTimeMillis;
+    }
+    HistoryEvent event = null;
+    if (SET_ROUTE.equals(type) && routeJson != null) {
+      event = HistoryEvent.setRoute(eventTimeMillis, routeJson);
+    } else if (UPDATE_LOCATION.equals(type) && location != null) {
+      event = HistoryEvent.updateLocation(eventTimeMillis, location);
+    } else if (GET_STATUS.equals(type)) {
+      event = HistoryEvent.getStatus(eventTimeMillis);
+    }
+    if (event != null) {
+      lastTimeMillis = eventTimeMillis;
+    }
+    return event;
+  }
+
+  /**
+   * The route is recorded as the json string passed to the navigator, older histories hold the
+   * json itself.
+   */
+  private String readRoute() throws IOException {
+    if (reader.peek() == JsonToken.STRING) {
+      return reader.nextString();
+    }
+    return new JsonParser().parse(reader).toString();
+  }
+
+  private Location readLocation() throws IOException {
+    Location location = new Location(DEFAULT_PROVIDER);
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (reader.peek() == JsonToken.NULL) {
+        reader.skipValue();
+      } else if (LATITUDE.equals(name)) {
+        location.setLatitude(reader.nextDouble());
+      } else if (LONGITUDE.equals(name)) {
+        location.setLongitude(reader.nextDouble());
+      } else if (TIME.equals(name)) {
+        location.setTime(toMilliseconds(reader.nextDouble()));
+      } else if (SPEED.equals(name)) {
+        location.setSpeed((float) reader.nextDouble());
+      } else if (BEARING.equals(name)) {
+        location.setBearing((float) reader.nextDouble());
+      } else if (ALTITUDE.equals(name)) {
+        location.setAltitude(reader.nextDouble());
+      } else if (ACCURACY.equals(name)) {
+        location.setAccuracy((float) reader.nextDouble());
+      } else if (PROVIDER.equals(name)) {
+        location.setProvider(reader.nextString());
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return location;
+  }
+
+  private static long toMilliseconds(double time) {
+    if (time < SECONDS_THRESHOLD) {
+      return Math.round(time * MILLISECONDS_PER_SECOND);
+    }
+    return Math.round(time);
+  }
+}
@@ -0,0 +1,357 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildInstructionString;
+
+/**
+ * Replays a recorded navigator history through a {@link MapboxNavigator} and the whole route
+ * processor pipeline on a {@link VirtualClock}, so two builds of the SDK can be compared on the
+ * same input, for instance the history of a field bug report.
+ * <p>
+ * Recorded routes and location updates are passed on at their recorded times, read one event at a
+ * time from a {@link NavigationHistoryReader}. The route processor runs on its own interval as in
+ * a navigation session, so recorded status requests aren't replayed. Replays run flat-out by
+ * default, or paced at a multiple of the recorded speed.
+ * <p>
+ * The navigator behind the replay is passed in, so a replay can run against the native navigator
+ * or a stand-in like the {@link SimulatedNavigator}. So are the snap and off route engines, so the
+ * same history can be replayed with the Java engines and with the ones reading the navigator.
+ */
+class NavigationHistoryReplay {
+
+  static final double FLAT_OUT = 0;
+  private static final long ARRIVAL_DRAIN_TIME_IN_MILLISECONDS = 5000;
+  private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+  private final NavigatorBackend navigator;
+  private final double speedMultiplier;
+  private final MapboxNavigationOptions options;
+  private final TickListener tickListener;
+  private final Snap snapEngine;
+  private final OffRoute offRouteEngine;
+
+  private NavigationHistoryReplay(Builder builder) {
+    navigator = builder.navigator;
+    speedMultiplier = builder.speedMultiplier;
+    options = MapboxNavigationOptions.builder()
+      .routeProcessingIntervalInMilliseconds(builder.routeProcessingIntervalInMilliseconds)
+      .build();
+    tickListener = builder.tickListener;
+    snapEngine = builder.snapEngine;
+    offRouteEngine = builder.offRouteEngine;
+  }
+
+  static Builder builder(NavigatorBackend navigator) {
+    return new Builder(navigator);
+  }
+
+  /**
+   * Replays the history until it ends and the route processor ran for a few more seconds.
+   *
+   * @param reader of the recorded history
+   * @return the outcome of the replay, with the latencies of the route processor runs
+   * @throws IOException if the history can't be read
+   */
+  SimulationResult replay(NavigationHistoryReader reader) throws IOException {
+    TickStatistics statistics = new TickStatistics();
+    HistoryEvent firstEvent = reader.next();
+    if (firstEvent == null) {
+      return new SimulationResult(0, 0, false, statistics, 0, 0, 0, 0, 0);
+    }
+    VirtualClock clock = new VirtualClock(firstEvent.timeMillis());
+    RouteProcessorScheduler workerScheduler = clock.createScheduler();
+    RouteProcessorScheduler responseScheduler = clock.createScheduler();
+    RouteProcessorScheduler historyScheduler = clock.createScheduler();
+    SimulationSession session = new SimulationSession(options, new MapboxNavigator(navigator), snapEngine,
+      offRouteEngine);
+    ReplayListener listener = new ReplayListener(clock, statistics);
+    RouteProcessorRunnable runnable = new RouteProcessorRunnable(new NavigationRouteProcessor(), session,
+      workerScheduler, responseScheduler, listener, new ScreenStateMonitor());
+    HistoryFeed feed = new HistoryFeed(reader, firstEvent, firstEvent.timeMillis(), historyScheduler,
+      workerScheduler, session, runnable);
+    historyScheduler.post(feed);
+
+    long endTime = Long.MAX_VALUE;
+    long wallStartTime = System.nanoTime();
+    VirtualClock.Task task = clock.pollNextTask(endTime);
+    while (task != null) {
+      pace(clock.uptimeMillis(), wallStartTime);
+      boolean isRouteProcessorRun = task.scheduler() == workerScheduler;
+      if (isRouteProcessorRun) {
+        statistics.startTick();
+      }
+      task.run();
+      if (isRouteProcessorRun) {
+        statistics.finishTick();
+      }
+      if (feed.isFinished() && endTime == Long.MAX_VALUE) {
+        endTime = clock.uptimeMillis() + ARRIVAL_DRAIN_TIME_IN_MILLISECONDS;
+      }
+      task = clock.pollNextTask(endTime);
+    }
+    feed.rethrowFailure();
+    long wallTime = System.nanoTime() - wallStartTime;
+    return new SimulationResult(clock.uptimeMillis(), wallTime, listener.hasArrived(), statistics,
+      listener.progressUpdateCount, listener.milestoneCount, listener.offRouteCount,
+      listener.fasterRouteCheckCount, listener.coalescedUpdateCount);
+  }
+
+  /**
+   * Waits until the wall clock caught up with the replay time at the speed multiplier.
+   */
+  private void pace(long replayTimeMillis, long wallStartTime) {
+    if (speedMultiplier <= FLAT_OUT) {
+      return;
+    }
+    long dueTime = wallStartTime + (long) (replayTimeMillis * NANOSECONDS_PER_MILLISECOND / speedMultiplier);
+    long waitTime = dueTime - System.nanoTime();
+    if (waitTime <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(waitTime / NANOSECONDS_PER_MILLISECOND, (int) (waitTime % NANOSECONDS_PER_MILLISECOND));
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Receives the route progress of each route processor run of a replay.
+   */
+  interface TickListener {
+
+    /**
+     * @param timeMillis         recorded wall clock time of the run
+     * @param routeProgress      progress built by the run
+     * @param latencyNanoseconds time the run took
+     */
+    void onTick(long timeMillis, RouteProgress routeProgress, long latencyNanoseconds);
+  }
+
+  static class Builder {
+
+    private static final int DEFAULT_INTERVAL_IN_MILLISECONDS = 1000;
+
+    private final NavigatorBackend navigator;
+    private double speedMultiplier = FLAT_OUT;
+    private int routeProcessingIntervalInMilliseconds = DEFAULT_INTERVAL_IN_MILLISECONDS;
+    private TickListener tickListener;
+    private Snap snapEngine;
+    private OffRoute offRouteEngine;
+
+    Builder(NavigatorBackend navigator) {
+      this.navigator = navigator;
+    }
+
+    /**
+     * @param speedMultiplier how many times faster than recorded to replay, or {@link #FLAT_OUT}
+     */
+    Builder speedMultiplier(double speedMultiplier) {
+      this.speedMultiplier = speedMultiplier;
+      return this;
+    }
+
+    Builder routeProcessingIntervalInMilliseconds(int routeProcessingIntervalInMilliseconds) {
+      this.routeProcessingIntervalInMilliseconds = routeProcessingIntervalInMilliseconds;
+      return this;
+    }
+
+    Builder tickListener(TickListener tickListener) {
+      this.tickListener = tickListener;
+      return this;
+    }
+
+    /**
+     * @param snapEngine to snap locations with instead of reading the snapped location from the navigator
+     */
+    Builder snapEngine(Snap snapEngine) {
+      this.snapEngine = snapEngine;
+      return this;
+    }
+
+    /**
+     * @param offRouteEngine to detect off route with instead of reading the off route state from the navigator
+     */
+    Builder offRouteEngine(OffRoute offRouteEngine) {
+      this.offRouteEngine = offRouteEngine;
+      return this;
+    }
+
+    NavigationHistoryReplay build() {
+      return new NavigationHistoryReplay(this);
+    }
+  }
+
+  /**
+   * Passes each recorded event on at its recorded time, reading the next event only once the
+   * previous one was passed on.
+   */
+  private static class HistoryFeed implements Runnable {
+
+    private final NavigationHistoryReader reader;
+    private final long startTimeMillis;
+    private final RouteProcessorScheduler historyScheduler;
+    private final RouteProcessorScheduler workerScheduler;
+    private final SimulationSession session;
+    private final RouteProcessorRunnable runnable;
+    private HistoryEvent nextEvent;
+    private boolean isProcessing;
+    private IOException failure;
+
+    HistoryFeed(NavigationHistoryReader reader, HistoryEvent firstEvent, long startTimeMillis,
+                RouteProcessorScheduler historyScheduler, RouteProcessorScheduler workerScheduler,
+                SimulationSession session, RouteProcessorRunnable runnable) {
+      this.reader = reader;
+      this.nextEvent = firstEvent;
+      this.startTimeMillis = startTimeMillis;
+      this.historyScheduler = historyScheduler;
+      this.workerScheduler = workerScheduler;
+      this.session = session;
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      pass(nextEvent);
+      try {
+        nextEvent = reader.next();
+      } catch (IOException exception) {
+        failure = exception;
+        nextEvent = null;
+      }
+      if (nextEvent != null) {
+        historyScheduler.postAtTime(this, Math.max(0, nextEvent.timeMillis() - startTimeMillis));
+      }
+    }
+
+    boolean isFinished() {
+      return nextEvent == null;
+    }
+
+    void rethrowFailure() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    private void pass(HistoryEvent event) {
+      switch (event.type()) {
+        case HistoryEvent.TYPE_SET_ROUTE:
+          NavigatorCommandQueue.await(session.retrieveMapboxNavigator().updateRoute(event.routeJson()));
+          session.updateRoute(DirectionsRoute.fromJson(event.routeJson()));
+          break;
+        case HistoryEvent.TYPE_UPDATE_LOCATION:
+          runnable.updateRawLocation(event.location());
+          startProcessing();
+          break;
+        default:
+          // Status requests are made by the route processor runs of the replay
+          break;
+      }
+    }
+
+    /**
+     * As in a navigation session, the route processor starts running with the first location once
+     * a route is set, so engines reading the raw location never see a run without one.
+     */
+    private void startProcessing() {
+      if (!isProcessing && session.getRoute() != null) {
+        isProcessing = true;
+        workerScheduler.post(runnable);
+      }
+    }
+  }
+
+  /**
+   * Does the work the main thread does for each delivery that doesn't involve the UI, counts the
+   * deliveries and hands each route progress to the {@link TickListener}.
+   */
+  private class ReplayListener implements RouteProcessorBackgroundThread.Listener {
+
+    private final VirtualClock clock;
+    private final TickStatistics statistics;
+    private RouteProgress lastRouteProgress;
+    private int progressUpdateCount;
+    private int milestoneCount;
+    private int offRouteCount;
+    private int fasterRouteCheckCount;
+    private int coalescedUpdateCount;
+
+    ReplayListener(VirtualClock clock, TickStatistics statistics) {
+      this.clock = clock;
+      this.statistics = statistics;
+    }
+
+    boolean hasArrived() {
+      return lastRouteProgress != null
+        && lastRouteProgress.distanceRemaining() <= options.metersRemainingTillArrival();
+    }
+
+    @Override
+    public boolean isRouteProgressRequired(long currentTimeMillis) {
+      return true;
+    }
+
+    @Override
+    public void onNewRouteProgress(Location location, RouteProgress routeProgress) {
+      progressUpdateCount++;
+      lastRouteProgress = routeProgress;
+      if (tickListener != null) {
+        tickListener.onTick(clock.currentTimeMillis(), routeProgress, statistics.lastLatencyNanoseconds());
+      }
+    }
+
+    @Override
+    public void onNewRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+      // Snapshots are only built when listened for
+    }
+
+    @Override
+    public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+      for (Milestone milestone : triggeredMilestones) {
+        buildInstructionString(routeProgress, milestone);
+        milestoneCount++;
+      }
+    }
+
+    @Override
+    public void onUserOffRoute(Location location, boolean userOffRoute) {
+      if (userOffRoute) {
+        offRouteCount++;
+      }
+    }
+
+    @Override
+    public void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute) {
+      if (checkFasterRoute) {
+        fasterRouteCheckCount++;
+      }
+    }
+
+    @Override
+    public void onRouteProcessingInterval(long intervalInMilliseconds) {
+      // Only used for the notification
+    }
+
+    @Override
+    public void onRouteProgressCoalesced(int coalescedUpdateCount) {
+      this.coalescedUpdateCount += coalescedUpdateCount;
+    }
+
+    @Override
+    public void onRouteProcessingTimings(RouteProcessingTimings timings) {
+      // Latencies are measured around the whole run instead
+    }
+  }
+}
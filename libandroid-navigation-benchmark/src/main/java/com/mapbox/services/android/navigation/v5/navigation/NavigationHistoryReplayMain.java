@@ -0,0 +1,133 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.navigator.Navigator;
+import com.mapbox.services.android.navigation.v5.offroute.IndexedOffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.IndexedSnapToRoute;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Replays each of the given navigator histories through the route processor pipeline and prints
+ * one summary line per history, so the output of two SDK builds can be compared:
+ * <pre>
+ * ./gradlew :libandroid-navigation-benchmark:replay -PreplayArgs="--speed=10 --ticks drives/history.json"
+ * </pre>
+ * A directory is replayed as one history made of the files written into it by the history
+ * recorder, in the order they were written. Files ending in {@code .gz} are decompressed. With
+ * {@code --ticks}, a line with the progress and latency of each route processor run is printed as
+ * well. Replays run flat-out unless a {@code --speed} multiplier is given. With
+ * {@code --java-engines}, locations are snapped and checked for off route by the
+ * {@link IndexedSnapToRoute} and {@link IndexedOffRouteDetector} instead of the navigator.
+ * <p>
+ * The replay needs the native navigator library to be loadable by the JVM.
+ */
+public final class NavigationHistoryReplayMain {
+
+  private static final String SPEED_ARGUMENT = "--speed=";
+  private static final String INTERVAL_ARGUMENT = "--interval=";
+  private static final String JAVA_ENGINES_ARGUMENT = "--java-engines";
+  private static final String TICKS_ARGUMENT = "--ticks";
+  private static final String GZIP_SUFFIX = ".gz";
+  private static final String UTF_8 = "UTF-8";
+  private static final double NANOSECONDS_PER_MICROSECOND = 1000d;
+
+  private NavigationHistoryReplayMain() {
+    // Command line entry point
+  }
+
+  public static void main(String[] args) throws IOException {
+    double speedMultiplier = NavigationHistoryReplay.FLAT_OUT;
+    Integer intervalInMilliseconds = null;
+    boolean useJavaEngines = false;
+    boolean printTicks = false;
+    List<File> histories = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith(SPEED_ARGUMENT)) {
+        speedMultiplier = Double.parseDouble(arg.substring(SPEED_ARGUMENT.length()));
+      } else if (arg.startsWith(INTERVAL_ARGUMENT)) {
+        intervalInMilliseconds = Integer.parseInt(arg.substring(INTERVAL_ARGUMENT.length()));
+      } else if (JAVA_ENGINES_ARGUMENT.equals(arg)) {
+        useJavaEngines = true;
+      } else if (TICKS_ARGUMENT.equals(arg)) {
+        printTicks = true;
+      } else {
+        histories.add(new File(arg));
+      }
+    }
+    NavigationLibraryLoader.load();
+    for (File history : histories) {
+      NavigatorBackend navigator = new NativeNavigatorBackend(new Navigator());
+      NavigationHistoryReplay.Builder builder = NavigationHistoryReplay.builder(navigator)
+        .speedMultiplier(speedMultiplier);
+      if (intervalInMilliseconds != null) {
+        builder.routeProcessingIntervalInMilliseconds(intervalInMilliseconds);
+      }
+      if (useJavaEngines) {
+        builder.snapEngine(new IndexedSnapToRoute()).offRouteEngine(new IndexedOffRouteDetector());
+      }
+      if (printTicks) {
+        builder.tickListener(new TickPrinter(history.getName()));
+      }
+      NavigationHistoryReader reader = new NavigationHistoryReader(new InputStreamReader(open(history), UTF_8));
+      try {
+        System.out.println(builder.build().replay(reader).summarize(history.getName()));
+      } finally {
+        reader.close();
+      }
+    }
+  }
+
+  private static InputStream open(File history) throws IOException {
+    if (!history.isDirectory()) {
+      return openFile(history);
+    }
+    File[] files = history.listFiles();
+    if (files == null) {
+      throw new IOException("History directory " + history + " could not be listed.");
+    }
+    Arrays.sort(files);
+    List<InputStream> inputStreams = new ArrayList<>();
+    for (File file : files) {
+      if (file.getName().startsWith(NavigationHistoryRecorder.SEGMENT_PREFIX)) {
+        inputStreams.add(openFile(file));
+      }
+    }
+    return new SequenceInputStream(Collections.enumeration(inputStreams));
+  }
+
+  private static InputStream openFile(File file) throws IOException {
+    InputStream inputStream = new FileInputStream(file);
+    if (file.getName().endsWith(GZIP_SUFFIX)) {
+      return new GZIPInputStream(inputStream);
+    }
+    return inputStream;
+  }
+
+  private static class TickPrinter implements NavigationHistoryReplay.TickListener {
+
+    private final String name;
+
+    TickPrinter(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void onTick(long timeMillis, RouteProgress routeProgress, long latencyNanoseconds) {
+      System.out.println(String.format(Locale.US, "%s tick time=%d leg=%d step=%d remaining=%.1fm latency=%.1fus",
+        name, timeMillis, routeProgress.legIndex(), routeProgress.currentLegProgress().stepIndex(),
+        routeProgress.distanceRemaining(), latencyNanoseconds / NANOSECONDS_PER_MICROSECOND));
+    }
+  }
+}
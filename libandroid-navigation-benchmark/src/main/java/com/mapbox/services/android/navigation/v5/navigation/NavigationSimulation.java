@@ -0,0 +1,253 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildInstructionString;
+
+/**
+ * Runs the route processor over a whole route on a {@link VirtualClock}, with a
+ * {@link SimulatedNavigator} in place of the native navigator. Route processor runs, location
+ * updates and main thread deliveries all happen on the calling thread in virtual time, so a two
+ * hour route takes as long as its route processor runs do.
+ * <p>
+ * A {@link SimulationSession} hands the route processor the same options, engines and milestones a
+ * navigation session would, or the snap and off route engines passed in.
+ */
+class NavigationSimulation {
+
+  private static final long SIMULATION_START_TIME = 1500000000000L;
+  private static final long ARRIVAL_DRAIN_TIME_IN_MILLISECONDS = 5000;
+  private static final long ONE_SECOND_IN_MILLISECONDS = 1000;
+
+  private final DirectionsRoute route;
+  private final double speedInMetersPerSecond;
+  private final int routeProcessingIntervalInMilliseconds;
+  private final long locationIntervalInMilliseconds;
+  private final boolean fasterRouteDetectionEnabled;
+  private final List<long[]> offRouteWindows;
+  private final Snap snapEngine;
+  private final OffRoute offRouteEngine;
+
+  private NavigationSimulation(Builder builder) {
+    route = builder.route;
+    speedInMetersPerSecond = builder.speedInMetersPerSecond;
+    routeProcessingIntervalInMilliseconds = builder.routeProcessingIntervalInMilliseconds;
+    locationIntervalInMilliseconds = builder.locationIntervalInMilliseconds;
+    fasterRouteDetectionEnabled = builder.fasterRouteDetectionEnabled;
+    offRouteWindows = new ArrayList<>(builder.offRouteWindows);
+    snapEngine = builder.snapEngine;
+    offRouteEngine = builder.offRouteEngine;
+  }
+
+  static Builder builder(DirectionsRoute route) {
+    return new Builder(route);
+  }
+
+  SimulationResult run() {
+    VirtualClock clock = new VirtualClock(SIMULATION_START_TIME);
+    RouteProcessorScheduler workerScheduler = clock.createScheduler();
+    RouteProcessorScheduler responseScheduler = clock.createScheduler();
+    RouteProcessorScheduler locationScheduler = clock.createScheduler();
+    final SimulatedNavigator simulatedNavigator = new SimulatedNavigator(route, SIMULATION_START_TIME,
+      speedInMetersPerSecond);
+    for (long[] window : offRouteWindows) {
+      simulatedNavigator.addOffRouteWindow(window[0], window[1]);
+    }
+    SimulationListener listener = new SimulationListener();
+    RouteProcessorSession session = buildSession(simulatedNavigator);
+    final RouteProcessorRunnable runnable = new RouteProcessorRunnable(new NavigationRouteProcessor(), session,
+      workerScheduler, responseScheduler, listener, new ScreenStateMonitor());
+    workerScheduler.post(runnable);
+    new LocationUpdates(locationScheduler, runnable, simulatedNavigator).run();
+
+    TickStatistics statistics = new TickStatistics();
+    long routeDuration = (long) (simulatedNavigator.retrieveRouteDistance() / speedInMetersPerSecond
+      * ONE_SECOND_IN_MILLISECONDS);
+    long endTime = routeDuration + ARRIVAL_DRAIN_TIME_IN_MILLISECONDS;
+    long wallStartTime = System.nanoTime();
+    VirtualClock.Task task;
+    while ((task = clock.pollNextTask(endTime)) != null) {
+      boolean isRouteProcessorRun = task.scheduler() == workerScheduler;
+      if (isRouteProcessorRun) {
+        statistics.startTick();
+      }
+      task.run();
+      if (isRouteProcessorRun) {
+        statistics.finishTick();
+      }
+    }
+    clock.advanceTo(endTime);
+    long wallTime = System.nanoTime() - wallStartTime;
+    return new SimulationResult(clock.uptimeMillis(), wallTime, simulatedNavigator.isComplete(), statistics,
+      listener.progressUpdateCount, listener.milestoneCount, listener.offRouteCount,
+      listener.fasterRouteCheckCount, listener.coalescedUpdateCount);
+  }
+
+  private SimulationSession buildSession(SimulatedNavigator simulatedNavigator) {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .routeProcessingIntervalInMilliseconds(routeProcessingIntervalInMilliseconds)
+      .enableFasterRouteDetection(fasterRouteDetectionEnabled)
+      .build();
+    SimulationSession session = new SimulationSession(options, new MapboxNavigator(simulatedNavigator), snapEngine,
+      offRouteEngine);
+    session.updateRoute(route);
+    return session;
+  }
+
+  static class Builder {
+
+    private static final double DEFAULT_SPEED_IN_METERS_PER_SECOND = 13.9;
+    private static final int DEFAULT_INTERVAL_IN_MILLISECONDS = 1000;
+
+    private final DirectionsRoute route;
+    private final List<long[]> offRouteWindows = new ArrayList<>();
+    private double speedInMetersPerSecond = DEFAULT_SPEED_IN_METERS_PER_SECOND;
+    private int routeProcessingIntervalInMilliseconds = DEFAULT_INTERVAL_IN_MILLISECONDS;
+    private long locationIntervalInMilliseconds = DEFAULT_INTERVAL_IN_MILLISECONDS;
+    private boolean fasterRouteDetectionEnabled = true;
+    private Snap snapEngine;
+    private OffRoute offRouteEngine;
+
+    Builder(DirectionsRoute route) {
+      this.route = route;
+    }
+
+    Builder speedInMetersPerSecond(double speedInMetersPerSecond) {
+      this.speedInMetersPerSecond = speedInMetersPerSecond;
+      return this;
+    }
+
+    Builder routeProcessingIntervalInMilliseconds(int routeProcessingIntervalInMilliseconds) {
+      this.routeProcessingIntervalInMilliseconds = routeProcessingIntervalInMilliseconds;
+      return this;
+    }
+
+    Builder locationIntervalInMilliseconds(long locationIntervalInMilliseconds) {
+      this.locationIntervalInMilliseconds = locationIntervalInMilliseconds;
+      return this;
+    }
+
+    Builder fasterRouteDetectionEnabled(boolean fasterRouteDetectionEnabled) {
+      this.fasterRouteDetectionEnabled = fasterRouteDetectionEnabled;
+      return this;
+    }
+
+    Builder addOffRouteWindow(long startInMilliseconds, long endInMilliseconds) {
+      offRouteWindows.add(new long[] {startInMilliseconds, endInMilliseconds});
+      return this;
+    }
+
+    Builder snapEngine(Snap snapEngine) {
+      this.snapEngine = snapEngine;
+      return this;
+    }
+
+    Builder offRouteEngine(OffRoute offRouteEngine) {
+      this.offRouteEngine = offRouteEngine;
+      return this;
+    }
+
+    NavigationSimulation build() {
+      return new NavigationSimulation(this);
+    }
+  }
+
+  /**
+   * Stands in for the location engine, passing a location update to the route processor on each
+   * location interval.
+   */
+  private class LocationUpdates implements Runnable {
+
+    private final RouteProcessorScheduler locationScheduler;
+    private final RouteProcessorRunnable runnable;
+    private final SimulatedNavigator simulatedNavigator;
+
+    LocationUpdates(RouteProcessorScheduler locationScheduler, RouteProcessorRunnable runnable,
+                    SimulatedNavigator simulatedNavigator) {
+      this.locationScheduler = locationScheduler;
+      this.runnable = runnable;
+      this.simulatedNavigator = simulatedNavigator;
+    }
+
+    @Override
+    public void run() {
+      runnable.updateRawLocation(simulatedNavigator.buildLocation());
+      locationScheduler.postDelayed(this, locationIntervalInMilliseconds);
+    }
+  }
+
+  /**
+   * Does the work the main thread does for each delivery that doesn't involve the UI, and counts
+   * the deliveries.
+   */
+  private static class SimulationListener implements RouteProcessorBackgroundThread.Listener {
+
+    private int progressUpdateCount;
+    private int milestoneCount;
+    private int offRouteCount;
+    private int fasterRouteCheckCount;
+    private int coalescedUpdateCount;
+
+    @Override
+    public boolean isRouteProgressRequired(long currentTimeMillis) {
+      return true;
+    }
+
+    @Override
+    public void onNewRouteProgress(Location location, RouteProgress routeProgress) {
+      progressUpdateCount++;
+    }
+
+    @Override
+    public void onNewRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+      // Snapshots are only built when listened for
+    }
+
+    @Override
+    public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+      for (Milestone milestone : triggeredMilestones) {
+        buildInstructionString(routeProgress, milestone);
+        milestoneCount++;
+      }
+    }
+
+    @Override
+    public void onUserOffRoute(Location location, boolean userOffRoute) {
+      if (userOffRoute) {
+        offRouteCount++;
+      }
+    }
+
+    @Override
+    public void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute) {
+      if (checkFasterRoute) {
+        fasterRouteCheckCount++;
+      }
+    }
+
+    @Override
+    public void onRouteProcessingInterval(long intervalInMilliseconds) {
+      // Only used for the notification
+    }
+
+    @Override
+    public void onRouteProgressCoalesced(int coalescedUpdateCount) {
+      this.coalescedUpdateCount += coalescedUpdateCount;
+    }
+
+    @Override
+    public void onRouteProcessingTimings(RouteProcessingTimings timings) {
+      // Timings aren't measured in simulations
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.offroute.IndexedOffRouteDetector;
+import com.mapbox.services.android.navigation.v5.snap.IndexedSnapToRoute;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulates navigating each of the given directions responses and prints one summary line per
+ * trip, for batch runs over recorded trips:
+ * <pre>
+ * ./gradlew :libandroid-navigation-benchmark:simulate -PsimulationArgs="--speed=20 trips/*.json"
+ * </pre>
+ * With {@code --java-engines}, locations are snapped and checked for off route by the
+ * {@link IndexedSnapToRoute} and {@link IndexedOffRouteDetector} instead of the navigator.
+ * Exits with a non-zero status if a trip didn't arrive.
+ */
+public final class NavigationSimulationMain {
+
+  private static final String SPEED_ARGUMENT = "--speed=";
+  private static final String INTERVAL_ARGUMENT = "--interval=";
+  private static final String JAVA_ENGINES_ARGUMENT = "--java-engines";
+  private static final String UTF_8 = "UTF-8";
+
+  private NavigationSimulationMain() {
+    // Command line entry point
+  }
+
+  public static void main(String[] args) throws IOException {
+    Double speedInMetersPerSecond = null;
+    Integer intervalInMilliseconds = null;
+    boolean useJavaEngines = false;
+    List<File> trips = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith(SPEED_ARGUMENT)) {
+        speedInMetersPerSecond = Double.parseDouble(arg.substring(SPEED_ARGUMENT.length()));
+      } else if (arg.startsWith(INTERVAL_ARGUMENT)) {
+        intervalInMilliseconds = Integer.parseInt(arg.substring(INTERVAL_ARGUMENT.length()));
+      } else if (JAVA_ENGINES_ARGUMENT.equals(arg)) {
+        useJavaEngines = true;
+      } else {
+        trips.add(new File(arg));
+      }
+    }
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    boolean allArrived = true;
+    for (File trip : trips) {
+      NavigationSimulation.Builder builder = NavigationSimulation.builder(loadRoute(gson, trip));
+      if (speedInMetersPerSecond != null) {
+        builder.speedInMetersPerSecond(speedInMetersPerSecond);
+      }
+      if (intervalInMilliseconds != null) {
+        builder.routeProcessingIntervalInMilliseconds(intervalInMilliseconds);
+      }
+      if (useJavaEngines) {
+        builder.snapEngine(new IndexedSnapToRoute()).offRouteEngine(new IndexedOffRouteDetector());
+      }
+      SimulationResult result = builder.build().run();
+      allArrived &= result.hasArrived();
+      System.out.println(result.summarize(trip.getName()));
+    }
+    if (!allArrived) {
+      System.exit(1);
+    }
+  }
+
+  private static DirectionsRoute loadRoute(Gson gson, File trip) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(trip), UTF_8);
+    try {
+      return gson.fromJson(reader, DirectionsResponse.class).routes().get(0);
+    } finally {
+      reader.close();
+    }
+  }
+}
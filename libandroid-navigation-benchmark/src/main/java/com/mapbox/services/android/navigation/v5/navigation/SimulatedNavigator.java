@@ -0,0 +1,360 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+import com.mapbox.navigator.FixLocation;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.navigator.RouteState;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stands in for the native navigator by moving along the route at a constant speed, so the route
+ * processor can run on a plain JVM.
+ * <p>
+ * The position is interpolated between step maneuvers rather than along the step geometry, which
+ * is enough to drive the route processor, milestones and the snap, off-route and faster route
+ * engines. The user is off-route during the windows added with {@link #addOffRouteWindow(long, long)}.
+ * <p>
+ * Routes and locations passed in are ignored, the route given to the constructor is followed at
+ * the given speed. The {@link NavigationStatus} returned is the same instance for every request,
+ * with its fields written by {@link NavigationStatusWriter}.
+ * <p>
+ * Status requests don't allocate, so the allocations measured around a route processor run are
+ * the ones of the SDK. Locations are computed up front every {@link #LOCATION_SPACING_IN_METERS}
+ * along the route for that, and the one closest to the distance traveled is reported.
+ */
+class SimulatedNavigator implements NavigatorBackend {
+
+  private static final String SIMULATED_PROVIDER = "simulation";
+  private static final double ONE_SECOND_IN_MILLISECONDS = 1000d;
+  private static final String EMPTY_HISTORY = "{}";
+  private static final double LOCATION_SPACING_IN_METERS = 5d;
+
+  private final long startTimeMillis;
+  private final double speedInMetersPerSecond;
+  private final int[] stepLegIndices;
+  private final int[] stepIndices;
+  private final double[] stepStartDistances;
+  private final double[] stepDistances;
+  private final double[] legEndDistances;
+  private final double[] legDurations;
+  private final double[] legDistances;
+  private final Point[] stepStartPoints;
+  private final Point[] stepEndPoints;
+  private final double routeDistance;
+  private final Point[] locations;
+  private final List<long[]> offRouteWindows = new ArrayList<>();
+  private final NavigationStatusWriter statusWriter = new NavigationStatusWriter();
+  private final Date time = new Date();
+  private int stepPosition;
+  private double stepDistanceRemaining;
+  private double legDistanceRemaining;
+  private double legDurationRemaining;
+  private RouteState routeState = RouteState.TRACKING;
+  private Point location;
+
+  SimulatedNavigator(DirectionsRoute route, long startTimeMillis, double speedInMetersPerSecond) {
+    this.startTimeMillis = startTimeMillis;
+    this.speedInMetersPerSecond = speedInMetersPerSecond;
+    List<RouteLeg> legs = route.legs();
+    int stepCount = 0;
+    for (RouteLeg leg : legs) {
+      stepCount += leg.steps().size();
+    }
+    stepLegIndices = new int[stepCount];
+    stepIndices = new int[stepCount];
+    stepStartDistances = new double[stepCount];
+    stepDistances = new double[stepCount];
+    stepStartPoints = new Point[stepCount];
+    stepEndPoints = new Point[stepCount];
+    legEndDistances = new double[legs.size()];
+    legDurations = new double[legs.size()];
+    legDistances = new double[legs.size()];
+    double distance = 0;
+    int position = 0;
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        stepLegIndices[position] = legIndex;
+        stepIndices[position] = stepIndex;
+        stepStartDistances[position] = distance;
+        stepDistances[position] = step.distance();
+        stepStartPoints[position] = step.maneuver().location();
+        boolean hasNextStep = stepIndex + 1 < steps.size();
+        stepEndPoints[position] = hasNextStep ? steps.get(stepIndex + 1).maneuver().location()
+          : step.maneuver().location();
+        distance += step.distance();
+        position++;
+      }
+      legEndDistances[legIndex] = distance;
+      legDistances[legIndex] = legs.get(legIndex).distance();
+      legDurations[legIndex] = legs.get(legIndex).duration();
+    }
+    routeDistance = distance;
+    locations = buildLocations();
+    location = locations.length > 0 ? locations[0] : null;
+  }
+
+  /**
+   * The user is reported off-route between the given times, relative to the simulation start.
+   */
+  void addOffRouteWindow(long startInMilliseconds, long endInMilliseconds) {
+    offRouteWindows.add(new long[] {startInMilliseconds, endInMilliseconds});
+  }
+
+  double retrieveRouteDistance() {
+    return routeDistance;
+  }
+
+  boolean isComplete() {
+    return routeState == RouteState.COMPLETE;
+  }
+
+  /**
+   * Builds a raw location update at the current simulated position.
+   */
+  Location buildLocation() {
+    Location rawLocation = new Location(SIMULATED_PROVIDER);
+    if (location != null) {
+      rawLocation.setLatitude(location.latitude());
+      rawLocation.setLongitude(location.longitude());
+    }
+    rawLocation.setSpeed((float) speedInMetersPerSecond);
+    rawLocation.setTime(time.getTime());
+    return rawLocation;
+  }
+
+  @Override
+  public void setRoute(String routeJson, int routeIndex, int legIndex) {
+    // The route given to the constructor is followed
+  }
+
+  @Override
+  public NavigationStatus getStatus(Date date) {
+    return retrieveStatus(date);
+  }
+
+  @Override
+  public void updateLocation(FixLocation fixLocation) {
+    // Locations are simulated from the speed
+  }
+
+  @Override
+  public String getHistory() {
+    return EMPTY_HISTORY;
+  }
+
+  @Override
+  public void toggleHistory(boolean isEnabled) {
+    // History isn't recorded
+  }
+
+  NavigationStatus retrieveStatus(Date date) {
+    time.setTime(date.getTime());
+    long elapsedTime = Math.max(0, date.getTime() - startTimeMillis);
+    double distanceTraveled = Math.min(routeDistance,
+      speedInMetersPerSecond * elapsedTime / ONE_SECOND_IN_MILLISECONDS);
+    updatePosition(distanceTraveled);
+    if (distanceTraveled >= routeDistance) {
+      routeState = RouteState.COMPLETE;
+    } else if (isOffRoute(elapsedTime)) {
+      routeState = RouteState.OFFROUTE;
+    } else {
+      routeState = RouteState.TRACKING;
+    }
+    return writeStatus();
+  }
+
+  private void updatePosition(double distanceTraveled) {
+    if (stepStartDistances.length == 0) {
+      return;
+    }
+    stepPosition = findStepPosition(distanceTraveled);
+    int legIndex = stepLegIndices[stepPosition];
+    double stepDistanceTraveled = distanceTraveled - stepStartDistances[stepPosition];
+    stepDistanceRemaining = Math.max(0, stepDistances[stepPosition] - stepDistanceTraveled);
+    legDistanceRemaining = Math.max(0, legEndDistances[legIndex] - distanceTraveled);
+    legDurationRemaining = legDistances[legIndex] > 0
+      ? legDurations[legIndex] * legDistanceRemaining / legDistances[legIndex] : 0;
+    long locationIndex = Math.round(distanceTraveled / LOCATION_SPACING_IN_METERS);
+    location = locations[(int) Math.min(locations.length - 1, locationIndex)];
+  }
+
+  private int findStepPosition(double distanceTraveled) {
+    int position = Arrays.binarySearch(stepStartDistances, distanceTraveled);
+    if (position < 0) {
+      position = -position - 2;
+    }
+    // Zero length steps share their start distance with the next step, the last of them is current
+    while (position + 1 < stepStartDistances.length && stepStartDistances[position + 1] <= distanceTraveled) {
+      position++;
+    }
+    return Math.max(0, position);
+  }
+
+  private Point[] buildLocations() {
+    if (stepStartDistances.length == 0) {
+      return new Point[0];
+    }
+    Point[] locations = new Point[(int) Math.ceil(routeDistance / LOCATION_SPACING_IN_METERS) + 1];
+    for (int i = 0; i < locations.length; i++) {
+      double distance = Math.min(routeDistance, i * LOCATION_SPACING_IN_METERS);
+      int position = findStepPosition(distance);
+      double stepDistanceTraveled = distance - stepStartDistances[position];
+      double fraction = stepDistances[position] > 0 ? stepDistanceTraveled / stepDistances[position] : 0;
+      locations[i] = interpolate(stepStartPoints[position], stepEndPoints[position], Math.min(1, fraction));
+    }
+    return locations;
+  }
+
+  private boolean isOffRoute(long elapsedTime) {
+    for (int i = 0; i < offRouteWindows.size(); i++) {
+      long[] window = offRouteWindows.get(i);
+      if (elapsedTime >= window[0] && elapsedTime < window[1]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Point interpolate(Point start, Point end, double fraction) {
+    double longitude = start.longitude() + (end.longitude() - start.longitude()) * fraction;
+    double latitude = start.latitude() + (end.latitude() - start.latitude()) * fraction;
+    return Point.fromLngLat(longitude, latitude);
+  }
+
+  private NavigationStatus writeStatus() {
+    int legIndex = stepLegIndices.length > 0 ? stepLegIndices[stepPosition] : 0;
+    int stepIndex = stepIndices.length > 0 ? stepIndices[stepPosition] : 0;
+    return statusWriter.write(routeState, legIndex, stepIndex, stepDistanceRemaining, legDistanceRemaining,
+      legDurationRemaining * ONE_SECOND_IN_MILLISECONDS, location, time);
+  }
+
+  /**
+   * Writes the fields behind the navigation status getters. The native record has no setters and
+   * its constructor differs between navigator versions, so the widest constructor is called with
+   * default values and the fields are found once by the name of their getter. Numbers are written
+   * with the primitive setter of the declared type, so writing doesn't allocate.
+   */
+  private static class NavigationStatusWriter {
+
+    private static final String GETTER_PREFIX = "get";
+    private static final String FIELD_PREFIX = "m";
+
+    private final NavigationStatus status = createStatus();
+    private final Field routeStateField = findField("getRouteState");
+    private final Field legIndexField = findField("getLegIndex");
+    private final Field stepIndexField = findField("getStepIndex");
+    private final Field remainingStepDistanceField = findField("getRemainingStepDistance");
+    private final Field remainingLegDistanceField = findField("getRemainingLegDistance");
+    private final Field remainingLegDurationField = findField("getRemainingLegDuration");
+    private final Field locationField = findField("getLocation");
+    private final Field timeField = findField("getTime");
+
+    NavigationStatus write(RouteState routeState, int legIndex, int stepIndex, double remainingStepDistance,
+                           double remainingLegDistance, double remainingLegDuration, Point location, Date time) {
+      try {
+        routeStateField.set(status, routeState);
+        writeNumber(legIndexField, legIndex);
+        writeNumber(stepIndexField, stepIndex);
+        writeNumber(remainingStepDistanceField, remainingStepDistance);
+        writeNumber(remainingLegDistanceField, remainingLegDistance);
+        writeNumber(remainingLegDurationField, remainingLegDuration);
+        locationField.set(status, location);
+        timeField.set(status, time);
+      } catch (IllegalAccessException exception) {
+        throw new IllegalStateException(exception);
+      }
+      return status;
+    }
+
+    private void writeNumber(Field field, double value) throws IllegalAccessException {
+      Class<?> type = field.getType();
+      if (type == int.class) {
+        field.setInt(status, (int) value);
+      } else if (type == long.class) {
+        field.setLong(status, (long) value);
+      } else if (type == float.class) {
+        field.setFloat(status, (float) value);
+      } else if (type == double.class) {
+        field.setDouble(status, value);
+      } else {
+        field.set(status, convert(value, type));
+      }
+    }
+
+    private static NavigationStatus createStatus() {
+      Constructor<?> widestConstructor = null;
+      for (Constructor<?> constructor : NavigationStatus.class.getDeclaredConstructors()) {
+        if (widestConstructor == null
+          || constructor.getParameterTypes().length > widestConstructor.getParameterTypes().length) {
+          widestConstructor = constructor;
+        }
+      }
+      Class<?>[] parameterTypes = widestConstructor.getParameterTypes();
+      Object[] arguments = new Object[parameterTypes.length];
+      for (int i = 0; i < parameterTypes.length; i++) {
+        arguments[i] = defaultValue(parameterTypes[i]);
+      }
+      try {
+        widestConstructor.setAccessible(true);
+        return (NavigationStatus) widestConstructor.newInstance(arguments);
+      } catch (ReflectiveOperationException exception) {
+        throw new IllegalStateException("Unable to create a navigation status", exception);
+      }
+    }
+
+    private static Field findField(String getterName) {
+      String property = getterName.substring(GETTER_PREFIX.length());
+      for (Field field : NavigationStatus.class.getDeclaredFields()) {
+        String name = field.getName();
+        if (name.equalsIgnoreCase(property) || name.equalsIgnoreCase(FIELD_PREFIX + property)) {
+          field.setAccessible(true);
+          return field;
+        }
+      }
+      throw new IllegalStateException("No navigation status field behind " + getterName);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+      if (type == boolean.class) {
+        return false;
+      } else if (type.isPrimitive()) {
+        return convert(0, type);
+      }
+      return null;
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+      if (!(value instanceof Number)) {
+        return value;
+      }
+      Number number = (Number) value;
+      if (type == int.class || type == Integer.class) {
+        return number.intValue();
+      } else if (type == long.class || type == Long.class) {
+        return number.longValue();
+      } else if (type == float.class || type == Float.class) {
+        return number.floatValue();
+      } else if (type == short.class || type == Short.class) {
+        return number.shortValue();
+      } else if (type == byte.class || type == Byte.class) {
+        return number.byteValue();
+      } else if (type == char.class) {
+        return (char) number.intValue();
+      }
+      return number.doubleValue();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link NavigationSimulation}.
+ */
+class SimulationResult {
+
+  private static final double NANOSECONDS_PER_MICROSECOND = 1000d;
+  private static final double NANOSECONDS_PER_MILLISECOND = 1000000d;
+  private static final double MILLISECONDS_PER_SECOND = 1000d;
+
+  private final long simulatedTimeInMilliseconds;
+  private final long wallTimeInNanoseconds;
+  private final boolean arrived;
+  private final TickStatistics statistics;
+  private final int progressUpdateCount;
+  private final int milestoneCount;
+  private final int offRouteCount;
+  private final int fasterRouteCheckCount;
+  private final int coalescedUpdateCount;
+
+  SimulationResult(long simulatedTimeInMilliseconds, long wallTimeInNanoseconds, boolean arrived,
+                   TickStatistics statistics, int progressUpdateCount, int milestoneCount, int offRouteCount,
+                   int fasterRouteCheckCount, int coalescedUpdateCount) {
+    this.simulatedTimeInMilliseconds = simulatedTimeInMilliseconds;
+    this.wallTimeInNanoseconds = wallTimeInNanoseconds;
+    this.arrived = arrived;
+    this.statistics = statistics;
+    this.progressUpdateCount = progressUpdateCount;
+    this.milestoneCount = milestoneCount;
+    this.offRouteCount = offRouteCount;
+    this.fasterRouteCheckCount = fasterRouteCheckCount;
+    this.coalescedUpdateCount = coalescedUpdateCount;
+  }
+
+  long simulatedTimeInMilliseconds() {
+    return simulatedTimeInMilliseconds;
+  }
+
+  long wallTimeInNanoseconds() {
+    return wallTimeInNanoseconds;
+  }
+
+  boolean hasArrived() {
+    return arrived;
+  }
+
+  TickStatistics statistics() {
+    return statistics;
+  }
+
+  int progressUpdateCount() {
+    return progressUpdateCount;
+  }
+
+  int milestoneCount() {
+    return milestoneCount;
+  }
+
+  int offRouteCount() {
+    return offRouteCount;
+  }
+
+  int fasterRouteCheckCount() {
+    return fasterRouteCheckCount;
+  }
+
+  int coalescedUpdateCount() {
+    return coalescedUpdateCount;
+  }
+
+  /**
+   * One line summary, with latencies in microseconds.
+   */
+  String summarize(String name) {
+    return String.format(Locale.US,
+      "%s simulated=%.0fs wall=%.1fms arrived=%b ticks=%d p50=%.1fus p95=%.1fus max=%.1fus "
+        + "allocMean=%dB allocMax=%dB progress=%d milestones=%d offRoute=%d fasterRoute=%d coalesced=%d",
+      name,
+      simulatedTimeInMilliseconds / MILLISECONDS_PER_SECOND,
+      wallTimeInNanoseconds / NANOSECONDS_PER_MILLISECOND,
+      arrived,
+      statistics.tickCount(),
+      statistics.p50LatencyNanoseconds() / NANOSECONDS_PER_MICROSECOND,
+      statistics.p95LatencyNanoseconds() / NANOSECONDS_PER_MICROSECOND,
+      statistics.maxLatencyNanoseconds() / NANOSECONDS_PER_MICROSECOND,
+      statistics.meanAllocatedBytes(),
+      statistics.maxAllocatedBytes(),
+      progressUpdateCount,
+      milestoneCount,
+      offRouteCount,
+      fasterRouteCheckCount,
+      coalescedUpdateCount);
+  }
+}
@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.util.Arrays;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .VOICE_INSTRUCTION_MILESTONE_ID;
+
+/**
+ * The state a navigation session would hand the route processor, with the default milestones.
+ * {@link MapboxNavigation} needs a context and the native navigator, so simulations and replays
+ * run their route processor against this session instead.
+ * <p>
+ * Without engines passed in, the session uses the default ones, which read the snapped location
+ * and the off route state from the navigator. Passing Java engines like the
+ * {@link com.mapbox.services.android.navigation.v5.snap.IndexedSnapToRoute} runs them on every
+ * route processor run instead, so both can be compared on the same input.
+ */
+class SimulationSession implements RouteProcessorSession {
+
+  private final MapboxNavigationOptions options;
+  private final MapboxNavigator mapboxNavigator;
+  private final LocationIngestionPipeline locationIngestionPipeline;
+  private final MilestoneScheduler milestoneScheduler = new MilestoneScheduler();
+  private final NavigationEventDispatcher eventDispatcher = new NavigationEventDispatcher();
+  private final NavigationEngineFactory engineFactory = new NavigationEngineFactory();
+  private DirectionsRoute route;
+  private RouteGeometryIndex routeGeometryIndex;
+
+  SimulationSession(MapboxNavigationOptions options, MapboxNavigator mapboxNavigator) {
+    this(options, mapboxNavigator, null, null);
+  }
+
+  /**
+   * @param snapEngine     to snap locations with, or null for the default engine
+   * @param offRouteEngine to detect off route with, or null for the default engine
+   */
+  SimulationSession(MapboxNavigationOptions options, MapboxNavigator mapboxNavigator, @Nullable Snap snapEngine,
+                    @Nullable OffRoute offRouteEngine) {
+    this.options = options;
+    this.mapboxNavigator = mapboxNavigator;
+    this.locationIngestionPipeline = new LocationIngestionPipeline(
+      options.locationAcceptableAccuracyInMetersThreshold());
+    milestoneScheduler.updateMilestones(Arrays.<Milestone>asList(
+      new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build(),
+      new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build()
+    ));
+    engineFactory.updateSnapEngine(snapEngine);
+    engineFactory.updateOffRouteEngine(offRouteEngine);
+  }
+
+  void updateRoute(DirectionsRoute route) {
+    this.route = route;
+    this.routeGeometryIndex = RouteGeometryIndex.create(route);
+  }
+
+  @Override
+  public MapboxNavigationOptions options() {
+    return options;
+  }
+
+  @Override
+  public DirectionsRoute getRoute() {
+    return route;
+  }
+
+  @Override
+  public RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return routeGeometryIndex;
+  }
+
+  @Override
+  public MilestoneScheduler retrieveMilestoneScheduler() {
+    return milestoneScheduler;
+  }
+
+  @Override
+  public NavigationEventDispatcher getEventDispatcher() {
+    return eventDispatcher;
+  }
+
+  @Override
+  public NavigationEngineFactory retrieveEngineFactory() {
+    return engineFactory;
+  }
+
+  @Override
+  public MapboxNavigator retrieveMapboxNavigator() {
+    return mapboxNavigator;
+  }
+
+  @Override
+  public LocationIngestionPipeline retrieveLocationIngestionPipeline() {
+    return locationIngestionPipeline;
+  }
+}
@@ -0,0 +1,114 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Collects the latency and allocated bytes of each route processor run of a simulation.
+ * <p>
+ * Allocated bytes are only measured on JVMs whose thread bean supports per-thread allocation
+ * counters, like HotSpot, otherwise they are reported as zero.
+ */
+class TickStatistics {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final double P50 = 0.50;
+  private static final double P95 = 0.95;
+  private static final long NOT_MEASURED = 0;
+
+  private final com.sun.management.ThreadMXBean allocationBean;
+  private long[] latencies = new long[INITIAL_CAPACITY];
+  private int tickCount;
+  private long totalAllocatedBytes;
+  private long maxAllocatedBytes;
+  private long tickStartTime;
+  private long tickStartAllocatedBytes;
+
+  TickStatistics() {
+    allocationBean = findAllocationBean();
+  }
+
+  void startTick() {
+    tickStartAllocatedBytes = retrieveAllocatedBytes();
+    tickStartTime = System.nanoTime();
+  }
+
+  void finishTick() {
+    long latency = System.nanoTime() - tickStartTime;
+    long allocatedBytes = retrieveAllocatedBytes() - tickStartAllocatedBytes;
+    if (tickCount == latencies.length) {
+      latencies = Arrays.copyOf(latencies, tickCount * 2);
+    }
+    latencies[tickCount++] = latency;
+    totalAllocatedBytes += allocatedBytes;
+    maxAllocatedBytes = Math.max(maxAllocatedBytes, allocatedBytes);
+  }
+
+  /**
+   * Latency of the latest tick, or zero before the first one.
+   */
+  long lastLatencyNanoseconds() {
+    return tickCount == 0 ? 0 : latencies[tickCount - 1];
+  }
+
+  int tickCount() {
+    return tickCount;
+  }
+
+  long p50LatencyNanoseconds() {
+    return percentile(P50);
+  }
+
+  long p95LatencyNanoseconds() {
+    return percentile(P95);
+  }
+
+  long maxLatencyNanoseconds() {
+    return percentile(1);
+  }
+
+  long totalAllocatedBytes() {
+    return totalAllocatedBytes;
+  }
+
+  long maxAllocatedBytes() {
+    return maxAllocatedBytes;
+  }
+
+  long meanAllocatedBytes() {
+    return tickCount == 0 ? 0 : totalAllocatedBytes / tickCount;
+  }
+
+  /**
+   * Nearest-rank percentile of the tick latencies.
+   */
+  private long percentile(double percentile) {
+    if (tickCount == 0) {
+      return 0;
+    }
+    long[] sortedLatencies = Arrays.copyOf(latencies, tickCount);
+    Arrays.sort(sortedLatencies);
+    int rank = (int) Math.ceil(percentile * tickCount);
+    return sortedLatencies[Math.max(rank, 1) - 1];
+  }
+
+  private long retrieveAllocatedBytes() {
+    if (allocationBean == null) {
+      return NOT_MEASURED;
+    }
+    return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean findAllocationBean() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (threadBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+      if (allocationBean.isThreadAllocatedMemorySupported()) {
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationBean;
+      }
+    }
+    return null;
+  }
+}
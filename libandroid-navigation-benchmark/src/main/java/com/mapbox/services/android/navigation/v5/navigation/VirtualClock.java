@@ -0,0 +1,144 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * A clock which only moves when the next scheduled task runs, so a simulation runs as fast as the
+ * tasks themselves instead of waiting for their delays to pass.
+ * <p>
+ * Each {@link RouteProcessorScheduler} created from this clock stands in for one
+ * {@link android.os.Handler}. All of them share one timeline and tasks run in the order of their
+ * scheduled time, then the order they were posted in.
+ */
+class VirtualClock {
+
+  private final PriorityQueue<Task> tasks = new PriorityQueue<>(16, new Comparator<Task>() {
+    @Override
+    public int compare(Task first, Task second) {
+      if (first.uptimeMillis != second.uptimeMillis) {
+        return first.uptimeMillis < second.uptimeMillis ? -1 : 1;
+      }
+      return first.sequenceNumber < second.sequenceNumber ? -1 : 1;
+    }
+  });
+  private final long startTimeMillis;
+  private long uptimeMillis;
+  private long sequenceNumber;
+
+  /**
+   * @param startTimeMillis wall clock time the simulation starts at
+   */
+  VirtualClock(long startTimeMillis) {
+    this.startTimeMillis = startTimeMillis;
+  }
+
+  RouteProcessorScheduler createScheduler() {
+    return new VirtualScheduler();
+  }
+
+  long uptimeMillis() {
+    return uptimeMillis;
+  }
+
+  long currentTimeMillis() {
+    return startTimeMillis + uptimeMillis;
+  }
+
+  /**
+   * Removes the next task due at or before the given time and moves the clock to its time.
+   *
+   * @param untilUptimeMillis latest time to run a task at
+   * @return the next task, or null if there is none until then
+   */
+  @Nullable
+  Task pollNextTask(long untilUptimeMillis) {
+    Task task = tasks.peek();
+    if (task == null || task.uptimeMillis > untilUptimeMillis) {
+      return null;
+    }
+    tasks.poll();
+    uptimeMillis = Math.max(uptimeMillis, task.uptimeMillis);
+    return task;
+  }
+
+  /**
+   * Moves the clock forward without running any tasks, for instance when nothing is scheduled.
+   */
+  void advanceTo(long uptimeMillis) {
+    this.uptimeMillis = Math.max(this.uptimeMillis, uptimeMillis);
+  }
+
+  private void schedule(VirtualScheduler scheduler, Runnable runnable, long uptimeMillis) {
+    tasks.add(new Task(scheduler, runnable, Math.max(uptimeMillis, this.uptimeMillis), sequenceNumber++));
+  }
+
+  private void remove(VirtualScheduler scheduler, Runnable runnable) {
+    Iterator<Task> iterator = tasks.iterator();
+    while (iterator.hasNext()) {
+      Task task = iterator.next();
+      if (task.scheduler == scheduler && task.runnable == runnable) {
+        iterator.remove();
+      }
+    }
+  }
+
+  static class Task {
+
+    private final RouteProcessorScheduler scheduler;
+    private final Runnable runnable;
+    private final long uptimeMillis;
+    private final long sequenceNumber;
+
+    Task(RouteProcessorScheduler scheduler, Runnable runnable, long uptimeMillis, long sequenceNumber) {
+      this.scheduler = scheduler;
+      this.runnable = runnable;
+      this.uptimeMillis = uptimeMillis;
+      this.sequenceNumber = sequenceNumber;
+    }
+
+    RouteProcessorScheduler scheduler() {
+      return scheduler;
+    }
+
+    void run() {
+      runnable.run();
+    }
+  }
+
+  private class VirtualScheduler implements RouteProcessorScheduler {
+
+    @Override
+    public long uptimeMillis() {
+      return VirtualClock.this.uptimeMillis();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+      return VirtualClock.this.currentTimeMillis();
+    }
+
+    @Override
+    public void post(Runnable runnable) {
+      schedule(this, runnable, uptimeMillis);
+    }
+
+    @Override
+    public void postDelayed(Runnable runnable, long delayInMilliseconds) {
+      schedule(this, runnable, uptimeMillis + delayInMilliseconds);
+    }
+
+    @Override
+    public void postAtTime(Runnable runnable, long uptimeMillis) {
+      schedule(this, runnable, uptimeMillis);
+    }
+
+    @Override
+    public void removeCallbacks(Runnable runnable) {
+      remove(this, runnable);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+public class NavigationHistoryReaderTest {
+
+  private static final double DELTA = 1E-6;
+
+  @Test
+  public void next_readsEventsInOrder() throws Exception {
+    NavigationHistoryReader reader = buildReader("{\"version\":\"3.3.1\",\"events\":["
+      + "{\"type\":\"setRoute\",\"route\":\"{}\",\"event_timestamp\":1500000000000},"
+      + "{\"type\":\"updateLocation\",\"event_timestamp\":1500000001000,\"location\":"
+      + "{\"lat\":38.9,\"lon\":-77.03,\"time\":1500000000900,\"speed\":12.5,\"bearing\":90,"
+      + "\"accuracyHorizontal\":5,\"provider\":\"fused\"}},"
+      + "{\"type\":\"getStatus\",\"event_timestamp\":1500000001500}]}");
+
+    HistoryEvent setRoute = reader.next();
+    HistoryEvent updateLocation = reader.next();
+    HistoryEvent getStatus = reader.next();
+
+    assertEquals(HistoryEvent.TYPE_SET_ROUTE, setRoute.type());
+    assertEquals("{}", setRoute.routeJson());
+    assertEquals(1500000000000L, setRoute.timeMillis());
+    assertEquals(HistoryEvent.TYPE_UPDATE_LOCATION, updateLocation.type());
+    assertEquals(1500000001000L, updateLocation.timeMillis());
+    assertEquals(38.9, updateLocation.location().getLatitude(), DELTA);
+    assertEquals(-77.03, updateLocation.location().getLongitude(), DELTA);
+    assertEquals(1500000000900L, updateLocation.location().getTime());
+    assertEquals(12.5f, updateLocation.location().getSpeed(), DELTA);
+    assertEquals("fused", updateLocation.location().getProvider());
+    assertEquals(HistoryEvent.TYPE_GET_STATUS, getStatus.type());
+    assertNull(reader.next());
+  }
+
+  @Test
+  public void next_readsHistoriesFollowingEachOther() throws Exception {
+    NavigationHistoryReader reader = buildReader(
+      "{\"events\":[{\"type\":\"getStatus\",\"event_timestamp\":1500000000000}]}\n"
+        + "{\"events\":[{\"type\":\"getStatus\",\"event_timestamp\":1500000060000}]}\n");
+
+    HistoryEvent first = reader.next();
+    HistoryEvent second = reader.next();
+
+    assertEquals(1500000000000L, first.timeMillis());
+    assertEquals(1500000060000L, second.timeMillis());
+    assertNull(reader.next());
+  }
+
+  @Test
+  public void next_readsHistoryArrayAndBareArray() throws Exception {
+    NavigationHistoryReader reader = buildReader(
+      "{\"history\":[{\"type\":\"getStatus\",\"timestamp\":1}]}[{\"type\":\"getStatus\",\"timestamp\":2}]");
+
+    HistoryEvent first = reader.next();
+    HistoryEvent second = reader.next();
+
+    assertEquals(1000L, first.timeMillis());
+    assertEquals(2000L, second.timeMillis());
+  }
+
+  @Test
+  public void next_skipsUnknownEventsAndFields() throws Exception {
+    NavigationHistoryReader reader = buildReader("{\"metadata\":{\"device\":\"test\"},\"events\":["
+      + "{\"type\":\"toggleHistory\",\"enabled\":true},"
+      + "{\"type\":\"getStatus\",\"event_timestamp\":1500000000000,\"extra\":[1,2,3]}],\"end\":true}");
+
+    HistoryEvent event = reader.next();
+
+    assertEquals(HistoryEvent.TYPE_GET_STATUS, event.type());
+    assertNull(reader.next());
+  }
+
+  @Test
+  public void next_routeObjectIsReadAsJson() throws Exception {
+    NavigationHistoryReader reader = buildReader(
+      "[{\"type\":\"setRoute\",\"route\":{\"distance\":100.0},\"event_timestamp\":1500000000000}]");
+
+    HistoryEvent event = reader.next();
+
+    assertEquals("{\"distance\":100.0}", event.routeJson());
+  }
+
+  @Test
+  public void next_eventWithoutTimeUsesLocationTime() throws Exception {
+    NavigationHistoryReader reader = buildReader(
+      "[{\"type\":\"updateLocation\",\"location\":{\"lat\":1,\"lon\":2,\"time\":1500000000000}}]");
+
+    HistoryEvent event = reader.next();
+
+    assertEquals(1500000000000L, event.timeMillis());
+  }
+
+  private NavigationHistoryReader buildReader(String history) throws IOException {
+    return new NavigationHistoryReader(new StringReader(history));
+  }
+}
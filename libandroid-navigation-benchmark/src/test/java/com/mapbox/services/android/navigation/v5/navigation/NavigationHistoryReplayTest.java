@@ -0,0 +1,165 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.offroute.IndexedOffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.IndexedSnapToRoute;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Scanner;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class NavigationHistoryReplayTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final double FAST_SPEED_IN_METERS_PER_SECOND = 100d;
+  private static final long START_TIME_MILLIS = 1500000000000L;
+  private static final long LOCATION_INTERVAL_IN_MILLISECONDS = 1000;
+
+  @Test
+  public void replay_arrivesAtEndOfRecordedRoute() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, FAST_SPEED_IN_METERS_PER_SECOND);
+    NavigationHistoryReplay replay = NavigationHistoryReplay.builder(navigator).build();
+
+    SimulationResult result = replay.replay(buildReader(route, navigator.retrieveRouteDistance()));
+
+    assertTrue(result.hasArrived());
+    assertTrue(result.progressUpdateCount() > 0);
+    assertTrue(result.statistics().tickCount() > 0);
+  }
+
+  @Test
+  public void replay_tickListenerReceivesEachRouteProgress() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, FAST_SPEED_IN_METERS_PER_SECOND);
+    CountingTickListener tickListener = new CountingTickListener();
+    NavigationHistoryReplay replay = NavigationHistoryReplay.builder(navigator)
+      .tickListener(tickListener)
+      .build();
+
+    SimulationResult result = replay.replay(buildReader(route, navigator.retrieveRouteDistance()));
+
+    assertEquals(result.progressUpdateCount(), tickListener.tickCount);
+    assertTrue(tickListener.firstTimeMillis >= START_TIME_MILLIS);
+  }
+
+  @Test
+  public void replay_javaEnginesRunOnEachRouteProcessorRun() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, FAST_SPEED_IN_METERS_PER_SECOND);
+    CountingSnapToRoute snapEngine = new CountingSnapToRoute();
+    CountingOffRouteDetector offRouteEngine = new CountingOffRouteDetector();
+    NavigationHistoryReplay replay = NavigationHistoryReplay.builder(navigator)
+      .snapEngine(snapEngine)
+      .offRouteEngine(offRouteEngine)
+      .build();
+
+    SimulationResult result = replay.replay(buildReader(route, navigator.retrieveRouteDistance()));
+
+    assertTrue(result.hasArrived());
+    assertEquals(result.statistics().tickCount(), snapEngine.snapCount);
+    assertEquals(result.statistics().tickCount(), offRouteEngine.checkCount);
+  }
+
+  @Test
+  public void replay_emptyHistoryReturnsEmptyResult() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, FAST_SPEED_IN_METERS_PER_SECOND);
+    NavigationHistoryReplay replay = NavigationHistoryReplay.builder(navigator).build();
+
+    SimulationResult result = replay.replay(new NavigationHistoryReader(new StringReader("{\"events\":[]}")));
+
+    assertFalse(result.hasArrived());
+    assertEquals(0, result.statistics().tickCount());
+  }
+
+  /**
+   * Builds a history setting the route and then updating the location each second for as long as
+   * the simulated navigator takes to reach the end of the route.
+   */
+  private NavigationHistoryReader buildReader(DirectionsRoute route, double routeDistance) {
+    JsonArray events = new JsonArray();
+    JsonObject setRoute = new JsonObject();
+    setRoute.addProperty("type", "setRoute");
+    setRoute.addProperty("route", route.toJson());
+    setRoute.addProperty("event_timestamp", START_TIME_MILLIS);
+    events.add(setRoute);
+    Point origin = route.legs().get(0).steps().get(0).maneuver().location();
+    long duration = (long) (routeDistance / FAST_SPEED_IN_METERS_PER_SECOND * 1000) + LOCATION_INTERVAL_IN_MILLISECONDS;
+    long endTime = START_TIME_MILLIS + duration;
+    for (long time = START_TIME_MILLIS; time <= endTime; time += LOCATION_INTERVAL_IN_MILLISECONDS) {
+      JsonObject location = new JsonObject();
+      location.addProperty("lat", origin.latitude());
+      location.addProperty("lon", origin.longitude());
+      location.addProperty("time", time);
+      location.addProperty("accuracyHorizontal", 5);
+      JsonObject updateLocation = new JsonObject();
+      updateLocation.addProperty("type", "updateLocation");
+      updateLocation.add("location", location);
+      updateLocation.addProperty("event_timestamp", time);
+      events.add(updateLocation);
+    }
+    JsonObject history = new JsonObject();
+    history.add("events", events);
+    return new NavigationHistoryReader(new StringReader(history.toString()));
+  }
+
+  private DirectionsRoute loadRoute() {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(DIRECTIONS_PRECISION_6);
+    Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+    return gson.fromJson(scanner.next(), DirectionsResponse.class).routes().get(0);
+  }
+
+  private static class CountingTickListener implements NavigationHistoryReplay.TickListener {
+
+    private int tickCount;
+    private long firstTimeMillis = -1;
+
+    @Override
+    public void onTick(long timeMillis, RouteProgress routeProgress, long latencyNanoseconds) {
+      if (firstTimeMillis < 0) {
+        firstTimeMillis = timeMillis;
+      }
+      tickCount++;
+    }
+  }
+
+  private static class CountingSnapToRoute extends IndexedSnapToRoute {
+
+    private int snapCount;
+
+    @Override
+    public Location getSnappedLocation(Location location, RouteProgress routeProgress) {
+      snapCount++;
+      return super.getSnappedLocation(location, routeProgress);
+    }
+  }
+
+  private static class CountingOffRouteDetector extends IndexedOffRouteDetector {
+
+    private int checkCount;
+
+    @Override
+    public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options) {
+      checkCount++;
+      return super.isUserOffRoute(location, routeProgress, options);
+    }
+  }
+}
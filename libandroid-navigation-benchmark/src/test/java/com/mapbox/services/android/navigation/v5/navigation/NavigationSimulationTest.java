@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+import static junit.framework.Assert.assertTrue;
+
+public class NavigationSimulationTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final double FAST_SPEED_IN_METERS_PER_SECOND = 100d;
+
+  @Test
+  public void run_arrivesAtEndOfRoute() throws Exception {
+    NavigationSimulation simulation = NavigationSimulation.builder(loadRoute())
+      .speedInMetersPerSecond(FAST_SPEED_IN_METERS_PER_SECOND)
+      .build();
+
+    SimulationResult result = simulation.run();
+
+    assertTrue(result.hasArrived());
+    assertTrue(result.progressUpdateCount() > 0);
+    assertTrue(result.milestoneCount() > 0);
+  }
+
+  @Test
+  public void run_routeProcessorRunsOnEachInterval() throws Exception {
+    NavigationSimulation simulation = NavigationSimulation.builder(loadRoute())
+      .speedInMetersPerSecond(FAST_SPEED_IN_METERS_PER_SECOND)
+      .routeProcessingIntervalInMilliseconds(1000)
+      .build();
+
+    SimulationResult result = simulation.run();
+
+    long expectedTicks = result.simulatedTimeInMilliseconds() / 1000;
+    assertTrue(Math.abs(result.statistics().tickCount() - expectedTicks) <= 1);
+  }
+
+  @Test
+  public void run_reportsOffRouteDuringOffRouteWindow() throws Exception {
+    NavigationSimulation simulation = NavigationSimulation.builder(loadRoute())
+      .speedInMetersPerSecond(FAST_SPEED_IN_METERS_PER_SECOND)
+      .addOffRouteWindow(10000, 15000)
+      .build();
+
+    SimulationResult result = simulation.run();
+
+    assertTrue(result.offRouteCount() > 0);
+  }
+
+  private DirectionsRoute loadRoute() {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(DIRECTIONS_PRECISION_6);
+    Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+    return gson.fromJson(scanner.next(), DirectionsResponse.class).routes().get(0);
+  }
+}
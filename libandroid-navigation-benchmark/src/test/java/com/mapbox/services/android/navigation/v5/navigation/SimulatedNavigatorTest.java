@@ -0,0 +1,73 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory;
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.navigator.RouteState;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Scanner;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+public class SimulatedNavigatorTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final long START_TIME_MILLIS = 1500000000000L;
+  private static final double SPEED_IN_METERS_PER_SECOND = 13.9;
+  private static final long TICK_INTERVAL_IN_MILLISECONDS = 1000;
+  private static final int WARM_UP_TICK_COUNT = 20000;
+  private static final int MEASURED_TICK_COUNT = 1000;
+
+  @Test
+  public void retrieveStatus_writesPositionAlongRoute() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, SPEED_IN_METERS_PER_SECOND);
+    long arrivalTime = START_TIME_MILLIS + (long) (navigator.retrieveRouteDistance() / SPEED_IN_METERS_PER_SECOND
+      * TICK_INTERVAL_IN_MILLISECONDS) + TICK_INTERVAL_IN_MILLISECONDS;
+
+    NavigationStatus status = navigator.retrieveStatus(new Date(START_TIME_MILLIS));
+
+    assertEquals(RouteState.TRACKING, status.getRouteState());
+    assertEquals(0, status.getStepIndex());
+    assertSame(status, navigator.retrieveStatus(new Date(arrivalTime)));
+    assertEquals(RouteState.COMPLETE, status.getRouteState());
+  }
+
+  @Test
+  public void retrieveStatus_steadyStateTickDoesNotAllocate() throws Exception {
+    DirectionsRoute route = loadRoute();
+    SimulatedNavigator navigator = new SimulatedNavigator(route, START_TIME_MILLIS, SPEED_IN_METERS_PER_SECOND);
+    long routeDuration = (long) (navigator.retrieveRouteDistance() / SPEED_IN_METERS_PER_SECOND
+      * TICK_INTERVAL_IN_MILLISECONDS);
+    Date date = new Date();
+    for (int i = 0; i < WARM_UP_TICK_COUNT; i++) {
+      date.setTime(START_TIME_MILLIS + (i * TICK_INTERVAL_IN_MILLISECONDS) % routeDuration);
+      navigator.retrieveStatus(date);
+    }
+
+    TickStatistics statistics = new TickStatistics();
+    for (int i = 0; i < MEASURED_TICK_COUNT; i++) {
+      date.setTime(START_TIME_MILLIS + (i * TICK_INTERVAL_IN_MILLISECONDS) % routeDuration);
+      statistics.startTick();
+      navigator.retrieveStatus(date);
+      statistics.finishTick();
+    }
+
+    assertEquals(0, statistics.meanAllocatedBytes());
+  }
+
+  private DirectionsRoute loadRoute() {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(DirectionsAdapterFactory.create()).create();
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(DIRECTIONS_PRECISION_6);
+    Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+    return gson.fromJson(scanner.next(), DirectionsResponse.class).routes().get(0);
+  }
+}
@@ -0,0 +1,89 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+public class VirtualClockTest {
+
+  @Test
+  public void pollNextTask_runsTasksInScheduledOrder() {
+    VirtualClock clock = new VirtualClock(0);
+    RouteProcessorScheduler scheduler = clock.createScheduler();
+    List<String> order = new ArrayList<>();
+    scheduler.postDelayed(new RecordingRunnable(order, "late"), 2000);
+    scheduler.post(new RecordingRunnable(order, "first"));
+    scheduler.post(new RecordingRunnable(order, "second"));
+
+    runAll(clock, 5000);
+
+    assertEquals("first", order.get(0));
+    assertEquals("second", order.get(1));
+    assertEquals("late", order.get(2));
+  }
+
+  @Test
+  public void pollNextTask_movesClockToTaskTime() {
+    VirtualClock clock = new VirtualClock(1000);
+    RouteProcessorScheduler scheduler = clock.createScheduler();
+    scheduler.postDelayed(new RecordingRunnable(new ArrayList<String>(), "task"), 1500);
+
+    clock.pollNextTask(5000).run();
+
+    assertEquals(1500, scheduler.uptimeMillis());
+    assertEquals(2500, scheduler.currentTimeMillis());
+  }
+
+  @Test
+  public void pollNextTask_doesNotRunTasksAfterGivenTime() {
+    VirtualClock clock = new VirtualClock(0);
+    clock.createScheduler().postDelayed(new RecordingRunnable(new ArrayList<String>(), "task"), 1500);
+
+    assertNull(clock.pollNextTask(1000));
+    assertEquals(0, clock.uptimeMillis());
+  }
+
+  @Test
+  public void removeCallbacks_onlyRemovesTasksOfScheduler() {
+    VirtualClock clock = new VirtualClock(0);
+    RouteProcessorScheduler scheduler = clock.createScheduler();
+    RouteProcessorScheduler otherScheduler = clock.createScheduler();
+    List<String> order = new ArrayList<>();
+    Runnable runnable = new RecordingRunnable(order, "task");
+    scheduler.postDelayed(runnable, 100);
+    otherScheduler.postDelayed(runnable, 200);
+
+    scheduler.removeCallbacks(runnable);
+    runAll(clock, 5000);
+
+    assertEquals(1, order.size());
+    assertEquals(200, clock.uptimeMillis());
+  }
+
+  private void runAll(VirtualClock clock, long untilUptimeMillis) {
+    VirtualClock.Task task;
+    while ((task = clock.pollNextTask(untilUptimeMillis)) != null) {
+      task.run();
+    }
+  }
+
+  private static class RecordingRunnable implements Runnable {
+
+    private final List<String> order;
+    private final String name;
+
+    RecordingRunnable(List<String> order, String name) {
+      this.order = order;
+      this.name = name;
+    }
+
+    @Override
+    public void run() {
+      order.add(name);
+    }
+  }
+}
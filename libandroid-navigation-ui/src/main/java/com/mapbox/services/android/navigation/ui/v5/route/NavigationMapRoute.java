@@ -39,6 +39,8 @@ import com.mapbox.mapboxsdk.utils.MathUtils;
 import com.mapbox.services.android.navigation.ui.v5.R;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapImageUtils;
 import com.mapbox.services.android.navigation.ui.v5.utils.MapUtils;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
+import com.mapbox.services.android.navigation.v5.geometry.RouteSegmentIndex;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
@@ -156,7 +158,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
 
   private MapboxNavigation navigation;
   private final MapboxMap mapboxMap;
-  private final HashMap<LineString, DirectionsRoute> routeLineStrings;
+  private final HashMap<RouteSegmentIndex, DirectionsRoute> routeSegmentIndexes;
   private final List<FeatureCollection> featureCollections;
   private final List<DirectionsRoute> directionsRoutes;
   private final List<String> layerIds;
@@ -261,7 +263,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
     this.belowLayer = belowLayer;
     featureCollections = new ArrayList<>();
     directionsRoutes = new ArrayList<>();
-    routeLineStrings = new HashMap<>();
+    routeSegmentIndexes = new HashMap<>();
     layerIds = new ArrayList<>();
     initialize();
     addListeners();
@@ -752,8 +754,8 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
     if (!directionsRoutes.isEmpty()) {
       directionsRoutes.clear();
     }
-    if (!routeLineStrings.isEmpty()) {
-      routeLineStrings.clear();
+    if (!routeSegmentIndexes.isEmpty()) {
+      routeSegmentIndexes.clear();
     }
     if (!featureCollections.isEmpty()) {
       featureCollections.clear();
@@ -939,7 +941,7 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   }
 
   private boolean invalidMapClick() {
-    return routeLineStrings == null || routeLineStrings.isEmpty() || !alternativesVisible;
+    return routeSegmentIndexes == null || routeSegmentIndexes.isEmpty() || !alternativesVisible;
   }
 
   private boolean findClickedRoute(@NonNull LatLng point) {
@@ -960,24 +962,17 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
 
   private boolean calculateClickDistancesFromRoutes(HashMap<Double, DirectionsRoute> routeDistancesAwayFromClick,
                                                     Point clickPoint) {
-    for (LineString lineString : routeLineStrings.keySet()) {
-      Point pointOnLine = findPointOnLine(clickPoint, lineString);
+    for (RouteSegmentIndex segmentIndex : routeSegmentIndexes.keySet()) {
+      double distance = segmentIndex.distanceToRoute(clickPoint.longitude(), clickPoint.latitude());
 
-      if (pointOnLine == null) {
+      if (Double.isNaN(distance)) {
         return true;
       }
-      double distance = TurfMeasurement.distance(clickPoint, pointOnLine, TurfConstants.UNIT_METERS);
-      routeDistancesAwayFromClick.put(distance, routeLineStrings.get(lineString));
+      routeDistancesAwayFromClick.put(distance, routeSegmentIndexes.get(segmentIndex));
     }
     return false;
   }
 
-  private Point findPointOnLine(Point clickPoint, LineString lineString) {
-    List<Point> linePoints = lineString.coordinates();
-    Feature feature = TurfMisc.nearestPointOnLine(clickPoint, linePoints);
-    return (Point) feature.geometry();
-  }
-
   private void checkNewRouteFound(int currentRouteIndex) {
     if (currentRouteIndex != primaryRouteIndex) {
       updateRoute();
@@ -1060,11 +1055,12 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
    */
   private FeatureCollection addTrafficToSource(DirectionsRoute route, int index) {
     final List<Feature> features = new ArrayList<>();
-    LineString originalGeometry = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    List<Point> routePoints = PolylineDecoder.decodePoints(route.geometry(), Constants.PRECISION_6);
+    LineString originalGeometry = LineString.fromLngLats(routePoints);
     buildRouteFeatureFromGeometry(index, features, originalGeometry);
-    routeLineStrings.put(originalGeometry, route);
+    routeSegmentIndexes.put(RouteSegmentIndex.create(routePoints), route);
 
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    LineString lineString = LineString.fromLngLats(routePoints);
     buildTrafficFeaturesFromRoute(route, index, features, lineString);
     return FeatureCollection.fromFeatures(features);
   }
@@ -0,0 +1,80 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+/**
+ * Primitive versions of the Turf measurements used by the navigation calculations. These operate
+ * on raw coordinates so no {@link com.mapbox.geojson.Point} objects need to be created.
+ */
+public final class GeometryUtils {
+
+  /**
+   * Matches the earth radius Turf uses when converting radians to meters.
+   */
+  static final double EARTH_RADIUS_IN_METERS = 6373000d;
+
+  private GeometryUtils() {
+    throw new AssertionError("No Instance.");
+  }
+
+  /**
+   * Calculates the distance in meters between two coordinates using the haversine formula, matching
+   * {@link com.mapbox.turf.TurfMeasurement#distance(com.mapbox.geojson.Point, com.mapbox.geojson.Point, String)}.
+   *
+   * @param fromLongitude longitude of the first coordinate
+   * @param fromLatitude  latitude of the first coordinate
+   * @param toLongitude   longitude of the second coordinate
+   * @param toLatitude    latitude of the second coordinate
+   * @return distance between the two coordinates in meters
+   * @since 0.23.0
+   */
+  public static double distance(double fromLongitude, double fromLatitude,
+                                double toLongitude, double toLatitude) {
+    double differenceLatitude = Math.toRadians(toLatitude - fromLatitude);
+    double differenceLongitude = Math.toRadians(toLongitude - fromLongitude);
+    double fromLatitudeRadians = Math.toRadians(fromLatitude);
+    double toLatitudeRadians = Math.toRadians(toLatitude);
+
+    double sinLatitude = Math.sin(differenceLatitude / 2);
+    double sinLongitude = Math.sin(differenceLongitude / 2);
+    double value = sinLatitude * sinLatitude
+      + sinLongitude * sinLongitude * Math.cos(fromLatitudeRadians) * Math.cos(toLatitudeRadians);
+    return EARTH_RADIUS_IN_METERS * 2 * Math.atan2(Math.sqrt(value), Math.sqrt(1 - value));
+  }
+
+  /**
+   * Calculates the initial bearing from the first to the second coordinate, matching
+   * {@link com.mapbox.turf.TurfMeasurement#bearing(com.mapbox.geojson.Point, com.mapbox.geojson.Point)}.
+   *
+   * @param fromLongitude longitude of the first coordinate
+   * @param fromLatitude  latitude of the first coordinate
+   * @param toLongitude   longitude of the second coordinate
+   * @param toLatitude    latitude of the second coordinate
+   * @return bearing in decimal degrees, between -180 and 180
+   * @since 0.23.0
+   */
+  public static double bearing(double fromLongitude, double fromLatitude,
+                               double toLongitude, double toLatitude) {
+    double fromLongitudeRadians = Math.toRadians(fromLongitude);
+    double toLongitudeRadians = Math.toRadians(toLongitude);
+    double fromLatitudeRadians = Math.toRadians(fromLatitude);
+    double toLatitudeRadians = Math.toRadians(toLatitude);
+
+    double east = Math.sin(toLongitudeRadians - fromLongitudeRadians) * Math.cos(toLatitudeRadians);
+    double north = Math.cos(fromLatitudeRadians) * Math.sin(toLatitudeRadians)
+      - Math.sin(fromLatitudeRadians) * Math.cos(toLatitudeRadians)
+      * Math.cos(toLongitudeRadians - fromLongitudeRadians);
+    return Math.toDegrees(Math.atan2(east, north));
+  }
+
+  /**
+   * Calculates the smallest angle between two bearings.
+   *
+   * @param firstBearing  in decimal degrees
+   * @param secondBearing in decimal degrees
+   * @return difference in decimal degrees, between 0 and 180
+   * @since 0.23.0
+   */
+  public static double bearingDifference(double firstBearing, double secondBearing) {
+    double difference = Math.abs(firstBearing - secondBearing) % 360;
+    return difference > 180 ? 360 - difference : difference;
+  }
+}
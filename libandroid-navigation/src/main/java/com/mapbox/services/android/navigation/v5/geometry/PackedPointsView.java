@@ -0,0 +1,49 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.geojson.Point;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link java.util.List} view over a range of packed coordinates, like a single step in a
+ * {@link RouteGeometryIndex} or a line decoded by {@link PolylineDecoder}.
+ * <p>
+ * Points are created the first time they are requested and cached afterwards, so repeatedly handing
+ * the same view out with each route progress doesn't allocate. Concurrent first access may create
+ * the same (equal) point twice, which is harmless since points are immutable.
+ */
+class PackedPointsView extends AbstractList<Point> implements RandomAccess {
+
+  private final double[] longitudes;
+  private final double[] latitudes;
+  private final int offset;
+  private final int size;
+  private final Point[] points;
+
+  PackedPointsView(double[] longitudes, double[] latitudes, int offset, int size) {
+    this.longitudes = longitudes;
+    this.latitudes = latitudes;
+    this.offset = offset;
+    this.size = size;
+    this.points = new Point[size];
+  }
+
+  @Override
+  public Point get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    Point point = points[index];
+    if (point == null) {
+      point = Point.fromLngLat(longitudes[offset + index], latitudes[offset + index]);
+      points[index] = point;
+    }
+    return point;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,239 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes encoded polylines straight into packed longitude and latitude arrays, without creating a
+ * {@link Point} per coordinate. The decoded values are identical to the ones of
+ * {@link com.mapbox.geojson.utils.PolylineUtils#decode(String, int)}.
+ * <p>
+ * An instance keeps its buffers between calls to {@link #decode(String, int)}, so decoding many
+ * geometries with the same decoder only allocates when a geometry is longer than all previous ones.
+ * Where a {@link List} of points is needed, {@link #decodePoints(String, int)} hands out a view
+ * which only creates the points which are read. Instances aren't thread safe.
+ *
+ * @since 0.23.0
+ */
+public class PolylineDecoder {
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MINIMUM_CHARACTERS_PER_COORDINATE = 2;
+  private static final int CHARACTER_OFFSET = 63;
+  private static final int CHUNK_MASK = 0x1f;
+  private static final int CHUNK_CONTINUATION = 0x20;
+  private static final int CHUNK_SHIFT = 5;
+  private static final int TEN = 10;
+
+  private double[] longitudes = new double[INITIAL_CAPACITY];
+  private double[] latitudes = new double[INITIAL_CAPACITY];
+  private int pointCount;
+
+  /**
+   * Decodes the given polyline into the buffers of this decoder, replacing the last decoded line.
+   *
+   * @param encodedPath polyline to decode
+   * @param precision   of the polyline, like {@code PRECISION_6} for Directions API geometries
+   * @return number of decoded coordinates
+   * @since 0.23.0
+   */
+  public int decode(@NonNull String encodedPath, int precision) {
+    int maximumPointCount = maximumPointCount(encodedPath);
+    if (maximumPointCount > longitudes.length) {
+      int capacity = Math.max(maximumPointCount, longitudes.length * 2);
+      longitudes = new double[capacity];
+      latitudes = new double[capacity];
+    }
+    pointCount = decode(encodedPath, precision, longitudes, latitudes, 0);
+    return pointCount;
+  }
+
+  /**
+   * @return number of coordinates of the last decoded line
+   * @since 0.23.0
+   */
+  public int pointCount() {
+    return pointCount;
+  }
+
+  /**
+   * @param index of the coordinate in the last decoded line
+   * @return longitude of the coordinate
+   * @since 0.23.0
+   */
+  public double longitude(int index) {
+    checkIndex(index);
+    return longitudes[index];
+  }
+
+  /**
+   * @param index of the coordinate in the last decoded line
+   * @return latitude of the coordinate
+   * @since 0.23.0
+   */
+  public double latitude(int index) {
+    checkIndex(index);
+    return latitudes[index];
+  }
+
+  /**
+   * Copies the coordinates of the last decoded line into a read-only list, which stays valid when
+   * this decoder decodes the next line.
+   *
+   * @return the coordinates of the last decoded line
+   * @since 0.23.0
+   */
+  @NonNull
+  public List<Point> toPoints() {
+    return new PackedPointsView(Arrays.copyOf(longitudes, pointCount), Arrays.copyOf(latitudes, pointCount),
+      0, pointCount);
+  }
+
+  /**
+   * Decodes the given polyline into a read-only list of its coordinates. The coordinates are stored
+   * in packed arrays and points are only created when they are read.
+   *
+   * @param encodedPath polyline to decode
+   * @param precision   of the polyline, like {@code PRECISION_6} for Directions API geometries
+   * @return the coordinates of the polyline
+   * @since 0.23.0
+   */
+  @NonNull
+  public static List<Point> decodePoints(@NonNull String encodedPath, int precision) {
+    int maximumPointCount = maximumPointCount(encodedPath);
+    double[] longitudes = new double[maximumPointCount];
+    double[] latitudes = new double[maximumPointCount];
+    int pointCount = decode(encodedPath, precision, longitudes, latitudes, 0);
+    return new PackedPointsView(longitudes, latitudes, 0, pointCount);
+  }
+
+  /**
+   * Upper bound of the number of coordinates in the given polyline, which the arrays passed to
+   * {@link #decode(String, int, double[], double[], int)} need to have room for.
+   *
+   * @param encodedPath polyline to decode
+   * @return the maximum number of coordinates the polyline can contain
+   * @since 0.23.0
+   */
+  public static int maximumPointCount(@NonNull String encodedPath) {
+    return encodedPath.length() / MINIMUM_CHARACTERS_PER_COORDINATE;
+  }
+
+  /**
+   * Decodes the given polyline into the given arrays, starting at the given offset. The arrays need
+   * room for {@link #maximumPointCount(String)} coordinates after the offset.
+   *
+   * @param encodedPath polyline to decode
+   * @param precision   of the polyline, like {@code PRECISION_6} for Directions API geometries
+   * @param longitudes  to write the decoded longitudes to
+   * @param latitudes   to write the decoded latitudes to
+   * @param offset      of the first decoded coordinate in the arrays
+   * @return number of decoded coordinates
+   * @since 0.23.0
+   */
+  public static int decode(@NonNull String encodedPath, int precision, double[] longitudes, double[] latitudes,
+                           int offset) {
+    int length = encodedPath.length();
+    double factor = Math.pow(TEN, precision);
+    int index = 0;
+    int latitude = 0;
+    int longitude = 0;
+    int count = 0;
+    while (index < length) {
+      int result = 1;
+      int shift = 0;
+      int chunk;
+      do {
+        chunk = encodedPath.charAt(index++) - CHARACTER_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SHIFT;
+      } while (chunk >= CHUNK_MASK);
+      latitude += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      result = 1;
+      shift = 0;
+      do {
+        chunk = encodedPath.charAt(index++) - CHARACTER_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SHIFT;
+      } while (chunk >= CHUNK_MASK);
+      longitude += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      longitudes[offset + count] = longitude / factor;
+      latitudes[offset + count] = latitude / factor;
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Re-encodes the given polyline with another precision, matching
+   * {@link com.mapbox.geojson.utils.PolylineUtils#encode(List, int)} of the decoded points, while
+   * streaming from one encoding to the other.
+   *
+   * @param encodedPath  polyline to re-encode
+   * @param precision    of the given polyline
+   * @param newPrecision of the returned polyline
+   * @return the polyline encoded with the new precision
+   * @since 0.23.0
+   */
+  @NonNull
+  public static String encodeWithPrecision(@NonNull String encodedPath, int precision, int newPrecision) {
+    int length = encodedPath.length();
+    double factor = Math.pow(TEN, precision);
+    double newFactor = Math.pow(TEN, newPrecision);
+    StringBuilder encoded = new StringBuilder(length);
+    int index = 0;
+    int latitude = 0;
+    int longitude = 0;
+    long lastLatitude = 0;
+    long lastLongitude = 0;
+    while (index < length) {
+      int result = 1;
+      int shift = 0;
+      int chunk;
+      do {
+        chunk = encodedPath.charAt(index++) - CHARACTER_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SHIFT;
+      } while (chunk >= CHUNK_MASK);
+      latitude += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      result = 1;
+      shift = 0;
+      do {
+        chunk = encodedPath.charAt(index++) - CHARACTER_OFFSET - 1;
+        result += chunk << shift;
+        shift += CHUNK_SHIFT;
+      } while (chunk >= CHUNK_MASK);
+      longitude += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      long newLatitude = Math.round(latitude / factor * newFactor);
+      long newLongitude = Math.round(longitude / factor * newFactor);
+      encodeValue(newLatitude - lastLatitude, encoded);
+      encodeValue(newLongitude - lastLongitude, encoded);
+      lastLatitude = newLatitude;
+      lastLongitude = newLongitude;
+    }
+    return encoded.toString();
+  }
+
+  private static void encodeValue(long value, StringBuilder encoded) {
+    long shifted = value < 0 ? ~(value << 1) : value << 1;
+    while (shifted >= CHUNK_CONTINUATION) {
+      encoded.append((char) ((CHUNK_CONTINUATION | (shifted & CHUNK_MASK)) + CHARACTER_OFFSET));
+      shifted >>= CHUNK_SHIFT;
+    }
+    encoded.append((char) (shifted + CHARACTER_OFFSET));
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= pointCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + pointCount);
+    }
+  }
+}
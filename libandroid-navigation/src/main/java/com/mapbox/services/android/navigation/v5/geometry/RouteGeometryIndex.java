@@ -0,0 +1,374 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.Point;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Decoded geometry of every step in a {@link DirectionsRoute}, built once when the route is set.
+ * <p>
+ * All coordinates are stored in packed primitive arrays, together with the cumulative distance of each
+ * coordinate along its step. Step geometries are handed out as cached {@link List} views so the
+ * navigation calculations never need to decode a polyline while processing location updates.
+ * <p>
+ * An index can be shared between threads, the views it creates lazily only hold immutable values.
+ *
+ * @since 0.23.0
+ */
+public class RouteGeometryIndex {
+
+  private static final int NOT_FOUND = -1;
+  private static final int TWO_POINTS = 2;
+  private static final int MINIMUM_CHARACTERS_PER_COORDINATE = 2;
+
+  private final DirectionsRoute route;
+  private final int[] legStepOffsets;
+  private final int[] stepCoordinateOffsets;
+  private final boolean[] stepHasGeometry;
+  private final double[] longitudes;
+  private final double[] latitudes;
+  private final double[] distancesAlongStep;
+  private final PackedPointsView[] stepPoints;
+  private volatile RouteSegmentIndex segmentIndex;
+
+  private RouteGeometryIndex(DirectionsRoute route, int[] legStepOffsets, int[] stepCoordinateOffsets,
+                             boolean[] stepHasGeometry, double[] longitudes, double[] latitudes,
+                             double[] distancesAlongStep) {
+    this.route = route;
+    this.legStepOffsets = legStepOffsets;
+    this.stepCoordinateOffsets = stepCoordinateOffsets;
+    this.stepHasGeometry = stepHasGeometry;
+    this.longitudes = longitudes;
+    this.latitudes = latitudes;
+    this.distancesAlongStep = distancesAlongStep;
+    this.stepPoints = new PackedPointsView[stepHasGeometry.length];
+  }
+
+  /**
+   * Decodes every step geometry of the given route into a new index.
+   *
+   * @param route to index, step geometries are expected to use {@code PRECISION_6}
+   * @return the geometry index for the route
+   * @since 0.23.0
+   */
+  @NonNull
+  public static RouteGeometryIndex create(@NonNull DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    int legCount = legs == null ? 0 : legs.size();
+    int[] legStepOffsets = new int[legCount + 1];
+    int totalCharacters = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      int stepCount = steps == null ? 0 : steps.size();
+      legStepOffsets[legIndex + 1] = legStepOffsets[legIndex] + stepCount;
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        if (step != null && step.geometry() != null) {
+          totalCharacters += step.geometry().length();
+        }
+      }
+    }
+
+    int totalSteps = legStepOffsets[legCount];
+    int[] stepCoordinateOffsets = new int[totalSteps + 1];
+    boolean[] stepHasGeometry = new boolean[totalSteps];
+    int maximumCoordinates = totalCharacters / MINIMUM_CHARACTERS_PER_COORDINATE;
+    double[] longitudes = new double[maximumCoordinates];
+    double[] latitudes = new double[maximumCoordinates];
+    double[] distances = new double[maximumCoordinates];
+
+    int coordinateCount = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      int stepCount = legStepOffsets[legIndex + 1] - legStepOffsets[legIndex];
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        int flatStepIndex = legStepOffsets[legIndex] + stepIndex;
+        LegStep step = steps.get(stepIndex);
+        String geometry = step == null ? null : step.geometry();
+        if (geometry != null) {
+          stepHasGeometry[flatStepIndex] = true;
+          int decoded = PolylineDecoder.decode(geometry, PRECISION_6, longitudes, latitudes, coordinateCount);
+          measure(longitudes, latitudes, distances, coordinateCount, decoded);
+          coordinateCount += decoded;
+        }
+        stepCoordinateOffsets[flatStepIndex + 1] = coordinateCount;
+      }
+    }
+
+    return new RouteGeometryIndex(route, legStepOffsets, stepCoordinateOffsets, stepHasGeometry,
+      Arrays.copyOf(longitudes, coordinateCount), Arrays.copyOf(latitudes, coordinateCount),
+      Arrays.copyOf(distances, coordinateCount));
+  }
+
+  /**
+   * Whether or not this index was built for the given route instance.
+   *
+   * @param route to compare against
+   * @return true if this index represents the route, false otherwise
+   * @since 0.23.0
+   */
+  public boolean isIndexOf(@Nullable DirectionsRoute route) {
+    return this.route == route;
+  }
+
+  /**
+   * Number of legs in the indexed route.
+   *
+   * @return number of legs in the indexed route
+   * @since 0.23.0
+   */
+  public int legCount() {
+    return legStepOffsets.length - 1;
+  }
+
+  /**
+   * Number of steps in the given leg.
+   *
+   * @param legIndex of the leg
+   * @return number of steps in the leg, zero if the leg index is invalid
+   * @since 0.23.0
+   */
+  public int stepCount(int legIndex) {
+    if (legIndex < 0 || legIndex >= legCount()) {
+      return 0;
+    }
+    return legStepOffsets[legIndex + 1] - legStepOffsets[legIndex];
+  }
+
+  /**
+   * Whether or not the given step exists and was returned with a geometry.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return true if the leg and step indices point to a step with geometry
+   * @since 0.23.0
+   */
+  public boolean hasStepGeometry(int legIndex, int stepIndex) {
+    return isValidStep(legIndex, stepIndex) && stepHasGeometry[flatten(legIndex, stepIndex)];
+  }
+
+  /**
+   * Number of decoded coordinates in the given step.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return number of decoded coordinates in the step, zero if the indices are invalid
+   * @since 0.23.0
+   */
+  public int pointCount(int legIndex, int stepIndex) {
+    if (!isValidStep(legIndex, stepIndex)) {
+      return 0;
+    }
+    int flatStepIndex = flatten(legIndex, stepIndex);
+    return stepCoordinateOffsets[flatStepIndex + 1] - stepCoordinateOffsets[flatStepIndex];
+  }
+
+  /**
+   * Longitude of a decoded step coordinate.
+   *
+   * @param legIndex   of the leg
+   * @param stepIndex  of the step in the leg
+   * @param pointIndex of the coordinate in the step
+   * @return longitude of the coordinate
+   * @since 0.23.0
+   */
+  public double longitude(int legIndex, int stepIndex, int pointIndex) {
+    return longitudes[coordinateIndex(legIndex, stepIndex, pointIndex)];
+  }
+
+  /**
+   * Latitude of a decoded step coordinate.
+   *
+   * @param legIndex   of the leg
+   * @param stepIndex  of the step in the leg
+   * @param pointIndex of the coordinate in the step
+   * @return latitude of the coordinate
+   * @since 0.23.0
+   */
+  public double latitude(int legIndex, int stepIndex, int pointIndex) {
+    return latitudes[coordinateIndex(legIndex, stepIndex, pointIndex)];
+  }
+
+  /**
+   * Cumulative distance of a decoded step coordinate along the step geometry.
+   *
+   * @param legIndex   of the leg
+   * @param stepIndex  of the step in the leg
+   * @param pointIndex of the coordinate in the step
+   * @return distance in meters from the first coordinate of the step to this one along the geometry
+   * @since 0.23.0
+   */
+  public double distanceAlongStep(int legIndex, int stepIndex, int pointIndex) {
+    return distancesAlongStep[coordinateIndex(legIndex, stepIndex, pointIndex)];
+  }
+
+  /**
+   * Total length of the given step geometry.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return length in meters of the step geometry, zero if the indices are invalid
+   * @since 0.23.0
+   */
+  public double stepGeometryLength(int legIndex, int stepIndex) {
+    int pointCount = pointCount(legIndex, stepIndex);
+    if (pointCount == 0) {
+      return 0;
+    }
+    return distanceAlongStep(legIndex, stepIndex, pointCount - 1);
+  }
+
+  /**
+   * Finds the index of the first step coordinate, starting at the given point index, which exactly
+   * matches the given coordinate.
+   *
+   * @param legIndex       of the leg
+   * @param stepIndex      of the step in the leg
+   * @param fromPointIndex first coordinate index to check
+   * @param longitude      of the coordinate to find
+   * @param latitude       of the coordinate to find
+   * @return index of the matching coordinate, or -1 if none matches
+   * @since 0.23.0
+   */
+  public int findPointIndex(int legIndex, int stepIndex, int fromPointIndex, double longitude, double latitude) {
+    int pointCount = pointCount(legIndex, stepIndex);
+    if (pointCount == 0) {
+      return NOT_FOUND;
+    }
+    int offset = stepCoordinateOffsets[flatten(legIndex, stepIndex)];
+    for (int i = Math.max(0, fromPointIndex); i < pointCount; i++) {
+      if (longitudes[offset + i] == longitude && latitudes[offset + i] == latitude) {
+        return i;
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Projects the given coordinate onto the closest segment of the step geometry and returns the
+   * distance of the projection along the step.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @param longitude of the coordinate to project
+   * @param latitude  of the coordinate to project
+   * @return distance in meters along the step to the projected coordinate, zero if the step has no geometry
+   * @since 0.23.0
+   */
+  public double projectDistanceAlongStep(int legIndex, int stepIndex, double longitude, double latitude) {
+    int pointCount = pointCount(legIndex, stepIndex);
+    if (pointCount < TWO_POINTS) {
+      return 0;
+    }
+    int offset = stepCoordinateOffsets[flatten(legIndex, stepIndex)];
+    double closestDistanceSquared = Double.MAX_VALUE;
+    double closestDistanceAlong = 0;
+    for (int i = offset; i < offset + pointCount - 1; i++) {
+      double scale = Math.cos(Math.toRadians(latitudes[i]));
+      double segmentX = (longitudes[i + 1] - longitudes[i]) * scale;
+      double segmentY = latitudes[i + 1] - latitudes[i];
+      double pointX = (longitude - longitudes[i]) * scale;
+      double pointY = latitude - latitudes[i];
+      double segmentLengthSquared = segmentX * segmentX + segmentY * segmentY;
+      double fraction = 0;
+      if (segmentLengthSquared > 0) {
+        fraction = Math.max(0, Math.min(1, (pointX * segmentX + pointY * segmentY) / segmentLengthSquared));
+      }
+      double differenceX = pointX - fraction * segmentX;
+      double differenceY = pointY - fraction * segmentY;
+      double distanceSquared = differenceX * differenceX + differenceY * differenceY;
+      if (distanceSquared < closestDistanceSquared) {
+        closestDistanceSquared = distanceSquared;
+        double projectedLongitude = longitudes[i] + fraction * (longitudes[i + 1] - longitudes[i]);
+        double projectedLatitude = latitudes[i] + fraction * segmentY;
+        closestDistanceAlong = distancesAlongStep[i]
+          + GeometryUtils.distance(longitudes[i], latitudes[i], projectedLongitude, projectedLatitude);
+      }
+    }
+    return closestDistanceAlong;
+  }
+
+  /**
+   * Provides the step geometry as a read-only list of points. The same list instance is returned for
+   * every call with the same indices.
+   *
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg
+   * @return read-only points of the step, or null if the indices are invalid or the step has no geometry
+   * @since 0.23.0
+   */
+  @Nullable
+  public List<Point> stepPoints(int legIndex, int stepIndex) {
+    if (!hasStepGeometry(legIndex, stepIndex)) {
+      return null;
+    }
+    int flatStepIndex = flatten(legIndex, stepIndex);
+    PackedPointsView points = stepPoints[flatStepIndex];
+    if (points == null) {
+      int offset = stepCoordinateOffsets[flatStepIndex];
+      int size = stepCoordinateOffsets[flatStepIndex + 1] - offset;
+      points = new PackedPointsView(longitudes, latitudes, offset, size);
+      stepPoints[flatStepIndex] = points;
+    }
+    return points;
+  }
+
+  /**
+   * Provides a spatial index over the segments of the route, for nearest point and distance along
+   * route queries. The segment index is built on first access and shared afterwards.
+   *
+   * @return the segment index of the route
+   * @since 0.23.0
+   */
+  @NonNull
+  public RouteSegmentIndex segmentIndex() {
+    RouteSegmentIndex index = segmentIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = segmentIndex;
+        if (index == null) {
+          index = RouteSegmentIndex.create(this);
+          segmentIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  private boolean isValidStep(int legIndex, int stepIndex) {
+    return stepIndex >= 0 && stepIndex < stepCount(legIndex);
+  }
+
+  private int flatten(int legIndex, int stepIndex) {
+    return legStepOffsets[legIndex] + stepIndex;
+  }
+
+  private int coordinateIndex(int legIndex, int stepIndex, int pointIndex) {
+    if (pointIndex < 0 || pointIndex >= pointCount(legIndex, stepIndex)) {
+      throw new IndexOutOfBoundsException("Invalid point " + pointIndex + " for leg " + legIndex
+        + " step " + stepIndex);
+    }
+    return stepCoordinateOffsets[flatten(legIndex, stepIndex)] + pointIndex;
+  }
+
+  private static void measure(double[] longitudes, double[] latitudes, double[] distances,
+                              int offset, int count) {
+    if (count == 0) {
+      return;
+    }
+    distances[offset] = 0d;
+    for (int i = offset + 1; i < offset + count; i++) {
+      distances[i] = distances[i - 1]
+        + GeometryUtils.distance(longitudes[i - 1], latitudes[i - 1], longitudes[i], latitudes[i]);
+    }
+  }
+}
@@ -0,0 +1,583 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packed static R-tree over the segments of a route, answering nearest segment, distance to route
+ * and distance along route queries in logarithmic time instead of scanning the whole geometry.
+ * <p>
+ * Segments are sorted along a Hilbert curve and grouped into nodes of {@value #NODE_SIZE}, with all
+ * boxes stored in one primitive array. Distances used to find the nearest segment are measured on
+ * a plane scaled to the latitude of the queried coordinate, which is exact enough at the distances
+ * the navigation cares about, while the distances of a {@link RouteSegmentMatch} are in meters.
+ * <p>
+ * An index is immutable once built and can be shared between threads.
+ *
+ * @since 0.23.0
+ */
+public class RouteSegmentIndex {
+
+  static final int NODE_SIZE = 16;
+
+  private static final int BOX_SIZE = 4;
+  private static final int MIN_X = 0;
+  private static final int MIN_Y = 1;
+  private static final int MAX_X = 2;
+  private static final int MAX_Y = 3;
+  private static final int HILBERT_SIDE = 1 << 15;
+  private static final int SEGMENT_INDEX_BITS = 32;
+  private static final long SEGMENT_INDEX_MASK = 0xffffffffL;
+  private static final double NO_BEARING = 0;
+  private static final double NO_BEARING_PENALTY = 0;
+  private static final double NO_PREVIOUS_DISTANCE = Double.NaN;
+  private static final double NO_CONTINUITY_WINDOW = 0;
+  private static final double HALF_CIRCLE = 180;
+  private static final double FULL_CIRCLE = 360;
+  private static final double METERS_PER_DEGREE = Math.toRadians(GeometryUtils.EARTH_RADIUS_IN_METERS);
+
+  private final int segmentCount;
+  private final double[] segmentCoordinates;
+  private final int[] segmentLegs;
+  private final int[] segmentSteps;
+  private final int[] segmentPoints;
+  private final double[] segmentStepDistances;
+  private final double[] segmentRouteDistances;
+  private final int[] legStepOffsets;
+  private final int[] stepSegmentOffsets;
+  private final int[] levelBounds;
+  private final double[] nodeBoxes;
+  private final int[] nodeChildren;
+  private final int[] nodeFirstSegments;
+  private final int[] nodeLastSegments;
+
+  private RouteSegmentIndex(SegmentBuffer segments) {
+    this.segmentCount = segments.count;
+    this.segmentCoordinates = segments.coordinates;
+    this.segmentLegs = segments.legs;
+    this.segmentSteps = segments.steps;
+    this.segmentPoints = segments.points;
+    this.segmentStepDistances = segments.stepDistances;
+    this.segmentRouteDistances = segments.routeDistances;
+    this.legStepOffsets = segments.legStepOffsets;
+    this.stepSegmentOffsets = segments.stepSegmentOffsets;
+    this.levelBounds = buildLevelBounds(segmentCount);
+    int nodeCount = levelBounds[levelBounds.length - 1];
+    this.nodeBoxes = new double[nodeCount * BOX_SIZE];
+    this.nodeChildren = new int[nodeCount];
+    this.nodeFirstSegments = new int[nodeCount];
+    this.nodeLastSegments = new int[nodeCount];
+    buildTree();
+  }
+
+  /**
+   * Builds an index over every step geometry of the route held in the given geometry index.
+   * Consider {@link RouteGeometryIndex#segmentIndex()}, which builds the index once per route.
+   *
+   * @param geometryIndex holding the decoded route geometry
+   * @return the segment index for the route
+   * @since 0.23.0
+   */
+  @NonNull
+  public static RouteSegmentIndex create(@NonNull RouteGeometryIndex geometryIndex) {
+    int legCount = geometryIndex.legCount();
+    int[] legStepOffsets = new int[legCount + 1];
+    int segmentCount = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      int stepCount = geometryIndex.stepCount(legIndex);
+      legStepOffsets[legIndex + 1] = legStepOffsets[legIndex] + stepCount;
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        segmentCount += stepSegmentCount(geometryIndex.pointCount(legIndex, stepIndex));
+      }
+    }
+
+    SegmentBuffer segments = new SegmentBuffer(segmentCount, legStepOffsets);
+    double routeDistance = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      int stepCount = geometryIndex.stepCount(legIndex);
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        int pointCount = geometryIndex.pointCount(legIndex, stepIndex);
+        for (int pointIndex = 0; pointIndex < stepSegmentCount(pointCount); pointIndex++) {
+          int endIndex = Math.min(pointIndex + 1, pointCount - 1);
+          double distanceAlongStep = geometryIndex.distanceAlongStep(legIndex, stepIndex, pointIndex);
+          segments.add(legIndex, stepIndex, pointIndex,
+            geometryIndex.longitude(legIndex, stepIndex, pointIndex),
+            geometryIndex.latitude(legIndex, stepIndex, pointIndex),
+            geometryIndex.longitude(legIndex, stepIndex, endIndex),
+            geometryIndex.latitude(legIndex, stepIndex, endIndex),
+            distanceAlongStep, routeDistance + distanceAlongStep);
+        }
+        segments.finishStep(legStepOffsets[legIndex] + stepIndex);
+        routeDistance += geometryIndex.stepGeometryLength(legIndex, stepIndex);
+      }
+    }
+    return new RouteSegmentIndex(segments);
+  }
+
+  /**
+   * Builds an index over a single line, which is treated as a route with one leg and one step.
+   *
+   * @param coordinates of the line
+   * @return the segment index for the line
+   * @since 0.23.0
+   */
+  @NonNull
+  public static RouteSegmentIndex create(@NonNull List<Point> coordinates) {
+    int pointCount = coordinates.size();
+    SegmentBuffer segments = new SegmentBuffer(stepSegmentCount(pointCount), new int[] {0, 1});
+    double distance = 0;
+    for (int pointIndex = 0; pointIndex < stepSegmentCount(pointCount); pointIndex++) {
+      Point start = coordinates.get(pointIndex);
+      Point end = coordinates.get(Math.min(pointIndex + 1, pointCount - 1));
+      segments.add(0, 0, pointIndex, start.longitude(), start.latitude(), end.longitude(), end.latitude(),
+        distance, distance);
+      distance += GeometryUtils.distance(start.longitude(), start.latitude(), end.longitude(), end.latitude());
+    }
+    segments.finishStep(0);
+    return new RouteSegmentIndex(segments);
+  }
+
+  /**
+   * @return number of indexed segments
+   * @since 0.23.0
+   */
+  public int segmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Finds the segment of the route closest to the given coordinate.
+   *
+   * @param longitude of the coordinate
+   * @param latitude  of the coordinate
+   * @param match     updated with the closest segment if one is found
+   * @return true if a segment was found, false if the route has no segments
+   * @since 0.23.0
+   */
+  public boolean findNearestSegment(double longitude, double latitude, @NonNull RouteSegmentMatch match) {
+    return findNearestSegment(longitude, latitude, NO_BEARING, NO_BEARING_PENALTY, 0, segmentCount, match);
+  }
+
+  /**
+   * Finds the segment of the given leg closest to the given coordinate.
+   *
+   * @param longitude of the coordinate
+   * @param latitude  of the coordinate
+   * @param legIndex  of the leg to search
+   * @param match     updated with the closest segment if one is found
+   * @return true if a segment was found, false if the leg doesn't exist or has no segments
+   * @since 0.23.0
+   */
+  public boolean findNearestSegmentOnLeg(double longitude, double latitude, int legIndex,
+                                         @NonNull RouteSegmentMatch match) {
+    return findNearestSegmentOnLeg(longitude, latitude, NO_BEARING, NO_BEARING_PENALTY, legIndex, match);
+  }
+
+  /**
+   * Finds the segment of the given leg closest to the given coordinate, preferring segments heading
+   * in the given direction. The distance of each segment is increased by a penalty growing linearly
+   * with the difference between its heading and the given bearing, so a road in the opposite
+   * direction only wins when it's closer by more than the full penalty.
+   *
+   * @param longitude      of the coordinate
+   * @param latitude       of the coordinate
+   * @param bearing        of the user in decimal degrees
+   * @param bearingPenalty in meters, added to segments heading the opposite direction
+   * @param legIndex       of the leg to search
+   * @param match          updated with the best matching segment if one is found
+   * @return true if a segment was found, false if the leg doesn't exist or has no segments
+   * @since 0.23.0
+   */
+  public boolean findNearestSegmentOnLeg(double longitude, double latitude, double bearing, double bearingPenalty,
+                                         int legIndex, @NonNull RouteSegmentMatch match) {
+    return findNearestSegmentOnLeg(longitude, latitude, bearing, bearingPenalty, NO_PREVIOUS_DISTANCE,
+      NO_CONTINUITY_WINDOW, legIndex, match);
+  }
+
+  /**
+   * Finds the segment of the given leg closest to the given coordinate, preferring segments heading
+   * in the given direction and segments close along the route to the previous match. Where the leg
+   * overlaps itself, like a loop or a road driven both ways, this keeps the match on the pass the
+   * user is on.
+   * <p>
+   * Segments more than the continuity window along the route away from the previous match are
+   * penalized by how much further away they are, up to the window itself. A segment that far
+   * away still wins when it's closer by more than the window, so the match follows a user who
+   * really did skip ahead.
+   *
+   * @param longitude                  of the coordinate
+   * @param latitude                   of the coordinate
+   * @param bearing                    of the user in decimal degrees
+   * @param bearingPenalty             in meters, added to segments heading the opposite direction
+   * @param previousDistanceAlongRoute of the previous match, or {@link Double#NaN} if there is none
+   * @param continuityWindow           in meters along the route the user may have moved since the
+   *                                   previous match
+   * @param legIndex                   of the leg to search
+   * @param match                      updated with the best matching segment if one is found
+   * @return true if a segment was found, false if the leg doesn't exist or has no segments
+   * @since 0.23.0
+   */
+  public boolean findNearestSegmentOnLeg(double longitude, double latitude, double bearing, double bearingPenalty,
+                                         double previousDistanceAlongRoute, double continuityWindow,
+                                         int legIndex, @NonNull RouteSegmentMatch match) {
+    match.reset(bearing, bearingPenalty / METERS_PER_DEGREE);
+    match.resetContinuity(previousDistanceAlongRoute, continuityWindow);
+    if (legIndex < 0 || legIndex >= legStepOffsets.length - 1) {
+      return false;
+    }
+    return searchSegments(longitude, latitude,
+      stepSegmentOffsets[legStepOffsets[legIndex]], stepSegmentOffsets[legStepOffsets[legIndex + 1]], match);
+  }
+
+  /**
+   * Finds the segment of the given step closest to the given coordinate.
+   *
+   * @param longitude of the coordinate
+   * @param latitude  of the coordinate
+   * @param legIndex  of the leg
+   * @param stepIndex of the step in the leg to search
+   * @param match     updated with the closest segment if one is found
+   * @return true if a segment was found, false if the step doesn't exist or has no geometry
+   * @since 0.23.0
+   */
+  public boolean findNearestSegmentOnStep(double longitude, double latitude, int legIndex, int stepIndex,
+                                          @NonNull RouteSegmentMatch match) {
+    if (legIndex < 0 || legIndex >= legStepOffsets.length - 1) {
+      return false;
+    }
+    int flatStepIndex = legStepOffsets[legIndex] + stepIndex;
+    if (stepIndex < 0 || flatStepIndex >= legStepOffsets[legIndex + 1]) {
+      return false;
+    }
+    return findNearestSegment(longitude, latitude, NO_BEARING, NO_BEARING_PENALTY,
+      stepSegmentOffsets[flatStepIndex], stepSegmentOffsets[flatStepIndex + 1], match);
+  }
+
+  /**
+   * Distance from the given coordinate to the closest point of the route. For repeated queries,
+   * prefer {@link #findNearestSegment(double, double, RouteSegmentMatch)} with a reused match.
+   *
+   * @param longitude of the coordinate
+   * @param latitude  of the coordinate
+   * @return distance in meters, or {@link Double#NaN} if the route has no segments
+   * @since 0.23.0
+   */
+  public double distanceToRoute(double longitude, double latitude) {
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    if (!findNearestSegment(longitude, latitude, match)) {
+      return Double.NaN;
+    }
+    return match.distance();
+  }
+
+  /**
+   * Distance from the start of the route to the point of the route closest to the given coordinate.
+   * For repeated queries, prefer {@link #findNearestSegment(double, double, RouteSegmentMatch)} with
+   * a reused match.
+   *
+   * @param longitude of the coordinate
+   * @param latitude  of the coordinate
+   * @return distance in meters along the route, or {@link Double#NaN} if the route has no segments
+   * @since 0.23.0
+   */
+  public double distanceAlongRoute(double longitude, double latitude) {
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    if (!findNearestSegment(longitude, latitude, match)) {
+      return Double.NaN;
+    }
+    return match.distanceAlongRoute();
+  }
+
+  boolean findNearestSegment(double longitude, double latitude, double bearing, double bearingPenalty,
+                             int fromSegment, int toSegment, RouteSegmentMatch match) {
+    match.reset(bearing, bearingPenalty / METERS_PER_DEGREE);
+    return searchSegments(longitude, latitude, fromSegment, toSegment, match);
+  }
+
+  private boolean searchSegments(double longitude, double latitude, int fromSegment, int toSegment,
+                                 RouteSegmentMatch match) {
+    if (fromSegment >= toSegment) {
+      return false;
+    }
+    double scale = Math.cos(Math.toRadians(latitude));
+    int rootLevel = levelBounds.length - 1;
+    searchNode(levelBounds[rootLevel] - 1, rootLevel, longitude, latitude, scale, fromSegment, toSegment, match);
+    if (!match.isFound()) {
+      return false;
+    }
+    updateMatch(match, longitude, latitude);
+    return true;
+  }
+
+  private void searchNode(int node, int level, double x, double y, double scale, int fromSegment, int toSegment,
+                          RouteSegmentMatch match) {
+    int firstChild = nodeChildren[node];
+    int lastChild = Math.min(firstChild + NODE_SIZE, levelBounds[level - 1]);
+    int nearestChild = -1;
+    double nearestDistance = Double.MAX_VALUE;
+    for (int child = firstChild; child < lastChild; child++) {
+      if (isInRange(child, fromSegment, toSegment)) {
+        double distance = boxDistanceSquared(child, x, y, scale);
+        if (distance < nearestDistance) {
+          nearestDistance = distance;
+          nearestChild = child;
+        }
+      }
+    }
+    if (nearestChild < 0) {
+      return;
+    }
+    // Visiting the nearest child first tightens the bound used to skip the other ones.
+    visitChild(nearestChild, level, x, y, scale, fromSegment, toSegment, match);
+    for (int child = firstChild; child < lastChild; child++) {
+      if (child != nearestChild && isInRange(child, fromSegment, toSegment)
+        && boxDistanceSquared(child, x, y, scale) <= match.distanceSquared) {
+        visitChild(child, level, x, y, scale, fromSegment, toSegment, match);
+      }
+    }
+  }
+
+  private void visitChild(int child, int level, double x, double y, double scale, int fromSegment,
+                          int toSegment, RouteSegmentMatch match) {
+    if (level == 1) {
+      checkSegment(nodeChildren[child], x, y, scale, match);
+    } else {
+      searchNode(child, level - 1, x, y, scale, fromSegment, toSegment, match);
+    }
+  }
+
+  private void checkSegment(int segment, double x, double y, double scale, RouteSegmentMatch match) {
+    int offset = segment * BOX_SIZE;
+    double startX = segmentCoordinates[offset];
+    double startY = segmentCoordinates[offset + 1];
+    double segmentX = (segmentCoordinates[offset + 2] - startX) * scale;
+    double segmentY = segmentCoordinates[offset + 3] - startY;
+    double pointX = (x - startX) * scale;
+    double pointY = y - startY;
+    double segmentLengthSquared = segmentX * segmentX + segmentY * segmentY;
+    double fraction = 0;
+    if (segmentLengthSquared > 0) {
+      fraction = Math.max(0, Math.min(1, (pointX * segmentX + pointY * segmentY) / segmentLengthSquared));
+    }
+    double differenceX = pointX - fraction * segmentX;
+    double differenceY = pointY - fraction * segmentY;
+    double distanceSquared = differenceX * differenceX + differenceY * differenceY;
+    // Box distances stay a lower bound, since the penalties only ever add to the distance.
+    double penalty = 0;
+    if (match.bearingPenalty > 0 && segmentLengthSquared > 0) {
+      double segmentBearing = Math.toDegrees(Math.atan2(segmentX, segmentY));
+      double difference = GeometryUtils.bearingDifference(segmentBearing, match.queryBearing);
+      penalty += match.bearingPenalty * difference / HALF_CIRCLE;
+    }
+    if (match.continuityWindow > 0) {
+      double distanceAlongRoute = segmentRouteDistances[segment]
+        + fraction * Math.sqrt(segmentLengthSquared) * METERS_PER_DEGREE;
+      double gap = Math.abs(distanceAlongRoute - match.previousDistanceAlongRoute) - match.continuityWindow;
+      if (gap > 0) {
+        penalty += Math.min(gap, match.continuityWindow) / METERS_PER_DEGREE;
+      }
+    }
+    if (penalty > 0) {
+      double distance = Math.sqrt(distanceSquared) + penalty;
+      distanceSquared = distance * distance;
+    }
+    boolean isCloser = distanceSquared < match.distanceSquared
+      || (distanceSquared == match.distanceSquared && segment < match.segmentIndex());
+    if (isCloser) {
+      match.updateCandidate(segment, distanceSquared, fraction);
+    }
+  }
+
+  private void updateMatch(RouteSegmentMatch match, double longitude, double latitude) {
+    int segment = match.segmentIndex();
+    int offset = segment * BOX_SIZE;
+    double startLongitude = segmentCoordinates[offset];
+    double startLatitude = segmentCoordinates[offset + 1];
+    double projectedLongitude = startLongitude + match.fraction * (segmentCoordinates[offset + 2] - startLongitude);
+    double projectedLatitude = startLatitude + match.fraction * (segmentCoordinates[offset + 3] - startLatitude);
+    double distanceAlongSegment = GeometryUtils.distance(startLongitude, startLatitude,
+      projectedLongitude, projectedLatitude);
+    match.update(segmentLegs[segment], segmentSteps[segment], segmentPoints[segment],
+      projectedLongitude, projectedLatitude,
+      GeometryUtils.distance(longitude, latitude, projectedLongitude, projectedLatitude),
+      segmentStepDistances[segment] + distanceAlongSegment,
+      segmentRouteDistances[segment] + distanceAlongSegment,
+      (GeometryUtils.bearing(startLongitude, startLatitude, segmentCoordinates[offset + 2],
+        segmentCoordinates[offset + 3]) + FULL_CIRCLE) % FULL_CIRCLE);
+  }
+
+  private boolean isInRange(int node, int fromSegment, int toSegment) {
+    return nodeLastSegments[node] >= fromSegment && nodeFirstSegments[node] < toSegment;
+  }
+
+  private double boxDistanceSquared(int node, double x, double y, double scale) {
+    int offset = node * BOX_SIZE;
+    double differenceX = Math.max(0, Math.max(nodeBoxes[offset + MIN_X] - x, x - nodeBoxes[offset + MAX_X])) * scale;
+    double differenceY = Math.max(0, Math.max(nodeBoxes[offset + MIN_Y] - y, y - nodeBoxes[offset + MAX_Y]));
+    return differenceX * differenceX + differenceY * differenceY;
+  }
+
+  private void buildTree() {
+    if (segmentCount == 0) {
+      return;
+    }
+    double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+    for (int segment = 0; segment < segmentCount; segment++) {
+      extendBox(bounds, 0, segmentCoordinates, segment * BOX_SIZE);
+    }
+    double width = Math.max(bounds[MAX_X] - bounds[MIN_X], Double.MIN_VALUE);
+    double height = Math.max(bounds[MAX_Y] - bounds[MIN_Y], Double.MIN_VALUE);
+
+    long[] sortKeys = new long[segmentCount];
+    for (int segment = 0; segment < segmentCount; segment++) {
+      int offset = segment * BOX_SIZE;
+      double centerX = (segmentCoordinates[offset] + segmentCoordinates[offset + 2]) / 2;
+      double centerY = (segmentCoordinates[offset + 1] + segmentCoordinates[offset + 3]) / 2;
+      int hilbertX = (int) ((HILBERT_SIDE - 1) * (centerX - bounds[MIN_X]) / width);
+      int hilbertY = (int) ((HILBERT_SIDE - 1) * (centerY - bounds[MIN_Y]) / height);
+      sortKeys[segment] = (hilbert(hilbertX, hilbertY) << SEGMENT_INDEX_BITS) | segment;
+    }
+    Arrays.sort(sortKeys);
+
+    for (int node = 0; node < segmentCount; node++) {
+      int segment = (int) (sortKeys[node] & SEGMENT_INDEX_MASK);
+      int offset = node * BOX_SIZE;
+      resetBox(nodeBoxes, offset);
+      extendBox(nodeBoxes, offset, segmentCoordinates, segment * BOX_SIZE);
+      nodeChildren[node] = segment;
+      nodeFirstSegments[node] = segment;
+      nodeLastSegments[node] = segment;
+    }
+
+    int child = 0;
+    int parent = segmentCount;
+    for (int level = 0; level < levelBounds.length - 1; level++) {
+      int levelEnd = levelBounds[level];
+      while (child < levelEnd) {
+        int parentOffset = parent * BOX_SIZE;
+        resetBox(nodeBoxes, parentOffset);
+        nodeChildren[parent] = child;
+        nodeFirstSegments[parent] = Integer.MAX_VALUE;
+        nodeLastSegments[parent] = Integer.MIN_VALUE;
+        for (int i = 0; i < NODE_SIZE && child < levelEnd; i++, child++) {
+          extendBox(nodeBoxes, parentOffset, nodeBoxes, child * BOX_SIZE);
+          nodeFirstSegments[parent] = Math.min(nodeFirstSegments[parent], nodeFirstSegments[child]);
+          nodeLastSegments[parent] = Math.max(nodeLastSegments[parent], nodeLastSegments[child]);
+        }
+        parent++;
+      }
+    }
+  }
+
+  private static int[] buildLevelBounds(int segmentCount) {
+    int levelCount = 1;
+    int count = segmentCount;
+    do {
+      count = (count + NODE_SIZE - 1) / NODE_SIZE;
+      levelCount++;
+    } while (count > 1);
+
+    int[] levelBounds = new int[levelCount];
+    count = segmentCount;
+    int nodeCount = segmentCount;
+    levelBounds[0] = nodeCount;
+    for (int level = 1; level < levelCount; level++) {
+      count = (count + NODE_SIZE - 1) / NODE_SIZE;
+      nodeCount += count;
+      levelBounds[level] = nodeCount;
+    }
+    return levelBounds;
+  }
+
+  private static int stepSegmentCount(int pointCount) {
+    // A single coordinate still gets a zero length segment, so it can be matched.
+    return pointCount == 1 ? 1 : Math.max(0, pointCount - 1);
+  }
+
+  private static void resetBox(double[] boxes, int offset) {
+    boxes[offset + MIN_X] = Double.MAX_VALUE;
+    boxes[offset + MIN_Y] = Double.MAX_VALUE;
+    boxes[offset + MAX_X] = -Double.MAX_VALUE;
+    boxes[offset + MAX_Y] = -Double.MAX_VALUE;
+  }
+
+  /**
+   * Extends a box to contain another box or segment, both stored as four consecutive values.
+   */
+  private static void extendBox(double[] boxes, int offset, double[] values, int valueOffset) {
+    double firstX = values[valueOffset];
+    double firstY = values[valueOffset + 1];
+    double secondX = values[valueOffset + 2];
+    double secondY = values[valueOffset + 3];
+    boxes[offset + MIN_X] = Math.min(boxes[offset + MIN_X], Math.min(firstX, secondX));
+    boxes[offset + MIN_Y] = Math.min(boxes[offset + MIN_Y], Math.min(firstY, secondY));
+    boxes[offset + MAX_X] = Math.max(boxes[offset + MAX_X], Math.max(firstX, secondX));
+    boxes[offset + MAX_Y] = Math.max(boxes[offset + MAX_Y], Math.max(firstY, secondY));
+  }
+
+  private static long hilbert(int x, int y) {
+    long distance = 0;
+    for (int side = HILBERT_SIDE / 2; side > 0; side /= 2) {
+      int regionX = (x & side) > 0 ? 1 : 0;
+      int regionY = (y & side) > 0 ? 1 : 0;
+      distance += (long) side * side * ((3 * regionX) ^ regionY);
+      if (regionY == 0) {
+        if (regionX == 1) {
+          x = HILBERT_SIDE - 1 - x;
+          y = HILBERT_SIDE - 1 - y;
+        }
+        int swap = x;
+        x = y;
+        y = swap;
+      }
+    }
+    return distance;
+  }
+
+  private static class SegmentBuffer {
+
+    private final int[] legStepOffsets;
+    private final int[] stepSegmentOffsets;
+    private final double[] coordinates;
+    private final int[] legs;
+    private final int[] steps;
+    private final int[] points;
+    private final double[] stepDistances;
+    private final double[] routeDistances;
+    private int count;
+
+    SegmentBuffer(int segmentCount, int[] legStepOffsets) {
+      this.legStepOffsets = legStepOffsets;
+      this.stepSegmentOffsets = new int[legStepOffsets[legStepOffsets.length - 1] + 1];
+      this.coordinates = new double[segmentCount * BOX_SIZE];
+      this.legs = new int[segmentCount];
+      this.steps = new int[segmentCount];
+      this.points = new int[segmentCount];
+      this.stepDistances = new double[segmentCount];
+      this.routeDistances = new double[segmentCount];
+    }
+
+    void add(int legIndex, int stepIndex, int pointIndex, double startLongitude, double startLatitude,
+             double endLongitude, double endLatitude, double stepDistance, double routeDistance) {
+      int offset = count * BOX_SIZE;
+      coordinates[offset] = startLongitude;
+      coordinates[offset + 1] = startLatitude;
+      coordinates[offset + 2] = endLongitude;
+      coordinates[offset + 3] = endLatitude;
+      legs[count] = legIndex;
+      steps[count] = stepIndex;
+      points[count] = pointIndex;
+      stepDistances[count] = stepDistance;
+      routeDistances[count] = routeDistance;
+      count++;
+    }
+
+    void finishStep(int flatStepIndex) {
+      stepSegmentOffsets[flatStepIndex + 1] = count;
+    }
+  }
+}
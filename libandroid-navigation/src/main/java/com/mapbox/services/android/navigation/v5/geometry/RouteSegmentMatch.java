@@ -0,0 +1,151 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+/**
+ * Result of a nearest segment query on a {@link RouteSegmentIndex}. A match is meant to be reused
+ * between queries, so querying at a high rate doesn't allocate. Instances aren't thread safe, each
+ * thread querying a shared index should hold its own match.
+ *
+ * @since 0.23.0
+ */
+public class RouteSegmentMatch {
+
+  double distanceSquared;
+  double fraction;
+  double queryBearing;
+  double bearingPenalty;
+  double previousDistanceAlongRoute;
+  double continuityWindow;
+  private int segmentIndex;
+  private int legIndex;
+  private int stepIndex;
+  private int pointIndex;
+  private double longitude;
+  private double latitude;
+  private double distance;
+  private double distanceAlongStep;
+  private double distanceAlongRoute;
+  private double bearing;
+
+  /**
+   * Index of the matched segment within its {@link RouteSegmentIndex}.
+   *
+   * @return index of the matched segment
+   * @since 0.23.0
+   */
+  public int segmentIndex() {
+    return segmentIndex;
+  }
+
+  /**
+   * @return index of the leg containing the matched segment
+   * @since 0.23.0
+   */
+  public int legIndex() {
+    return legIndex;
+  }
+
+  /**
+   * @return index of the step, within its leg, containing the matched segment
+   * @since 0.23.0
+   */
+  public int stepIndex() {
+    return stepIndex;
+  }
+
+  /**
+   * @return index of the step coordinate the matched segment starts at
+   * @since 0.23.0
+   */
+  public int pointIndex() {
+    return pointIndex;
+  }
+
+  /**
+   * @return longitude of the closest coordinate on the route
+   * @since 0.23.0
+   */
+  public double longitude() {
+    return longitude;
+  }
+
+  /**
+   * @return latitude of the closest coordinate on the route
+   * @since 0.23.0
+   */
+  public double latitude() {
+    return latitude;
+  }
+
+  /**
+   * @return distance in meters from the queried coordinate to the route
+   * @since 0.23.0
+   */
+  public double distance() {
+    return distance;
+  }
+
+  /**
+   * @return distance in meters from the start of the matched step to the closest coordinate
+   * @since 0.23.0
+   */
+  public double distanceAlongStep() {
+    return distanceAlongStep;
+  }
+
+  /**
+   * @return distance in meters from the start of the route to the closest coordinate
+   * @since 0.23.0
+   */
+  public double distanceAlongRoute() {
+    return distanceAlongRoute;
+  }
+
+  /**
+   * @return bearing of the matched segment in decimal degrees, between 0 and 360
+   * @since 0.23.0
+   */
+  public double bearing() {
+    return bearing;
+  }
+
+  void reset(double queryBearing, double bearingPenalty) {
+    this.queryBearing = queryBearing;
+    this.bearingPenalty = bearingPenalty;
+    distanceSquared = Double.MAX_VALUE;
+    fraction = 0;
+    segmentIndex = -1;
+    previousDistanceAlongRoute = Double.NaN;
+    continuityWindow = 0;
+  }
+
+  /**
+   * Without a previous distance along the route, no continuity window applies.
+   */
+  void resetContinuity(double previousDistanceAlongRoute, double continuityWindow) {
+    this.previousDistanceAlongRoute = previousDistanceAlongRoute;
+    this.continuityWindow = Double.isNaN(previousDistanceAlongRoute) ? 0 : continuityWindow;
+  }
+
+  boolean isFound() {
+    return segmentIndex >= 0;
+  }
+
+  void updateCandidate(int segmentIndex, double distanceSquared, double fraction) {
+    this.segmentIndex = segmentIndex;
+    this.distanceSquared = distanceSquared;
+    this.fraction = fraction;
+  }
+
+  void update(int legIndex, int stepIndex, int pointIndex, double longitude, double latitude,
+              double distance, double distanceAlongStep, double distanceAlongRoute, double bearing) {
+    this.legIndex = legIndex;
+    this.stepIndex = stepIndex;
+    this.pointIndex = pointIndex;
+    this.longitude = longitude;
+    this.latitude = latitude;
+    this.distance = distance;
+    this.distanceAlongStep = distanceAlongStep;
+    this.distanceAlongRoute = distanceAlongRoute;
+    this.bearing = bearing;
+  }
+}
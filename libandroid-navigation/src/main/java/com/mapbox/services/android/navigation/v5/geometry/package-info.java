@@ -0,0 +1,5 @@
+/**
+ * Contains precomputed, read-only route geometry structures which are built once per route and shared
+ * by the navigation calculations.
+ */
+package com.mapbox.services.android.navigation.v5.geometry;
@@ -16,6 +16,13 @@ public class LocationValidator {
     return checkLastValidLocation(location) || location.getAccuracy() < accuracyThreshold;
   }
 
+  /**
+   * Forgets the last valid location, so the next update is taken as the first one again.
+   */
+  public void reset() {
+    lastValidLocation = null;
+  }
+
   /**
    * On the first location update, the last valid location will be null.
    * <p>
@@ -0,0 +1,167 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+import android.util.Xml;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the track points of a GPX document one at a time with a pull parser, so traces of any
+ * size can be read in constant memory.
+ * <p>
+ * Besides the position and {@code time} of each {@code trkpt}, its {@code ele} is read as the
+ * altitude, and a {@code speed} and {@code course}, as written directly in the track point by GPX
+ * 1.0 or in its {@code extensions} by GPX 1.1 loggers, as the speed and bearing.
+ * <p>
+ * A reader can be handed to a {@link ReplayLocationDispatcher}, which only reads as far ahead as
+ * it replays. Closing the reader closes the stream. Documents which aren't valid GPX, can't be
+ * read or hold a time which isn't an ISO 8601 date time are thrown as {@link GpxParseException}.
+ */
+class GpxLocationReader implements Iterator<Location>, Closeable {
+
+  private static final String TAG_TRACK_POINT = "trkpt";
+  private static final String TAG_TIME = "time";
+  private static final String TAG_ELEVATION = "ele";
+  private static final String TAG_SPEED = "speed";
+  private static final String TAG_COURSE = "course";
+  private static final String ATTR_LATITUDE = "lat";
+  private static final String ATTR_LONGITUDE = "lon";
+  private static final String GPX_LOCATION_NAME = "GPX Generated Location";
+  private static final String MISSING_COORDINATE = "Track point without %s attribute";
+  private static final char PREFIX_SEPARATOR = ':';
+  private static final int TEXT_START = 0;
+  private static final int TEXT_LENGTH = 1;
+
+  private final InputStream inputStream;
+  private final XmlPullParser parser;
+  private final int[] textBounds = new int[2];
+  private Location nextLocation;
+
+  GpxLocationReader(InputStream inputStream) {
+    this.inputStream = inputStream;
+    parser = Xml.newPullParser();
+    try {
+      // Track points are matched by their tag name as written, prefixed ones aren't GPX track points
+      parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, false);
+      parser.setInput(inputStream, null);
+    } catch (XmlPullParserException exception) {
+      throw new GpxParseException(exception);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextLocation == null) {
+      try {
+        nextLocation = readNextTrackPoint();
+      } catch (XmlPullParserException | IOException | ParseException exception) {
+        throw new GpxParseException(exception);
+      }
+    }
+    return nextLocation != null;
+  }
+
+  @Override
+  public Location next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Location location = nextLocation;
+    nextLocation = null;
+    return location;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  /**
+   * Reads up to the next track point.
+   *
+   * @return the location of the next track point, or null at the end of the document
+   */
+  private Location readNextTrackPoint() throws XmlPullParserException, IOException, ParseException {
+    if (parser.getEventType() == XmlPullParser.END_DOCUMENT) {
+      return null;
+    }
+    int eventType = parser.next();
+    while (eventType != XmlPullParser.END_DOCUMENT) {
+      if (eventType == XmlPullParser.START_TAG && TAG_TRACK_POINT.equals(parser.getName())) {
+        return readTrackPoint();
+      }
+      eventType = parser.next();
+    }
+    return null;
+  }
+
+  private Location readTrackPoint() throws XmlPullParserException, IOException, ParseException {
+    Location location = new Location(GPX_LOCATION_NAME);
+    location.setLatitude(readCoordinate(ATTR_LATITUDE));
+    location.setLongitude(readCoordinate(ATTR_LONGITUDE));
+    int depth = parser.getDepth();
+    int eventType = parser.next();
+    while (eventType != XmlPullParser.END_TAG || parser.getDepth() != depth) {
+      if (eventType == XmlPullParser.START_TAG) {
+        readTrackPointValue(location, parser.getName());
+      } else if (eventType == XmlPullParser.END_DOCUMENT) {
+        throw new XmlPullParserException("Unterminated track point", parser, null);
+      }
+      eventType = parser.next();
+    }
+    return location;
+  }
+
+  private double readCoordinate(String attributeName) throws XmlPullParserException {
+    String coordinate = parser.getAttributeValue(null, attributeName);
+    if (coordinate == null) {
+      throw new XmlPullParserException(String.format(MISSING_COORDINATE, attributeName), parser, null);
+    }
+    return Double.parseDouble(coordinate);
+  }
+
+  private void readTrackPointValue(Location location, String name) throws XmlPullParserException, IOException,
+    ParseException {
+    if (hasLocalName(name, TAG_TIME)) {
+      if (parser.next() == XmlPullParser.TEXT) {
+        char[] text = parser.getTextCharacters(textBounds);
+        location.setTime(Iso8601DateParser.parseTimeInMillis(text, textBounds[TEXT_START], textBounds[TEXT_LENGTH]));
+      }
+    } else if (hasLocalName(name, TAG_ELEVATION)) {
+      location.setAltitude(readValue(location.getAltitude()));
+    } else if (hasLocalName(name, TAG_SPEED)) {
+      location.setSpeed((float) readValue(location.getSpeed()));
+    } else if (hasLocalName(name, TAG_COURSE)) {
+      location.setBearing((float) readValue(location.getBearing()));
+    }
+  }
+
+  private double readValue(double defaultValue) throws XmlPullParserException, IOException {
+    if (parser.next() != XmlPullParser.TEXT) {
+      return defaultValue;
+    }
+    String value = parser.getText().trim();
+    return value.isEmpty() ? defaultValue : Double.parseDouble(value);
+  }
+
+  /**
+   * Matches tag names with or without a namespace prefix, like {@code gpxtpx:speed}.
+   */
+  private static boolean hasLocalName(String name, String localName) {
+    int prefixLength = name.length() - localName.length();
+    return name.endsWith(localName) && (prefixLength == 0 || name.charAt(prefixLength - 1) == PREFIX_SEPARATOR);
+  }
+}
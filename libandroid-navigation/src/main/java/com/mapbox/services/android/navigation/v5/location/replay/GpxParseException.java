@@ -0,0 +1,13 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+/**
+ * Thrown by a {@link GpxLocationReader} for documents which aren't valid GPX or can't be read,
+ * with the {@link org.xmlpull.v1.XmlPullParserException}, {@link java.io.IOException} or
+ * {@link java.text.ParseException} as its cause.
+ */
+class GpxParseException extends RuntimeException {
+
+  GpxParseException(Throwable cause) {
+    super(cause);
+  }
+}
@@ -0,0 +1,165 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import java.text.ParseException;
+
+/**
+ * Parses ISO 8601 date times, like the ones of GPX track points, straight from the characters
+ * they are read into, without creating any objects or sharing a {@link java.text.SimpleDateFormat}.
+ * <p>
+ * Accepts {@code yyyy-MM-ddTHH:mm:ss} with an optional fraction of a second, followed by
+ * {@code Z}, an offset of {@code +hh:mm}, {@code +hhmm} or {@code +hh}, or nothing for UTC.
+ */
+final class Iso8601DateParser {
+
+  private static final int YEAR_DIGITS = 4;
+  private static final int FIELD_DIGITS = 2;
+  private static final int MILLISECOND_DIGITS = 3;
+  private static final int MAXIMUM_MONTH = 12;
+  private static final int MAXIMUM_DAY = 31;
+  private static final int MAXIMUM_HOUR = 23;
+  private static final int MAXIMUM_MINUTE = 59;
+  // Leap seconds roll over into the next minute
+  private static final int MAXIMUM_SECOND = 60;
+  private static final long MILLISECONDS_PER_SECOND = 1000L;
+  private static final long SECONDS_PER_MINUTE = 60L;
+  private static final long MINUTES_PER_HOUR = 60L;
+  private static final long HOURS_PER_DAY = 24L;
+  private static final String UNPARSEABLE_DATE = "Unparseable date: ";
+
+  private Iso8601DateParser() {
+    // Utility class
+  }
+
+  /**
+   * @param chars  holding the date time
+   * @param start  index of the first character of the date time
+   * @param length of the date time, surrounding whitespace is ignored
+   * @return the milliseconds since the epoch
+   * @throws ParseException if the characters aren't an ISO 8601 date time
+   */
+  static long parseTimeInMillis(char[] chars, int start, int length) throws ParseException {
+    int begin = start;
+    int end = start + length;
+    while (begin < end && Character.isWhitespace(chars[begin])) {
+      begin++;
+    }
+    while (end > begin && Character.isWhitespace(chars[end - 1])) {
+      end--;
+    }
+    int position = begin;
+    int year = readNumber(chars, position, YEAR_DIGITS, end, begin);
+    position = expect(chars, position + YEAR_DIGITS, '-', end, begin);
+    int month = readField(chars, position, 1, MAXIMUM_MONTH, end, begin);
+    position = expect(chars, position + FIELD_DIGITS, '-', end, begin);
+    int day = readField(chars, position, 1, MAXIMUM_DAY, end, begin);
+    position += FIELD_DIGITS;
+    if (position >= end || (chars[position] != 'T' && chars[position] != 't' && chars[position] != ' ')) {
+      throw buildParseException(chars, begin, end, position);
+    }
+    position++;
+    int hour = readField(chars, position, 0, MAXIMUM_HOUR, end, begin);
+    position = expect(chars, position + FIELD_DIGITS, ':', end, begin);
+    int minute = readField(chars, position, 0, MAXIMUM_MINUTE, end, begin);
+    position = expect(chars, position + FIELD_DIGITS, ':', end, begin);
+    int second = readField(chars, position, 0, MAXIMUM_SECOND, end, begin);
+    position += FIELD_DIGITS;
+
+    int millisecond = 0;
+    if (position < end && (chars[position] == '.' || chars[position] == ',')) {
+      position++;
+      int fractionStart = position;
+      int scale = (int) MILLISECONDS_PER_SECOND;
+      while (position < end && isDigit(chars[position])) {
+        if (position - fractionStart < MILLISECOND_DIGITS) {
+          scale /= 10;
+          millisecond += (chars[position] - '0') * scale;
+        }
+        position++;
+      }
+      if (position == fractionStart) {
+        throw buildParseException(chars, begin, end, position);
+      }
+    }
+
+    long offsetInMinutes = 0;
+    if (position < end) {
+      char designator = chars[position];
+      if (designator == 'Z' || designator == 'z') {
+        position++;
+      } else if (designator == '+' || designator == '-') {
+        position++;
+        int offsetHours = readField(chars, position, 0, MAXIMUM_HOUR, end, begin);
+        position += FIELD_DIGITS;
+        int offsetMinutes = 0;
+        if (position < end) {
+          if (chars[position] == ':') {
+            position++;
+          }
+          offsetMinutes = readField(chars, position, 0, MAXIMUM_MINUTE, end, begin);
+          position += FIELD_DIGITS;
+        }
+        offsetInMinutes = offsetHours * MINUTES_PER_HOUR + offsetMinutes;
+        if (designator == '-') {
+          offsetInMinutes = -offsetInMinutes;
+        }
+      }
+    }
+    if (position != end) {
+      throw buildParseException(chars, begin, end, position);
+    }
+
+    long days = daysSinceEpoch(year, month, day);
+    long minutes = (days * HOURS_PER_DAY + hour) * MINUTES_PER_HOUR + minute - offsetInMinutes;
+    return (minutes * SECONDS_PER_MINUTE + second) * MILLISECONDS_PER_SECOND + millisecond;
+  }
+
+  /**
+   * Days from 1970-01-01 to the given date of the proleptic Gregorian calendar.
+   */
+  private static long daysSinceEpoch(int year, int month, int day) {
+    long adjustedYear = month <= 2 ? year - 1 : year;
+    long era = (adjustedYear >= 0 ? adjustedYear : adjustedYear - 399) / 400;
+    long yearOfEra = adjustedYear - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  private static int readField(char[] chars, int position, int minimum, int maximum, int end, int begin)
+    throws ParseException {
+    int value = readNumber(chars, position, FIELD_DIGITS, end, begin);
+    if (value < minimum || value > maximum) {
+      throw buildParseException(chars, begin, end, position);
+    }
+    return value;
+  }
+
+  private static int readNumber(char[] chars, int position, int digits, int end, int begin) throws ParseException {
+    if (position + digits > end) {
+      throw buildParseException(chars, begin, end, position);
+    }
+    int value = 0;
+    for (int i = position; i < position + digits; i++) {
+      if (!isDigit(chars[i])) {
+        throw buildParseException(chars, begin, end, i);
+      }
+      value = value * 10 + chars[i] - '0';
+    }
+    return value;
+  }
+
+  private static int expect(char[] chars, int position, char separator, int end, int begin) throws ParseException {
+    if (position >= end || chars[position] != separator) {
+      throw buildParseException(chars, begin, end, position);
+    }
+    return position + 1;
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  private static ParseException buildParseException(char[] chars, int begin, int end, int position) {
+    return new ParseException(UNPARSEABLE_DATE + new String(chars, begin, end - begin), position - begin);
+  }
+}
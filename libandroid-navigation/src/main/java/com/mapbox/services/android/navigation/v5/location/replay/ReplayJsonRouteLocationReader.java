@@ -0,0 +1,100 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the locations of a replay json, as held by a {@link ReplayJsonRouteDto}, one at a time
+ * as they are iterated, so a recorded drive can start replaying before the json was read and
+ * only the location being read is held in memory.
+ * <p>
+ * The json is only read as far as the end of its {@code locations}, other members are skipped.
+ * Like Gson's own streaming parser, reading failures are thrown as {@link JsonIOException} and
+ * malformed json as {@link JsonSyntaxException}.
+ */
+class ReplayJsonRouteLocationReader implements Iterator<Location>, Closeable {
+
+  private static final String LOCATIONS = "locations";
+
+  private final Gson gson = new Gson();
+  private final JsonReader reader;
+  private boolean isInLocations;
+  private boolean isAtEnd;
+
+  ReplayJsonRouteLocationReader(Reader json) {
+    this.reader = new JsonReader(json);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (isAtEnd) {
+      return false;
+    }
+    try {
+      if (!isInLocations) {
+        findLocations();
+      }
+      if (isInLocations && reader.hasNext()) {
+        return true;
+      }
+      if (isInLocations) {
+        reader.endArray();
+      }
+      isInLocations = false;
+      isAtEnd = true;
+      return false;
+    } catch (MalformedJsonException | IllegalStateException exception) {
+      throw new JsonSyntaxException(exception);
+    } catch (IOException exception) {
+      throw new JsonIOException(exception);
+    }
+  }
+
+  @Override
+  public Location next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    ReplayLocationDto replayLocation = gson.fromJson(reader, ReplayLocationDto.class);
+    return ReplayJsonRouteLocationMapper.mapReplayLocation(replayLocation);
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * Moves the reader into the locations array, or to the end of the json if there is none.
+   */
+  private void findLocations() throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (LOCATIONS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        reader.beginArray();
+        isInLocations = true;
+        return;
+      }
+      reader.skipValue();
+    }
+    reader.endObject();
+  }
+}
@@ -2,41 +2,71 @@ package com.mapbox.services.android.navigation.v5.location.replay;
 
 import android.location.Location;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 
+/**
+ * Dispatches replayed locations at the pace they were recorded at, or a multiple of it.
+ * <p>
+ * Locations are pulled from a forward only {@link Iterator}, a few at a time into a small
+ * prefetch window, so a producer which creates them lazily, like the mocked locations along a
+ * route, can replay traces of any length in constant memory. Dispatching can be paused and
+ * resumed, and skipped forward with {@link #seekTo(long)}.
+ */
 class ReplayLocationDispatcher implements Runnable {
 
   private static final String NON_NULL_AND_NON_EMPTY_LOCATION_LIST_REQUIRED = "Non-null and non-empty location list "
     + "required.";
-  private static final int HEAD = 0;
-  private List<Location> locationsToReplay;
+  private static final String SPEED_MULTIPLIER_MUST_BE_GREATER_THAN_ZERO = "Speed multiplier must be greater than 0.";
+  private static final int PREFETCH_WINDOW_SIZE = 16;
+  private static final double DEFAULT_SPEED_MULTIPLIER = 1d;
+  private final ArrayDeque<Location> prefetchedLocations = new ArrayDeque<>(PREFETCH_WINDOW_SIZE);
+  private Iterator<Location> locationProducer;
   private Location current;
   private Handler handler;
   private CopyOnWriteArraySet<ReplayLocationListener> replayLocationListeners;
-
+  private double speedMultiplier = DEFAULT_SPEED_MULTIPLIER;
+  private long nextDispatchUptime;
+  private long pausedDelay;
+  private boolean isPaused;
+
+  /**
+   * @param locationsToReplay which must not be changed while they are replayed
+   */
   ReplayLocationDispatcher(@NonNull List<Location> locationsToReplay) {
-    checkValidInput(locationsToReplay);
-    this.locationsToReplay = new CopyOnWriteArrayList<>(locationsToReplay);
-    initialize();
-    this.replayLocationListeners = new CopyOnWriteArraySet<>();
-    this.handler = new Handler();
+    this(locationsToReplay, new Handler());
   }
 
   // For testing only
   ReplayLocationDispatcher(List<Location> locationsToReplay, Handler handler) {
     checkValidInput(locationsToReplay);
-    this.locationsToReplay = locationsToReplay;
-    initialize();
     this.replayLocationListeners = new CopyOnWriteArraySet<>();
     this.handler = handler;
+    initialize(locationsToReplay.iterator());
+  }
+
+  ReplayLocationDispatcher(@NonNull Iterator<Location> locationProducer) {
+    this(locationProducer, new Handler());
+  }
+
+  // For testing only
+  ReplayLocationDispatcher(Iterator<Location> locationProducer, Handler handler) {
+    this.replayLocationListeners = new CopyOnWriteArraySet<>();
+    this.handler = handler;
+    initialize(locationProducer);
   }
 
   @Override
   public void run() {
+    if (current == null) {
+      return;
+    }
     dispatchLocation(current);
     scheduleNextDispatch();
   }
@@ -47,22 +77,66 @@ class ReplayLocationDispatcher implements Runnable {
   }
 
   void pause() {
+    if (!isPaused) {
+      isPaused = true;
+      pausedDelay = Math.max(0, nextDispatchUptime - SystemClock.uptimeMillis());
+    }
+    stopDispatching();
+  }
+
+  /**
+   * Continues a paused replay, dispatching the next location after the time which was left until
+   * it when the replay was paused.
+   */
+  void resume() {
+    if (!isPaused) {
+      return;
+    }
+    isPaused = false;
+    if (current != null) {
+      stopDispatching();
+      postNextDispatch(pausedDelay);
+    }
+  }
+
+  /**
+   * Skips forward to the first location recorded at or after the given time, which is dispatched
+   * right away unless the replay is paused. Locations which were already dispatched can't be
+   * sought back to, replaying them takes a new producer.
+   *
+   * @param timeInMilliseconds recorded time of the location to continue from
+   */
+  void seekTo(long timeInMilliseconds) {
+    while (current != null && current.getTime() < timeInMilliseconds) {
+      current = nextLocation();
+    }
     stopDispatching();
+    if (isPaused) {
+      pausedDelay = 0;
+    } else if (current != null) {
+      postNextDispatch(0);
+    }
+  }
+
+  /**
+   * @param speedMultiplier how many times faster than recorded the following locations are
+   *                        dispatched
+   */
+  void updateSpeedMultiplier(double speedMultiplier) {
+    if (speedMultiplier <= 0) {
+      throw new IllegalArgumentException(SPEED_MULTIPLIER_MUST_BE_GREATER_THAN_ZERO);
+    }
+    this.speedMultiplier = speedMultiplier;
   }
 
   void update(@NonNull List<Location> locationsToReplay) {
     checkValidInput(locationsToReplay);
-    this.locationsToReplay = new CopyOnWriteArrayList<>(locationsToReplay);
-    initialize();
+    update(locationsToReplay.iterator());
   }
 
-  void add(@NonNull List<Location> toReplay) {
-    boolean shouldRedispatch = locationsToReplay.isEmpty();
-    addLocations(toReplay);
-    if (shouldRedispatch) {
-      stopDispatching();
-      scheduleNextDispatch();
-    }
+  void update(@NonNull Iterator<Location> locationProducer) {
+    prefetchedLocations.clear();
+    initialize(locationProducer);
   }
 
   void addReplayLocationListener(ReplayLocationListener listener) {
@@ -80,12 +154,21 @@ class ReplayLocationDispatcher implements Runnable {
     }
   }
 
-  private void initialize() {
-    current = locationsToReplay.remove(HEAD);
+  private void initialize(Iterator<Location> locationProducer) {
+    this.locationProducer = locationProducer;
+    current = nextLocation();
   }
 
-  private void addLocations(List<Location> toReplay) {
-    locationsToReplay.addAll(toReplay);
+  /**
+   * @return the next location to replay, or null once the producer ran out of locations
+   */
+  private Location nextLocation() {
+    if (prefetchedLocations.isEmpty()) {
+      while (prefetchedLocations.size() < PREFETCH_WINDOW_SIZE && locationProducer.hasNext()) {
+        prefetchedLocations.add(locationProducer.next());
+      }
+    }
+    return prefetchedLocations.poll();
   }
 
   private void dispatchLocation(Location location) {
@@ -95,22 +178,31 @@ class ReplayLocationDispatcher implements Runnable {
   }
 
   private void scheduleNextDispatch() {
-    if (locationsToReplay.isEmpty()) {
+    Location next = nextLocation();
+    if (next == null) {
+      current = null;
       stopDispatching();
       return;
     }
     long currentTime = current.getTime();
-    current = locationsToReplay.remove(HEAD);
+    current = next;
     long nextTime = current.getTime();
-    long diff = nextTime - currentTime;
-    handler.postDelayed(this, diff);
+    long diff = Math.max(0, nextTime - currentTime);
+    postNextDispatch((long) (diff / speedMultiplier));
+  }
+
+  private void postNextDispatch(long delay) {
+    nextDispatchUptime = SystemClock.uptimeMillis() + delay;
+    handler.postDelayed(this, delay);
   }
 
   private void clearLocations() {
-    locationsToReplay.clear();
+    prefetchedLocations.clear();
+    locationProducer = Collections.<Location>emptyList().iterator();
+    current = null;
   }
 
   private void stopDispatching() {
     handler.removeCallbacks(this);
   }
-}
\ No newline at end of file
+}
@@ -6,12 +6,13 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.turf.TurfConstants;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
 import com.mapbox.turf.TurfMeasurement;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 class ReplayRouteLocationConverter {
 
@@ -26,6 +27,8 @@ class ReplayRouteLocationConverter {
   private int currentLeg;
   private int currentStep;
   private long time;
+  private boolean hasMoreSteps = true;
+  private ReplayRouteResampler stepResampler;
 
   ReplayRouteLocationConverter(DirectionsRoute route, int speed, int delay) {
     initialize();
@@ -43,15 +46,15 @@ class ReplayRouteLocationConverter {
     this.delay = customDelayInSeconds;
   }
 
-  List<Location> toLocations() {
-    List<Point> stepPoints = calculateStepPoints();
-    List<Location> mockedLocations = calculateMockLocations(stepPoints);
-
-    return mockedLocations;
-  }
-
-  boolean isMultiLegRoute() {
-    return route.legs().size() > 1;
+  /**
+   * Mocks the locations along the route as they are iterated, one step geometry at a time, so
+   * replaying a route of any length only holds the step being mocked. Steps without length, like
+   * the arrival step of each leg, are skipped.
+   *
+   * @return iterator over the mocked locations of the remaining steps of the route
+   */
+  Iterator<Location> toLocationIterator() {
+    return new RouteLocationIterator();
   }
 
   void initializeTime() {
@@ -65,37 +68,44 @@ class ReplayRouteLocationConverter {
    * @return list of sliced {@link Point}s.
    */
   List<Point> sliceRoute(LineString lineString) {
-    double distanceMeters = TurfMeasurement.length(lineString, TurfConstants.UNIT_METERS);
-    if (distanceMeters <= 0) {
-      return Collections.emptyList();
-    }
-
     List<Point> points = new ArrayList<>();
-    for (double i = 0; i < distanceMeters; i += distance) {
-      Point point = TurfMeasurement.along(lineString, i, TurfConstants.UNIT_METERS);
-      points.add(point);
+    ReplayRouteResampler resampler = new ReplayRouteResampler(lineString.coordinates(), distance);
+    while (resampler.hasNext()) {
+      points.add(resampler.next());
     }
     return points;
   }
 
   List<Location> calculateMockLocations(List<Point> points) {
-    List<Point> pointsToCopy = new ArrayList<>(points);
-    List<Location> mockedLocations = new ArrayList<>();
-    for (Point point : points) {
+    List<Location> mockedLocations = new ArrayList<>(points.size());
+    for (int i = 0; i < points.size(); i++) {
+      Point point = points.get(i);
       Location mockedLocation = createMockLocationFrom(point);
 
-      if (pointsToCopy.size() >= 2) {
-        double bearing = TurfMeasurement.bearing(point, pointsToCopy.get(1));
+      if (i + 1 < points.size()) {
+        double bearing = TurfMeasurement.bearing(point, points.get(i + 1));
         mockedLocation.setBearing((float) bearing);
       }
       time += delay * ONE_SECOND_IN_MILLISECONDS;
       mockedLocations.add(mockedLocation);
-      pointsToCopy.remove(point);
     }
 
     return mockedLocations;
   }
 
+  private Location calculateMockLocation(ReplayRouteResampler resampler) {
+    Point point = resampler.next();
+    Location mockedLocation = createMockLocationFrom(point);
+
+    if (resampler.hasNext()) {
+      double bearing = TurfMeasurement.bearing(point, resampler.peek());
+      mockedLocation.setBearing((float) bearing);
+    }
+    time += delay * ONE_SECOND_IN_MILLISECONDS;
+
+    return mockedLocation;
+  }
+
   private void update(DirectionsRoute route) {
     this.route = route;
   }
@@ -115,15 +125,12 @@ class ReplayRouteLocationConverter {
     this.currentStep = 0;
   }
 
-  private List<Point> calculateStepPoints() {
-    List<Point> stepPoints = new ArrayList<>();
-
-    LineString line = LineString.fromPolyline(
+  private ReplayRouteResampler nextStepResampler() {
+    List<Point> stepPoints = PolylineDecoder.decodePoints(
       route.legs().get(currentLeg).steps().get(currentStep).geometry(), Constants.PRECISION_6);
-    stepPoints.addAll(sliceRoute(line));
     increaseIndex();
 
-    return stepPoints;
+    return new ReplayRouteResampler(stepPoints, distance);
   }
 
   private void increaseIndex() {
@@ -132,6 +139,8 @@ class ReplayRouteLocationConverter {
     } else if (currentLeg < route.legs().size() - 1) {
       currentLeg++;
       currentStep = 0;
+    } else {
+      hasMoreSteps = false;
     }
   }
 
@@ -145,4 +154,28 @@ class ReplayRouteLocationConverter {
     mockedLocation.setTime(time);
     return mockedLocation;
   }
+
+  private class RouteLocationIterator implements Iterator<Location> {
+
+    @Override
+    public boolean hasNext() {
+      while ((stepResampler == null || !stepResampler.hasNext()) && hasMoreSteps) {
+        stepResampler = nextStepResampler();
+      }
+      return stepResampler != null && stepResampler.hasNext();
+    }
+
+    @Override
+    public Location next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return calculateMockLocation(stepResampler);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
@@ -2,7 +2,6 @@ package com.mapbox.services.android.navigation.v5.location.replay;
 
 import android.annotation.SuppressLint;
 import android.location.Location;
-import android.os.Handler;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
@@ -13,28 +12,22 @@ import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 
 public class ReplayRouteLocationEngine extends LocationEngine implements Runnable {
 
-  private static final int HEAD = 0;
-  private static final int MOCKED_POINTS_LEFT_THRESHOLD = 5;
-  private static final int ONE_SECOND_IN_MILLISECONDS = 1000;
   private static final int FORTY_FIVE_KM_PER_HOUR = 45;
   private static final int DEFAULT_SPEED = FORTY_FIVE_KM_PER_HOUR;
   private static final int ONE_SECOND = 1;
   private static final int DEFAULT_DELAY = ONE_SECOND;
-  private static final int DO_NOT_DELAY = 0;
-  private static final int ZERO = 0;
   private static final String SPEED_MUST_BE_GREATER_THAN_ZERO_KM_H = "Speed must be greater than 0 km/h.";
   private static final String DELAY_MUST_BE_GREATER_THAN_ZERO_SECONDS = "Delay must be greater than 0 seconds.";
   private static final String REPLAY_ROUTE = "ReplayRouteLocation";
   private ReplayRouteLocationConverter converter;
   private int speed = DEFAULT_SPEED;
   private int delay = DEFAULT_DELAY;
-  private Handler handler;
-  private List<Location> mockedLocations;
   private ReplayLocationDispatcher dispatcher;
   private Location lastLocation = null;
   private final ReplayLocationListener replayLocationListener = new ReplayLocationListener() {
@@ -44,16 +37,9 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
         listener.onLocationChanged(location);
       }
       lastLocation = location;
-      if (!mockedLocations.isEmpty()) {
-        mockedLocations.remove(HEAD);
-      }
     }
   };
 
-  public ReplayRouteLocationEngine() {
-    this.handler = new Handler();
-  }
-
   @SuppressLint("MissingPermission")
   public void assign(DirectionsRoute route) {
     start(route);
@@ -89,20 +75,17 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
     this.delay = customDelayInSeconds;
   }
 
+  /**
+   * Used to feed the next batch of mocked locations from the engine's own handler. The
+   * {@link ReplayLocationDispatcher} now pulls them from the route as they are replayed, so there
+   * is nothing left to feed.
+   *
+   * @deprecated locations are replayed once a route is assigned, without calling this
+   */
+  @Deprecated
   @Override
   public void run() {
-    List<Location> nextMockedLocations = converter.toLocations();
-    if (nextMockedLocations.isEmpty()) {
-      if (converter.isMultiLegRoute()) {
-        nextMockedLocations = converter.toLocations();
-      } else {
-        handler.removeCallbacks(this);
-        return;
-      }
-    }
-    dispatcher.add(nextMockedLocations);
-    mockedLocations.addAll(nextMockedLocations);
-    scheduleNextDispatch();
+    // Kept for binary compatibility, the dispatcher feeds itself.
   }
 
   /**
@@ -120,7 +103,6 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
     if (dispatcher != null) {
       dispatcher.stop();
     }
-    handler.removeCallbacks(this);
   }
 
   /**
@@ -167,16 +149,13 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
   }
 
   private void start(DirectionsRoute route) {
-    handler.removeCallbacks(this);
     converter = new ReplayRouteLocationConverter(route, speed, delay);
     converter.initializeTime();
-    mockedLocations = converter.toLocations();
-    dispatcher = obtainDispatcher();
+    dispatcher = obtainDispatcher(converter.toLocationIterator());
     dispatcher.run();
-    scheduleNextDispatch();
   }
 
-  private ReplayLocationDispatcher obtainDispatcher() {
+  private ReplayLocationDispatcher obtainDispatcher(Iterator<Location> mockedLocations) {
     if (dispatcher != null) {
       dispatcher.stop();
       dispatcher.removeReplayLocationListener(replayLocationListener);
@@ -188,13 +167,12 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
   }
 
   private void startRoute(Point point, Location lastLocation) {
-    handler.removeCallbacks(this);
     converter.updateSpeed(speed);
     converter.updateDelay(delay);
     converter.initializeTime();
     LineString route = obtainRoute(point, lastLocation);
-    mockedLocations = converter.calculateMockLocations(converter.sliceRoute(route));
-    dispatcher = obtainDispatcher();
+    List<Location> mockedLocations = converter.calculateMockLocations(converter.sliceRoute(route));
+    dispatcher = obtainDispatcher(mockedLocations.iterator());
     dispatcher.run();
   }
 
@@ -206,17 +184,6 @@ public class ReplayRouteLocationEngine extends LocationEngine implements Runnabl
     return LineString.fromLngLats(pointList);
   }
 
-  private void scheduleNextDispatch() {
-    int currentMockedPoints = mockedLocations.size();
-    if (currentMockedPoints == ZERO) {
-      handler.postDelayed(this, DO_NOT_DELAY);
-    } else if (currentMockedPoints <= MOCKED_POINTS_LEFT_THRESHOLD) {
-      handler.postDelayed(this, ONE_SECOND_IN_MILLISECONDS);
-    } else {
-      handler.postDelayed(this, (currentMockedPoints - MOCKED_POINTS_LEFT_THRESHOLD) * ONE_SECOND_IN_MILLISECONDS);
-    }
-  }
-
   private void initializeLastLocation() {
     if (lastLocation == null) {
       lastLocation = new Location(REPLAY_ROUTE);
@@ -0,0 +1,104 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks a line once, emitting points spaced evenly along it.
+ * <p>
+ * Each point is the one {@link TurfMeasurement#along(LineString, double, String)} finds for its distance,
+ * but the walk resumes where the previous point was found instead of starting over from the first
+ * coordinate, so resampling a line of m coordinates into n points is O(n + m) rather than O(n * m).
+ * Points are only computed as they are asked for.
+ */
+class ReplayRouteResampler {
+
+  private static final double OPPOSITE_DIRECTION = 180d;
+
+  private final List<Point> coordinates;
+  private final double[] segmentDistances;
+  private final double spacing;
+  private final double length;
+  private double nextDistance;
+  private int index;
+  private double travelled;
+  private Point peekedPoint;
+
+  /**
+   * @param coordinates      of the line
+   * @param spacingInMeters  distance between two consecutive points, must be greater than zero
+   */
+  ReplayRouteResampler(List<Point> coordinates, double spacingInMeters) {
+    this.coordinates = coordinates;
+    this.spacing = spacingInMeters;
+    int segmentCount = Math.max(0, coordinates.size() - 1);
+    segmentDistances = new double[segmentCount];
+    double length = 0;
+    for (int i = 0; i < segmentCount; i++) {
+      segmentDistances[i] = TurfMeasurement.distance(coordinates.get(i), coordinates.get(i + 1),
+        TurfConstants.UNIT_METERS);
+      length += segmentDistances[i];
+    }
+    this.length = length;
+  }
+
+  boolean hasNext() {
+    return peekedPoint != null || nextDistance < length;
+  }
+
+  /**
+   * @return the next point without moving past it
+   * @throws NoSuchElementException if the end of the line was reached
+   */
+  Point peek() {
+    if (peekedPoint == null) {
+      peekedPoint = next();
+    }
+    return peekedPoint;
+  }
+
+  /**
+   * @return the next point
+   * @throws NoSuchElementException if the end of the line was reached
+   */
+  Point next() {
+    if (peekedPoint != null) {
+      Point point = peekedPoint;
+      peekedPoint = null;
+      return point;
+    }
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Point point = along(nextDistance);
+    nextDistance += spacing;
+    return point;
+  }
+
+  /**
+   * Same walk as {@link TurfMeasurement#along(LineString, double, String)}, resumed from the coordinate
+   * the previous, shorter, distance was found at.
+   */
+  private Point along(double distance) {
+    int lastIndex = coordinates.size() - 1;
+    while (index < lastIndex && travelled < distance) {
+      travelled += segmentDistances[index];
+      index++;
+    }
+    if (travelled < distance) {
+      return coordinates.get(lastIndex);
+    }
+    double overshot = distance - travelled;
+    if (overshot == 0) {
+      return coordinates.get(index);
+    }
+    double direction = TurfMeasurement.bearing(coordinates.get(index), coordinates.get(index - 1))
+      - OPPOSITE_DIRECTION;
+    return TurfMeasurement.destination(coordinates.get(index), overshot, direction, TurfConstants.UNIT_METERS);
+  }
+}
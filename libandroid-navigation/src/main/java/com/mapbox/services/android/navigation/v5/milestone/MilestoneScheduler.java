@@ -0,0 +1,246 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decides which {@link Milestone}s need to be checked for each route progress update.
+ * <p>
+ * {@link StepMilestone}s and {@link RouteMilestone}s with compiled triggers are bucketed once, when
+ * the milestones change, by the step index their trigger requires and by the step distance
+ * remaining below which they can occur. Buckets are sorted by that distance, so as the user moves
+ * along a step a cursor only moves forward over the milestones which could now occur. All other
+ * milestones, including the default voice and banner milestones, are checked on every update.
+ * <p>
+ * Milestones are set from the main thread while they are checked from the route processing thread,
+ * so each update swaps in a new immutable schedule. Each check updates one {@link TriggerSnapshot}
+ * which is passed to every compiled milestone, so their triggers share its measurements.
+ *
+ * @since 0.23.0
+ */
+public class MilestoneScheduler {
+
+  private static final int NO_INDEX = -1;
+
+  private final TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+  private volatile Schedule schedule = new Schedule(Collections.<Milestone>emptyList());
+  private Schedule activeSchedule;
+  private DirectionsRoute activeRoute;
+  private int activeLegIndex = NO_INDEX;
+  private int activeStepIndex = NO_INDEX;
+  private int anyStepCursor;
+  private int stepCursor;
+  private long stepGeneration;
+
+  /**
+   * Replaces the scheduled milestones. Should be called whenever milestones are added or removed.
+   *
+   * @param milestones to schedule
+   * @since 0.23.0
+   */
+  public void updateMilestones(@NonNull Collection<Milestone> milestones) {
+    schedule = new Schedule(new ArrayList<>(milestones));
+  }
+
+  /**
+   * Whether any milestones are scheduled, so route progress updates need to be checked at all.
+   *
+   * @return true if there are milestones to check
+   * @since 0.23.0
+   */
+  public boolean hasMilestones() {
+    return schedule.milestoneCount > 0;
+  }
+
+  /**
+   * Checks the milestones which could occur for the given route progress.
+   *
+   * @param previousRouteProgress last route progress, or the current one for the first update
+   * @param routeProgress         current route progress
+   * @return the milestones which occurred, or an empty list if none did
+   * @since 0.23.0
+   */
+  @NonNull
+  public List<Milestone> findTriggeredMilestones(@NonNull RouteProgress previousRouteProgress,
+                                                 @NonNull RouteProgress routeProgress) {
+    Schedule currentSchedule = schedule;
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    if (hasPositionChanged(currentSchedule, routeProgress.directionsRoute(), legIndex, stepIndex)) {
+      if (stepIndex != activeStepIndex) {
+        stepGeneration++;
+      }
+      activeSchedule = currentSchedule;
+      activeRoute = routeProgress.directionsRoute();
+      activeLegIndex = legIndex;
+      activeStepIndex = stepIndex;
+      anyStepCursor = 0;
+      stepCursor = 0;
+    }
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    triggerSnapshot.update(previousRouteProgress, routeProgress);
+
+    List<Milestone> triggeredMilestones = checkMilestones(currentSchedule.unscheduled,
+      currentSchedule.unscheduled.length, previousRouteProgress, routeProgress, null);
+
+    Bucket anyStepBucket = currentSchedule.anyStepBucket;
+    anyStepCursor = anyStepBucket.advance(anyStepCursor, stepDistanceRemaining);
+    triggeredMilestones = checkMilestones(anyStepBucket.milestones, anyStepCursor,
+      previousRouteProgress, routeProgress, triggeredMilestones);
+
+    Bucket stepBucket = currentSchedule.findStepBucket(stepIndex);
+    if (stepBucket != null) {
+      stepCursor = stepBucket.advance(stepCursor, stepDistanceRemaining);
+      triggeredMilestones = checkMilestones(stepBucket.milestones, stepCursor,
+        previousRouteProgress, routeProgress, triggeredMilestones);
+    }
+    if (triggeredMilestones == null) {
+      return Collections.emptyList();
+    }
+    return triggeredMilestones;
+  }
+
+  private boolean hasPositionChanged(Schedule currentSchedule, DirectionsRoute route, int legIndex, int stepIndex) {
+    return currentSchedule != activeSchedule || route != activeRoute
+      || legIndex != activeLegIndex || stepIndex != activeStepIndex;
+  }
+
+  private List<Milestone> checkMilestones(Milestone[] milestones, int count, RouteProgress previousRouteProgress,
+                                          RouteProgress routeProgress, List<Milestone> triggeredMilestones) {
+    for (int i = 0; i < count; i++) {
+      Milestone milestone = milestones[i];
+      if (isOccurring(milestone, previousRouteProgress, routeProgress)) {
+        if (triggeredMilestones == null) {
+          triggeredMilestones = new ArrayList<>();
+        }
+        triggeredMilestones.add(milestone);
+      }
+    }
+    return triggeredMilestones;
+  }
+
+  private boolean isOccurring(Milestone milestone, RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    if (milestone instanceof StepMilestone) {
+      return ((StepMilestone) milestone).isOccurring(triggerSnapshot, stepGeneration);
+    }
+    if (milestone instanceof RouteMilestone) {
+      return ((RouteMilestone) milestone).isOccurring(triggerSnapshot);
+    }
+    return milestone.isOccurring(previousRouteProgress, routeProgress);
+  }
+
+  private static class Schedule {
+
+    private final int milestoneCount;
+    private final Milestone[] unscheduled;
+    private final Bucket anyStepBucket;
+    private final int[] stepIndices;
+    private final Bucket[] stepBuckets;
+
+    Schedule(List<Milestone> milestones) {
+      milestoneCount = milestones.size();
+      List<Milestone> unscheduledMilestones = new ArrayList<>();
+      List<ScheduledMilestone> anyStepMilestones = new ArrayList<>();
+      Map<Integer, List<ScheduledMilestone>> stepMilestones = new TreeMap<>();
+      for (Milestone milestone : milestones) {
+        TriggerProgram program = findTriggerProgram(milestone);
+        if (program == null || !program.isCompiled()) {
+          unscheduledMilestones.add(milestone);
+          continue;
+        }
+        ScheduledMilestone scheduledMilestone = new ScheduledMilestone(milestone,
+          program.findDistanceRemainingThreshold());
+        int stepIndex = program.findRequiredStepIndex();
+        if (stepIndex == TriggerProgram.ANY_STEP_INDEX) {
+          anyStepMilestones.add(scheduledMilestone);
+        } else {
+          List<ScheduledMilestone> bucket = stepMilestones.get(stepIndex);
+          if (bucket == null) {
+            bucket = new ArrayList<>();
+            stepMilestones.put(stepIndex, bucket);
+          }
+          bucket.add(scheduledMilestone);
+        }
+      }
+      unscheduled = unscheduledMilestones.toArray(new Milestone[unscheduledMilestones.size()]);
+      anyStepBucket = new Bucket(anyStepMilestones);
+      stepIndices = new int[stepMilestones.size()];
+      stepBuckets = new Bucket[stepMilestones.size()];
+      int i = 0;
+      for (Map.Entry<Integer, List<ScheduledMilestone>> entry : stepMilestones.entrySet()) {
+        stepIndices[i] = entry.getKey();
+        stepBuckets[i] = new Bucket(entry.getValue());
+        i++;
+      }
+    }
+
+    Bucket findStepBucket(int stepIndex) {
+      int i = Arrays.binarySearch(stepIndices, stepIndex);
+      return i < 0 ? null : stepBuckets[i];
+    }
+
+    private static TriggerProgram findTriggerProgram(Milestone milestone) {
+      if (milestone instanceof StepMilestone) {
+        return ((StepMilestone) milestone).retrieveTriggerProgram();
+      } else if (milestone instanceof RouteMilestone) {
+        return ((RouteMilestone) milestone).retrieveTriggerProgram();
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Milestones sorted by descending distance threshold, so the milestones which can occur at a
+   * given step distance remaining always form a prefix.
+   */
+  private static class Bucket {
+
+    private final Milestone[] milestones;
+    private final double[] thresholds;
+
+    Bucket(List<ScheduledMilestone> scheduledMilestones) {
+      Collections.sort(scheduledMilestones, new Comparator<ScheduledMilestone>() {
+        @Override
+        public int compare(ScheduledMilestone first, ScheduledMilestone second) {
+          return Double.compare(second.threshold, first.threshold);
+        }
+      });
+      int size = scheduledMilestones.size();
+      milestones = new Milestone[size];
+      thresholds = new double[size];
+      for (int i = 0; i < size; i++) {
+        milestones[i] = scheduledMilestones.get(i).milestone;
+        thresholds[i] = scheduledMilestones.get(i).threshold;
+      }
+    }
+
+    int advance(int cursor, double stepDistanceRemaining) {
+      while (cursor < thresholds.length && stepDistanceRemaining <= thresholds[cursor]) {
+        cursor++;
+      }
+      return cursor;
+    }
+  }
+
+  private static class ScheduledMilestone {
+
+    private final Milestone milestone;
+    private final double threshold;
+
+    ScheduledMilestone(Milestone milestone, double threshold) {
+      this.milestone = milestone;
+      this.threshold = threshold;
+    }
+  }
+}
@@ -13,6 +13,7 @@ public class RouteMilestone extends Milestone {
 
   private Builder builder;
   private boolean called;
+  private TriggerProgram triggerProgram;
 
   private RouteMilestone(Builder builder) {
     super(builder);
@@ -21,15 +22,35 @@ public class RouteMilestone extends Milestone {
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return isOccurring(new TriggerSnapshot(previousRouteProgress, routeProgress));
+  }
 
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress)) && !called) {
+  /**
+   * Used by the {@link MilestoneScheduler}, which passes the snapshot of the current update.
+   */
+  boolean isOccurring(TriggerSnapshot snapshot) {
+
+    if (!called && isTriggerOccurring(snapshot)) {
       called = true;
       return true;
     }
     return false;
   }
 
+  TriggerProgram retrieveTriggerProgram() {
+    Trigger.Statement trigger = builder.getTrigger();
+    TriggerProgram program = triggerProgram;
+    if (program == null || !program.isProgramOf(trigger)) {
+      program = TriggerProgram.compile(trigger);
+      triggerProgram = program;
+    }
+    return program;
+  }
+
+  private boolean isTriggerOccurring(TriggerSnapshot snapshot) {
+    return retrieveTriggerProgram().isOccurring(snapshot);
+  }
+
   /**
    * Build a new {@link RouteMilestone}
    *
@@ -14,6 +14,8 @@ public class StepMilestone extends Milestone {
 
   private Builder builder;
   private boolean called;
+  private long calledStepGeneration;
+  private TriggerProgram triggerProgram;
 
   private StepMilestone(Builder builder) {
     super(builder);
@@ -22,19 +24,51 @@ public class StepMilestone extends Milestone {
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    return isOccurring(new TriggerSnapshot(previousRouteProgress, routeProgress));
+  }
+
+  /**
+   * Used by the {@link MilestoneScheduler}, which does not check this milestone on every update and
+   * may miss the update where the step index changed. The scheduler instead counts step changes.
+   */
+  boolean isOccurring(TriggerSnapshot snapshot, long stepGeneration) {
+    if (calledStepGeneration != stepGeneration) {
+      called = false;
+    }
+    boolean isOccurring = isOccurring(snapshot);
+    if (isOccurring) {
+      calledStepGeneration = stepGeneration;
+    }
+    return isOccurring;
+  }
+
+  TriggerProgram retrieveTriggerProgram() {
+    Trigger.Statement trigger = builder.getTrigger();
+    TriggerProgram program = triggerProgram;
+    if (program == null || !program.isProgramOf(trigger)) {
+      program = TriggerProgram.compile(trigger);
+      triggerProgram = program;
+    }
+    return program;
+  }
+
+  private boolean isOccurring(TriggerSnapshot snapshot) {
 
     // Determine if the step index has changed and set called accordingly. This prevents multiple calls to
     // onMilestoneEvent per Step.
-    if (previousRouteProgress.currentLegProgress().stepIndex()
-      != routeProgress.currentLegProgress().stepIndex()) {
+    if (snapshot.previousRouteProgress().currentLegProgress().stepIndex()
+      != snapshot.routeProgress().currentLegProgress().stepIndex()) {
       called = false;
     }
+    return checkTrigger(snapshot);
+  }
+
+  private boolean checkTrigger(TriggerSnapshot snapshot) {
     // If milestone's been called already on current step, no need to check triggers.
     if (called) {
       return false;
     }
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress))) {
+    if (retrieveTriggerProgram().isOccurring(snapshot)) {
       called = true;
       return true;
     }
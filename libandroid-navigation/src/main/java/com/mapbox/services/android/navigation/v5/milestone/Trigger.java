@@ -34,6 +34,17 @@ public class Trigger {
      * @since 0.4.0
      */
     public abstract boolean isOccurring(SparseArray<Number[]> statementObjects);
+
+    /**
+     * Appends this statement to the given program. Statements which cannot be compiled are
+     * evaluated with {@link #isOccurring(SparseArray)} instead.
+     *
+     * @param program to append this statement to
+     * @return true if the statement was compiled, otherwise false
+     */
+    boolean compile(TriggerProgram.Builder program) {
+      return false;
+    }
   }
 
   /*
@@ -54,13 +65,17 @@ public class Trigger {
 
     @Override
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
-      boolean all = true;
       for (Statement statement : statements) {
         if (!statement.isOccurring(statementObjects)) {
-          all = false;
+          return false;
         }
       }
-      return all;
+      return true;
+    }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addCompound(TriggerProgram.ALL, statements);
     }
   }
 
@@ -85,6 +100,11 @@ public class Trigger {
       }
       return true;
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addCompound(TriggerProgram.NONE, statements);
+    }
   }
 
   /**
@@ -108,6 +128,11 @@ public class Trigger {
       }
       return false;
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addCompound(TriggerProgram.ANY, statements);
+    }
   }
 
   /*
@@ -133,6 +158,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addComparison(TriggerProgram.GREATER_THAN, key, value);
+    }
   }
 
   /**
@@ -154,6 +184,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addComparison(TriggerProgram.GREATER_THAN_EQUAL, key, value);
+    }
   }
 
   /**
@@ -174,6 +209,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addComparison(TriggerProgram.LESS_THAN, key, value);
+    }
   }
 
   /**
@@ -195,6 +235,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addComparison(TriggerProgram.LESS_THAN_EQUAL, key, value);
+    }
   }
 
   /**
@@ -215,6 +260,12 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.notEqual(statementObjects.get(key), (Number) values[0]);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      Object value = values.length > 0 ? values[0] : null;
+      return program.addComparison(TriggerProgram.NOT_EQUAL, key, value);
+    }
   }
 
   /**
@@ -235,6 +286,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.equal(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(TriggerProgram.Builder program) {
+      return program.addComparison(TriggerProgram.EQUAL, key, value);
+    }
   }
 
   /**
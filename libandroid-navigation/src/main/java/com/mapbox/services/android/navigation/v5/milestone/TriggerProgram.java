@@ -0,0 +1,289 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Trigger.Statement} tree compiled into flat primitive arrays.
+ * <p>
+ * Statements are stored in pre-order: every node knows where its subtree ends, so compound
+ * statements walk their children in place and stop as soon as the result is known. Programs are
+ * evaluated against the {@link TriggerSnapshot} passed in for the current update.
+ * <p>
+ * Statements which cannot be compiled, such as custom {@link Trigger.Statement} subclasses, fall
+ * back to {@link Trigger.Statement#isOccurring(android.util.SparseArray)}.
+ *
+ * @since 0.23.0
+ */
+final class TriggerProgram {
+
+  static final int ALL = 0;
+  static final int ANY = 1;
+  static final int NONE = 2;
+  static final int GREATER_THAN = 3;
+  static final int GREATER_THAN_EQUAL = 4;
+  static final int LESS_THAN = 5;
+  static final int LESS_THAN_EQUAL = 6;
+  static final int EQUAL = 7;
+  static final int NOT_EQUAL = 8;
+  private static final int CONSTANT = 9;
+  private static final int ROOT = 0;
+  private static final int INITIAL_CAPACITY = 8;
+  private static final Integer TRUE = TriggerProperty.TRUE;
+  static final int ANY_STEP_INDEX = -1;
+  static final double NO_DISTANCE_THRESHOLD = Double.POSITIVE_INFINITY;
+
+  private final Trigger.Statement statement;
+  private final int[] operations;
+  private final int[] keys;
+  private final double[] operands;
+  private final boolean[] flags;
+  private final int[] ends;
+
+  private TriggerProgram(Trigger.Statement statement, @Nullable Builder builder) {
+    this.statement = statement;
+    if (builder == null) {
+      operations = null;
+      keys = null;
+      operands = null;
+      flags = null;
+      ends = null;
+    } else {
+      operations = builder.operations;
+      keys = builder.keys;
+      operands = builder.operands;
+      flags = builder.flags;
+      ends = builder.ends;
+    }
+  }
+
+  /**
+   * Compiles the given statement, keeping it as is if any part of it cannot be compiled.
+   *
+   * @param statement to compile
+   * @return the compiled program
+   */
+  static TriggerProgram compile(Trigger.Statement statement) {
+    Builder builder = new Builder();
+    if (statement != null && statement.compile(builder)) {
+      builder.resize(builder.size);
+      return new TriggerProgram(statement, builder);
+    }
+    return new TriggerProgram(statement, null);
+  }
+
+  boolean isProgramOf(Trigger.Statement statement) {
+    return this.statement == statement;
+  }
+
+  boolean isCompiled() {
+    return operations != null;
+  }
+
+  boolean isOccurring(TriggerSnapshot snapshot) {
+    if (!isCompiled()) {
+      return statement.isOccurring(TriggerProperty.getSparseArray(snapshot.previousRouteProgress(),
+        snapshot.routeProgress()));
+    }
+    snapshot.measureIfNeeded();
+    return evaluate(ROOT, snapshot);
+  }
+
+  /**
+   * Finds the step index this program is limited to by an {@code eq(STEP_INDEX, value)} statement
+   * which must always hold.
+   *
+   * @return the step index, or {@link #ANY_STEP_INDEX} if the program can occur on any step
+   */
+  int findRequiredStepIndex() {
+    if (!isCompiled()) {
+      return ANY_STEP_INDEX;
+    }
+    return findRequiredStepIndex(ROOT);
+  }
+
+  /**
+   * Finds the step distance remaining below which this program can start occurring, from
+   * {@code lt} or {@code lte} statements on {@code STEP_DISTANCE_REMAINING_METERS} which must always
+   * hold.
+   *
+   * @return the distance threshold, or {@link #NO_DISTANCE_THRESHOLD} if there is none
+   */
+  double findDistanceRemainingThreshold() {
+    if (!isCompiled()) {
+      return NO_DISTANCE_THRESHOLD;
+    }
+    return findDistanceRemainingThreshold(ROOT);
+  }
+
+  private int findRequiredStepIndex(int node) {
+    if (operations[node] == ALL) {
+      for (int child = node + 1; child < ends[node]; child = ends[child]) {
+        int stepIndex = findRequiredStepIndex(child);
+        if (stepIndex != ANY_STEP_INDEX) {
+          return stepIndex;
+        }
+      }
+    } else if (operations[node] == EQUAL && keys[node] == TriggerProperty.STEP_INDEX && operands[node] >= 0) {
+      return (int) operands[node];
+    }
+    return ANY_STEP_INDEX;
+  }
+
+  private double findDistanceRemainingThreshold(int node) {
+    int operation = operations[node];
+    if (operation == ALL) {
+      double threshold = NO_DISTANCE_THRESHOLD;
+      for (int child = node + 1; child < ends[node]; child = ends[child]) {
+        threshold = Math.min(threshold, findDistanceRemainingThreshold(child));
+      }
+      return threshold;
+    }
+    boolean isBelow = operation == LESS_THAN || operation == LESS_THAN_EQUAL;
+    if (isBelow && keys[node] == TriggerProperty.STEP_DISTANCE_REMAINING_METERS) {
+      return operands[node];
+    }
+    return NO_DISTANCE_THRESHOLD;
+  }
+
+  private boolean evaluate(int node, TriggerSnapshot snapshot) {
+    switch (operations[node]) {
+      case ALL:
+        for (int child = node + 1; child < ends[node]; child = ends[child]) {
+          if (!evaluate(child, snapshot)) {
+            return false;
+          }
+        }
+        return true;
+      case ANY:
+        for (int child = node + 1; child < ends[node]; child = ends[child]) {
+          if (evaluate(child, snapshot)) {
+            return true;
+          }
+        }
+        return false;
+      case NONE:
+        for (int child = node + 1; child < ends[node]; child = ends[child]) {
+          if (evaluate(child, snapshot)) {
+            return false;
+          }
+        }
+        return true;
+      case CONSTANT:
+        return flags[node];
+      default:
+        return compare(node, snapshot);
+    }
+  }
+
+  private boolean compare(int node, TriggerSnapshot snapshot) {
+    int key = keys[node];
+    if (TriggerSnapshot.isPaired(key)) {
+      boolean result = compare(operations[node], snapshot.value(key), snapshot.comparedValue(key));
+      boolean isNegated = flags[node];
+      return isNegated != result;
+    }
+    return compare(operations[node], snapshot.value(key), operands[node]);
+  }
+
+  private static boolean compare(int operation, double value, double operand) {
+    switch (operation) {
+      case GREATER_THAN:
+        return value > operand;
+      case GREATER_THAN_EQUAL:
+        return value >= operand;
+      case LESS_THAN:
+        return value < operand;
+      case LESS_THAN_EQUAL:
+        return value <= operand;
+      case EQUAL:
+        return Double.compare(value, operand) == 0;
+      case NOT_EQUAL:
+        return Double.compare(value, operand) != 0;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Appends statements to the program in pre-order. Each method returns false when the statement
+   * cannot be compiled, in which case the whole program falls back to the original statement.
+   */
+  static final class Builder {
+
+    private int size;
+    private int[] operations = new int[INITIAL_CAPACITY];
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private double[] operands = new double[INITIAL_CAPACITY];
+    private boolean[] flags = new boolean[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+
+    private Builder() {
+    }
+
+    boolean addCompound(int operation, Trigger.Statement[] statements) {
+      if (statements == null) {
+        return false;
+      }
+      int node = add(operation, 0, 0d, false);
+      for (Trigger.Statement statement : statements) {
+        if (statement == null || !statement.compile(this)) {
+          return false;
+        }
+      }
+      ends[node] = size;
+      return true;
+    }
+
+    boolean addComparison(int operation, int key, Object value) {
+      if (!(value instanceof Number) || !TriggerSnapshot.isSupported(key)) {
+        return false;
+      }
+      Number number = (Number) value;
+      if (TriggerSnapshot.isPaired(key)) {
+        boolean isNegated = !TRUE.equals(number);
+        add(operation, key, 0d, isNegated);
+        return true;
+      }
+      boolean isEquality = operation == EQUAL || operation == NOT_EQUAL;
+      if (isEquality && !isSameType(key, number)) {
+        // Number#equals never matches across boxed types, so the result is already known.
+        add(CONSTANT, key, 0d, operation == NOT_EQUAL);
+        return true;
+      }
+      add(operation, key, number.doubleValue(), false);
+      return true;
+    }
+
+    private int add(int operation, int key, double operand, boolean flag) {
+      ensureCapacity();
+      int node = size++;
+      operations[node] = operation;
+      keys[node] = key;
+      operands[node] = operand;
+      flags[node] = flag;
+      ends[node] = size;
+      return node;
+    }
+
+    private void ensureCapacity() {
+      if (size < operations.length) {
+        return;
+      }
+      resize(operations.length * 2);
+    }
+
+    private void resize(int capacity) {
+      operations = Arrays.copyOf(operations, capacity);
+      keys = Arrays.copyOf(keys, capacity);
+      operands = Arrays.copyOf(operands, capacity);
+      flags = Arrays.copyOf(flags, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+    }
+
+    private static boolean isSameType(int key, Number number) {
+      return TriggerSnapshot.isInteger(key) ? number instanceof Integer : number instanceof Double;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+/**
+ * Primitive values of every {@link TriggerProperty} for one pair of {@link RouteProgress} updates.
+ * <p>
+ * The {@link MilestoneScheduler} updates one snapshot per route processor run and passes it to every
+ * milestone it checks, replacing the {@code SparseArray} of boxed values each milestone built before.
+ * It is measured the first time a compiled {@link TriggerProgram} reads it, so runs which check no
+ * compiled milestone skip measuring. Values match {@code TriggerProperty#getSparseArray}, including
+ * properties which compare two values.
+ * <p>
+ * Snapshots are not thread safe and belong to whoever updates them.
+ *
+ * @since 0.23.0
+ */
+final class TriggerSnapshot {
+
+  private static final int KEY_COUNT = TriggerProperty.NEXT_STEP_DURATION_SECONDS + 1;
+  private static final boolean[] SUPPORTED_KEYS = new boolean[KEY_COUNT];
+  private static final boolean[] PAIRED_KEYS = new boolean[KEY_COUNT];
+  private static final boolean[] INTEGER_KEYS = new boolean[KEY_COUNT];
+  private static final int FIRST_INDEX = 0;
+  private static final int SECOND_TO_LAST_STEP = 2;
+  private static final int LAST_LEG = 1;
+  private static final double ZERO = 0d;
+
+  static {
+    supportDouble(TriggerProperty.STEP_DISTANCE_TOTAL_METERS);
+    supportDouble(TriggerProperty.STEP_DURATION_TOTAL_SECONDS);
+    supportDouble(TriggerProperty.STEP_DISTANCE_REMAINING_METERS);
+    supportDouble(TriggerProperty.STEP_DURATION_REMAINING_SECONDS);
+    supportDouble(TriggerProperty.NEXT_STEP_DURATION_SECONDS);
+    supportDouble(TriggerProperty.NEXT_STEP_DISTANCE_METERS);
+    supportInteger(TriggerProperty.STEP_INDEX, false);
+    supportInteger(TriggerProperty.NEW_STEP, true);
+    supportInteger(TriggerProperty.LAST_STEP, true);
+    supportInteger(TriggerProperty.FIRST_STEP, true);
+    // Shares its key with STEP_DISTANCE_TRAVELED_METERS and replaces it, as in the sparse array.
+    supportInteger(TriggerProperty.FIRST_LEG, true);
+    supportInteger(TriggerProperty.LAST_LEG, true);
+  }
+
+  private final double[] values = new double[KEY_COUNT];
+  private final double[] comparedValues = new double[KEY_COUNT];
+  private RouteProgress previousRouteProgress;
+  private RouteProgress routeProgress;
+  private boolean isMeasured;
+
+  TriggerSnapshot() {
+  }
+
+  TriggerSnapshot(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    update(previousRouteProgress, routeProgress);
+  }
+
+  /**
+   * Points the snapshot at a new pair of route progress updates, which are measured when a
+   * compiled program first reads them.
+   */
+  void update(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    this.previousRouteProgress = previousRouteProgress;
+    this.routeProgress = routeProgress;
+    isMeasured = false;
+  }
+
+  RouteProgress previousRouteProgress() {
+    return previousRouteProgress;
+  }
+
+  RouteProgress routeProgress() {
+    return routeProgress;
+  }
+
+  void measureIfNeeded() {
+    if (!isMeasured) {
+      measure();
+      isMeasured = true;
+    }
+  }
+
+  static boolean isSupported(int key) {
+    return key >= 0 && key < KEY_COUNT && SUPPORTED_KEYS[key];
+  }
+
+  static boolean isPaired(int key) {
+    return PAIRED_KEYS[key];
+  }
+
+  static boolean isInteger(int key) {
+    return INTEGER_KEYS[key];
+  }
+
+  double value(int key) {
+    return values[key];
+  }
+
+  double comparedValue(int key) {
+    return comparedValues[key];
+  }
+
+  private void measure() {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    RouteStepProgress stepProgress = legProgress.currentStepProgress();
+    LegStep currentStep = legProgress.currentStep();
+    LegStep upcomingStep = legProgress.upComingStep();
+    int stepIndex = legProgress.stepIndex();
+    int legIndex = routeProgress.legIndex();
+
+    values[TriggerProperty.STEP_DISTANCE_TOTAL_METERS] = currentStep.distance();
+    values[TriggerProperty.STEP_DURATION_TOTAL_SECONDS] = currentStep.duration();
+    values[TriggerProperty.STEP_DISTANCE_REMAINING_METERS] = stepProgress.distanceRemaining();
+    values[TriggerProperty.STEP_DURATION_REMAINING_SECONDS] = stepProgress.durationRemaining();
+    values[TriggerProperty.NEXT_STEP_DURATION_SECONDS] = upcomingStep != null ? upcomingStep.duration() : ZERO;
+    values[TriggerProperty.NEXT_STEP_DISTANCE_METERS] = upcomingStep != null ? upcomingStep.distance() : ZERO;
+    values[TriggerProperty.STEP_INDEX] = stepIndex;
+    putPair(TriggerProperty.NEW_STEP, previousRouteProgress.currentLegProgress().stepIndex(), stepIndex);
+    putPair(TriggerProperty.LAST_STEP, stepIndex, routeProgress.currentLeg().steps().size() - SECOND_TO_LAST_STEP);
+    putPair(TriggerProperty.FIRST_STEP, stepIndex, FIRST_INDEX);
+    putPair(TriggerProperty.FIRST_LEG, legIndex, FIRST_INDEX);
+    putPair(TriggerProperty.LAST_LEG, legIndex, routeProgress.directionsRoute().legs().size() - LAST_LEG);
+  }
+
+  private void putPair(int key, double value, double comparedValue) {
+    values[key] = value;
+    comparedValues[key] = comparedValue;
+  }
+
+  private static void supportDouble(int key) {
+    SUPPORTED_KEYS[key] = true;
+  }
+
+  private static void supportInteger(int key, boolean isPaired) {
+    SUPPORTED_KEYS[key] = true;
+    INTEGER_KEYS[key] = true;
+    PAIRED_KEYS[key] = isPaired;
+  }
+}
@@ -0,0 +1,96 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Default {@link RouteProcessingPolicy} which adapts the route processor cadence to the situation.
+ * <p>
+ * The minimum interval is used when approaching a maneuver or when traveling at high speed. The
+ * maximum interval is used while stationary. On long steps, where the next maneuver is minutes away,
+ * and while the screen is off, a relaxed interval of twice the default (but at most the maximum)
+ * is used. Otherwise the default interval is used.
+ *
+ * @since 0.23.0
+ */
+public class AdaptiveRouteProcessingPolicy implements RouteProcessingPolicy {
+
+  private static final long DEFAULT_MINIMUM_INTERVAL_IN_MILLISECONDS = 500;
+  private static final long DEFAULT_INTERVAL_IN_MILLISECONDS = 1000;
+  private static final long DEFAULT_MAXIMUM_INTERVAL_IN_MILLISECONDS = 3000;
+  private static final double MANEUVER_PROXIMITY_IN_METERS = 200;
+  private static final double MANEUVER_PROXIMITY_IN_SECONDS = 15;
+  private static final double LONG_STEP_IN_SECONDS = 120;
+  private static final double HIGH_SPEED_IN_METERS_PER_SECOND = 25;
+  private static final double STATIONARY_SPEED_IN_METERS_PER_SECOND = 0.5;
+  private static final int RELAXED_INTERVAL_FACTOR = 2;
+  private static final float UNKNOWN_SPEED = -1f;
+
+  private final long minimumInterval;
+  private final long defaultInterval;
+  private final long maximumInterval;
+
+  /**
+   * Creates a policy cycling between 500, 1000 and 3000 milliseconds.
+   *
+   * @since 0.23.0
+   */
+  public AdaptiveRouteProcessingPolicy() {
+    this(DEFAULT_MINIMUM_INTERVAL_IN_MILLISECONDS, DEFAULT_INTERVAL_IN_MILLISECONDS,
+      DEFAULT_MAXIMUM_INTERVAL_IN_MILLISECONDS);
+  }
+
+  /**
+   * Creates a policy with custom intervals.
+   *
+   * @param minimumInterval in milliseconds, used near maneuvers and at high speed
+   * @param defaultInterval in milliseconds, used when nothing else applies
+   * @param maximumInterval in milliseconds, used while stationary
+   * @since 0.23.0
+   */
+  public AdaptiveRouteProcessingPolicy(long minimumInterval, long defaultInterval, long maximumInterval) {
+    if (minimumInterval <= 0 || minimumInterval > defaultInterval || defaultInterval > maximumInterval) {
+      throw new IllegalArgumentException("Intervals must be positive and ordered minimum <= default <= maximum.");
+    }
+    this.minimumInterval = minimumInterval;
+    this.defaultInterval = defaultInterval;
+    this.maximumInterval = maximumInterval;
+  }
+
+  @Override
+  public long nextIntervalInMilliseconds(@NonNull RouteProgress routeProgress, @Nullable Location rawLocation,
+                                         boolean isScreenInteractive) {
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    float speed = rawLocation != null && rawLocation.hasSpeed() ? rawLocation.getSpeed() : UNKNOWN_SPEED;
+    boolean hasSpeed = speed >= 0;
+
+    if (isNearManeuver(stepDistanceRemaining, speed, hasSpeed)) {
+      return minimumInterval;
+    }
+    if (hasSpeed && speed < STATIONARY_SPEED_IN_METERS_PER_SECOND) {
+      return maximumInterval;
+    }
+    long relaxedInterval = Math.min(defaultInterval * RELAXED_INTERVAL_FACTOR, maximumInterval);
+    if (!isScreenInteractive) {
+      return relaxedInterval;
+    }
+    boolean isOnLongStep = hasSpeed && stepDistanceRemaining / speed > LONG_STEP_IN_SECONDS;
+    if (isOnLongStep) {
+      return relaxedInterval;
+    }
+    if (hasSpeed && speed >= HIGH_SPEED_IN_METERS_PER_SECOND) {
+      return minimumInterval;
+    }
+    return defaultInterval;
+  }
+
+  private boolean isNearManeuver(double stepDistanceRemaining, float speed, boolean hasSpeed) {
+    if (stepDistanceRemaining <= MANEUVER_PROXIMITY_IN_METERS) {
+      return true;
+    }
+    return hasSpeed && speed > 0 && stepDistanceRemaining / speed <= MANEUVER_PROXIMITY_IN_SECONDS;
+  }
+}
@@ -0,0 +1,45 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Build;
+import android.support.annotation.RequiresApi;
+import android.view.Choreographer;
+
+@RequiresApi(api = Build.VERSION_CODES.JELLY_BEAN)
+class ChoreographerFrameScheduler implements FrameScheduler, Choreographer.FrameCallback {
+
+  private final Choreographer choreographer;
+  private Callback callback;
+
+  /**
+   * Must be created on the main thread, the {@link Choreographer} is bound to the calling thread.
+   */
+  ChoreographerFrameScheduler() {
+    this.choreographer = Choreographer.getInstance();
+  }
+
+  @Override
+  public void scheduleFrame(Callback callback) {
+    if (this.callback != null) {
+      return;
+    }
+    this.callback = callback;
+    choreographer.postFrameCallback(this);
+  }
+
+  @Override
+  public void cancelFrame(Callback callback) {
+    if (this.callback == callback) {
+      choreographer.removeFrameCallback(this);
+      this.callback = null;
+    }
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    Callback callback = this.callback;
+    this.callback = null;
+    if (callback != null) {
+      callback.onFrame(frameTimeNanos);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers route processor results to the main thread, keeping only the latest route progress.
+ * <p>
+ * Instead of posting a new message for each run, a single message is posted and every run until it
+ * gets delivered replaces the pending route progress, location and interval. Delivery happens at
+ * most once per frame. Triggered milestones and off-route events are queued and always delivered,
+ * and a faster route check stays requested until it is delivered. The number of replaced updates is
+ * reported with each delivery.
+ * <p>
+ * Runs which built no route progress, because nothing reads it, still deliver their off-route
+ * events and interval, but no route progress or faster route check.
+ */
+class CoalescingResponseDispatcher implements Runnable {
+
+  private static final long FRAME_INTERVAL_IN_MILLISECONDS = 16;
+  private static final int NO_COALESCED_UPDATES = 0;
+
+  private final Object lock = new Object();
+  private final RouteProcessorScheduler responseScheduler;
+  private final RouteProcessorBackgroundThread.Listener listener;
+  private final List<MilestoneEvent> pendingMilestoneEvents = new ArrayList<>();
+  private final List<Location> pendingOffRouteLocations = new ArrayList<>();
+  private final List<MilestoneEvent> deliveredMilestoneEvents = new ArrayList<>();
+  private final List<Location> deliveredOffRouteLocations = new ArrayList<>();
+  private boolean isPosted;
+  private boolean hasPendingUpdate;
+  private long lastDeliveryTime = -FRAME_INTERVAL_IN_MILLISECONDS;
+  private Location location;
+  private RouteProgress routeProgress;
+  private long interval;
+  private int coalescedUpdateCount;
+  private Location fasterRouteLocation;
+  private RouteProgress fasterRouteProgress;
+
+  CoalescingResponseDispatcher(Handler responseHandler, RouteProcessorBackgroundThread.Listener listener) {
+    this(new HandlerRouteProcessorScheduler(responseHandler), listener);
+  }
+
+  CoalescingResponseDispatcher(RouteProcessorScheduler responseScheduler,
+                               RouteProcessorBackgroundThread.Listener listener) {
+    this.responseScheduler = responseScheduler;
+    this.listener = listener;
+  }
+
+  /**
+   * Called from the route processor thread with the results of a run.
+   */
+  void dispatch(Location location, @Nullable RouteProgress routeProgress, List<Milestone> milestones,
+                boolean userOffRoute, boolean checkFasterRoute, long interval) {
+    synchronized (lock) {
+      if (hasPendingUpdate) {
+        coalescedUpdateCount++;
+      }
+      hasPendingUpdate = true;
+      this.location = location;
+      this.routeProgress = routeProgress;
+      this.interval = interval;
+      if (!milestones.isEmpty()) {
+        pendingMilestoneEvents.add(new MilestoneEvent(milestones, routeProgress));
+      }
+      if (userOffRoute) {
+        pendingOffRouteLocations.add(location);
+      }
+      if (checkFasterRoute) {
+        fasterRouteLocation = location;
+        fasterRouteProgress = routeProgress;
+      }
+      if (!isPosted) {
+        isPosted = true;
+        long uptimeMillis = responseScheduler.uptimeMillis();
+        long deliveryTime = Math.max(uptimeMillis, lastDeliveryTime + FRAME_INTERVAL_IN_MILLISECONDS);
+        responseScheduler.postAtTime(this, deliveryTime);
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    Location location;
+    RouteProgress routeProgress;
+    long interval;
+    int coalescedUpdateCount;
+    Location fasterRouteLocation;
+    RouteProgress fasterRouteProgress;
+    synchronized (lock) {
+      isPosted = false;
+      if (!hasPendingUpdate) {
+        return;
+      }
+      hasPendingUpdate = false;
+      lastDeliveryTime = responseScheduler.uptimeMillis();
+      location = this.location;
+      routeProgress = this.routeProgress;
+      interval = this.interval;
+      coalescedUpdateCount = this.coalescedUpdateCount;
+      fasterRouteLocation = this.fasterRouteLocation;
+      fasterRouteProgress = this.fasterRouteProgress;
+      deliveredMilestoneEvents.addAll(pendingMilestoneEvents);
+      deliveredOffRouteLocations.addAll(pendingOffRouteLocations);
+      clearPendingUpdate();
+    }
+    deliver(location, routeProgress, interval, coalescedUpdateCount, fasterRouteLocation, fasterRouteProgress);
+  }
+
+  private void clearPendingUpdate() {
+    location = null;
+    routeProgress = null;
+    coalescedUpdateCount = NO_COALESCED_UPDATES;
+    fasterRouteLocation = null;
+    fasterRouteProgress = null;
+    pendingMilestoneEvents.clear();
+    pendingOffRouteLocations.clear();
+  }
+
+  private void deliver(Location location, RouteProgress routeProgress, long interval, int coalescedUpdateCount,
+                       Location fasterRouteLocation, RouteProgress fasterRouteProgress) {
+    if (routeProgress != null) {
+      listener.onNewRouteProgress(location, routeProgress);
+    }
+    for (MilestoneEvent milestoneEvent : deliveredMilestoneEvents) {
+      listener.onMilestoneTrigger(milestoneEvent.milestones, milestoneEvent.routeProgress);
+    }
+    if (deliveredOffRouteLocations.isEmpty()) {
+      listener.onUserOffRoute(location, false);
+    }
+    for (Location offRouteLocation : deliveredOffRouteLocations) {
+      listener.onUserOffRoute(offRouteLocation, true);
+    }
+    boolean checkFasterRoute = fasterRouteProgress != null;
+    if (checkFasterRoute || routeProgress != null) {
+      listener.onCheckFasterRoute(checkFasterRoute ? fasterRouteLocation : location,
+        checkFasterRoute ? fasterRouteProgress : routeProgress, checkFasterRoute);
+    }
+    listener.onRouteProcessingInterval(interval);
+    if (coalescedUpdateCount > NO_COALESCED_UPDATES) {
+      listener.onRouteProgressCoalesced(coalescedUpdateCount);
+    }
+    deliveredMilestoneEvents.clear();
+    deliveredOffRouteLocations.clear();
+  }
+
+  private static class MilestoneEvent {
+
+    private final List<Milestone> milestones;
+    private final RouteProgress routeProgress;
+
+    MilestoneEvent(List<Milestone> milestones, RouteProgress routeProgress) {
+      this.milestones = milestones;
+      this.routeProgress = routeProgress;
+    }
+  }
+}
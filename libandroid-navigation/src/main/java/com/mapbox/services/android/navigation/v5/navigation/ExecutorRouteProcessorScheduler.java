@@ -0,0 +1,215 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import timber.log.Timber;
+
+/**
+ * Schedules the work of one {@link FleetNavigationSession} on an executor shared by all sessions.
+ * <p>
+ * Tasks which are due are added to the session's serial queue rather than run right away. The first
+ * task added to an empty queue submits one drain to the executor, which runs the queued tasks in
+ * order until the queue is empty. This keeps the route processor and its listeners single threaded
+ * like they are on a {@link android.os.HandlerThread}, without executor threads ever waiting on a
+ * busy session. Tasks of different sessions run in parallel.
+ */
+class ExecutorRouteProcessorScheduler implements RouteProcessorScheduler {
+
+  private final ScheduledExecutorService executor;
+  private final Map<Runnable, List<ScheduledFuture<?>>> pendingTasks = new HashMap<>();
+  private final Queue<SessionTask> readyTasks = new ArrayDeque<>();
+  private final Runnable drain = new Runnable() {
+    @Override
+    public void run() {
+      drainReadyTasks();
+    }
+  };
+  private boolean isDraining;
+  private boolean isStopped;
+
+  ExecutorRouteProcessorScheduler(ScheduledExecutorService executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public long uptimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public void post(Runnable runnable) {
+    postDelayed(runnable, 0);
+  }
+
+  @Override
+  public void postDelayed(Runnable runnable, long delayInMilliseconds) {
+    synchronized (pendingTasks) {
+      if (isStopped) {
+        return;
+      }
+      SessionTask task = new SessionTask(runnable);
+      try {
+        task.future = executor.schedule(task, Math.max(0, delayInMilliseconds), TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException exception) {
+        Timber.w("Route processor task rejected, the fleet navigation engine has been shut down.");
+        return;
+      }
+      List<ScheduledFuture<?>> futures = pendingTasks.get(runnable);
+      if (futures == null) {
+        futures = new ArrayList<>();
+        pendingTasks.put(runnable, futures);
+      }
+      futures.add(task.future);
+    }
+  }
+
+  @Override
+  public void postAtTime(Runnable runnable, long uptimeMillis) {
+    postDelayed(runnable, uptimeMillis - uptimeMillis());
+  }
+
+  @Override
+  public void removeCallbacks(Runnable runnable) {
+    synchronized (pendingTasks) {
+      List<ScheduledFuture<?>> futures = pendingTasks.remove(runnable);
+      if (futures != null) {
+        for (ScheduledFuture<?> future : futures) {
+          future.cancel(false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels all pending tasks and ignores any posted afterwards. A task already running finishes.
+   */
+  void stop() {
+    synchronized (pendingTasks) {
+      isStopped = true;
+      for (List<ScheduledFuture<?>> futures : pendingTasks.values()) {
+        for (ScheduledFuture<?> future : futures) {
+          future.cancel(false);
+        }
+      }
+      pendingTasks.clear();
+      readyTasks.clear();
+    }
+  }
+
+  /**
+   * Adds a due task to the serial queue, submitting a drain unless one is already running.
+   */
+  private void enqueue(SessionTask task) {
+    synchronized (pendingTasks) {
+      if (isStopped) {
+        return;
+      }
+      readyTasks.add(task);
+      if (!isDraining) {
+        submitDrain();
+      }
+    }
+  }
+
+  private void submitDrain() {
+    isDraining = true;
+    try {
+      executor.execute(drain);
+    } catch (RejectedExecutionException exception) {
+      Timber.w("Route processor task rejected, the fleet navigation engine has been shut down.");
+      readyTasks.clear();
+      isDraining = false;
+    }
+  }
+
+  private void drainReadyTasks() {
+    boolean isDrained = false;
+    try {
+      SessionTask task = pollReadyTask();
+      while (task != null) {
+        task.runnable.run();
+        task = pollReadyTask();
+      }
+      isDrained = true;
+    } finally {
+      if (!isDrained) {
+        restartDrain();
+      }
+    }
+  }
+
+  /**
+   * A task threw, so the rest of the queue is left to a new drain rather than stalling the session.
+   */
+  private void restartDrain() {
+    synchronized (pendingTasks) {
+      isDraining = false;
+      if (!isStopped && !readyTasks.isEmpty()) {
+        submitDrain();
+      }
+    }
+  }
+
+  /**
+   * Takes the next queued task which is still pending, or ends the drain if there is none.
+   */
+  private SessionTask pollReadyTask() {
+    synchronized (pendingTasks) {
+      SessionTask task = readyTasks.poll();
+      while (task != null && !finishPending(task)) {
+        task = readyTasks.poll();
+      }
+      if (task == null) {
+        isDraining = false;
+      }
+      return task;
+    }
+  }
+
+  /**
+   * A task may already be queued when its callbacks are removed, so it only runs if it is still
+   * pending when the drain takes it from the queue.
+   */
+  private boolean finishPending(SessionTask task) {
+    synchronized (pendingTasks) {
+      List<ScheduledFuture<?>> futures = pendingTasks.get(task.runnable);
+      if (futures == null) {
+        return false;
+      }
+      boolean isPending = futures.remove(task.future);
+      if (futures.isEmpty()) {
+        pendingTasks.remove(task.runnable);
+      }
+      return isPending;
+    }
+  }
+
+  private class SessionTask implements Runnable {
+
+    private final Runnable runnable;
+    private ScheduledFuture<?> future;
+
+    SessionTask(Runnable runnable) {
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      enqueue(this);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.Navigator;
+import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many independent {@link FleetNavigationSession}s in one process, for example to simulate
+ * a fleet of vehicles. Unlike {@link MapboxNavigation}, sessions aren't bound to the navigation
+ * service, the notification or the telemetry and voice instruction singletons.
+ * <p>
+ * The route processor runs of all sessions share one thread pool, by default with a thread per
+ * core, so throughput grows with the number of cores. Sessions following an equal route share its
+ * JSON and decoded geometry, which are built once when the first of them starts.
+ *
+ * @since 0.23.0
+ */
+public class FleetNavigationEngine {
+
+  private static final String FLEET_THREAD_NAME = "mapbox_fleet_navigation_thread_";
+
+  private final ScheduledExecutorService executor;
+  private final NavigatorFactory navigatorFactory;
+  private final Map<DirectionsRoute, FleetRoute> routes = new HashMap<>();
+  private final Set<FleetNavigationSession> sessions = new LinkedHashSet<>();
+  private boolean isShutdown;
+
+  /**
+   * Creates an engine with one route processing thread per available core.
+   *
+   * @since 0.23.0
+   */
+  public FleetNavigationEngine() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates an engine with the given number of route processing threads.
+   *
+   * @param threadCount number of threads the sessions share
+   * @since 0.23.0
+   */
+  public FleetNavigationEngine(int threadCount) {
+    this(buildExecutor(threadCount), new NativeNavigatorFactory());
+    NavigationLibraryLoader.load();
+  }
+
+  FleetNavigationEngine(ScheduledExecutorService executor, NavigatorFactory navigatorFactory) {
+    this.executor = executor;
+    this.navigatorFactory = navigatorFactory;
+  }
+
+  /**
+   * Starts a session following the given route with the default options.
+   *
+   * @param route the session follows
+   * @return the new session, which starts processing with its first location update
+   * @since 0.23.0
+   */
+  @NonNull
+  public FleetNavigationSession startSession(@NonNull DirectionsRoute route) {
+    return startSession(route, MapboxNavigationOptions.builder().build());
+  }
+
+  /**
+   * Starts a session following the given route.
+   *
+   * @param route   the session follows
+   * @param options of the session
+   * @return the new session, which starts processing with its first location update
+   * @since 0.23.0
+   */
+  @NonNull
+  public FleetNavigationSession startSession(@NonNull DirectionsRoute route,
+                                             @NonNull MapboxNavigationOptions options) {
+    ValidationUtils.validDirectionsRoute(route, options.defaultMilestonesEnabled());
+    FleetRoute fleetRoute;
+    synchronized (routes) {
+      if (isShutdown) {
+        throw new IllegalStateException("The fleet navigation engine has been shut down.");
+      }
+      fleetRoute = routes.get(route);
+      if (fleetRoute == null) {
+        fleetRoute = FleetRoute.create(route);
+        routes.put(route, fleetRoute);
+      }
+      fleetRoute.addSession();
+    }
+    FleetNavigationSession session;
+    try {
+      session = new FleetNavigationSession(this, fleetRoute, options, navigatorFactory.create(),
+        new ExecutorRouteProcessorScheduler(executor));
+    } catch (RuntimeException exception) {
+      releaseRoute(fleetRoute);
+      throw exception;
+    }
+    synchronized (routes) {
+      if (isShutdown) {
+        session.stopFromEngine();
+      } else {
+        sessions.add(session);
+      }
+    }
+    return session;
+  }
+
+  /**
+   * @return the number of sessions which are running
+   * @since 0.23.0
+   */
+  public int sessionCount() {
+    synchronized (routes) {
+      return sessions.size();
+    }
+  }
+
+  /**
+   * Stops all sessions and the route processing threads. No session can be started afterwards.
+   *
+   * @since 0.23.0
+   */
+  public void shutdown() {
+    List<FleetNavigationSession> stoppedSessions;
+    synchronized (routes) {
+      isShutdown = true;
+      stoppedSessions = new ArrayList<>(sessions);
+      sessions.clear();
+      routes.clear();
+    }
+    for (FleetNavigationSession session : stoppedSessions) {
+      session.stopFromEngine();
+    }
+    executor.shutdown();
+  }
+
+  void removeSession(FleetNavigationSession session) {
+    synchronized (routes) {
+      if (!sessions.remove(session)) {
+        return;
+      }
+      releaseRoute(session.retrieveFleetRoute());
+    }
+  }
+
+  int sharedRouteCount() {
+    synchronized (routes) {
+      return routes.size();
+    }
+  }
+
+  private void releaseRoute(FleetRoute fleetRoute) {
+    synchronized (routes) {
+      if (fleetRoute.removeSession()) {
+        routes.remove(fleetRoute.route());
+      }
+    }
+  }
+
+  /**
+   * Route processor runs are rescheduled and cancelled all the time, so cancelled runs are removed
+   * from the queue right away instead of piling up until their delay elapsed.
+   */
+  static ScheduledThreadPoolExecutor buildExecutor(int threadCount) {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threadCount, new FleetThreadFactory());
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  interface NavigatorFactory {
+
+    MapboxNavigator create();
+  }
+
+  private static class NativeNavigatorFactory implements NavigatorFactory {
+
+    @Override
+    public MapboxNavigator create() {
+      return new MapboxNavigator(new Navigator());
+    }
+  }
+
+  private static class FleetThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+      Thread thread = new Thread(runnable, FLEET_THREAD_NAME + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,324 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshotListener;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import timber.log.Timber;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .VOICE_INSTRUCTION_MILESTONE_ID;
+
+/**
+ * One vehicle navigating a route inside a {@link FleetNavigationEngine}. Each session has its own
+ * native navigator, route progress, milestones, engines and listeners, while the route data is
+ * shared with the other sessions following the same route.
+ * <p>
+ * Locations are passed in with {@link #updateLocation(Location)}, and the route processor runs on
+ * the threads of the engine, which is also where the listeners of the session get invoked. Listeners
+ * of one session are never invoked concurrently.
+ *
+ * @since 0.23.0
+ */
+public class FleetNavigationSession {
+
+  private final FleetNavigationEngine engine;
+  private final FleetRoute fleetRoute;
+  private final MapboxNavigationOptions options;
+  private final MapboxNavigator mapboxNavigator;
+  private final LocationIngestionPipeline locationIngestionPipeline;
+  private final NavigationEventDispatcher eventDispatcher = new NavigationEventDispatcher();
+  private final NavigationEngineFactory engineFactory = new NavigationEngineFactory();
+  private final MilestoneScheduler milestoneScheduler = new MilestoneScheduler();
+  private final Set<Milestone> milestones = new HashSet<>();
+  private final ExecutorRouteProcessorScheduler scheduler;
+  private final RouteProcessorRunnable runnable;
+  private final AtomicBoolean isStarted = new AtomicBoolean(false);
+  private volatile boolean isStopped;
+
+  FleetNavigationSession(FleetNavigationEngine engine, FleetRoute fleetRoute, MapboxNavigationOptions options,
+                         MapboxNavigator mapboxNavigator, ExecutorRouteProcessorScheduler scheduler) {
+    this.engine = engine;
+    this.fleetRoute = fleetRoute;
+    this.options = options;
+    this.mapboxNavigator = mapboxNavigator;
+    this.locationIngestionPipeline = new LocationIngestionPipeline(
+      options.locationAcceptableAccuracyInMetersThreshold());
+    this.scheduler = scheduler;
+    this.runnable = new RouteProcessorRunnable(new NavigationRouteProcessor(), new ProcessorSession(), scheduler,
+      scheduler, new FleetSessionListener(eventDispatcher), new ScreenStateMonitor());
+    NavigatorCommandQueue.await(mapboxNavigator.updateRoute(fleetRoute.routeJson()));
+    if (options.defaultMilestonesEnabled()) {
+      addMilestone(new VoiceInstructionMilestone.Builder().setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
+      addMilestone(new BannerInstructionMilestone.Builder().setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
+    }
+  }
+
+  /**
+   * Passes a new location of the vehicle to the session. The route processor of the session
+   * starts running with the first location.
+   *
+   * @param location of the vehicle
+   * @since 0.23.0
+   */
+  public void updateLocation(@NonNull Location location) {
+    if (isStopped) {
+      Timber.w("Location update ignored, the fleet navigation session has been stopped.");
+      return;
+    }
+    runnable.updateRawLocation(location);
+    if (isStarted.compareAndSet(false, true)) {
+      scheduler.post(runnable);
+    }
+  }
+
+  /**
+   * Stops the route processor of the session and removes it from its engine. Once stopped, a
+   * session can't be started again.
+   *
+   * @since 0.23.0
+   */
+  public void stop() {
+    if (isStopped) {
+      return;
+    }
+    isStopped = true;
+    scheduler.stop();
+    engine.removeSession(this);
+  }
+
+  /**
+   * @return true once the session has been stopped by {@link #stop()} or by shutting down its engine
+   * @since 0.23.0
+   */
+  public boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * @return the route this session follows
+   * @since 0.23.0
+   */
+  @NonNull
+  public DirectionsRoute getRoute() {
+    return fleetRoute.route();
+  }
+
+  /**
+   * Adds a milestone to be triggered during this session, see
+   * {@link MapboxNavigation#addMilestone(Milestone)}.
+   *
+   * @param milestone a custom built milestone
+   * @since 0.23.0
+   */
+  public void addMilestone(@NonNull Milestone milestone) {
+    synchronized (milestones) {
+      boolean milestoneAdded = milestones.add(milestone);
+      if (!milestoneAdded) {
+        Timber.w("Milestone has already been added to the stack.");
+        return;
+      }
+      milestoneScheduler.updateMilestones(milestones);
+    }
+  }
+
+  /**
+   * Removes a milestone of this session, or all milestones if null is passed in.
+   *
+   * @param milestone a milestone you'd like to have removed or null if you'd like to remove all
+   *                  milestones
+   * @since 0.23.0
+   */
+  public void removeMilestone(@Nullable Milestone milestone) {
+    synchronized (milestones) {
+      if (milestone == null) {
+        milestones.clear();
+      } else if (!milestones.remove(milestone)) {
+        Timber.w("Milestone attempting to remove does not exist in stack.");
+        return;
+      }
+      milestoneScheduler.updateMilestones(milestones);
+    }
+  }
+
+  /**
+   * Adds a progress change listener which is invoked after each route processor run of this session.
+   *
+   * @param progressChangeListener an implementation of {@code ProgressChangeListener} which hasn't
+   *                               already been added
+   * @since 0.23.0
+   */
+  public void addProgressChangeListener(@NonNull ProgressChangeListener progressChangeListener) {
+    eventDispatcher.addProgressChangeListener(progressChangeListener);
+  }
+
+  /**
+   * Removes a progress change listener of this session, or all of them if null is passed in.
+   *
+   * @param progressChangeListener an implementation of {@code ProgressChangeListener} which
+   *                               currently exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeProgressChangeListener(@Nullable ProgressChangeListener progressChangeListener) {
+    eventDispatcher.removeProgressChangeListener(progressChangeListener);
+  }
+
+  /**
+   * Adds a route progress snapshot listener, which is handed recycled snapshots instead of new
+   * {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress} objects.
+   *
+   * @param snapshotListener an implementation of {@code RouteProgressSnapshotListener} which hasn't
+   *                         already been added
+   * @since 0.23.0
+   */
+  public void addRouteProgressSnapshotListener(@NonNull RouteProgressSnapshotListener snapshotListener) {
+    eventDispatcher.addRouteProgressSnapshotListener(snapshotListener);
+  }
+
+  /**
+   * Removes a route progress snapshot listener of this session, or all of them if null is passed in.
+   *
+   * @param snapshotListener an implementation of {@code RouteProgressSnapshotListener} which currently
+   *                         exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeRouteProgressSnapshotListener(@Nullable RouteProgressSnapshotListener snapshotListener) {
+    eventDispatcher.removeRouteProgressSnapshotListener(snapshotListener);
+  }
+
+  /**
+   * Adds a milestone event listener which is invoked when a milestone of this session gets triggered.
+   *
+   * @param milestoneEventListener an implementation of {@code MilestoneEventListener} which hasn't
+   *                               already been added
+   * @since 0.23.0
+   */
+  public void addMilestoneEventListener(@NonNull MilestoneEventListener milestoneEventListener) {
+    eventDispatcher.addMilestoneEventListener(milestoneEventListener);
+  }
+
+  /**
+   * Removes a milestone event listener of this session, or all of them if null is passed in.
+   *
+   * @param milestoneEventListener an implementation of {@code MilestoneEventListener} which
+   *                               currently exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeMilestoneEventListener(@Nullable MilestoneEventListener milestoneEventListener) {
+    eventDispatcher.removeMilestoneEventListener(milestoneEventListener);
+  }
+
+  /**
+   * Adds an off route listener which is invoked when the vehicle of this session veers off the route.
+   *
+   * @param offRouteListener an implementation of {@code OffRouteListener} which hasn't already been
+   *                         added
+   * @since 0.23.0
+   */
+  public void addOffRouteListener(@NonNull OffRouteListener offRouteListener) {
+    eventDispatcher.addOffRouteListener(offRouteListener);
+  }
+
+  /**
+   * Removes an off route listener of this session, or all of them if null is passed in.
+   *
+   * @param offRouteListener an implementation of {@code OffRouteListener} which currently exist in
+   *                         the listener list
+   * @since 0.23.0
+   */
+  public void removeOffRouteListener(@Nullable OffRouteListener offRouteListener) {
+    eventDispatcher.removeOffRouteListener(offRouteListener);
+  }
+
+  /**
+   * Counts of the location updates of this session handled by each stage of the location ingestion.
+   *
+   * @return counters of the location ingestion stages
+   * @since 0.23.0
+   */
+  public LocationIngestionCounters retrieveLocationIngestionCounters() {
+    return locationIngestionPipeline.retrieveCounters();
+  }
+
+  /**
+   * Counts and timings of the commands sent to the navigator of this session.
+   *
+   * @return counters of the navigator commands
+   * @since 0.23.0
+   */
+  public NavigatorCommandCounters retrieveNavigatorCommandCounters() {
+    return mapboxNavigator.retrieveCommandCounters();
+  }
+
+  FleetRoute retrieveFleetRoute() {
+    return fleetRoute;
+  }
+
+  /**
+   * Stops the session from its engine, which already forgot about it.
+   */
+  void stopFromEngine() {
+    isStopped = true;
+    scheduler.stop();
+  }
+
+  private class ProcessorSession implements RouteProcessorSession {
+
+    @Override
+    public MapboxNavigationOptions options() {
+      return options;
+    }
+
+    @Override
+    public DirectionsRoute getRoute() {
+      return fleetRoute.route();
+    }
+
+    @Override
+    public RouteGeometryIndex retrieveRouteGeometryIndex() {
+      return fleetRoute.geometryIndex();
+    }
+
+    @Override
+    public MilestoneScheduler retrieveMilestoneScheduler() {
+      return milestoneScheduler;
+    }
+
+    @Override
+    public NavigationEventDispatcher getEventDispatcher() {
+      return eventDispatcher;
+    }
+
+    @Override
+    public NavigationEngineFactory retrieveEngineFactory() {
+      return engineFactory;
+    }
+
+    @Override
+    public MapboxNavigator retrieveMapboxNavigator() {
+      return mapboxNavigator;
+    }
+
+    @Override
+    public LocationIngestionPipeline retrieveLocationIngestionPipeline() {
+      return locationIngestionPipeline;
+    }
+  }
+}
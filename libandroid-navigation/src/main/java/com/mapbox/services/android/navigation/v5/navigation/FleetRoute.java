@@ -0,0 +1,51 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+
+/**
+ * Immutable data of a route, built once and shared by all {@link FleetNavigationSession}s
+ * following it: the route itself, its JSON for the native navigators and its decoded geometry.
+ */
+class FleetRoute {
+
+  private final DirectionsRoute route;
+  private final String routeJson;
+  private final RouteGeometryIndex geometryIndex;
+  // Guarded by the lock of the FleetNavigationEngine
+  private int sessionCount;
+
+  private FleetRoute(DirectionsRoute route, String routeJson, RouteGeometryIndex geometryIndex) {
+    this.route = route;
+    this.routeJson = routeJson;
+    this.geometryIndex = geometryIndex;
+  }
+
+  static FleetRoute create(DirectionsRoute route) {
+    return new FleetRoute(route, route.toJson(), RouteGeometryIndex.create(route));
+  }
+
+  DirectionsRoute route() {
+    return route;
+  }
+
+  String routeJson() {
+    return routeJson;
+  }
+
+  RouteGeometryIndex geometryIndex() {
+    return geometryIndex;
+  }
+
+  void addSession() {
+    sessionCount++;
+  }
+
+  /**
+   * @return true if no session follows the route anymore
+   */
+  boolean removeSession() {
+    sessionCount--;
+    return sessionCount == 0;
+  }
+}
@@ -0,0 +1,75 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildInstructionString;
+
+/**
+ * Passes the results of a {@link FleetNavigationSession}'s route processor runs to the session's
+ * event dispatcher. Unlike {@link RouteProcessorThreadListener} there is no notification to update
+ * and no faster route gets fetched.
+ */
+class FleetSessionListener implements RouteProcessorBackgroundThread.Listener {
+
+  private final NavigationEventDispatcher eventDispatcher;
+
+  FleetSessionListener(NavigationEventDispatcher eventDispatcher) {
+    this.eventDispatcher = eventDispatcher;
+  }
+
+  @Override
+  public boolean isRouteProgressRequired(long currentTimeMillis) {
+    return eventDispatcher.hasProgressChangeListeners();
+  }
+
+  @Override
+  public void onNewRouteProgress(Location location, RouteProgress routeProgress) {
+    eventDispatcher.onProgressChange(location, routeProgress);
+  }
+
+  @Override
+  public void onNewRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    eventDispatcher.onRouteProgressSnapshot(location, snapshot);
+  }
+
+  @Override
+  public void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress) {
+    for (Milestone milestone : triggeredMilestones) {
+      String instruction = buildInstructionString(routeProgress, milestone);
+      eventDispatcher.onMilestoneEvent(routeProgress, instruction, milestone);
+    }
+  }
+
+  @Override
+  public void onUserOffRoute(Location location, boolean userOffRoute) {
+    if (userOffRoute) {
+      eventDispatcher.onUserOffRoute(location);
+    }
+  }
+
+  @Override
+  public void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute) {
+    // Fleet sessions don't fetch routes
+  }
+
+  @Override
+  public void onRouteProcessingInterval(long intervalInMilliseconds) {
+    eventDispatcher.onRouteProcessingInterval(intervalInMilliseconds);
+  }
+
+  @Override
+  public void onRouteProgressCoalesced(int coalescedUpdateCount) {
+    eventDispatcher.onRouteProgressCoalesced(coalescedUpdateCount);
+  }
+
+  @Override
+  public void onRouteProcessingTimings(RouteProcessingTimings timings) {
+    eventDispatcher.onRouteProcessingTimings(timings);
+  }
+}
@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Requests callbacks once per display frame on the main thread. On a device this is backed by the
+ * {@link android.view.Choreographer}, see {@link ChoreographerFrameScheduler}, falling back to a
+ * {@link android.os.Handler} on API levels without it.
+ */
+interface FrameScheduler {
+
+  /**
+   * Requests a single callback for the next frame. Requesting again before it ran has no effect.
+   */
+  void scheduleFrame(Callback callback);
+
+  void cancelFrame(Callback callback);
+
+  interface Callback {
+
+    /**
+     * @param frameTimeNanos time the frame started rendering, in the {@link System#nanoTime()} time base
+     */
+    void onFrame(long frameTimeNanos);
+  }
+}
@@ -0,0 +1,50 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Approximates display frames with a {@link Handler} on API levels without a
+ * {@link android.view.Choreographer}.
+ */
+class HandlerFrameScheduler implements FrameScheduler, Runnable {
+
+  private static final long FRAME_INTERVAL_IN_MILLISECONDS = 16;
+
+  private final Handler handler;
+  private Callback callback;
+
+  HandlerFrameScheduler() {
+    this(new Handler(Looper.getMainLooper()));
+  }
+
+  HandlerFrameScheduler(Handler handler) {
+    this.handler = handler;
+  }
+
+  @Override
+  public void scheduleFrame(Callback callback) {
+    if (this.callback != null) {
+      return;
+    }
+    this.callback = callback;
+    handler.postDelayed(this, FRAME_INTERVAL_IN_MILLISECONDS);
+  }
+
+  @Override
+  public void cancelFrame(Callback callback) {
+    if (this.callback == callback) {
+      handler.removeCallbacks(this);
+      this.callback = null;
+    }
+  }
+
+  @Override
+  public void run() {
+    Callback callback = this.callback;
+    this.callback = null;
+    if (callback != null) {
+      callback.onFrame(System.nanoTime());
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+class HandlerRouteProcessorScheduler implements RouteProcessorScheduler {
+
+  private final Handler handler;
+
+  HandlerRouteProcessorScheduler(Handler handler) {
+    this.handler = handler;
+  }
+
+  @Override
+  public long uptimeMillis() {
+    return SystemClock.uptimeMillis();
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public void post(Runnable runnable) {
+    handler.post(runnable);
+  }
+
+  @Override
+  public void postDelayed(Runnable runnable, long delayInMilliseconds) {
+    handler.postDelayed(runnable, delayInMilliseconds);
+  }
+
+  @Override
+  public void postAtTime(Runnable runnable, long uptimeMillis) {
+    handler.postAtTime(runnable, uptimeMillis);
+  }
+
+  @Override
+  public void removeCallbacks(Runnable runnable) {
+    handler.removeCallbacks(runnable);
+  }
+}
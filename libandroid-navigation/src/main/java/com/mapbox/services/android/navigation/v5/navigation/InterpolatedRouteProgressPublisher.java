@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Build;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgressListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshotListener;
+
+import java.util.List;
+
+/**
+ * Publishes an {@link com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgress}
+ * for every display frame on the main thread.
+ * <p>
+ * It listens for the recycled snapshots of the route processor like any other
+ * {@link RouteProgressSnapshotListener}, so interpolating never retrieves the status of the
+ * navigator more often. Frames are only requested while the prediction still changes, so nothing
+ * runs once the user stopped or no new progress arrived for a while.
+ */
+class InterpolatedRouteProgressPublisher implements RouteProgressSnapshotListener, FrameScheduler.Callback {
+
+  private final List<InterpolatedRouteProgressListener> listeners;
+  private final FrameScheduler frameScheduler;
+  private final RouteProgressInterpolator interpolator;
+
+  /**
+   * Must be created on the main thread.
+   */
+  InterpolatedRouteProgressPublisher(List<InterpolatedRouteProgressListener> listeners) {
+    this(listeners, createFrameScheduler(), new RouteProgressInterpolator());
+  }
+
+  InterpolatedRouteProgressPublisher(List<InterpolatedRouteProgressListener> listeners,
+                                     FrameScheduler frameScheduler, RouteProgressInterpolator interpolator) {
+    this.listeners = listeners;
+    this.frameScheduler = frameScheduler;
+    this.interpolator = interpolator;
+  }
+
+  @Override
+  public void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    double speed = location.hasSpeed() ? location.getSpeed() : RouteProgressInterpolator.UNKNOWN_SPEED;
+    interpolator.update(snapshot, speed, System.nanoTime());
+    frameScheduler.scheduleFrame(this);
+  }
+
+  @Override
+  public void onFrame(long frameTimeNanos) {
+    if (listeners.isEmpty() || !interpolator.hasProgress()) {
+      return;
+    }
+    boolean isChanging = interpolator.interpolate(frameTimeNanos);
+    for (InterpolatedRouteProgressListener listener : listeners) {
+      listener.onInterpolatedProgress(interpolator);
+    }
+    if (isChanging) {
+      frameScheduler.scheduleFrame(this);
+    }
+  }
+
+  void stop() {
+    frameScheduler.cancelFrame(this);
+    interpolator.reset();
+  }
+
+  private static FrameScheduler createFrameScheduler() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      return new ChoreographerFrameScheduler();
+    }
+    return new HandlerFrameScheduler();
+  }
+}
@@ -0,0 +1,153 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distances along the current step to each of its intersections, measured once when the step
+ * changes.
+ * <p>
+ * Distances are stored in a primitive array which is never decreasing, so the current intersection
+ * for a given step distance traveled can be found with a binary search.
+ */
+class IntersectionDistanceTable {
+
+  private static final int FIRST_INTERSECTION = 0;
+  private static final int NOT_FOUND = -1;
+  private static final int TWO_POINTS = 2;
+  private static final double ZERO_METERS = 0d;
+
+  private final List<StepIntersection> intersections;
+  private final List<Pair<StepIntersection, Double>> measuredIntersections;
+  private final double[] distances;
+  private final LegStep upcomingStep;
+
+  private IntersectionDistanceTable(List<StepIntersection> intersections,
+                                    List<Pair<StepIntersection, Double>> measuredIntersections,
+                                    double[] distances, @Nullable LegStep upcomingStep) {
+    this.intersections = intersections;
+    this.measuredIntersections = measuredIntersections;
+    this.distances = distances;
+    this.upcomingStep = upcomingStep;
+  }
+
+  /**
+   * Measures the given intersections along the step geometry held in the geometry index.
+   *
+   * @param geometryIndex holding the decoded step geometry
+   * @param legIndex      of the current leg
+   * @param stepIndex     of the current step
+   * @param intersections of the current step, including the first upcoming step intersection
+   * @param upcomingStep  used to find the upcoming intersection once the last one is passed
+   * @return table of measured intersections
+   */
+  static IntersectionDistanceTable create(@NonNull RouteGeometryIndex geometryIndex, int legIndex, int stepIndex,
+                                          @NonNull List<StepIntersection> intersections,
+                                          @Nullable LegStep upcomingStep) {
+    boolean lessThanTwoStepPoints = geometryIndex.pointCount(legIndex, stepIndex) < TWO_POINTS;
+    if (lessThanTwoStepPoints || intersections.isEmpty()) {
+      List<Pair<StepIntersection, Double>> noMeasuredIntersections = Collections.emptyList();
+      return new IntersectionDistanceTable(intersections, noMeasuredIntersections, new double[0], upcomingStep);
+    }
+
+    int intersectionSize = intersections.size();
+    double[] distances = new double[intersectionSize];
+    List<Pair<StepIntersection, Double>> measuredIntersections = new ArrayList<>(intersectionSize);
+    int pointIndex = 0;
+    for (int i = 0; i < intersectionSize; i++) {
+      StepIntersection intersection = intersections.get(i);
+      Point location = intersection.location();
+      double distance;
+      int matchingPointIndex = geometryIndex.findPointIndex(
+        legIndex, stepIndex, pointIndex, location.longitude(), location.latitude()
+      );
+      if (matchingPointIndex != NOT_FOUND) {
+        pointIndex = matchingPointIndex;
+        distance = geometryIndex.distanceAlongStep(legIndex, stepIndex, matchingPointIndex);
+      } else {
+        distance = geometryIndex.projectDistanceAlongStep(
+          legIndex, stepIndex, location.longitude(), location.latitude()
+        );
+      }
+      if (i == FIRST_INTERSECTION) {
+        distance = Math.max(ZERO_METERS, distance);
+      } else {
+        distance = Math.max(distances[i - 1], distance);
+      }
+      distances[i] = distance;
+      measuredIntersections.add(new Pair<>(intersection, distance));
+    }
+    return new IntersectionDistanceTable(intersections, Collections.unmodifiableList(measuredIntersections),
+      distances, upcomingStep);
+  }
+
+  List<StepIntersection> intersections() {
+    return intersections;
+  }
+
+  List<Pair<StepIntersection, Double>> measuredIntersections() {
+    return measuredIntersections;
+  }
+
+  /**
+   * Matches {@link NavigationHelper#findCurrentIntersection(List, List, double)}: the current
+   * intersection is the last one strictly behind the distance traveled, as long as the distance
+   * traveled is strictly before the next one.
+   *
+   * @param stepDistanceTraveled how far the user has traveled along the step
+   * @return index of the current intersection
+   */
+  int findCurrentIntersectionIndex(double stepDistanceTraveled) {
+    if (distances.length == 0) {
+      return FIRST_INTERSECTION;
+    }
+    int low = 0;
+    int high = distances.length - 1;
+    int lastBehind = NOT_FOUND;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (distances[middle] < stepDistanceTraveled) {
+        lastBehind = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    if (lastBehind == NOT_FOUND) {
+      return FIRST_INTERSECTION;
+    }
+    boolean isLastIntersection = lastBehind == distances.length - 1;
+    if (isLastIntersection || stepDistanceTraveled < distances[lastBehind + 1]) {
+      return lastBehind;
+    }
+    return FIRST_INTERSECTION;
+  }
+
+  StepIntersection findCurrentIntersection(int currentIntersectionIndex) {
+    return intersections.get(currentIntersectionIndex);
+  }
+
+  @Nullable
+  StepIntersection findUpcomingIntersection(int currentIntersectionIndex) {
+    int nextIntersectionIndex = currentIntersectionIndex + 1;
+    if (nextIntersectionIndex < intersections.size()) {
+      return intersections.get(nextIntersectionIndex);
+    } else if (upcomingStep != null) {
+      List<StepIntersection> upcomingIntersections = upcomingStep.intersections();
+      if (upcomingIntersections != null && !upcomingIntersections.isEmpty()) {
+        return upcomingIntersections.get(FIRST_INTERSECTION);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,104 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Counts of the location updates handled by each stage of the location ingestion of a navigation
+ * session, since the session was created. Every received update is either rejected by exactly one
+ * stage, replaced by a newer one, still waiting for the next route processor run, or delivered to
+ * the navigator.
+ *
+ * @since 0.23.0
+ */
+public class LocationIngestionCounters {
+
+  private final long receivedCount;
+  private final long inaccurateCount;
+  private final long duplicateCount;
+  private final long outOfOrderCount;
+  private final long overflowCount;
+  private final long deliveredCount;
+  private final long batchCount;
+
+  LocationIngestionCounters(long receivedCount, long inaccurateCount, long duplicateCount, long outOfOrderCount,
+                            long overflowCount, long deliveredCount, long batchCount) {
+    this.receivedCount = receivedCount;
+    this.inaccurateCount = inaccurateCount;
+    this.duplicateCount = duplicateCount;
+    this.outOfOrderCount = outOfOrderCount;
+    this.overflowCount = overflowCount;
+    this.deliveredCount = deliveredCount;
+    this.batchCount = batchCount;
+  }
+
+  /**
+   * Location updates passed in by the location engine.
+   *
+   * @return number of received updates
+   * @since 0.23.0
+   */
+  public long receivedCount() {
+    return receivedCount;
+  }
+
+  /**
+   * Location updates rejected because their accuracy wasn't within
+   * {@link MapboxNavigationOptions#locationAcceptableAccuracyInMetersThreshold()}.
+   *
+   * @return number of inaccurate updates
+   * @since 0.23.0
+   */
+  public long inaccurateCount() {
+    return inaccurateCount;
+  }
+
+  /**
+   * Location updates dropped because they repeated the previous update.
+   *
+   * @return number of duplicate updates
+   * @since 0.23.0
+   */
+  public long duplicateCount() {
+    return duplicateCount;
+  }
+
+  /**
+   * Location updates dropped because they were older than an update already accepted.
+   *
+   * @return number of out of order updates
+   * @since 0.23.0
+   */
+  public long outOfOrderCount() {
+    return outOfOrderCount;
+  }
+
+  /**
+   * Accepted location updates replaced by newer ones because too many were waiting for the route
+   * processor.
+   *
+   * @return number of overflowed updates
+   * @since 0.23.0
+   */
+  public long overflowCount() {
+    return overflowCount;
+  }
+
+  /**
+   * Location updates handed to the navigator.
+   *
+   * @return number of delivered updates
+   * @since 0.23.0
+   */
+  public long deliveredCount() {
+    return deliveredCount;
+  }
+
+  /**
+   * Calls to the navigator delivering location updates. Each call delivers all updates accepted
+   * since the previous route processor run.
+   *
+   * @return number of batches
+   * @since 0.23.0
+   */
+  public long batchCount() {
+    return batchCount;
+  }
+}
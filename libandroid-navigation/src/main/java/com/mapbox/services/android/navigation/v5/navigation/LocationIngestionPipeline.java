@@ -0,0 +1,161 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.services.android.navigation.v5.location.LocationValidator;
+
+/**
+ * Stages the location updates of a navigation session before they reach the {@link MapboxNavigator}.
+ * <p>
+ * Updates are offered from the location engine thread and pass three stages: updates that aren't
+ * accurate enough for the {@link LocationValidator} are rejected, repeated updates and updates
+ * older than the last accepted one are dropped, and the remaining ones wait in a bounded queue.
+ * The route processor drains the queue once per run, delivering every waiting update to the
+ * navigator while holding its lock only once. If more updates arrive than the queue holds between
+ * two runs, the oldest ones are replaced.
+ * <p>
+ * Updates stepping back in time by more than {@link #MAXIMUM_OUT_OF_ORDER_IN_MILLISECONDS} are
+ * taken as a new time base, for instance a replay starting over, rather than dropped.
+ */
+class LocationIngestionPipeline {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final long MAXIMUM_OUT_OF_ORDER_IN_MILLISECONDS = 10000;
+
+  private final LocationValidator validator;
+  private final Location[] pendingLocations;
+  private final long[] pendingReceivedTimes;
+  private final Location[] batchLocations;
+  private final long[] batchReceivedTimes;
+  private int pendingStart;
+  private int pendingCount;
+  private Location lastAcceptedLocation;
+  private long receivedCount;
+  private long inaccurateCount;
+  private long duplicateCount;
+  private long outOfOrderCount;
+  private long overflowCount;
+  private long deliveredCount;
+  private long batchCount;
+
+  LocationIngestionPipeline(int accuracyThreshold) {
+    this(new LocationValidator(accuracyThreshold), DEFAULT_CAPACITY);
+  }
+
+  LocationIngestionPipeline(LocationValidator validator, int capacity) {
+    this.validator = validator;
+    pendingLocations = new Location[capacity];
+    pendingReceivedTimes = new long[capacity];
+    batchLocations = new Location[capacity];
+    batchReceivedTimes = new long[capacity];
+  }
+
+  /**
+   * Passes a new location update through the filtering stages and queues it for the navigator.
+   *
+   * @param location           new location update
+   * @param receivedTimeMillis wall clock time the update was received at
+   * @return true if the update was queued, false if it was rejected or dropped
+   */
+  synchronized boolean offer(@NonNull Location location, long receivedTimeMillis) {
+    receivedCount++;
+    if (!validator.isValidUpdate(location)) {
+      inaccurateCount++;
+      return false;
+    }
+    if (isDuplicate(location)) {
+      duplicateCount++;
+      return false;
+    }
+    if (isOutOfOrder(location)) {
+      outOfOrderCount++;
+      return false;
+    }
+    lastAcceptedLocation = location;
+    enqueue(location, receivedTimeMillis);
+    return true;
+  }
+
+  /**
+   * Delivers all queued updates to the navigator in one call. Must only be called from the route
+   * processor thread.
+   *
+   * @param navigator receiving the updates
+   * @return number of delivered updates
+   */
+  int drainTo(MapboxNavigator navigator) {
+    int count;
+    synchronized (this) {
+      count = pendingCount;
+      for (int i = 0; i < count; i++) {
+        int index = (pendingStart + i) % pendingLocations.length;
+        batchLocations[i] = pendingLocations[index];
+        batchReceivedTimes[i] = pendingReceivedTimes[index];
+        pendingLocations[index] = null;
+      }
+      pendingStart = 0;
+      pendingCount = 0;
+      if (count > 0) {
+        deliveredCount += count;
+        batchCount++;
+      }
+    }
+    if (count > 0) {
+      navigator.updateLocations(batchLocations, batchReceivedTimes, count);
+      for (int i = 0; i < count; i++) {
+        batchLocations[i] = null;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Forgets the last accepted and the last valid update and drops queued ones, so a new navigation
+   * session doesn't compare its updates against the ones of the previous session.
+   */
+  synchronized void reset() {
+    validator.reset();
+    for (int i = 0; i < pendingLocations.length; i++) {
+      pendingLocations[i] = null;
+    }
+    pendingStart = 0;
+    pendingCount = 0;
+    lastAcceptedLocation = null;
+  }
+
+  synchronized LocationIngestionCounters retrieveCounters() {
+    return new LocationIngestionCounters(receivedCount, inaccurateCount, duplicateCount, outOfOrderCount,
+      overflowCount, deliveredCount, batchCount);
+  }
+
+  private boolean isDuplicate(Location location) {
+    if (lastAcceptedLocation == null) {
+      return false;
+    }
+    return location == lastAcceptedLocation
+      || (location.getTime() == lastAcceptedLocation.getTime()
+      && location.getLatitude() == lastAcceptedLocation.getLatitude()
+      && location.getLongitude() == lastAcceptedLocation.getLongitude());
+  }
+
+  private boolean isOutOfOrder(Location location) {
+    if (lastAcceptedLocation == null) {
+      return false;
+    }
+    long timeBehind = lastAcceptedLocation.getTime() - location.getTime();
+    return timeBehind > 0 && timeBehind <= MAXIMUM_OUT_OF_ORDER_IN_MILLISECONDS;
+  }
+
+  private void enqueue(Location location, long receivedTimeMillis) {
+    if (pendingCount == pendingLocations.length) {
+      pendingStart = (pendingStart + 1) % pendingLocations.length;
+      pendingCount--;
+      overflowCount++;
+    }
+    int index = (pendingStart + pendingCount) % pendingLocations.length;
+    pendingLocations[index] = location;
+    pendingReceivedTimes[index] = receivedTimeMillis;
+    pendingCount++;
+  }
+}
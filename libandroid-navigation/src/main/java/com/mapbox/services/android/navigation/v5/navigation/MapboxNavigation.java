@@ -14,9 +14,11 @@ import com.mapbox.android.core.location.LocationEnginePriority;
 import com.mapbox.android.core.location.LocationEngineProvider;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.navigator.Navigator;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
 import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.navigation.camera.Camera;
 import com.mapbox.services.android.navigation.v5.navigation.camera.SimpleCamera;
@@ -25,7 +27,10 @@ import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgressListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshotListener;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
 
@@ -33,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
 
 import retrofit2.Callback;
 import timber.log.Timber;
@@ -57,10 +63,14 @@ public class MapboxNavigation implements ServiceConnection {
   private NavigationTelemetry navigationTelemetry = null;
   private NavigationService navigationService;
   private MapboxNavigator mapboxNavigator;
+  private LocationIngestionPipeline locationIngestionPipeline;
+  private NavigationHistoryRecorder historyRecorder;
   private DirectionsRoute directionsRoute;
+  private RouteGeometryIndex routeGeometryIndex;
   private MapboxNavigationOptions options;
   private LocationEngine locationEngine = null;
   private Set<Milestone> milestones;
+  private final MilestoneScheduler milestoneScheduler = new MilestoneScheduler();
   private final String accessToken;
   private Context applicationContext;
   private boolean isBound;
@@ -167,11 +177,17 @@ public class MapboxNavigation implements ServiceConnection {
    */
   public void onDestroy() {
     stopNavigation();
+    stopHistoryRecording();
     disableLocationEngine();
     removeOffRouteListener(null);
     removeProgressChangeListener(null);
+    removeRouteProgressSnapshotListener(null);
+    removeInterpolatedRouteProgressListener(null);
     removeMilestoneEventListener(null);
     removeNavigationEventListener(null);
+    removeRouteProcessingIntervalListener(null);
+    removeRouteProgressCoalescedListener(null);
+    removeRouteProcessingTimingListener(null);
   }
 
   // Public APIs
@@ -194,7 +210,9 @@ public class MapboxNavigation implements ServiceConnection {
     boolean milestoneAdded = milestones.add(milestone);
     if (!milestoneAdded) {
       Timber.w("Milestone has already been added to the stack.");
+      return;
     }
+    milestoneScheduler.updateMilestones(milestones);
   }
 
   /**
@@ -211,7 +229,9 @@ public class MapboxNavigation implements ServiceConnection {
     boolean milestonesAdded = this.milestones.addAll(milestones);
     if (!milestonesAdded) {
       Timber.w("These milestones have already been added to the stack.");
+      return;
     }
+    milestoneScheduler.updateMilestones(this.milestones);
   }
 
   /**
@@ -226,12 +246,14 @@ public class MapboxNavigation implements ServiceConnection {
   public void removeMilestone(@Nullable Milestone milestone) {
     if (milestone == null) {
       milestones.clear();
+      milestoneScheduler.updateMilestones(milestones);
       return;
     } else if (!milestones.contains(milestone)) {
       Timber.w("Milestone attempting to remove does not exist in stack.");
       return;
     }
     milestones.remove(milestone);
+    milestoneScheduler.updateMilestones(milestones);
   }
 
   /**
@@ -430,6 +452,75 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeProgressChangeListener(progressChangeListener);
   }
 
+  /**
+   * This adds a new route progress snapshot listener which is invoked on the main thread after each
+   * route processor run with a recycled, read-only {@link RouteProgressSnapshot}. Unlike
+   * {@link ProgressChangeListener}, delivering snapshots doesn't allocate any objects.
+   * <p>
+   * The snapshot passed to the listener is only valid until the callback returns, so don't keep a
+   * reference to it. It is not possible to add the same listener implementation more then once and a
+   * warning will be printed in the log if attempted.
+   * </p>
+   *
+   * @param snapshotListener an implementation of {@code RouteProgressSnapshotListener} which hasn't
+   *                         already been added
+   * @see RouteProgressSnapshotListener
+   * @since 0.23.0
+   */
+  public void addRouteProgressSnapshotListener(@NonNull RouteProgressSnapshotListener snapshotListener) {
+    navigationEventDispatcher.addRouteProgressSnapshotListener(snapshotListener);
+  }
+
+  /**
+   * This removes a specific route progress snapshot listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   *
+   * @param snapshotListener an implementation of {@code RouteProgressSnapshotListener} which currently
+   *                         exist in the listener list
+   * @see RouteProgressSnapshotListener
+   * @since 0.23.0
+   */
+  public void removeRouteProgressSnapshotListener(@Nullable RouteProgressSnapshotListener snapshotListener) {
+    navigationEventDispatcher.removeRouteProgressSnapshotListener(snapshotListener);
+  }
+
+  /**
+   * This adds a new interpolated route progress listener which is invoked on the main thread once
+   * per display frame while the user moves along the route. Between route processor runs, the
+   * snapped position and the remaining distances are extrapolated along the current step, so
+   * cameras, arrows and distance labels can move smoothly. The status of the navigator isn't
+   * retrieved more often for this.
+   * <p>
+   * Must be called from the main thread. The progress passed to the listener is only valid until the
+   * callback returns, so don't keep a reference to it. It is not possible to add the same listener
+   * implementation more then once and a warning will be printed in the log if attempted.
+   * </p>
+   *
+   * @param progressListener an implementation of {@code InterpolatedRouteProgressListener} which hasn't
+   *                         already been added
+   * @see InterpolatedRouteProgressListener
+   * @since 0.23.0
+   */
+  public void addInterpolatedRouteProgressListener(@NonNull InterpolatedRouteProgressListener progressListener) {
+    navigationEventDispatcher.addInterpolatedRouteProgressListener(progressListener);
+  }
+
+  /**
+   * This removes a specific interpolated route progress listener by passing in the instance of it or
+   * you can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all
+   * listeners get removed automatically, removing the requirement for developers to manually handle
+   * this.
+   *
+   * @param progressListener an implementation of {@code InterpolatedRouteProgressListener} which
+   *                         currently exist in the listener list
+   * @see InterpolatedRouteProgressListener
+   * @since 0.23.0
+   */
+  public void removeInterpolatedRouteProgressListener(@Nullable InterpolatedRouteProgressListener progressListener) {
+    navigationEventDispatcher.removeInterpolatedRouteProgressListener(progressListener);
+  }
+
   /**
    * This adds a new off route listener which is invoked when the devices location veers off the
    * route and the specified criteria's in {@link MapboxNavigationOptions} have been met.
@@ -542,6 +633,93 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeFasterRouteListener(fasterRouteListener);
   }
 
+  /**
+   * This adds a new route processing interval listener which is invoked after each route processor
+   * run with the interval chosen until the next run.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param intervalListener an implementation of {@code RouteProcessingIntervalListener}
+   * @see RouteProcessingPolicy
+   * @since 0.23.0
+   */
+  public void addRouteProcessingIntervalListener(@NonNull RouteProcessingIntervalListener intervalListener) {
+    navigationEventDispatcher.addRouteProcessingIntervalListener(intervalListener);
+  }
+
+  /**
+   * This removes a specific route processing interval listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   *
+   * @param intervalListener an implementation of {@code RouteProcessingIntervalListener} which currently
+   *                         exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeRouteProcessingIntervalListener(@Nullable RouteProcessingIntervalListener intervalListener) {
+    navigationEventDispatcher.removeRouteProcessingIntervalListener(intervalListener);
+  }
+
+  /**
+   * This adds a new listener which is invoked when route progress updates were replaced by a newer
+   * update before they could be delivered on the main thread, for instance while it was busy.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param coalescedListener an implementation of {@code RouteProgressCoalescedListener}
+   * @since 0.23.0
+   */
+  public void addRouteProgressCoalescedListener(@NonNull RouteProgressCoalescedListener coalescedListener) {
+    navigationEventDispatcher.addRouteProgressCoalescedListener(coalescedListener);
+  }
+
+  /**
+   * This removes a specific coalesced route progress listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   *
+   * @param coalescedListener an implementation of {@code RouteProgressCoalescedListener} which currently
+   *                          exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeRouteProgressCoalescedListener(@Nullable RouteProgressCoalescedListener coalescedListener) {
+    navigationEventDispatcher.removeRouteProgressCoalescedListener(coalescedListener);
+  }
+
+  /**
+   * This adds a new listener which is invoked with per-stage timings of the route processor, such
+   * as the p50, p95 and maximum time spent snapping or checking milestones, once for every window
+   * of runs. Timings are only measured while at least one listener is added.
+   * <p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param timingListener an implementation of {@code RouteProcessingTimingListener}
+   * @see RouteProcessingTimings
+   * @since 0.23.0
+   */
+  public void addRouteProcessingTimingListener(@NonNull RouteProcessingTimingListener timingListener) {
+    navigationEventDispatcher.addRouteProcessingTimingListener(timingListener);
+  }
+
+  /**
+   * This removes a specific route processing timing listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   *
+   * @param timingListener an implementation of {@code RouteProcessingTimingListener} which currently
+   *                       exist in the listener list
+   * @since 0.23.0
+   */
+  public void removeRouteProcessingTimingListener(@Nullable RouteProcessingTimingListener timingListener) {
+    navigationEventDispatcher.removeRouteProcessingTimingListener(timingListener);
+  }
+
   // Custom engines
 
   /**
@@ -710,12 +888,72 @@ public class MapboxNavigation implements ServiceConnection {
     navigationTelemetry.cancelFeedback(feedbackId);
   }
 
+  /**
+   * Counts of the location updates of the current navigation handled by each stage of the location
+   * ingestion, such as updates rejected for their accuracy or dropped as duplicates. Updates that
+   * pass all stages are delivered to the navigator in one batch per route processor run.
+   *
+   * @return counters of the location ingestion stages
+   * @since 0.23.0
+   */
+  public LocationIngestionCounters retrieveLocationIngestionCounters() {
+    return locationIngestionPipeline.retrieveCounters();
+  }
+
+  /**
+   * Counts and timings of the commands sent to the navigator, such as the longest time a command
+   * waited for the navigator or the most commands queued at once. Commands are run one at a time,
+   * usually by the route processor thread.
+   *
+   * @return counters of the navigator commands
+   * @since 0.23.0
+   */
+  public NavigatorCommandCounters retrieveNavigatorCommandCounters() {
+    return mapboxNavigator.retrieveCommandCounters();
+  }
+
   public String retrieveHistory() {
-    return mapboxNavigator.retrieveHistory();
+    return NavigatorCommandQueue.await(mapboxNavigator.retrieveHistory());
   }
 
   public void toggleHistory(boolean isEnabled) {
-    mapboxNavigator.toggleHistory(isEnabled);
+    NavigatorCommandQueue.await(mapboxNavigator.toggleHistory(isEnabled));
+  }
+
+  /**
+   * Starts recording the navigator history to compressed files in the directory of the given
+   * options. Rather than being kept until {@link #retrieveHistory()} is called, the history is
+   * taken from the navigator in chunks on a background thread and appended to disk, and the oldest
+   * files are deleted once the size or age limits of the options are exceeded.
+   * <p>
+   * While recording, {@link #retrieveHistory()} only returns the history since the last chunk was
+   * written. Recording stops with {@link #stopHistoryRecording()} or {@link #onDestroy()}.
+   *
+   * @param options with the directory and limits of the recording
+   * @since 0.23.0
+   */
+  public void startHistoryRecording(@NonNull NavigationHistoryRecorderOptions options) {
+    if (historyRecorder != null) {
+      Timber.w("History recording has already been started.");
+      return;
+    }
+    historyRecorder = new NavigationHistoryRecorder(mapboxNavigator, options,
+      Executors.newSingleThreadScheduledExecutor());
+    historyRecorder.start();
+  }
+
+  /**
+   * Stops recording the navigator history. The history since the last written chunk is still
+   * written on the background thread before it finishes.
+   *
+   * @since 0.23.0
+   */
+  public void stopHistoryRecording() {
+    if (historyRecorder == null) {
+      return;
+    }
+    historyRecorder.stop();
+    historyRecorder = null;
   }
 
   @Override
@@ -742,10 +980,18 @@ public class MapboxNavigation implements ServiceConnection {
     return directionsRoute;
   }
 
+  RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return routeGeometryIndex;
+  }
+
   List<Milestone> getMilestones() {
     return new ArrayList<>(milestones);
   }
 
+  MilestoneScheduler retrieveMilestoneScheduler() {
+    return milestoneScheduler;
+  }
+
   MapboxNavigationOptions options() {
     return options;
   }
@@ -762,8 +1008,13 @@ public class MapboxNavigation implements ServiceConnection {
     return mapboxNavigator;
   }
 
+  LocationIngestionPipeline retrieveLocationIngestionPipeline() {
+    return locationIngestionPipeline;
+  }
+
   private void initializeForTest() {
     // Initialize event dispatcher and add internal listeners
+    locationIngestionPipeline = new LocationIngestionPipeline(options.locationAcceptableAccuracyInMetersThreshold());
     navigationEventDispatcher = new NavigationEventDispatcher();
     navigationEngineFactory = new NavigationEngineFactory();
     initializeDefaultLocationEngine();
@@ -785,6 +1036,7 @@ public class MapboxNavigation implements ServiceConnection {
   private void initialize() {
     // Initialize event dispatcher and add internal listeners
     mapboxNavigator = new MapboxNavigator(new Navigator());
+    locationIngestionPipeline = new LocationIngestionPipeline(options.locationAcceptableAccuracyInMetersThreshold());
     navigationEventDispatcher = new NavigationEventDispatcher();
     navigationEngineFactory = new NavigationEngineFactory();
     initializeDefaultLocationEngine();
@@ -849,9 +1101,11 @@ public class MapboxNavigation implements ServiceConnection {
 
   private void startNavigationWith(@NonNull DirectionsRoute directionsRoute) {
     ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
+    this.routeGeometryIndex = RouteGeometryIndex.create(directionsRoute);
     this.directionsRoute = directionsRoute;
-    mapboxNavigator.updateRoute(directionsRoute.toJson());
+    NavigatorCommandQueue.await(mapboxNavigator.updateRoute(directionsRoute.toJson()));
     if (!isBound) {
+      locationIngestionPipeline.reset();
       navigationTelemetry.startSession(directionsRoute);
       startNavigationService();
       navigationEventDispatcher.onNavigationEvent(true);
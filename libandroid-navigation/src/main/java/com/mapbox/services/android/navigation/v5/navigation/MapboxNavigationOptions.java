@@ -8,6 +8,10 @@ import com.mapbox.services.android.navigation.v5.navigation.notification.Navigat
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
   .NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ROUNDING_INCREMENT_FIFTY;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_INTERVAL_IN_MILLISECONDS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_MODE_FIXED_INTERVAL;
 
 /**
  * Immutable and can't be changed after passing into {@link MapboxNavigation}.
@@ -60,6 +64,14 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int navigationLocationEngineIntervalLagInMilliseconds();
 
+  @NavigationConstants.RouteProcessingMode
+  public abstract int routeProcessingMode();
+
+  public abstract int routeProcessingIntervalInMilliseconds();
+
+  @Nullable
+  public abstract RouteProcessingPolicy routeProcessingPolicy();
+
   public abstract Builder toBuilder();
 
   @AutoValue.Builder
@@ -107,6 +119,12 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder navigationLocationEngineIntervalLagInMilliseconds(int lagInMilliseconds);
 
+    public abstract Builder routeProcessingMode(@NavigationConstants.RouteProcessingMode int routeProcessingMode);
+
+    public abstract Builder routeProcessingIntervalInMilliseconds(int intervalInMilliseconds);
+
+    public abstract Builder routeProcessingPolicy(@Nullable RouteProcessingPolicy routeProcessingPolicy);
+
     public abstract MapboxNavigationOptions build();
   }
 
@@ -131,6 +149,8 @@ public abstract class MapboxNavigationOptions {
       .roundingIncrement(ROUNDING_INCREMENT_FIFTY)
       .timeFormatType(NavigationTimeFormat.NONE_SPECIFIED)
       .locationAcceptableAccuracyInMetersThreshold(NavigationConstants.ONE_HUNDRED_METER_ACCEPTABLE_ACCURACY_THRESHOLD)
-      .navigationLocationEngineIntervalLagInMilliseconds(NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG);
+      .navigationLocationEngineIntervalLagInMilliseconds(NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG)
+      .routeProcessingMode(ROUTE_PROCESSING_MODE_FIXED_INTERVAL)
+      .routeProcessingIntervalInMilliseconds(ROUTE_PROCESSING_INTERVAL_IN_MILLISECONDS);
   }
 }
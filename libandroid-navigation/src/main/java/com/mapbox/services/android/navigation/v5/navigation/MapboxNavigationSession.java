@@ -0,0 +1,58 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+
+/**
+ * Hands the route processor the state of a {@link MapboxNavigation}, which is read again on each
+ * run so a new route or new options apply from the next run on.
+ */
+class MapboxNavigationSession implements RouteProcessorSession {
+
+  private final MapboxNavigation navigation;
+
+  MapboxNavigationSession(MapboxNavigation navigation) {
+    this.navigation = navigation;
+  }
+
+  @Override
+  public MapboxNavigationOptions options() {
+    return navigation.options();
+  }
+
+  @Override
+  public DirectionsRoute getRoute() {
+    return navigation.getRoute();
+  }
+
+  @Override
+  public RouteGeometryIndex retrieveRouteGeometryIndex() {
+    return navigation.retrieveRouteGeometryIndex();
+  }
+
+  @Override
+  public MilestoneScheduler retrieveMilestoneScheduler() {
+    return navigation.retrieveMilestoneScheduler();
+  }
+
+  @Override
+  public NavigationEventDispatcher getEventDispatcher() {
+    return navigation.getEventDispatcher();
+  }
+
+  @Override
+  public NavigationEngineFactory retrieveEngineFactory() {
+    return navigation.retrieveEngineFactory();
+  }
+
+  @Override
+  public MapboxNavigator retrieveMapboxNavigator() {
+    return navigation.retrieveMapboxNavigator();
+  }
+
+  @Override
+  public LocationIngestionPipeline retrieveLocationIngestionPipeline() {
+    return navigation.retrieveLocationIngestionPipeline();
+  }
+}
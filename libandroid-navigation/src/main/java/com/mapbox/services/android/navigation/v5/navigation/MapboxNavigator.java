@@ -8,32 +8,83 @@ import com.mapbox.navigator.NavigationStatus;
 import com.mapbox.navigator.Navigator;
 
 import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+/**
+ * Sends the commands of a navigation session to the {@link Navigator}. Rather than locking around
+ * every call, commands go through a {@link NavigatorCommandQueue}: callers enqueue without blocking
+ * and a single writer at a time runs the commands in order.
+ * <p>
+ * Commands reach the navigator through a {@link NavigatorBackend}, so benchmarks can run the route
+ * processor against a stand-in for the native library.
+ */
 class MapboxNavigator {
 
-  private final Navigator navigator;
+  private final NavigatorBackend navigator;
+  private final NavigatorCommandQueue commandQueue = new NavigatorCommandQueue();
+  private FixLocation[] fixLocationBatch = new FixLocation[0];
 
   MapboxNavigator(Navigator navigator) {
+    this(new NativeNavigatorBackend(navigator));
+  }
+
+  MapboxNavigator(NavigatorBackend navigator) {
     this.navigator = navigator;
   }
 
-  synchronized void updateRoute(String routeJson) {
-    // TODO route_index (Which route to follow) and leg_index (Which leg to follow) are hardcoded for now
-    navigator.setRoute(routeJson, 0, 0);
+  Future<Void> updateRoute(final String routeJson) {
+    return commandQueue.submit(new Callable<Void>() {
+      @Override
+      public Void call() {
+        // TODO route_index (Which route to follow) and leg_index (Which leg to follow) are hardcoded for now
+        navigator.setRoute(routeJson, 0, 0);
+        return null;
+      }
+    });
   }
 
-  synchronized NavigationStatus retrieveStatus(Date date, long lagInMilliseconds) {
+  Future<NavigationStatus> retrieveStatus(final Date date, long lagInMilliseconds) {
     // We ask for a point slightly in the future to account for lag in location services
     if (lagInMilliseconds > 0) {
       date.setTime(date.getTime() + lagInMilliseconds);
     }
-    return navigator.getStatus(date);
+    return commandQueue.submit(new Callable<NavigationStatus>() {
+      @Override
+      public NavigationStatus call() {
+        return navigator.getStatus(date);
+      }
+    });
   }
 
-  void updateLocation(Location raw) {
-    FixLocation fixedLocation = buildFixLocationFromLocation(raw);
-    synchronized (this) {
-      navigator.updateLocation(fixedLocation);
+  /**
+   * Passes a batch of location updates to the navigator as one command. Must only be called from
+   * the route processor thread; returns once the navigator received the batch, as the batch buffer
+   * is reused between calls.
+   *
+   * @param locations     updates to pass, oldest first
+   * @param receivedTimes wall clock times the updates were received at
+   * @param count         number of updates in the arrays
+   */
+  void updateLocations(Location[] locations, long[] receivedTimes, final int count) {
+    if (fixLocationBatch.length < count) {
+      fixLocationBatch = new FixLocation[count];
+    }
+    final FixLocation[] batch = fixLocationBatch;
+    for (int i = 0; i < count; i++) {
+      batch[i] = buildFixLocationFromLocation(locations[i], receivedTimes[i]);
+    }
+    NavigatorCommandQueue.await(commandQueue.submit(new Callable<Void>() {
+      @Override
+      public Void call() {
+        for (int i = 0; i < count; i++) {
+          navigator.updateLocation(batch[i]);
+        }
+        return null;
+      }
+    }));
+    for (int i = 0; i < count; i++) {
+      batch[i] = null;
     }
   }
 
@@ -41,11 +92,16 @@ class MapboxNavigator {
    * Gets the history of state changing calls to the navigator this can be used to
    * replay a sequence of events for the purpose of bug fixing.
    *
-   * @return a json representing the series of events that happened since the last time
-   * history was toggled on
+   * @return a future of the json representing the series of events that happened since the
+   * last time history was toggled on
    */
-  synchronized String retrieveHistory() {
-    return navigator.getHistory();
+  Future<String> retrieveHistory() {
+    return commandQueue.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        return navigator.getHistory();
+      }
+    });
   }
 
   /**
@@ -54,13 +110,41 @@ class MapboxNavigator {
    * @param isEnabled set this to true to turn on history recording and false to turn it off
    *                  toggling will reset all history call getHistory first before toggling
    *                  to retain a copy
+   * @return a future completed once history was toggled
    */
-  synchronized void toggleHistory(boolean isEnabled) {
-    navigator.toggleHistory(isEnabled);
+  Future<Void> toggleHistory(final boolean isEnabled) {
+    return commandQueue.submit(new Callable<Void>() {
+      @Override
+      public Void call() {
+        navigator.toggleHistory(isEnabled);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Takes the history recorded since the previous drain and starts recording anew, as one command
+   * so no other command is left out between the two.
+   *
+   * @return a future of the json representing the series of events since the previous drain
+   */
+  Future<String> drainHistory() {
+    return commandQueue.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        String history = navigator.getHistory();
+        navigator.toggleHistory(true);
+        return history;
+      }
+    });
+  }
+
+  NavigatorCommandCounters retrieveCommandCounters() {
+    return commandQueue.retrieveCounters();
   }
 
-  FixLocation buildFixLocationFromLocation(Location location) {
-    Date time = new Date();
+  FixLocation buildFixLocationFromLocation(Location location, long receivedTimeMillis) {
+    Date time = new Date(receivedTimeMillis);
     Point rawPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
     Float speed = checkFor(location.getSpeed());
     Float bearing = checkFor(location.getBearing());
@@ -0,0 +1,174 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.navigator.VoiceInstruction;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recyclable {@link RouteProgressSnapshot} filled on the navigation thread by the
+ * {@link NavigationRouteProcessor} and dispatched to the main thread by running it.
+ * <p>
+ * A snapshot is marked in use when obtained from the {@link RouteProgressSnapshotPool} and released
+ * once it has been dispatched, so it is never refilled while listeners are reading it.
+ */
+class MutableRouteProgressSnapshot extends RouteProgressSnapshot implements Runnable {
+
+  private final AtomicBoolean inUse = new AtomicBoolean(false);
+  private RouteProcessorBackgroundThread.Listener dispatchListener;
+  private Location location;
+  private DirectionsRoute directionsRoute;
+  private int legIndex;
+  private int stepIndex;
+  private double distanceRemaining;
+  private double legDistanceRemaining;
+  private double legDurationRemaining;
+  private double stepDistanceRemaining;
+  private double stepDistanceTraveled;
+  private List<Point> currentStepPoints;
+  private List<Point> upcomingStepPoints;
+  private StepIntersection currentIntersection;
+  private StepIntersection upcomingIntersection;
+  private boolean inTunnel;
+  private VoiceInstruction voiceInstruction;
+  private long sequenceNumber;
+
+  boolean acquire() {
+    return inUse.compareAndSet(false, true);
+  }
+
+  void release() {
+    dispatchListener = null;
+    location = null;
+    inUse.set(false);
+  }
+
+  void prepareDispatch(RouteProcessorBackgroundThread.Listener dispatchListener, Location location) {
+    this.dispatchListener = dispatchListener;
+    this.location = location;
+  }
+
+  @Override
+  public void run() {
+    try {
+      dispatchListener.onNewRouteProgressSnapshot(location, this);
+    } finally {
+      release();
+    }
+  }
+
+  void update(DirectionsRoute directionsRoute, int legIndex, int stepIndex, double distanceRemaining,
+              double legDistanceRemaining, double legDurationRemaining, double stepDistanceRemaining,
+              double stepDistanceTraveled) {
+    this.directionsRoute = directionsRoute;
+    this.legIndex = legIndex;
+    this.stepIndex = stepIndex;
+    this.distanceRemaining = distanceRemaining;
+    this.legDistanceRemaining = legDistanceRemaining;
+    this.legDurationRemaining = legDurationRemaining;
+    this.stepDistanceRemaining = stepDistanceRemaining;
+    this.stepDistanceTraveled = stepDistanceTraveled;
+  }
+
+  void updateSequenceNumber(long sequenceNumber) {
+    this.sequenceNumber = sequenceNumber;
+  }
+
+  void updateGeometry(List<Point> currentStepPoints, @Nullable List<Point> upcomingStepPoints,
+                      StepIntersection currentIntersection, @Nullable StepIntersection upcomingIntersection) {
+    this.currentStepPoints = currentStepPoints;
+    this.upcomingStepPoints = upcomingStepPoints;
+    this.currentIntersection = currentIntersection;
+    this.upcomingIntersection = upcomingIntersection;
+  }
+
+  void updateStatus(boolean inTunnel, @Nullable VoiceInstruction voiceInstruction) {
+    this.inTunnel = inTunnel;
+    this.voiceInstruction = voiceInstruction;
+  }
+
+  @Override
+  public DirectionsRoute directionsRoute() {
+    return directionsRoute;
+  }
+
+  @Override
+  public int legIndex() {
+    return legIndex;
+  }
+
+  @Override
+  public int stepIndex() {
+    return stepIndex;
+  }
+
+  @Override
+  public double distanceRemaining() {
+    return distanceRemaining;
+  }
+
+  @Override
+  public double legDistanceRemaining() {
+    return legDistanceRemaining;
+  }
+
+  @Override
+  public double legDurationRemaining() {
+    return legDurationRemaining;
+  }
+
+  @Override
+  public double stepDistanceRemaining() {
+    return stepDistanceRemaining;
+  }
+
+  @Override
+  public double stepDistanceTraveled() {
+    return stepDistanceTraveled;
+  }
+
+  @Override
+  public List<Point> currentStepPoints() {
+    return currentStepPoints;
+  }
+
+  @Nullable
+  @Override
+  public List<Point> upcomingStepPoints() {
+    return upcomingStepPoints;
+  }
+
+  @Override
+  public StepIntersection currentIntersection() {
+    return currentIntersection;
+  }
+
+  @Nullable
+  @Override
+  public StepIntersection upcomingIntersection() {
+    return upcomingIntersection;
+  }
+
+  @Override
+  public boolean inTunnel() {
+    return inTunnel;
+  }
+
+  @Nullable
+  @Override
+  public VoiceInstruction voiceInstruction() {
+    return voiceInstruction;
+  }
+
+  @Override
+  public long sequenceNumber() {
+    return sequenceNumber;
+  }
+}
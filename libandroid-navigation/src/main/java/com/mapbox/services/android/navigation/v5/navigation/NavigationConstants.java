@@ -203,6 +203,38 @@ public final class NavigationConstants {
    */
   static final int NAVIGATION_LOCATION_ENGINE_INTERVAL_LAG = 1500;
 
+  /**
+   * Default interval in milliseconds the route processor runs at when
+   * {@link #ROUTE_PROCESSING_MODE_FIXED_INTERVAL} is used. When
+   * {@link #ROUTE_PROCESSING_MODE_LOCATION_DRIVEN} is used, this is the longest time the processor
+   * waits for a location update before running anyways, so dead reckoning keeps progress moving.
+   *
+   * @since 0.23.0
+   */
+  static final int ROUTE_PROCESSING_INTERVAL_IN_MILLISECONDS = 1000;
+
+  /**
+   * Default interval in milliseconds the navigator history is drained to disk at while recording.
+   *
+   * @since 0.23.0
+   */
+  static final long HISTORY_DRAIN_INTERVAL_IN_MILLISECONDS = 60000L;
+
+  /**
+   * Default size in bytes the recorded history files may take up together before the oldest
+   * ones are deleted.
+   *
+   * @since 0.23.0
+   */
+  static final long HISTORY_MAXIMUM_SIZE_IN_BYTES = 64L * 1024L * 1024L;
+
+  /**
+   * Default age in milliseconds after which recorded history files are deleted.
+   *
+   * @since 0.23.0
+   */
+  static final long HISTORY_MAXIMUM_AGE_IN_MILLISECONDS = 24L * 60L * 60L * 1000L;
+
   /**
    * Defines the minimum zoom level of the displayed map.
    */
@@ -304,6 +336,100 @@ public final class NavigationConstants {
   public static final String TURN_LANE_INDICATION_SLIGHT_RIGHT = "slight right";
   public static final String TURN_LANE_INDICATION_UTURN = "uturn";
 
+  // Route Processing Modes
+  /**
+   * The route processor runs on a fixed interval, independent of incoming location updates.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_MODE_FIXED_INTERVAL = 0;
+
+  /**
+   * The route processor runs as soon as a new location update arrives, coalescing updates that
+   * arrive while it is busy. A watchdog run still happens after the processing interval without
+   * location updates.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_MODE_LOCATION_DRIVEN = 1;
+
+  @IntDef( {
+    ROUTE_PROCESSING_MODE_FIXED_INTERVAL,
+    ROUTE_PROCESSING_MODE_LOCATION_DRIVEN
+  })
+  public @interface RouteProcessingMode {
+  }
+
+  // Route Processing Stages
+  /**
+   * Retrieving the navigation status from the native navigator.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_STATUS = 0;
+
+  /**
+   * Building the new route progress from the navigation status.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_ROUTE_PROGRESS = 1;
+
+  /**
+   * Checking the off-route engine.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_OFF_ROUTE = 2;
+
+  /**
+   * Finding the snapped location with the snap engine.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_SNAP = 3;
+
+  /**
+   * Checking the faster route engine.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_FASTER_ROUTE = 4;
+
+  /**
+   * Finding the triggered milestones.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_MILESTONES = 5;
+
+  /**
+   * Choosing the interval until the next run.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_INTERVAL = 6;
+
+  /**
+   * Handing the results over to the main thread.
+   *
+   * @since 0.23.0
+   */
+  public static final int ROUTE_PROCESSING_STAGE_DISPATCH = 7;
+
+  @IntDef( {
+    ROUTE_PROCESSING_STAGE_STATUS,
+    ROUTE_PROCESSING_STAGE_ROUTE_PROGRESS,
+    ROUTE_PROCESSING_STAGE_OFF_ROUTE,
+    ROUTE_PROCESSING_STAGE_SNAP,
+    ROUTE_PROCESSING_STAGE_FASTER_ROUTE,
+    ROUTE_PROCESSING_STAGE_MILESTONES,
+    ROUTE_PROCESSING_STAGE_INTERVAL,
+    ROUTE_PROCESSING_STAGE_DISPATCH
+  })
+  public @interface RouteProcessingStage {
+  }
+
   // Distance Rounding Increments
   public static final int ROUNDING_INCREMENT_FIVE = 5;
   public static final int ROUNDING_INCREMENT_TEN = 10;
@@ -10,8 +10,11 @@ import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListene
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListener;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgressListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshotListener;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,8 +26,14 @@ class NavigationEventDispatcher {
   private CopyOnWriteArrayList<NavigationEventListener> navigationEventListeners;
   private CopyOnWriteArrayList<MilestoneEventListener> milestoneEventListeners;
   private CopyOnWriteArrayList<ProgressChangeListener> progressChangeListeners;
+  private CopyOnWriteArrayList<RouteProgressSnapshotListener> snapshotListeners;
   private CopyOnWriteArrayList<OffRouteListener> offRouteListeners;
   private CopyOnWriteArrayList<FasterRouteListener> fasterRouteListeners;
+  private CopyOnWriteArrayList<RouteProcessingIntervalListener> routeProcessingIntervalListeners;
+  private CopyOnWriteArrayList<RouteProgressCoalescedListener> coalescedListeners;
+  private CopyOnWriteArrayList<RouteProcessingTimingListener> timingListeners;
+  private CopyOnWriteArrayList<InterpolatedRouteProgressListener> interpolatedProgressListeners;
+  private InterpolatedRouteProgressPublisher interpolatedProgressPublisher;
   private NavigationMetricListener metricEventListener;
   private RouteUtils routeUtils;
 
@@ -36,8 +45,13 @@ class NavigationEventDispatcher {
     navigationEventListeners = new CopyOnWriteArrayList<>();
     milestoneEventListeners = new CopyOnWriteArrayList<>();
     progressChangeListeners = new CopyOnWriteArrayList<>();
+    snapshotListeners = new CopyOnWriteArrayList<>();
     offRouteListeners = new CopyOnWriteArrayList<>();
     fasterRouteListeners = new CopyOnWriteArrayList<>();
+    routeProcessingIntervalListeners = new CopyOnWriteArrayList<>();
+    coalescedListeners = new CopyOnWriteArrayList<>();
+    timingListeners = new CopyOnWriteArrayList<>();
+    interpolatedProgressListeners = new CopyOnWriteArrayList<>();
     this.routeUtils = routeUtils;
   }
 
@@ -77,6 +91,36 @@ class NavigationEventDispatcher {
     }
   }
 
+  /**
+   * Whether anything reads the route progress of each update, either a progress change listener
+   * or the metrics of the session.
+   */
+  boolean hasProgressChangeListeners() {
+    return !progressChangeListeners.isEmpty() || metricEventListener != null;
+  }
+
+  void addRouteProgressSnapshotListener(@NonNull RouteProgressSnapshotListener snapshotListener) {
+    if (snapshotListeners.contains(snapshotListener)) {
+      Timber.w("The specified RouteProgressSnapshotListener has already been added to the stack.");
+      return;
+    }
+    snapshotListeners.add(snapshotListener);
+  }
+
+  void removeRouteProgressSnapshotListener(@Nullable RouteProgressSnapshotListener snapshotListener) {
+    if (snapshotListener == null) {
+      snapshotListeners.clear();
+    } else if (!snapshotListeners.contains(snapshotListener)) {
+      Timber.w("The specified RouteProgressSnapshotListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      snapshotListeners.remove(snapshotListener);
+    }
+  }
+
+  boolean hasRouteProgressSnapshotListeners() {
+    return !snapshotListeners.isEmpty() || !interpolatedProgressListeners.isEmpty();
+  }
+
   void addOffRouteListener(@NonNull OffRouteListener offRouteListener) {
     if (offRouteListeners.contains(offRouteListener)) {
       Timber.w("The specified OffRouteListener has already been added to the stack.");
@@ -131,6 +175,92 @@ class NavigationEventDispatcher {
     }
   }
 
+  void addRouteProcessingIntervalListener(@NonNull RouteProcessingIntervalListener intervalListener) {
+    if (routeProcessingIntervalListeners.contains(intervalListener)) {
+      Timber.w("The specified RouteProcessingIntervalListener has already been added to the stack.");
+      return;
+    }
+    routeProcessingIntervalListeners.add(intervalListener);
+  }
+
+  void removeRouteProcessingIntervalListener(@Nullable RouteProcessingIntervalListener intervalListener) {
+    if (intervalListener == null) {
+      routeProcessingIntervalListeners.clear();
+    } else if (!routeProcessingIntervalListeners.contains(intervalListener)) {
+      Timber.w("The specified RouteProcessingIntervalListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      routeProcessingIntervalListeners.remove(intervalListener);
+    }
+  }
+
+  void addRouteProgressCoalescedListener(@NonNull RouteProgressCoalescedListener coalescedListener) {
+    if (coalescedListeners.contains(coalescedListener)) {
+      Timber.w("The specified RouteProgressCoalescedListener has already been added to the stack.");
+      return;
+    }
+    coalescedListeners.add(coalescedListener);
+  }
+
+  void removeRouteProgressCoalescedListener(@Nullable RouteProgressCoalescedListener coalescedListener) {
+    if (coalescedListener == null) {
+      coalescedListeners.clear();
+    } else if (!coalescedListeners.contains(coalescedListener)) {
+      Timber.w("The specified RouteProgressCoalescedListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      coalescedListeners.remove(coalescedListener);
+    }
+  }
+
+  void addRouteProcessingTimingListener(@NonNull RouteProcessingTimingListener timingListener) {
+    if (timingListeners.contains(timingListener)) {
+      Timber.w("The specified RouteProcessingTimingListener has already been added to the stack.");
+      return;
+    }
+    timingListeners.add(timingListener);
+  }
+
+  void removeRouteProcessingTimingListener(@Nullable RouteProcessingTimingListener timingListener) {
+    if (timingListener == null) {
+      timingListeners.clear();
+    } else if (!timingListeners.contains(timingListener)) {
+      Timber.w("The specified RouteProcessingTimingListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      timingListeners.remove(timingListener);
+    }
+  }
+
+  boolean hasRouteProcessingTimingListeners() {
+    return !timingListeners.isEmpty();
+  }
+
+  /**
+   * The publisher is created with the first listener, on the main thread. Snapshots are filled
+   * while interpolated progress listeners are added, see {@link #hasRouteProgressSnapshotListeners()}.
+   */
+  void addInterpolatedRouteProgressListener(@NonNull InterpolatedRouteProgressListener interpolatedListener) {
+    if (interpolatedProgressListeners.contains(interpolatedListener)) {
+      Timber.w("The specified InterpolatedRouteProgressListener has already been added to the stack.");
+      return;
+    }
+    interpolatedProgressListeners.add(interpolatedListener);
+    if (interpolatedProgressPublisher == null) {
+      interpolatedProgressPublisher = new InterpolatedRouteProgressPublisher(interpolatedProgressListeners);
+    }
+  }
+
+  void removeInterpolatedRouteProgressListener(@Nullable InterpolatedRouteProgressListener interpolatedListener) {
+    if (interpolatedListener == null) {
+      interpolatedProgressListeners.clear();
+    } else if (!interpolatedProgressListeners.contains(interpolatedListener)) {
+      Timber.w("The specified InterpolatedRouteProgressListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      interpolatedProgressListeners.remove(interpolatedListener);
+    }
+    if (interpolatedProgressListeners.isEmpty() && interpolatedProgressPublisher != null) {
+      interpolatedProgressPublisher.stop();
+    }
+  }
+
   void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
     checkForArrivalEvent(routeProgress, milestone);
     for (MilestoneEventListener milestoneEventListener : milestoneEventListeners) {
@@ -145,6 +275,15 @@ class NavigationEventDispatcher {
     }
   }
 
+  void onRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    for (RouteProgressSnapshotListener snapshotListener : snapshotListeners) {
+      snapshotListener.onProgressSnapshot(location, snapshot);
+    }
+    if (interpolatedProgressPublisher != null) {
+      interpolatedProgressPublisher.onProgressSnapshot(location, snapshot);
+    }
+  }
+
   void onUserOffRoute(Location location) {
     for (OffRouteListener offRouteListener : offRouteListeners) {
       offRouteListener.userOffRoute(location);
@@ -166,6 +305,24 @@ class NavigationEventDispatcher {
     }
   }
 
+  void onRouteProcessingInterval(long intervalInMilliseconds) {
+    for (RouteProcessingIntervalListener intervalListener : routeProcessingIntervalListeners) {
+      intervalListener.onRouteProcessingInterval(intervalInMilliseconds);
+    }
+  }
+
+  void onRouteProgressCoalesced(int coalescedUpdateCount) {
+    for (RouteProgressCoalescedListener coalescedListener : coalescedListeners) {
+      coalescedListener.onRouteProgressCoalesced(coalescedUpdateCount);
+    }
+  }
+
+  void onRouteProcessingTimings(RouteProcessingTimings timings) {
+    for (RouteProcessingTimingListener timingListener : timingListeners) {
+      timingListener.onRouteProcessingTimings(timings);
+    }
+  }
+
   void addMetricEventListeners(NavigationMetricListener eventListeners) {
     if (metricEventListener == null) {
       metricEventListener = eventListeners;
@@ -10,10 +10,9 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.MaxSpeed;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
@@ -66,14 +65,14 @@ public class NavigationHelper {
     List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
     Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
 
-    LineString lineString = LineString.fromPolyline(steps.get(stepIndex).geometry(),
-      Constants.PRECISION_6);
+    List<Point> stepPoints = PolylineDecoder.decodePoints(steps.get(stepIndex).geometry(), PRECISION_6);
     // If the users snapped position equals the next maneuver
     // position or the linestring coordinate size is less than 2,the distance remaining is zero.
-    if (snappedPosition.equals(nextManeuverPosition) || lineString.coordinates().size() < 2) {
+    if (snappedPosition.equals(nextManeuverPosition) || stepPoints.size() < 2) {
       return 0;
     }
-    LineString slicedLine = TurfMisc.lineSlice(snappedPosition, nextManeuverPosition, lineString);
+    LineString slicedLine = TurfMisc.lineSlice(snappedPosition, nextManeuverPosition,
+      LineString.fromLngLats(stepPoints));
     return TurfMeasurement.length(slicedLine, TurfConstants.UNIT_METERS);
   }
 
@@ -134,8 +133,8 @@ public class NavigationHelper {
    * Given the current {@link DirectionsRoute} and leg / step index,
    * return a list of {@link Point} representing the current step.
    * <p>
-   * This method is only used on a per-step basis as {@link PolylineUtils#decode(String, int)}
-   * can be a heavy operation based on the length of the step.
+   * This method is only used on a per-step basis as decoding can be a heavy operation based on
+   * the length of the step. The returned list only creates the points which are read.
    * <p>
    * Returns null if index is invalid.
    *
@@ -164,7 +163,7 @@ public class NavigationHelper {
     }
     String stepGeometry = step.geometry();
     if (stepGeometry != null) {
-      return PolylineUtils.decode(stepGeometry, PRECISION_6);
+      return PolylineDecoder.decodePoints(stepGeometry, PRECISION_6);
     }
     return currentPoints;
   }
@@ -241,11 +240,11 @@ public class NavigationHelper {
   public static StepIntersection findCurrentIntersection(@NonNull List<StepIntersection> intersections,
                                                   @NonNull List<Pair<StepIntersection, Double>> measuredIntersections,
                                                   double stepDistanceTraveled) {
-    for (Pair<StepIntersection, Double> measuredIntersection : measuredIntersections) {
+    int measuredIntersectionSize = measuredIntersections.size();
+    for (int intersectionIndex = 0; intersectionIndex < measuredIntersectionSize; intersectionIndex++) {
+      Pair<StepIntersection, Double> measuredIntersection = measuredIntersections.get(intersectionIndex);
       double intersectionDistance = measuredIntersection.second;
-      int intersectionIndex = measuredIntersections.indexOf(measuredIntersection);
       int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
-      int measuredIntersectionSize = measuredIntersections.size();
       boolean hasValidNextIntersection = nextIntersectionIndex < measuredIntersectionSize;
 
       if (hasValidNextIntersection) {
@@ -354,7 +353,6 @@ public class NavigationHelper {
   private static int findAnnotationIndex(CurrentLegAnnotation currentLegAnnotation,
                                          CurrentLegAnnotation.Builder annotationBuilder, RouteLeg leg,
                                          double legDistanceRemaining, List<Double> distanceAnnotationList) {
-    List<Double> legDistances = new ArrayList<>(distanceAnnotationList);
     Double totalLegDistance = leg.distance();
     double distanceTraveled = totalLegDistance - legDistanceRemaining;
 
@@ -364,8 +362,8 @@ public class NavigationHelper {
       distanceIndex = currentLegAnnotation.index();
       annotationDistancesTraveled = currentLegAnnotation.distanceToAnnotation();
     }
-    for (int i = distanceIndex; i < legDistances.size(); i++) {
-      Double distance = legDistances.get(i);
+    for (int i = distanceIndex; i < distanceAnnotationList.size(); i++) {
+      Double distance = distanceAnnotationList.get(i);
       annotationDistancesTraveled += distance;
       if (annotationDistancesTraveled > distanceTraveled) {
         double distanceToAnnotation = annotationDistancesTraveled - distance;
@@ -0,0 +1,178 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import timber.log.Timber;
+
+/**
+ * Records the navigator history to disk while a session runs, instead of keeping all of it in
+ * the navigator until it is retrieved in one piece.
+ * <p>
+ * On a background thread, the history recorded since the previous drain is taken from the
+ * navigator every {@link NavigationHistoryRecorderOptions#drainIntervalInMilliseconds()} and
+ * appended to the current segment file as its own gzip member, so memory use only depends on the
+ * drain interval and not on the length of the session. Segments are started anew once they reach
+ * an eighth of the maximum size or age, and whole segments are deleted, oldest first, to keep
+ * within {@link NavigationHistoryRecorderOptions#maximumSizeInBytes()} and
+ * {@link NavigationHistoryRecorderOptions#maximumAgeInMilliseconds()}.
+ */
+class NavigationHistoryRecorder implements Runnable {
+
+  static final String SEGMENT_PREFIX = "history_";
+  static final String SEGMENT_SUFFIX = ".json.gz";
+  private static final String EMPTY_HISTORY = "{}";
+  private static final char NEW_LINE = '\n';
+  private static final int SEGMENTS_PER_LIMIT = 8;
+  private static final int BUFFER_SIZE = 8192;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final MapboxNavigator navigator;
+  private final NavigationHistoryRecorderOptions options;
+  private final ScheduledExecutorService executor;
+  private final long segmentSizeInBytes;
+  private final long segmentAgeInMilliseconds;
+  private ScheduledFuture<?> drainFuture;
+  private File currentSegment;
+  private long currentSegmentStartTime;
+
+  NavigationHistoryRecorder(MapboxNavigator navigator, NavigationHistoryRecorderOptions options,
+                            ScheduledExecutorService executor) {
+    this.navigator = navigator;
+    this.options = options;
+    this.executor = executor;
+    this.segmentSizeInBytes = Math.max(options.maximumSizeInBytes() / SEGMENTS_PER_LIMIT, 1);
+    this.segmentAgeInMilliseconds = Math.max(options.maximumAgeInMilliseconds() / SEGMENTS_PER_LIMIT, 1);
+  }
+
+  /**
+   * Turns on history recording in the navigator and schedules the drains.
+   */
+  void start() {
+    NavigatorCommandQueue.await(navigator.toggleHistory(true));
+    long interval = options.drainIntervalInMilliseconds();
+    drainFuture = executor.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the scheduled drains, writes the history recorded since the last one and turns history
+   * recording in the navigator off. The background thread finishes once this last drain is done.
+   */
+  void stop() {
+    if (drainFuture != null) {
+      drainFuture.cancel(false);
+    }
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        drain(System.currentTimeMillis());
+        NavigatorCommandQueue.await(navigator.toggleHistory(false));
+      }
+    });
+    executor.shutdown();
+  }
+
+  @Override
+  public void run() {
+    drain(System.currentTimeMillis());
+  }
+
+  void drain(long currentTime) {
+    String history = NavigatorCommandQueue.await(navigator.drainHistory());
+    if (history == null || history.isEmpty() || EMPTY_HISTORY.equals(history)) {
+      return;
+    }
+    try {
+      append(obtainSegment(currentTime), history);
+    } catch (IOException exception) {
+      Timber.e(exception, "Navigator history could not be written.");
+    }
+    trimSegments(currentTime);
+  }
+
+  private File obtainSegment(long currentTime) throws IOException {
+    boolean isSegmentFull = currentSegment == null
+      || currentSegment.length() >= segmentSizeInBytes
+      || currentTime - currentSegmentStartTime >= segmentAgeInMilliseconds;
+    if (isSegmentFull) {
+      File directory = options.directory();
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("History directory " + directory + " could not be created.");
+      }
+      currentSegment = buildSegmentFile(directory, currentTime);
+      currentSegmentStartTime = currentTime;
+    }
+    return currentSegment;
+  }
+
+  /**
+   * Segment names hold their zero padded start time, so ordering them by name orders them by age.
+   */
+  private File buildSegmentFile(File directory, long currentTime) {
+    long startTime = currentTime;
+    File segment = new File(directory, buildSegmentName(startTime));
+    while (segment.exists()) {
+      startTime++;
+      segment = new File(directory, buildSegmentName(startTime));
+    }
+    return segment;
+  }
+
+  private String buildSegmentName(long startTime) {
+    return String.format(Locale.US, "%s%013d%s", SEGMENT_PREFIX, startTime, SEGMENT_SUFFIX);
+  }
+
+  private void append(File segment, String history) throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(segment, true);
+    Writer writer = null;
+    try {
+      writer = new OutputStreamWriter(new GZIPOutputStream(outputStream, BUFFER_SIZE), UTF_8);
+      writer.write(history);
+      writer.write(NEW_LINE);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      } else {
+        outputStream.close();
+      }
+    }
+  }
+
+  private void trimSegments(long currentTime) {
+    File[] segments = options.directory().listFiles();
+    if (segments == null) {
+      return;
+    }
+    Arrays.sort(segments);
+    long totalSize = 0;
+    for (int i = segments.length - 1; i >= 0; i--) {
+      File segment = segments[i];
+      if (!isSegment(segment)) {
+        continue;
+      }
+      totalSize += segment.length();
+      if (segment.equals(currentSegment)) {
+        continue;
+      }
+      boolean isTooOld = currentTime - segment.lastModified() > options.maximumAgeInMilliseconds();
+      if ((totalSize > options.maximumSizeInBytes() || isTooOld) && !segment.delete()) {
+        Timber.w("Navigator history segment %s could not be deleted.", segment.getName());
+      }
+    }
+  }
+
+  private boolean isSegment(File file) {
+    String name = file.getName();
+    return file.isFile() && name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+}
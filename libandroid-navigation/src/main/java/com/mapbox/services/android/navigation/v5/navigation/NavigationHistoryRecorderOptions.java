@@ -0,0 +1,55 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+import java.io.File;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .HISTORY_DRAIN_INTERVAL_IN_MILLISECONDS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .HISTORY_MAXIMUM_AGE_IN_MILLISECONDS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .HISTORY_MAXIMUM_SIZE_IN_BYTES;
+
+/**
+ * Configures where and how much navigator history is recorded by
+ * {@link MapboxNavigation#startHistoryRecording(NavigationHistoryRecorderOptions)}.
+ * <p>
+ * The history is written to gzip compressed files in the given directory. Each file holds one
+ * json object per line, one for every drain interval. Once the files together exceed the maximum
+ * size or are older than the maximum age, the oldest ones are deleted.
+ *
+ * @since 0.23.0
+ */
+@AutoValue
+public abstract class NavigationHistoryRecorderOptions {
+
+  public abstract File directory();
+
+  public abstract long drainIntervalInMilliseconds();
+
+  public abstract long maximumSizeInBytes();
+
+  public abstract long maximumAgeInMilliseconds();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    public abstract Builder directory(File directory);
+
+    public abstract Builder drainIntervalInMilliseconds(long drainIntervalInMilliseconds);
+
+    public abstract Builder maximumSizeInBytes(long maximumSizeInBytes);
+
+    public abstract Builder maximumAgeInMilliseconds(long maximumAgeInMilliseconds);
+
+    public abstract NavigationHistoryRecorderOptions build();
+  }
+
+  public static Builder builder() {
+    return new AutoValue_NavigationHistoryRecorderOptions.Builder()
+      .drainIntervalInMilliseconds(HISTORY_DRAIN_INTERVAL_IN_MILLISECONDS)
+      .maximumSizeInBytes(HISTORY_MAXIMUM_SIZE_IN_BYTES)
+      .maximumAgeInMilliseconds(HISTORY_MAXIMUM_AGE_IN_MILLISECONDS);
+  }
+}
@@ -4,19 +4,15 @@ import android.location.Location;
 
 import com.mapbox.android.core.location.LocationEngine;
 import com.mapbox.android.core.location.LocationEngineListener;
-import com.mapbox.services.android.navigation.v5.location.LocationValidator;
 
 class NavigationLocationEngineListener implements LocationEngineListener {
 
   private final RouteProcessorBackgroundThread thread;
   private final LocationEngine locationEngine;
-  private final LocationValidator validator;
 
-  NavigationLocationEngineListener(RouteProcessorBackgroundThread thread, LocationEngine locationEngine,
-                                   LocationValidator validator) {
+  NavigationLocationEngineListener(RouteProcessorBackgroundThread thread, LocationEngine locationEngine) {
     this.thread = thread;
     this.locationEngine = locationEngine;
-    this.validator = validator;
   }
 
   @Override
@@ -25,14 +21,14 @@ class NavigationLocationEngineListener implements LocationEngineListener {
     locationEngine.requestLocationUpdates();
   }
 
+  /**
+   * Validation happens in the {@link LocationIngestionPipeline} of the route processor, so updates
+   * are passed on as they are.
+   */
   @Override
   public void onLocationChanged(Location location) {
     if (location != null) {
       thread.updateRawLocation(location);
     }
   }
-
-  boolean isValidLocationUpdate(Location location) {
-    return location != null && validator.isValidUpdate(location);
-  }
 }
\ No newline at end of file
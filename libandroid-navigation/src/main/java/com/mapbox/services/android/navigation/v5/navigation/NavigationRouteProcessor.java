@@ -1,7 +1,6 @@
 package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.support.annotation.Nullable;
-import android.support.v4.util.Pair;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
@@ -10,40 +9,69 @@ import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
 import com.mapbox.navigator.NavigationStatus;
 import com.mapbox.navigator.VoiceInstruction;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.util.List;
 
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createCurrentAnnotation;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createDistancesToIntersections;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createIntersectionsList;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.decodeStepPoints;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersection;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findUpcomingIntersection;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.routeDistanceRemaining;
 
 class NavigationRouteProcessor {
 
   private static final int ONE_INDEX = 1;
+  private static final int INVALID_INDEX = -1;
   private static final double ONE_SECOND_IN_MILLISECONDS = 1000.0;
   private RouteProgress previousRouteProgress;
   private DirectionsRoute route;
+  private RouteGeometryIndex geometryIndex;
+  private RouteAnnotationTable annotationTable;
+  private int cachedLegIndex = INVALID_INDEX;
+  private int cachedStepIndex = INVALID_INDEX;
   private RouteLeg currentLeg;
   private LegStep currentStep;
   private List<Point> currentStepPoints;
   private LegStep upcomingStep;
   private List<Point> upcomingStepPoints;
-  private List<StepIntersection> currentIntersections;
-  private List<Pair<StepIntersection, Double>> currentIntersectionDistances;
+  private IntersectionDistanceTable intersectionDistanceTable;
   private CurrentLegAnnotation currentLegAnnotation;
+  private int legIndex;
+  private int stepIndex;
+  private double routeDistanceRemaining;
+  private double legDistanceRemaining;
+  private double legDurationRemaining;
+  private double stepDistanceRemaining;
+  private StepIntersection currentIntersection;
+  private StepIntersection upcomingIntersection;
+
+  RouteProgress buildNewRouteProgress(NavigationStatus status, DirectionsRoute route,
+                                      @Nullable RouteGeometryIndex geometryIndex) {
+    return buildNewRouteProgress(status, route, geometryIndex, null);
+  }
+
+  /**
+   * Builds the new route progress and, if provided, fills the recycled snapshot with the same
+   * values without allocating.
+   */
+  RouteProgress buildNewRouteProgress(NavigationStatus status, DirectionsRoute route,
+                                      @Nullable RouteGeometryIndex geometryIndex,
+                                      @Nullable MutableRouteProgressSnapshot snapshot) {
+    updateRoute(route, geometryIndex);
+    return buildRouteProgressFrom(status, snapshot);
+  }
 
-  RouteProgress buildNewRouteProgress(NavigationStatus status, DirectionsRoute route) {
-    updateRoute(route);
-    return buildRouteProgressFrom(status);
+  /**
+   * Fills the recycled snapshot for the new status without building a route progress, for runs
+   * where nothing reads the immutable route progress or its leg and step progress.
+   */
+  void updateRouteProgressSnapshot(NavigationStatus status, DirectionsRoute route,
+                                   @Nullable RouteGeometryIndex geometryIndex,
+                                   MutableRouteProgressSnapshot snapshot) {
+    updateRoute(route, geometryIndex);
+    updateProgressFrom(status, snapshot);
   }
 
-  void updatePreviousRouteProgress(RouteProgress routeProgress) {
+  void updatePreviousRouteProgress(@Nullable RouteProgress routeProgress) {
     previousRouteProgress = routeProgress;
   }
 
@@ -52,34 +80,26 @@ class NavigationRouteProcessor {
     return previousRouteProgress;
   }
 
-  private void updateRoute(DirectionsRoute route) {
-    if (this.route == null || !this.route.equals(route)) {
+  private void updateRoute(DirectionsRoute route, @Nullable RouteGeometryIndex geometryIndex) {
+    if (this.route != route) {
       this.route = route;
+      cachedLegIndex = INVALID_INDEX;
+      cachedStepIndex = INVALID_INDEX;
+      currentLegAnnotation = null;
+    }
+    if (annotationTable == null || !annotationTable.isTableOf(route)) {
+      annotationTable = RouteAnnotationTable.create(route);
+    }
+    if (geometryIndex != null && geometryIndex.isIndexOf(route)) {
+      this.geometryIndex = geometryIndex;
+    } else if (this.geometryIndex == null || !this.geometryIndex.isIndexOf(route)) {
+      this.geometryIndex = RouteGeometryIndex.create(route);
     }
   }
 
-  private RouteProgress buildRouteProgressFrom(NavigationStatus status) {
-    int legIndex = status.getLegIndex();
-    int stepIndex = status.getStepIndex();
-    int upcomingStepIndex = stepIndex + ONE_INDEX;
-    updateSteps(route, legIndex, stepIndex, upcomingStepIndex);
-    updateStepPoints(route, legIndex, stepIndex, upcomingStepIndex);
-    updateIntersections();
-
-    double legDistanceRemaining = status.getRemainingLegDistance();
-    double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, route);
-    double stepDistanceRemaining = status.getRemainingStepDistance();
-    double stepDistanceTraveled = currentStep.distance() - stepDistanceRemaining;
-    double legDurationRemaining = status.getRemainingLegDuration() / ONE_SECOND_IN_MILLISECONDS;
-
-    currentLegAnnotation = createCurrentAnnotation(currentLegAnnotation, currentLeg, legDistanceRemaining);
-    StepIntersection currentIntersection = findCurrentIntersection(
-      currentIntersections, currentIntersectionDistances, stepDistanceTraveled
-    );
-    StepIntersection upcomingIntersection = findUpcomingIntersection(
-      currentIntersections, upcomingStep, currentIntersection
-    );
-
+  private RouteProgress buildRouteProgressFrom(NavigationStatus status,
+                                               @Nullable MutableRouteProgressSnapshot snapshot) {
+    updateProgressFrom(status, snapshot);
     RouteProgress.Builder progressBuilder = RouteProgress.builder()
       .distanceRemaining(routeDistanceRemaining)
       .legDistanceRemaining(legDistanceRemaining)
@@ -90,11 +110,12 @@ class NavigationRouteProcessor {
       .upcomingStepPoints(upcomingStepPoints)
       .stepIndex(stepIndex)
       .legIndex(legIndex)
-      .intersections(currentIntersections)
+      .intersections(intersectionDistanceTable.intersections())
       .currentIntersection(currentIntersection)
       .upcomingIntersection(upcomingIntersection)
-      .intersectionDistancesAlongStep(currentIntersectionDistances)
+      .intersectionDistancesAlongStep(intersectionDistanceTable.measuredIntersections())
       .currentLegAnnotation(currentLegAnnotation)
+      .routeGeometryIndex(geometryIndex)
       .inTunnel(status.getInTunnel());
 
     // TODO build banner instructions from status here
@@ -103,6 +124,43 @@ class NavigationRouteProcessor {
     return progressBuilder.build();
   }
 
+  private void updateProgressFrom(NavigationStatus status, @Nullable MutableRouteProgressSnapshot snapshot) {
+    legIndex = status.getLegIndex();
+    stepIndex = status.getStepIndex();
+    int upcomingStepIndex = stepIndex + ONE_INDEX;
+    updateSteps(route, legIndex, stepIndex, upcomingStepIndex);
+    if (legIndex != cachedLegIndex) {
+      currentLegAnnotation = null;
+    }
+    if (hasStepChanged(legIndex, stepIndex)) {
+      updateStepPoints(legIndex, stepIndex, upcomingStepIndex);
+      updateIntersections(legIndex, stepIndex);
+      cachedLegIndex = legIndex;
+      cachedStepIndex = stepIndex;
+    }
+
+    legDistanceRemaining = status.getRemainingLegDistance();
+    routeDistanceRemaining = annotationTable.routeDistanceRemaining(legDistanceRemaining, legIndex);
+    stepDistanceRemaining = status.getRemainingStepDistance();
+    double stepDistanceTraveled = currentStep.distance() - stepDistanceRemaining;
+    legDurationRemaining = status.getRemainingLegDuration() / ONE_SECOND_IN_MILLISECONDS;
+
+    double legDistanceTraveled = currentLeg.distance() - legDistanceRemaining;
+    currentLegAnnotation = annotationTable.createCurrentAnnotation(
+      currentLegAnnotation, currentLeg, legIndex, legDistanceTraveled
+    );
+    int currentIntersectionIndex = intersectionDistanceTable.findCurrentIntersectionIndex(stepDistanceTraveled);
+    currentIntersection = intersectionDistanceTable.findCurrentIntersection(currentIntersectionIndex);
+    upcomingIntersection = intersectionDistanceTable.findUpcomingIntersection(currentIntersectionIndex);
+
+    if (snapshot != null) {
+      snapshot.update(route, legIndex, stepIndex, routeDistanceRemaining, legDistanceRemaining,
+        legDurationRemaining, stepDistanceRemaining, stepDistanceTraveled);
+      snapshot.updateGeometry(currentStepPoints, upcomingStepPoints, currentIntersection, upcomingIntersection);
+      snapshot.updateStatus(status.getInTunnel(), status.getVoiceInstruction());
+    }
+  }
+
   private void updateSteps(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
     List<RouteLeg> legs = route.legs();
     if (legIndex < legs.size()) {
@@ -115,14 +173,23 @@ class NavigationRouteProcessor {
     upcomingStep = upcomingStepIndex < steps.size() - ONE_INDEX ? steps.get(upcomingStepIndex) : null;
   }
 
-  private void updateStepPoints(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
-    currentStepPoints = decodeStepPoints(route, currentStepPoints, legIndex, stepIndex);
-    upcomingStepPoints = decodeStepPoints(route, null, legIndex, upcomingStepIndex);
+  private boolean hasStepChanged(int legIndex, int stepIndex) {
+    return legIndex != cachedLegIndex || stepIndex != cachedStepIndex;
   }
 
-  private void updateIntersections() {
-    currentIntersections = createIntersectionsList(currentStep, upcomingStep);
-    currentIntersectionDistances = createDistancesToIntersections(currentStepPoints, currentIntersections);
+  private void updateStepPoints(int legIndex, int stepIndex, int upcomingStepIndex) {
+    List<Point> stepPoints = geometryIndex.stepPoints(legIndex, stepIndex);
+    if (stepPoints != null) {
+      currentStepPoints = stepPoints;
+    }
+    upcomingStepPoints = geometryIndex.stepPoints(legIndex, upcomingStepIndex);
+  }
+
+  private void updateIntersections(int legIndex, int stepIndex) {
+    List<StepIntersection> currentIntersections = createIntersectionsList(currentStep, upcomingStep);
+    intersectionDistanceTable = IntersectionDistanceTable.create(
+      geometryIndex, legIndex, stepIndex, currentIntersections, upcomingStep
+    );
   }
 
   private void addUpcomingStepPoints(RouteProgress.Builder progressBuilder) {
@@ -12,10 +12,9 @@ import com.mapbox.android.telemetry.TelemetryUtils;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.core.constants.Constants;
 import com.mapbox.core.utils.TextUtils;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
 import com.mapbox.services.android.navigation.v5.location.MetricsLocation;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListener;
@@ -525,9 +524,8 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private void updateLastRerouteEvent(DirectionsRoute newDirectionsRoute) {
     if (!queuedRerouteEvents.isEmpty()) {
       RerouteEvent rerouteEvent = queuedRerouteEvents.get(queuedRerouteEvents.size() - 1);
-      List<Point> geometryPositions = PolylineUtils.decode(newDirectionsRoute.geometry(), Constants.PRECISION_6);
-      PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
-      rerouteEvent.setNewRouteGeometry(PolylineUtils.encode(geometryPositions, Constants.PRECISION_5));
+      rerouteEvent.setNewRouteGeometry(PolylineDecoder.encodeWithPrecision(newDirectionsRoute.geometry(),
+        Constants.PRECISION_6, Constants.PRECISION_5));
       int newDistanceRemaining = newDirectionsRoute.distance() == null ? 0 : newDirectionsRoute.distance().intValue();
       rerouteEvent.setNewDistanceRemaining(newDistanceRemaining);
       int newDurationRemaining = newDirectionsRoute.duration() == null ? 0 : newDirectionsRoute.duration().intValue();
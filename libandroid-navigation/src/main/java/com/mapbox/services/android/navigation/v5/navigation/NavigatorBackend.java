@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.navigator.FixLocation;
+import com.mapbox.navigator.NavigationStatus;
+
+import java.util.Date;
+
+/**
+ * The calls {@link MapboxNavigator} makes to the native navigator, so the route processor can run
+ * against a stand-in where the native library isn't available. Sessions use the
+ * {@link NativeNavigatorBackend}.
+ */
+interface NavigatorBackend {
+
+  void setRoute(String routeJson, int routeIndex, int legIndex);
+
+  NavigationStatus getStatus(Date date);
+
+  void updateLocation(FixLocation fixLocation);
+
+  String getHistory();
+
+  void toggleHistory(boolean isEnabled);
+}
@@ -0,0 +1,100 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Counts and timings of the commands sent to the navigator of a navigation session, since the
+ * session was created. Commands are run one at a time by whichever thread holds the writer role;
+ * the hold times measure how long that role was held, the wait time how long commands queued.
+ *
+ * @since 0.23.0
+ */
+public class NavigatorCommandCounters {
+
+  private final long executedCount;
+  private final long writeCount;
+  private final int queueDepth;
+  private final int maximumQueueDepth;
+  private final long totalHoldNanoseconds;
+  private final long maximumHoldNanoseconds;
+  private final long maximumWaitNanoseconds;
+
+  NavigatorCommandCounters(long executedCount, long writeCount, int queueDepth, int maximumQueueDepth,
+                           long totalHoldNanoseconds, long maximumHoldNanoseconds, long maximumWaitNanoseconds) {
+    this.executedCount = executedCount;
+    this.writeCount = writeCount;
+    this.queueDepth = queueDepth;
+    this.maximumQueueDepth = maximumQueueDepth;
+    this.totalHoldNanoseconds = totalHoldNanoseconds;
+    this.maximumHoldNanoseconds = maximumHoldNanoseconds;
+    this.maximumWaitNanoseconds = maximumWaitNanoseconds;
+  }
+
+  /**
+   * Commands run against the navigator.
+   *
+   * @return number of run commands
+   * @since 0.23.0
+   */
+  public long executedCount() {
+    return executedCount;
+  }
+
+  /**
+   * Times a thread took the writer role and ran the queued commands.
+   *
+   * @return number of writes
+   * @since 0.23.0
+   */
+  public long writeCount() {
+    return writeCount;
+  }
+
+  /**
+   * Commands waiting to be run when these counters were retrieved.
+   *
+   * @return current number of queued commands
+   * @since 0.23.0
+   */
+  public int queueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Most commands waiting to be run at the same time.
+   *
+   * @return maximum number of queued commands
+   * @since 0.23.0
+   */
+  public int maximumQueueDepth() {
+    return maximumQueueDepth;
+  }
+
+  /**
+   * Total time the writer role was held.
+   *
+   * @return total hold time in nanoseconds
+   * @since 0.23.0
+   */
+  public long totalHoldNanoseconds() {
+    return totalHoldNanoseconds;
+  }
+
+  /**
+   * Longest time the writer role was held at once.
+   *
+   * @return maximum hold time in nanoseconds
+   * @since 0.23.0
+   */
+  public long maximumHoldNanoseconds() {
+    return maximumHoldNanoseconds;
+  }
+
+  /**
+   * Longest time a command waited in the queue before it was run.
+   *
+   * @return maximum wait time in nanoseconds
+   * @since 0.23.0
+   */
+  public long maximumWaitNanoseconds() {
+    return maximumWaitNanoseconds;
+  }
+}
@@ -0,0 +1,140 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer queue for the commands sent to a navigator, replacing a lock around every call.
+ * <p>
+ * Commands are enqueued without blocking from any thread. The thread submitting a command while
+ * no other thread is writing becomes the writer and runs every queued command in order, including
+ * the ones other threads enqueue meanwhile. In a running session this is the route processor
+ * thread, which submits a status command on every run, so commands from other threads are
+ * usually run as part of the next route processor run rather than contending with it.
+ * <p>
+ * Results are handed back through {@link Future}s.
+ */
+class NavigatorCommandQueue {
+
+  private final Queue<NavigatorCommand<?>> commands = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean isWriting = new AtomicBoolean(false);
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicInteger maximumQueueDepth = new AtomicInteger();
+  private volatile long executedCount;
+  private volatile long writeCount;
+  private volatile long totalHoldNanoseconds;
+  private volatile long maximumHoldNanoseconds;
+  private volatile long maximumWaitNanoseconds;
+
+  /**
+   * Enqueues the command and runs the queue if no other thread is running it.
+   *
+   * @param command to run against the navigator
+   * @param <T>     type of the command result
+   * @return future completed once the command ran
+   */
+  <T> Future<T> submit(Callable<T> command) {
+    NavigatorCommand<T> navigatorCommand = new NavigatorCommand<>(command, System.nanoTime());
+    commands.offer(navigatorCommand);
+    updateMaximumQueueDepth(queueDepth.incrementAndGet());
+    write();
+    return navigatorCommand;
+  }
+
+  /**
+   * Waits for the result of a submitted command. Interrupts are deferred until the command ran, so
+   * the navigator state the caller relies on stays consistent.
+   *
+   * @param future of a submitted command
+   * @param <T>    type of the command result
+   * @return the command result
+   */
+  static <T> T await(Future<T> future) {
+    boolean isInterrupted = false;
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException exception) {
+          isInterrupted = true;
+        } catch (ExecutionException exception) {
+          throw rethrow(exception.getCause());
+        }
+      }
+    } finally {
+      if (isInterrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  NavigatorCommandCounters retrieveCounters() {
+    return new NavigatorCommandCounters(executedCount, writeCount, queueDepth.get(), maximumQueueDepth.get(),
+      totalHoldNanoseconds, maximumHoldNanoseconds, maximumWaitNanoseconds);
+  }
+
+  /**
+   * Runs queued commands while holding the writer role. After giving the role up, the queue is
+   * checked again, as a command enqueued right before that would otherwise wait for the next
+   * submission.
+   */
+  private void write() {
+    while (!commands.isEmpty() && isWriting.compareAndSet(false, true)) {
+      long holdStartTime = System.nanoTime();
+      try {
+        runQueuedCommands();
+      } finally {
+        long holdNanoseconds = System.nanoTime() - holdStartTime;
+        writeCount++;
+        totalHoldNanoseconds += holdNanoseconds;
+        maximumHoldNanoseconds = Math.max(maximumHoldNanoseconds, holdNanoseconds);
+        isWriting.set(false);
+      }
+    }
+  }
+
+  private void runQueuedCommands() {
+    NavigatorCommand<?> command = commands.poll();
+    while (command != null) {
+      queueDepth.decrementAndGet();
+      long waitNanoseconds = System.nanoTime() - command.enqueuedTime;
+      maximumWaitNanoseconds = Math.max(maximumWaitNanoseconds, waitNanoseconds);
+      command.run();
+      executedCount++;
+      command = commands.poll();
+    }
+  }
+
+  private void updateMaximumQueueDepth(int depth) {
+    int maximumDepth = maximumQueueDepth.get();
+    while (depth > maximumDepth && !maximumQueueDepth.compareAndSet(maximumDepth, depth)) {
+      maximumDepth = maximumQueueDepth.get();
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw new IllegalStateException("Navigator command failed", cause);
+  }
+
+  private static class NavigatorCommand<T> extends FutureTask<T> {
+
+    private final long enqueuedTime;
+
+    NavigatorCommand(Callable<T> callable, long enqueuedTime) {
+      super(callable);
+      this.enqueuedTime = enqueuedTime;
+    }
+  }
+}
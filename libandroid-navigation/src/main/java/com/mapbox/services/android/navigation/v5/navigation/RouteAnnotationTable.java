@@ -0,0 +1,213 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.MaxSpeed;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import java.util.List;
+
+/**
+ * Distances and durations of a {@link DirectionsRoute} summed once when the route is set.
+ * <p>
+ * Each leg keeps primitive prefix sums of its annotation distances and durations, so the current
+ * annotation can be found with a binary search. The route keeps suffix sums of its leg distances and
+ * durations, so the route remaining values do not need to walk the upcoming legs.
+ */
+class RouteAnnotationTable {
+
+  private static final int FIRST_ANNOTATION = 0;
+  private static final double ZERO = 0d;
+
+  private final DirectionsRoute route;
+  private final double[] legDistanceSuffixes;
+  private final double[] legDurationSuffixes;
+  private final double[][] annotationDistancePrefixes;
+  private final double[][] annotationDurationPrefixes;
+
+  private RouteAnnotationTable(DirectionsRoute route, double[] legDistanceSuffixes, double[] legDurationSuffixes,
+                               double[][] annotationDistancePrefixes, double[][] annotationDurationPrefixes) {
+    this.route = route;
+    this.legDistanceSuffixes = legDistanceSuffixes;
+    this.legDurationSuffixes = legDurationSuffixes;
+    this.annotationDistancePrefixes = annotationDistancePrefixes;
+    this.annotationDurationPrefixes = annotationDurationPrefixes;
+  }
+
+  static RouteAnnotationTable create(@NonNull DirectionsRoute route) {
+    List<RouteLeg> legs = route.legs();
+    int legCount = legs == null ? 0 : legs.size();
+    double[] legDistanceSuffixes = new double[legCount + 1];
+    double[] legDurationSuffixes = new double[legCount + 1];
+    double[][] annotationDistancePrefixes = new double[legCount][];
+    double[][] annotationDurationPrefixes = new double[legCount][];
+    for (int legIndex = legCount - 1; legIndex >= 0; legIndex--) {
+      RouteLeg leg = legs.get(legIndex);
+      legDistanceSuffixes[legIndex] = legDistanceSuffixes[legIndex + 1] + valueOf(leg.distance());
+      legDurationSuffixes[legIndex] = legDurationSuffixes[legIndex + 1] + valueOf(leg.duration());
+      LegAnnotation annotation = leg.annotation();
+      if (annotation != null) {
+        annotationDistancePrefixes[legIndex] = prefixSumsOf(annotation.distance());
+        annotationDurationPrefixes[legIndex] = prefixSumsOf(annotation.duration());
+      }
+    }
+    return new RouteAnnotationTable(route, legDistanceSuffixes, legDurationSuffixes,
+      annotationDistancePrefixes, annotationDurationPrefixes);
+  }
+
+  boolean isTableOf(DirectionsRoute route) {
+    return this.route == route;
+  }
+
+  /**
+   * Adds the distance of every leg after the given leg to the leg distance remaining.
+   *
+   * @param legDistanceRemaining of the current leg
+   * @param legIndex             of the current leg
+   * @return distance remaining for the whole route
+   */
+  double routeDistanceRemaining(double legDistanceRemaining, int legIndex) {
+    return legDistanceRemaining + sumOfLegsAfter(legDistanceSuffixes, legIndex);
+  }
+
+  /**
+   * Adds the duration of every leg after the given leg to the leg duration remaining.
+   *
+   * @param legDurationRemaining of the current leg
+   * @param legIndex             of the current leg
+   * @return duration remaining for the whole route
+   */
+  double routeDurationRemaining(double legDurationRemaining, int legIndex) {
+    return legDurationRemaining + sumOfLegsAfter(legDurationSuffixes, legIndex);
+  }
+
+  boolean hasAnnotationDistances(int legIndex) {
+    double[] prefixes = annotationDistancePrefixesOf(legIndex);
+    return prefixes != null && prefixes.length > 1;
+  }
+
+  /**
+   * Finds the annotation the user is currently on: the first annotation whose end lies strictly
+   * beyond the leg distance traveled.
+   *
+   * @param legIndex            of the current leg
+   * @param legDistanceTraveled how far the user has traveled along the leg
+   * @return index of the current annotation, or the first annotation if the leg has been passed
+   */
+  int findAnnotationIndex(int legIndex, double legDistanceTraveled) {
+    double[] prefixes = annotationDistancePrefixesOf(legIndex);
+    if (prefixes == null || prefixes.length < 2) {
+      return FIRST_ANNOTATION;
+    }
+    int low = 1;
+    int high = prefixes.length - 1;
+    int firstBeyond = FIRST_ANNOTATION;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (prefixes[middle] > legDistanceTraveled) {
+        firstBeyond = middle;
+        high = middle - 1;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return firstBeyond == FIRST_ANNOTATION ? FIRST_ANNOTATION : firstBeyond - 1;
+  }
+
+  /**
+   * @return the summed distance of every annotation before the given annotation
+   */
+  double distanceToAnnotation(int legIndex, int annotationIndex) {
+    return prefixAt(annotationDistancePrefixesOf(legIndex), annotationIndex);
+  }
+
+  /**
+   * @return the summed duration of every annotation before the given annotation
+   */
+  double durationToAnnotation(int legIndex, int annotationIndex) {
+    double[] prefixes = legIndex < annotationDurationPrefixes.length ? annotationDurationPrefixes[legIndex] : null;
+    return prefixAt(prefixes, annotationIndex);
+  }
+
+  /**
+   * Builds the {@link CurrentLegAnnotation} for the user position along the leg. The previous
+   * annotation is returned as is when the user is still on it.
+   *
+   * @param previousAnnotation  built on the last update, or null
+   * @param leg                 the current leg
+   * @param legIndex            of the current leg
+   * @param legDistanceTraveled how far the user has traveled along the leg
+   * @return the current annotation, or null if the leg has no distance annotations
+   */
+  @Nullable
+  CurrentLegAnnotation createCurrentAnnotation(@Nullable CurrentLegAnnotation previousAnnotation, RouteLeg leg,
+                                               int legIndex, double legDistanceTraveled) {
+    if (!hasAnnotationDistances(legIndex)) {
+      return null;
+    }
+    int annotationIndex = findAnnotationIndex(legIndex, legDistanceTraveled);
+    if (previousAnnotation != null && previousAnnotation.index() == annotationIndex) {
+      return previousAnnotation;
+    }
+    LegAnnotation legAnnotation = leg.annotation();
+    CurrentLegAnnotation.Builder annotationBuilder = CurrentLegAnnotation.builder()
+      .index(annotationIndex)
+      .distanceToAnnotation(distanceToAnnotation(legIndex, annotationIndex))
+      .distance(legAnnotation.distance().get(annotationIndex));
+    List<Double> durationList = legAnnotation.duration();
+    if (durationList != null) {
+      annotationBuilder.duration(durationList.get(annotationIndex));
+    }
+    List<Double> speedList = legAnnotation.speed();
+    if (speedList != null) {
+      annotationBuilder.speed(speedList.get(annotationIndex));
+    }
+    List<MaxSpeed> maxspeedList = legAnnotation.maxspeed();
+    if (maxspeedList != null) {
+      annotationBuilder.maxspeed(maxspeedList.get(annotationIndex));
+    }
+    List<String> congestionList = legAnnotation.congestion();
+    if (congestionList != null) {
+      annotationBuilder.congestion(congestionList.get(annotationIndex));
+    }
+    return annotationBuilder.build();
+  }
+
+  @Nullable
+  private double[] annotationDistancePrefixesOf(int legIndex) {
+    return legIndex < annotationDistancePrefixes.length ? annotationDistancePrefixes[legIndex] : null;
+  }
+
+  private static double sumOfLegsAfter(double[] suffixes, int legIndex) {
+    int nextLegIndex = legIndex + 1;
+    return nextLegIndex < suffixes.length ? suffixes[nextLegIndex] : ZERO;
+  }
+
+  private static double prefixAt(@Nullable double[] prefixes, int index) {
+    if (prefixes == null || index < 0 || index >= prefixes.length) {
+      return ZERO;
+    }
+    return prefixes[index];
+  }
+
+  @Nullable
+  private static double[] prefixSumsOf(@Nullable List<Double> values) {
+    if (values == null) {
+      return null;
+    }
+    int size = values.size();
+    double[] prefixes = new double[size + 1];
+    for (int i = 0; i < size; i++) {
+      prefixes[i + 1] = prefixes[i] + valueOf(values.get(i));
+    }
+    return prefixes;
+  }
+
+  private static double valueOf(@Nullable Double value) {
+    return value == null ? ZERO : value;
+  }
+}
@@ -0,0 +1,12 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Invoked on the main thread after each route processor run with the interval chosen until the next
+ * run, either the fixed {@link MapboxNavigationOptions#routeProcessingIntervalInMilliseconds()} or
+ * the one returned by the {@link RouteProcessingPolicy}.
+ *
+ * @since 0.23.0
+ */
+public interface RouteProcessingIntervalListener {
+  void onRouteProcessingInterval(long intervalInMilliseconds);
+}
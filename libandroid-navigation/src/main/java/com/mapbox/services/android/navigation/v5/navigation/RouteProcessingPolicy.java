@@ -0,0 +1,33 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Decides how long the route processor waits before its next run. Set an implementation with
+ * {@link MapboxNavigationOptions.Builder#routeProcessingPolicy(RouteProcessingPolicy)} to replace
+ * the fixed {@link MapboxNavigationOptions#routeProcessingIntervalInMilliseconds()}.
+ * <p>
+ * This is called on the navigation thread after each run, so implementations should be fast and
+ * must not block.
+ *
+ * @see AdaptiveRouteProcessingPolicy
+ * @since 0.23.0
+ */
+public interface RouteProcessingPolicy {
+
+  /**
+   * Returns the interval to wait before the next route processor run.
+   *
+   * @param routeProgress       the progress calculated by the run that just finished
+   * @param rawLocation         the latest raw location update, null if none has been received yet
+   * @param isScreenInteractive true if the device screen is on, false otherwise
+   * @return interval in milliseconds before the next run
+   * @since 0.23.0
+   */
+  long nextIntervalInMilliseconds(@NonNull RouteProgress routeProgress, @Nullable Location rawLocation,
+                                  boolean isScreenInteractive);
+}
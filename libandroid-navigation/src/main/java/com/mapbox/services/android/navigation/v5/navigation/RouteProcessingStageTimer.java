@@ -0,0 +1,110 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.Debug;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_DISPATCH;
+
+/**
+ * Measures the stages of route processor runs into fixed sample arrays, so measuring doesn't
+ * allocate. Only used from the route processing thread, and only while someone listens for the
+ * resulting {@link RouteProcessingTimings}.
+ */
+class RouteProcessingStageTimer {
+
+  static final int STAGE_COUNT = ROUTE_PROCESSING_STAGE_DISPATCH + 1;
+  static final int WINDOW_SIZE = 60;
+  private static final double P50 = 0.50;
+  private static final double P95 = 0.95;
+
+  private final int windowSize;
+  private final long[][] samples;
+  private final long[] allocationCounts = new long[STAGE_COUNT];
+  private final long[] sortBuffer;
+  private int runCount;
+  private long stageStartTime;
+  private long stageStartAllocationCount;
+
+  RouteProcessingStageTimer() {
+    this(WINDOW_SIZE);
+  }
+
+  RouteProcessingStageTimer(int windowSize) {
+    this.windowSize = windowSize;
+    this.samples = new long[STAGE_COUNT][windowSize];
+    this.sortBuffer = new long[windowSize];
+  }
+
+  /**
+   * Starts measuring the first stage of a run.
+   */
+  void start() {
+    stageStartTime = System.nanoTime();
+    stageStartAllocationCount = readThreadAllocationCount();
+  }
+
+  /**
+   * Ends the given stage and starts measuring the next one.
+   */
+  void mark(@NavigationConstants.RouteProcessingStage int stage) {
+    long time = System.nanoTime();
+    long allocationCount = readThreadAllocationCount();
+    record(stage, time - stageStartTime, allocationCount - stageStartAllocationCount);
+    stageStartTime = time;
+    stageStartAllocationCount = allocationCount;
+  }
+
+  void record(@NavigationConstants.RouteProcessingStage int stage, long nanoseconds, long allocationCount) {
+    samples[stage][runCount] = nanoseconds;
+    allocationCounts[stage] += allocationCount;
+  }
+
+  /**
+   * Ends a run. Once the window is full, its timings are returned and a new window is started.
+   *
+   * @return the timings of the window if it is full, null otherwise
+   */
+  @Nullable
+  RouteProcessingTimings finishRun() {
+    runCount++;
+    if (runCount < windowSize) {
+      return null;
+    }
+    RouteProcessingTimings timings = buildTimings();
+    runCount = 0;
+    Arrays.fill(allocationCounts, 0);
+    return timings;
+  }
+
+  private RouteProcessingTimings buildTimings() {
+    long[] p50Nanoseconds = new long[STAGE_COUNT];
+    long[] p95Nanoseconds = new long[STAGE_COUNT];
+    long[] maxNanoseconds = new long[STAGE_COUNT];
+    for (int stage = 0; stage < STAGE_COUNT; stage++) {
+      System.arraycopy(samples[stage], 0, sortBuffer, 0, runCount);
+      Arrays.sort(sortBuffer, 0, runCount);
+      p50Nanoseconds[stage] = percentile(P50);
+      p95Nanoseconds[stage] = percentile(P95);
+      maxNanoseconds[stage] = sortBuffer[runCount - 1];
+    }
+    return new RouteProcessingTimings(runCount, p50Nanoseconds, p95Nanoseconds, maxNanoseconds,
+      allocationCounts.clone());
+  }
+
+  /**
+   * Nearest-rank percentile of the sorted samples.
+   */
+  private long percentile(double percentile) {
+    int rank = (int) Math.ceil(percentile * runCount);
+    return sortBuffer[Math.max(rank, 1) - 1];
+  }
+
+  // Deprecated since the ART profiler replaced it, but still the only per thread allocation counter.
+  @SuppressWarnings("deprecation")
+  private static long readThreadAllocationCount() {
+    return Debug.getThreadAllocCount();
+  }
+}
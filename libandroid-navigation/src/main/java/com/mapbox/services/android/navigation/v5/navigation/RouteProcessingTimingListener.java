@@ -0,0 +1,11 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Invoked on the main thread with the {@link RouteProcessingTimings} of the last window of route
+ * processor runs. Timings are only measured while at least one of these listeners is added.
+ *
+ * @since 0.23.0
+ */
+public interface RouteProcessingTimingListener {
+  void onRouteProcessingTimings(RouteProcessingTimings timings);
+}
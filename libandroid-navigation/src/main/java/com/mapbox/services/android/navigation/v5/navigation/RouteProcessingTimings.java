@@ -0,0 +1,83 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Per-stage timings of a window of route processor runs, with the stages defined in
+ * {@link NavigationConstants.RouteProcessingStage}.
+ * <p>
+ * Allocation counts come from {@link android.os.Debug#getThreadAllocCount()} and are only
+ * counted while allocation counting has been started with
+ * {@link android.os.Debug#startAllocCounting()}, otherwise they are zero.
+ *
+ * @since 0.23.0
+ */
+public class RouteProcessingTimings {
+
+  private final int runCount;
+  private final long[] p50Nanoseconds;
+  private final long[] p95Nanoseconds;
+  private final long[] maxNanoseconds;
+  private final long[] allocationCounts;
+
+  RouteProcessingTimings(int runCount, long[] p50Nanoseconds, long[] p95Nanoseconds,
+                         long[] maxNanoseconds, long[] allocationCounts) {
+    this.runCount = runCount;
+    this.p50Nanoseconds = p50Nanoseconds;
+    this.p95Nanoseconds = p95Nanoseconds;
+    this.maxNanoseconds = maxNanoseconds;
+    this.allocationCounts = allocationCounts;
+  }
+
+  /**
+   * Number of route processor runs these timings were measured over.
+   *
+   * @return number of runs
+   * @since 0.23.0
+   */
+  public int runCount() {
+    return runCount;
+  }
+
+  /**
+   * Median time spent in the given stage per run.
+   *
+   * @param stage one of the {@link NavigationConstants.RouteProcessingStage}s
+   * @return median time in nanoseconds
+   * @since 0.23.0
+   */
+  public long p50Nanoseconds(@NavigationConstants.RouteProcessingStage int stage) {
+    return p50Nanoseconds[stage];
+  }
+
+  /**
+   * 95th percentile of the time spent in the given stage per run.
+   *
+   * @param stage one of the {@link NavigationConstants.RouteProcessingStage}s
+   * @return 95th percentile time in nanoseconds
+   * @since 0.23.0
+   */
+  public long p95Nanoseconds(@NavigationConstants.RouteProcessingStage int stage) {
+    return p95Nanoseconds[stage];
+  }
+
+  /**
+   * Longest time spent in the given stage by a single run.
+   *
+   * @param stage one of the {@link NavigationConstants.RouteProcessingStage}s
+   * @return maximum time in nanoseconds
+   * @since 0.23.0
+   */
+  public long maxNanoseconds(@NavigationConstants.RouteProcessingStage int stage) {
+    return maxNanoseconds[stage];
+  }
+
+  /**
+   * Objects allocated by the route processing thread in the given stage over all runs.
+   *
+   * @param stage one of the {@link NavigationConstants.RouteProcessingStage}s
+   * @return number of allocations, or zero if allocation counting wasn't started
+   * @since 0.23.0
+   */
+  public long allocationCount(@NavigationConstants.RouteProcessingStage int stage) {
+    return allocationCounts[stage];
+  }
+}
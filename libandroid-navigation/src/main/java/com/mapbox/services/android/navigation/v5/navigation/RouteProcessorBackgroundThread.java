@@ -7,6 +7,7 @@ import android.os.Process;
 
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 
 import java.util.List;
 
@@ -21,15 +22,18 @@ class RouteProcessorBackgroundThread extends HandlerThread {
   private final Handler responseHandler;
   private final Listener listener;
   private final NavigationRouteProcessor routeProcessor;
+  private final ScreenStateMonitor screenStateMonitor;
   private Handler workerHandler;
   private RouteProcessorRunnable runnable;
 
-  RouteProcessorBackgroundThread(MapboxNavigation navigation, Handler responseHandler, Listener listener) {
+  RouteProcessorBackgroundThread(MapboxNavigation navigation, Handler responseHandler, Listener listener,
+                                 ScreenStateMonitor screenStateMonitor) {
     super(MAPBOX_NAVIGATION_THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
     this.navigation = navigation;
     this.responseHandler = responseHandler;
     this.listener = listener;
     this.routeProcessor = new NavigationRouteProcessor();
+    this.screenStateMonitor = screenStateMonitor;
   }
 
   @Override
@@ -39,7 +43,7 @@ class RouteProcessorBackgroundThread extends HandlerThread {
       workerHandler = new Handler(getLooper());
     }
     runnable = new RouteProcessorRunnable(
-      routeProcessor, navigation, workerHandler, responseHandler, listener
+      routeProcessor, navigation, workerHandler, responseHandler, listener, screenStateMonitor
     );
     workerHandler.post(runnable);
   }
@@ -47,7 +51,7 @@ class RouteProcessorBackgroundThread extends HandlerThread {
   @Override
   public boolean quit() {
     if (isAlive()) {
-      workerHandler.removeCallbacks(runnable);
+      workerHandler.removeCallbacksAndMessages(null);
     }
     return super.quit();
   }
@@ -57,7 +61,6 @@ class RouteProcessorBackgroundThread extends HandlerThread {
       start();
     }
     runnable.updateRawLocation(rawLocation);
-    navigation.retrieveMapboxNavigator().updateLocation(rawLocation);
   }
 
   /**
@@ -69,12 +72,28 @@ class RouteProcessorBackgroundThread extends HandlerThread {
    */
   interface Listener {
 
+    /**
+     * Whether this listener reads the {@link RouteProgress} of the run about to start. If it doesn't,
+     * runs which need no route progress otherwise only fill a snapshot and skip building it.
+     *
+     * @param currentTimeMillis wall clock time of the run
+     */
+    boolean isRouteProgressRequired(long currentTimeMillis);
+
     void onNewRouteProgress(Location location, RouteProgress routeProgress);
 
+    void onNewRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot);
+
     void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress);
 
     void onUserOffRoute(Location location, boolean userOffRoute);
 
     void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute);
+
+    void onRouteProcessingInterval(long intervalInMilliseconds);
+
+    void onRouteProgressCoalesced(int coalescedUpdateCount);
+
+    void onRouteProcessingTimings(RouteProcessingTimings timings);
   }
 }
@@ -2,10 +2,13 @@ package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.location.Location;
 import android.os.Handler;
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
@@ -13,60 +16,248 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_MODE_LOCATION_DRIVEN;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_DISPATCH;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_FASTER_ROUTE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_INTERVAL;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_MILESTONES;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_OFF_ROUTE;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_ROUTE_PROGRESS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_SNAP;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_STAGE_STATUS;
 
 class RouteProcessorRunnable implements Runnable {
 
-  private static final int ONE_SECOND_IN_MILLISECONDS = 1000;
   private final NavigationRouteProcessor routeProcessor;
-  private final MapboxNavigation navigation;
-  private final Handler workerHandler;
-  private final Handler responseHandler;
+  private final RouteProcessorSession session;
+  private final RouteProcessorScheduler workerScheduler;
+  private final RouteProcessorScheduler responseScheduler;
   private final RouteProcessorBackgroundThread.Listener listener;
-  private Location rawLocation;
+  private final ScreenStateMonitor screenStateMonitor;
+  private final AtomicBoolean locationUpdatePending = new AtomicBoolean(false);
+  private final CoalescingResponseDispatcher responseDispatcher;
+  private final RouteProgressSnapshotPool snapshotPool = new RouteProgressSnapshotPool();
+  private final Date statusDate = new Date();
+  private final Runnable watchdog = new Runnable() {
+    @Override
+    public void run() {
+      RouteProcessorRunnable.this.run();
+    }
+  };
+  private volatile Location rawLocation;
+  private long sequenceNumber;
+  private RouteProcessingStageTimer stageTimer;
 
   RouteProcessorRunnable(NavigationRouteProcessor routeProcessor,
                          MapboxNavigation navigation,
                          Handler workerHandler,
                          Handler responseHandler,
-                         RouteProcessorBackgroundThread.Listener listener) {
+                         RouteProcessorBackgroundThread.Listener listener,
+                         ScreenStateMonitor screenStateMonitor) {
+    this(routeProcessor, new MapboxNavigationSession(navigation), new HandlerRouteProcessorScheduler(workerHandler),
+      new HandlerRouteProcessorScheduler(responseHandler), listener, screenStateMonitor);
+  }
+
+  RouteProcessorRunnable(NavigationRouteProcessor routeProcessor,
+                         RouteProcessorSession session,
+                         RouteProcessorScheduler workerScheduler,
+                         RouteProcessorScheduler responseScheduler,
+                         RouteProcessorBackgroundThread.Listener listener,
+                         ScreenStateMonitor screenStateMonitor) {
     this.routeProcessor = routeProcessor;
-    this.navigation = navigation;
-    this.workerHandler = workerHandler;
-    this.responseHandler = responseHandler;
+    this.session = session;
+    this.workerScheduler = workerScheduler;
+    this.responseScheduler = responseScheduler;
     this.listener = listener;
+    this.screenStateMonitor = screenStateMonitor;
+    this.responseDispatcher = new CoalescingResponseDispatcher(responseScheduler, listener);
   }
 
   @Override
   public void run() {
+    locationUpdatePending.set(false);
     process();
   }
 
+  /**
+   * Passes the location through the {@link LocationIngestionPipeline} and, if accepted, stores it
+   * as the latest raw location for the next run. When processing is location driven, a run is
+   * also posted unless one is already pending, so only the latest of several queued locations
+   * gets processed.
+   *
+   * @param rawLocation latest location update
+   */
   void updateRawLocation(Location rawLocation) {
+    LocationIngestionPipeline ingestionPipeline = session.retrieveLocationIngestionPipeline();
+    if (!ingestionPipeline.offer(rawLocation, workerScheduler.currentTimeMillis())) {
+      return;
+    }
     this.rawLocation = rawLocation;
+    if (isLocationDriven(session.options()) && locationUpdatePending.compareAndSet(false, true)) {
+      workerScheduler.post(this);
+    }
   }
 
   private void process() {
-    MapboxNavigator mapboxNavigator = navigation.retrieveMapboxNavigator();
-    MapboxNavigationOptions options = navigation.options();
-    DirectionsRoute route = navigation.getRoute();
+    RouteProcessingStageTimer stageTimer = obtainStageTimer();
+    startStages(stageTimer);
+    MapboxNavigator mapboxNavigator = session.retrieveMapboxNavigator();
+    MapboxNavigationOptions options = session.options();
+    DirectionsRoute route = session.getRoute();
 
-    NavigationStatus status = mapboxNavigator.retrieveStatus(new Date(),
-      options.navigationLocationEngineIntervalLagInMilliseconds());
-    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(status, route);
+    session.retrieveLocationIngestionPipeline().drainTo(mapboxNavigator);
+    statusDate.setTime(workerScheduler.currentTimeMillis());
+    NavigationStatus status = NavigatorCommandQueue.await(mapboxNavigator.retrieveStatus(statusDate,
+      options.navigationLocationEngineIntervalLagInMilliseconds()));
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_STATUS);
+    RouteGeometryIndex geometryIndex = session.retrieveRouteGeometryIndex();
+    MutableRouteProgressSnapshot snapshot = obtainSnapshot();
+    NavigationEngineFactory engineFactory = session.retrieveEngineFactory();
+    RouteProgress routeProgress = null;
+    if (isRouteProgressRequired(options, engineFactory, workerScheduler.currentTimeMillis())) {
+      routeProgress = routeProcessor.buildNewRouteProgress(status, route, geometryIndex, snapshot);
+    } else if (snapshot != null) {
+      routeProcessor.updateRouteProgressSnapshot(status, route, geometryIndex, snapshot);
+    }
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_ROUTE_PROGRESS);
 
-    NavigationEngineFactory engineFactory = navigation.retrieveEngineFactory();
     final boolean userOffRoute = isUserOffRoute(options, status, rawLocation, routeProgress, engineFactory);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_OFF_ROUTE);
     final Location snappedLocation = findSnappedLocation(status, rawLocation, routeProgress, engineFactory);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_SNAP);
     final boolean checkFasterRoute = checkFasterRoute(options, snappedLocation, routeProgress, engineFactory,
       userOffRoute);
-    final List<Milestone> milestones = findTriggeredMilestones(navigation, routeProgress);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_FASTER_ROUTE);
+    final List<Milestone> milestones = findTriggeredMilestones(session, routeProgress);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_MILESTONES);
 
-    sendUpdateToResponseHandler(userOffRoute, milestones, snappedLocation, checkFasterRoute, routeProgress);
+    final long nextInterval = findNextInterval(options, routeProgress);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_INTERVAL);
+
+    responseDispatcher.dispatch(snappedLocation, routeProgress, milestones, userOffRoute, checkFasterRoute,
+      nextInterval);
+    sendSnapshotToResponseScheduler(snapshot, snappedLocation);
     routeProcessor.updatePreviousRouteProgress(routeProgress);
-    workerHandler.postDelayed(this, ONE_SECOND_IN_MILLISECONDS);
+    markStage(stageTimer, ROUTE_PROCESSING_STAGE_DISPATCH);
+    finishStages(stageTimer);
+    scheduleNextRun(options, nextInterval);
+  }
+
+  /**
+   * Stages are only timed when someone listens for the timings, otherwise no timer exists and
+   * each stage only costs a null check.
+   */
+  @Nullable
+  private RouteProcessingStageTimer obtainStageTimer() {
+    if (!session.getEventDispatcher().hasRouteProcessingTimingListeners()) {
+      stageTimer = null;
+    } else if (stageTimer == null) {
+      stageTimer = new RouteProcessingStageTimer();
+    }
+    return stageTimer;
+  }
+
+  private void startStages(@Nullable RouteProcessingStageTimer stageTimer) {
+    if (stageTimer != null) {
+      stageTimer.start();
+    }
+  }
+
+  private void markStage(@Nullable RouteProcessingStageTimer stageTimer,
+                         @NavigationConstants.RouteProcessingStage int stage) {
+    if (stageTimer != null) {
+      stageTimer.mark(stage);
+    }
+  }
+
+  private void finishStages(@Nullable RouteProcessingStageTimer stageTimer) {
+    if (stageTimer == null) {
+      return;
+    }
+    final RouteProcessingTimings timings = stageTimer.finishRun();
+    if (timings != null) {
+      responseScheduler.post(new Runnable() {
+        @Override
+        public void run() {
+          listener.onRouteProcessingTimings(timings);
+        }
+      });
+    }
+  }
+
+  /**
+   * Snapshots are only filled when someone listens for them. If all pooled snapshots are still
+   * waiting on the main thread, this run's snapshot is skipped.
+   */
+  @Nullable
+  private MutableRouteProgressSnapshot obtainSnapshot() {
+    sequenceNumber++;
+    if (!session.getEventDispatcher().hasRouteProgressSnapshotListeners()) {
+      return null;
+    }
+    MutableRouteProgressSnapshot snapshot = snapshotPool.obtain();
+    if (snapshot != null) {
+      snapshot.updateSequenceNumber(sequenceNumber);
+    }
+    return snapshot;
+  }
+
+  private void sendSnapshotToResponseScheduler(@Nullable MutableRouteProgressSnapshot snapshot, Location location) {
+    if (snapshot != null) {
+      snapshot.prepareDispatch(listener, location);
+      responseScheduler.post(snapshot);
+    }
+  }
+
+  /**
+   * The immutable route progress, with its leg and step progress, is only built if something reads
+   * it: the listener, milestones, the routing policy or engines working from the route progress
+   * rather than the navigation status. Otherwise the run only fills the snapshot.
+   */
+  private boolean isRouteProgressRequired(MapboxNavigationOptions options, NavigationEngineFactory engineFactory,
+                                          long currentTimeMillis) {
+    return listener.isRouteProgressRequired(currentTimeMillis)
+      || session.retrieveMilestoneScheduler().hasMilestones()
+      || options.enableFasterRouteDetection()
+      || options.routeProcessingPolicy() != null
+      || !(engineFactory.retrieveOffRouteEngine() instanceof OffRouteDetector)
+      || !(engineFactory.retrieveSnapEngine() instanceof SnapToRoute);
+  }
+
+  private long findNextInterval(MapboxNavigationOptions options, RouteProgress routeProgress) {
+    RouteProcessingPolicy policy = options.routeProcessingPolicy();
+    if (policy == null) {
+      return options.routeProcessingIntervalInMilliseconds();
+    }
+    boolean isScreenInteractive = screenStateMonitor.isScreenInteractive();
+    return policy.nextIntervalInMilliseconds(routeProgress, rawLocation, isScreenInteractive);
+  }
+
+  private void scheduleNextRun(MapboxNavigationOptions options, long interval) {
+    if (isLocationDriven(options)) {
+      workerScheduler.removeCallbacks(watchdog);
+      workerScheduler.postDelayed(watchdog, interval);
+    } else {
+      workerScheduler.postDelayed(this, interval);
+    }
+  }
+
+  private boolean isLocationDriven(MapboxNavigationOptions options) {
+    return options.routeProcessingMode() == ROUTE_PROCESSING_MODE_LOCATION_DRIVEN;
   }
 
   private boolean isUserOffRoute(MapboxNavigationOptions options, NavigationStatus status, Location rawLocation,
@@ -96,31 +287,16 @@ class RouteProcessorRunnable implements Runnable {
       && fasterRoute.shouldCheckFasterRoute(rawLocation, routeProgress);
   }
 
-  private List<Milestone> findTriggeredMilestones(MapboxNavigation mapboxNavigation, RouteProgress routeProgress) {
+  private List<Milestone> findTriggeredMilestones(RouteProcessorSession session,
+                                                  @Nullable RouteProgress routeProgress) {
+    if (routeProgress == null) {
+      return Collections.emptyList();
+    }
     RouteProgress previousRouteProgress = routeProcessor.retrievePreviousRouteProgress();
     if (previousRouteProgress == null) {
       previousRouteProgress = routeProgress;
     }
-    List<Milestone> milestones = new ArrayList<>();
-    for (Milestone milestone : mapboxNavigation.getMilestones()) {
-      if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
-        milestones.add(milestone);
-      }
-    }
-    return milestones;
-  }
-
-  private void sendUpdateToResponseHandler(final boolean userOffRoute, final List<Milestone> milestones,
-                                           final Location location, final boolean checkFasterRoute,
-                                           final RouteProgress finalRouteProgress) {
-    responseHandler.post(new Runnable() {
-      @Override
-      public void run() {
-        listener.onNewRouteProgress(location, finalRouteProgress);
-        listener.onMilestoneTrigger(milestones, finalRouteProgress);
-        listener.onUserOffRoute(location, userOffRoute);
-        listener.onCheckFasterRoute(location, finalRouteProgress, checkFasterRoute);
-      }
-    });
+    MilestoneScheduler milestoneScheduler = session.retrieveMilestoneScheduler();
+    return milestoneScheduler.findTriggeredMilestones(previousRouteProgress, routeProgress);
   }
 }
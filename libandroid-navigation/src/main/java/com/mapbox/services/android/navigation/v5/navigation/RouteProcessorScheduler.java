@@ -0,0 +1,27 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Schedules the work of the route processor and tells it the time. On a device this is backed by
+ * a {@link android.os.Handler} and the system clocks, see {@link HandlerRouteProcessorScheduler}.
+ * Simulations can instead run the route processor against a virtual clock.
+ */
+interface RouteProcessorScheduler {
+
+  /**
+   * Milliseconds since boot, not counting deep sleep, like {@link android.os.SystemClock#uptimeMillis()}.
+   */
+  long uptimeMillis();
+
+  /**
+   * Wall clock time in milliseconds, like {@link System#currentTimeMillis()}.
+   */
+  long currentTimeMillis();
+
+  void post(Runnable runnable);
+
+  void postDelayed(Runnable runnable, long delayInMilliseconds);
+
+  void postAtTime(Runnable runnable, long uptimeMillis);
+
+  void removeCallbacks(Runnable runnable);
+}
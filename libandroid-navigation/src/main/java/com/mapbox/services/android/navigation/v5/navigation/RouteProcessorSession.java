@@ -0,0 +1,29 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+
+/**
+ * The state of one navigation session the route processor reads on each run. A
+ * {@link MapboxNavigation} provides it through {@link MapboxNavigationSession}, while each
+ * {@link FleetNavigationSession} provides its own without an Android service behind it.
+ */
+interface RouteProcessorSession {
+
+  MapboxNavigationOptions options();
+
+  DirectionsRoute getRoute();
+
+  RouteGeometryIndex retrieveRouteGeometryIndex();
+
+  MilestoneScheduler retrieveMilestoneScheduler();
+
+  NavigationEventDispatcher getEventDispatcher();
+
+  NavigationEngineFactory retrieveEngineFactory();
+
+  MapboxNavigator retrieveMapboxNavigator();
+
+  LocationIngestionPipeline retrieveLocationIngestionPipeline();
+}
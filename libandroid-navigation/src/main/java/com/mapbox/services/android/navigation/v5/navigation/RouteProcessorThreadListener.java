@@ -6,6 +6,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.route.RouteFetcher;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 
 import java.util.List;
 
@@ -13,9 +14,12 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 
 class RouteProcessorThreadListener implements RouteProcessorBackgroundThread.Listener {
 
+  static final long NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS = 5000;
+
   private final NavigationEventDispatcher eventDispatcher;
   private final RouteFetcher routeFetcher;
   private final NavigationNotificationProvider notificationProvider;
+  private long lastNotificationUpdateTime = -NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS;
 
   RouteProcessorThreadListener(NavigationEventDispatcher eventDispatcher, RouteFetcher routeFetcher,
                                NavigationNotificationProvider notificationProvider) {
@@ -24,6 +28,25 @@ class RouteProcessorThreadListener implements RouteProcessorBackgroundThread.Lis
     this.notificationProvider = notificationProvider;
   }
 
+  /**
+   * The route progress is required while progress change listeners are added. Otherwise it is only
+   * built for the notification, at most once every {@link #NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS},
+   * or right away if the clock was turned back, so sessions listening for snapshots only skip
+   * building it on most runs. Only called from the route processor thread.
+   *
+   * @param currentTimeMillis wall clock time of the run
+   */
+  @Override
+  public boolean isRouteProgressRequired(long currentTimeMillis) {
+    long elapsedTime = currentTimeMillis - lastNotificationUpdateTime;
+    boolean isNotificationUpdateDue = elapsedTime >= NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS || elapsedTime < 0;
+    if (!isNotificationUpdateDue && !eventDispatcher.hasProgressChangeListeners()) {
+      return false;
+    }
+    lastNotificationUpdateTime = currentTimeMillis;
+    return true;
+  }
+
   /**
    * Corresponds to ProgressChangeListener object, updating the notification and passing information
    * to the navigation event dispatcher.
@@ -34,6 +57,15 @@ class RouteProcessorThreadListener implements RouteProcessorBackgroundThread.Lis
     eventDispatcher.onProgressChange(location, routeProgress);
   }
 
+  /**
+   * Corresponds to RouteProgressSnapshotListener objects, passing the recycled snapshot to the
+   * navigation event dispatcher.
+   */
+  @Override
+  public void onNewRouteProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    eventDispatcher.onRouteProgressSnapshot(location, snapshot);
+  }
+
   /**
    * With each valid and successful rawLocation update, this will get called once the work on the
    * navigation engine thread has finished. Depending on whether or not a milestone gets triggered
@@ -72,4 +104,35 @@ class RouteProcessorThreadListener implements RouteProcessorBackgroundThread.Lis
       routeFetcher.findRouteFromRouteProgress(location, routeProgress);
     }
   }
+
+  /**
+   * Called after each route processor run with the interval chosen until the next run.
+   *
+   * @param intervalInMilliseconds until the next run
+   */
+  @Override
+  public void onRouteProcessingInterval(long intervalInMilliseconds) {
+    eventDispatcher.onRouteProcessingInterval(intervalInMilliseconds);
+  }
+
+  /**
+   * Called when route progress updates were replaced by a newer one before the main thread could
+   * deliver them.
+   *
+   * @param coalescedUpdateCount number of updates which were not delivered
+   */
+  @Override
+  public void onRouteProgressCoalesced(int coalescedUpdateCount) {
+    eventDispatcher.onRouteProgressCoalesced(coalescedUpdateCount);
+  }
+
+  /**
+   * Called with the stage timings of the last window of route processor runs.
+   *
+   * @param timings of the route processor stages
+   */
+  @Override
+  public void onRouteProcessingTimings(RouteProcessingTimings timings) {
+    eventDispatcher.onRouteProcessingTimings(timings);
+  }
 }
@@ -0,0 +1,11 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Invoked on the main thread when route progress updates were replaced by a newer update before
+ * the main thread could deliver them. Milestone and off-route events are never coalesced.
+ *
+ * @since 0.23.0
+ */
+public interface RouteProgressCoalescedListener {
+  void onRouteProgressCoalesced(int coalescedUpdateCount);
+}
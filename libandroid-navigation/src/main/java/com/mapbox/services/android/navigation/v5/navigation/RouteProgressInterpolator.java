@@ -0,0 +1,269 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.GeometryUtils;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import java.util.List;
+
+/**
+ * Extrapolates the latest {@link RouteProgressSnapshot} along the geometry of the current step to
+ * the time of a display frame and holds the result as the {@link InterpolatedRouteProgress}
+ * handed to listeners.
+ * <p>
+ * When a new snapshot disagrees with the prediction, the difference is blended out over
+ * {@link #CORRECTION_NANOS} instead of jumping. Differences above
+ * {@link #MAXIMUM_CORRECTION_IN_METERS}, a new route or a new step geometry start over from the
+ * snapshot. Must only be used from the main thread; nothing is allocated per frame.
+ */
+class RouteProgressInterpolator extends InterpolatedRouteProgress {
+
+  static final double UNKNOWN_SPEED = -1;
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final long MAXIMUM_EXTRAPOLATION_NANOS = 2 * NANOS_PER_SECOND;
+  private static final long CORRECTION_NANOS = NANOS_PER_SECOND / 2;
+  private static final double MAXIMUM_CORRECTION_IN_METERS = 50;
+  private static final double FULL_CIRCLE = 360;
+
+  private DirectionsRoute route;
+  private List<Point> stepPoints;
+  private double stepGeometryDistance;
+  private boolean hasAnchor;
+  private long anchorTimeNanos;
+  private double anchorStepDistanceTraveled;
+  private double anchorDistanceRemaining;
+  private double anchorLegDistanceRemaining;
+  private double anchorLegDurationRemaining;
+  private double stepDistance;
+  private double speed;
+  private double correction;
+  private int segmentIndex;
+  private double segmentStartDistance;
+  private double segmentDistance;
+
+  private int legIndex;
+  private int stepIndex;
+  private double longitude;
+  private double latitude;
+  private double bearing;
+  private double stepDistanceTraveled;
+  private double distanceRemaining;
+  private double legDistanceRemaining;
+  private long frameTimeNanos;
+  private long sequenceNumber;
+
+  /**
+   * Starts a new prediction from the given snapshot.
+   *
+   * @param snapshot  latest route progress
+   * @param speed     of the user in meters per second, or {@link #UNKNOWN_SPEED} to derive it from
+   *                  the previous snapshot
+   * @param timeNanos time the snapshot was received, in the {@link System#nanoTime()} time base
+   */
+  void update(RouteProgressSnapshot snapshot, double speed, long timeNanos) {
+    boolean isSameRoute = hasAnchor && route == snapshot.directionsRoute();
+    boolean isContinuous = isSameRoute && stepPoints == snapshot.currentStepPoints();
+    double predictedStepDistanceTraveled = isContinuous ? predictStepDistanceTraveled(timeNanos) : 0;
+    double previousDistanceRemaining = anchorDistanceRemaining;
+    long previousAnchorTimeNanos = anchorTimeNanos;
+
+    if (!isContinuous) {
+      updateStepGeometry(snapshot.currentStepPoints());
+    }
+    route = snapshot.directionsRoute();
+    legIndex = snapshot.legIndex();
+    stepIndex = snapshot.stepIndex();
+    sequenceNumber = snapshot.sequenceNumber();
+    anchorTimeNanos = timeNanos;
+    anchorStepDistanceTraveled = snapshot.stepDistanceTraveled();
+    anchorDistanceRemaining = snapshot.distanceRemaining();
+    anchorLegDistanceRemaining = snapshot.legDistanceRemaining();
+    anchorLegDurationRemaining = snapshot.legDurationRemaining();
+    stepDistance = snapshot.stepDistanceTraveled() + snapshot.stepDistanceRemaining();
+
+    correction = isContinuous ? predictedStepDistanceTraveled - anchorStepDistanceTraveled : 0;
+    if (Math.abs(correction) > MAXIMUM_CORRECTION_IN_METERS) {
+      correction = 0;
+    }
+    if (speed >= 0) {
+      this.speed = speed;
+    } else if (isSameRoute && timeNanos > previousAnchorTimeNanos) {
+      double elapsedSeconds = (double) (timeNanos - previousAnchorTimeNanos) / NANOS_PER_SECOND;
+      this.speed = Math.max(0, (previousDistanceRemaining - anchorDistanceRemaining) / elapsedSeconds);
+    } else {
+      this.speed = 0;
+    }
+    hasAnchor = true;
+  }
+
+  /**
+   * Predicts the progress for the given frame.
+   *
+   * @param frameTimeNanos time of the frame, in the {@link System#nanoTime()} time base
+   * @return true if the prediction changes in later frames, false once it settled
+   */
+  boolean interpolate(long frameTimeNanos) {
+    this.frameTimeNanos = frameTimeNanos;
+    stepDistanceTraveled = predictStepDistanceTraveled(frameTimeNanos);
+    double traveledSinceAnchor = stepDistanceTraveled - anchorStepDistanceTraveled;
+    distanceRemaining = Math.max(0, anchorDistanceRemaining - traveledSinceAnchor);
+    legDistanceRemaining = Math.max(0, anchorLegDistanceRemaining - traveledSinceAnchor);
+    updatePosition();
+
+    long elapsedNanos = frameTimeNanos - anchorTimeNanos;
+    boolean isMoving = speed > 0 && elapsedNanos < MAXIMUM_EXTRAPOLATION_NANOS;
+    boolean isCorrecting = correction != 0 && elapsedNanos < CORRECTION_NANOS;
+    return isMoving || isCorrecting;
+  }
+
+  boolean hasProgress() {
+    return hasAnchor;
+  }
+
+  void reset() {
+    hasAnchor = false;
+    route = null;
+    stepPoints = null;
+  }
+
+  @Override
+  public int legIndex() {
+    return legIndex;
+  }
+
+  @Override
+  public int stepIndex() {
+    return stepIndex;
+  }
+
+  @Override
+  public double longitude() {
+    return longitude;
+  }
+
+  @Override
+  public double latitude() {
+    return latitude;
+  }
+
+  @Override
+  public double bearing() {
+    return bearing;
+  }
+
+  @Override
+  public double distanceRemaining() {
+    return distanceRemaining;
+  }
+
+  @Override
+  public double durationRemaining() {
+    if (route.distance() <= 0) {
+      return 0;
+    }
+    return route.duration() * distanceRemaining / route.distance();
+  }
+
+  @Override
+  public double legDistanceRemaining() {
+    return legDistanceRemaining;
+  }
+
+  @Override
+  public double legDurationRemaining() {
+    if (anchorLegDistanceRemaining <= 0) {
+      return anchorLegDurationRemaining;
+    }
+    return anchorLegDurationRemaining * legDistanceRemaining / anchorLegDistanceRemaining;
+  }
+
+  @Override
+  public double stepDistanceRemaining() {
+    return stepDistance - stepDistanceTraveled;
+  }
+
+  @Override
+  public double stepDistanceTraveled() {
+    return stepDistanceTraveled;
+  }
+
+  @Override
+  public long frameTimeNanos() {
+    return frameTimeNanos;
+  }
+
+  @Override
+  public long sequenceNumber() {
+    return sequenceNumber;
+  }
+
+  private double predictStepDistanceTraveled(long timeNanos) {
+    long elapsedNanos = Math.max(0, timeNanos - anchorTimeNanos);
+    long extrapolatedNanos = Math.min(elapsedNanos, MAXIMUM_EXTRAPOLATION_NANOS);
+    double predicted = anchorStepDistanceTraveled + speed * extrapolatedNanos / NANOS_PER_SECOND;
+    if (elapsedNanos < CORRECTION_NANOS) {
+      predicted += correction * (CORRECTION_NANOS - elapsedNanos) / CORRECTION_NANOS;
+    }
+    return Math.max(0, Math.min(predicted, stepDistance));
+  }
+
+  private void updateStepGeometry(List<Point> stepPoints) {
+    this.stepPoints = stepPoints;
+    stepGeometryDistance = 0;
+    for (int i = 1; i < stepPoints.size(); i++) {
+      Point from = stepPoints.get(i - 1);
+      Point to = stepPoints.get(i);
+      stepGeometryDistance += GeometryUtils.distance(from.longitude(), from.latitude(), to.longitude(), to.latitude());
+    }
+    moveToSegment(0);
+  }
+
+  /**
+   * Step distances come from the directions response and can differ slightly from the length of
+   * the decoded geometry, so the distance traveled is scaled onto the geometry before walking it.
+   */
+  private void updatePosition() {
+    if (stepPoints.isEmpty()) {
+      return;
+    }
+    double geometryDistanceTraveled = stepDistance > 0
+      ? stepDistanceTraveled * stepGeometryDistance / stepDistance : 0;
+    if (geometryDistanceTraveled < segmentStartDistance) {
+      moveToSegment(0);
+    }
+    int lastSegmentIndex = stepPoints.size() - 2;
+    while (segmentIndex < lastSegmentIndex && segmentStartDistance + segmentDistance < geometryDistanceTraveled) {
+      segmentStartDistance += segmentDistance;
+      moveToSegment(segmentIndex + 1);
+    }
+
+    Point from = stepPoints.get(segmentIndex);
+    if (segmentIndex == stepPoints.size() - 1 || segmentDistance <= 0) {
+      longitude = from.longitude();
+      latitude = from.latitude();
+      return;
+    }
+    Point to = stepPoints.get(segmentIndex + 1);
+    double fraction = Math.max(0, Math.min(1, (geometryDistanceTraveled - segmentStartDistance) / segmentDistance));
+    longitude = from.longitude() + (to.longitude() - from.longitude()) * fraction;
+    latitude = from.latitude() + (to.latitude() - from.latitude()) * fraction;
+    bearing = (GeometryUtils.bearing(from.longitude(), from.latitude(), to.longitude(), to.latitude())
+      + FULL_CIRCLE) % FULL_CIRCLE;
+  }
+
+  private void moveToSegment(int segmentIndex) {
+    this.segmentIndex = segmentIndex;
+    if (segmentIndex == 0) {
+      segmentStartDistance = 0;
+    }
+    if (segmentIndex + 1 >= stepPoints.size()) {
+      segmentDistance = 0;
+      return;
+    }
+    Point from = stepPoints.get(segmentIndex);
+    Point to = stepPoints.get(segmentIndex + 1);
+    segmentDistance = GeometryUtils.distance(from.longitude(), from.latitude(), to.longitude(), to.latitude());
+  }
+}
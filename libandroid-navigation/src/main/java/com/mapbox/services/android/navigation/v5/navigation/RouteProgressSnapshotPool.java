@@ -0,0 +1,44 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Fixed set of {@link MutableRouteProgressSnapshot}s handed out round robin. If every snapshot is
+ * still waiting to be dispatched, none is returned and the caller skips the update, which keeps
+ * memory bounded when the main thread falls behind.
+ */
+class RouteProgressSnapshotPool {
+
+  private static final int DEFAULT_POOL_SIZE = 3;
+
+  private final MutableRouteProgressSnapshot[] snapshots;
+  private int nextIndex;
+
+  RouteProgressSnapshotPool() {
+    this(DEFAULT_POOL_SIZE);
+  }
+
+  RouteProgressSnapshotPool(int size) {
+    snapshots = new MutableRouteProgressSnapshot[size];
+    for (int i = 0; i < size; i++) {
+      snapshots[i] = new MutableRouteProgressSnapshot();
+    }
+  }
+
+  /**
+   * Must only be called from the navigation thread.
+   *
+   * @return an acquired snapshot, or null if all of them are still in use
+   */
+  @Nullable
+  MutableRouteProgressSnapshot obtain() {
+    for (int i = 0; i < snapshots.length; i++) {
+      MutableRouteProgressSnapshot snapshot = snapshots[nextIndex];
+      nextIndex = (nextIndex + 1) % snapshots.length;
+      if (snapshot.acquire()) {
+        return snapshot;
+      }
+    }
+    return null;
+  }
+}
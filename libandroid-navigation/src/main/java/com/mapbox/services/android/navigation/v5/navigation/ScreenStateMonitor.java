@@ -0,0 +1,32 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+
+class ScreenStateMonitor {
+
+  private final PowerManager powerManager;
+
+  ScreenStateMonitor(Context context) {
+    this.powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+  }
+
+  /**
+   * For sessions without a device screen, which are always treated as interactive.
+   */
+  ScreenStateMonitor() {
+    this.powerManager = null;
+  }
+
+  @SuppressWarnings("deprecation")
+  boolean isScreenInteractive() {
+    if (powerManager == null) {
+      return true;
+    }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT_WATCH) {
+      return powerManager.isInteractive();
+    }
+    return powerManager.isScreenOn();
+  }
+}
@@ -2,8 +2,8 @@ package com.mapbox.services.android.navigation.v5.navigation.camera;
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.core.constants.Constants;
-import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -61,7 +61,6 @@ public class SimpleCamera extends Camera {
     if (route == null) {
       return Collections.emptyList();
     }
-    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
-    return lineString.coordinates();
+    return PolylineDecoder.decodePoints(route.geometry(), Constants.PRECISION_6);
   }
 }
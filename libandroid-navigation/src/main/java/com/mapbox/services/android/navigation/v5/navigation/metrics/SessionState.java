@@ -8,8 +8,7 @@ import com.google.auto.value.AutoValue;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.core.constants.Constants;
-import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
 import com.mapbox.services.android.navigation.v5.routeprogress.MetricsRouteProgress;
 
 import java.util.Date;
@@ -26,9 +25,8 @@ public abstract class SessionState {
       return "";
     }
 
-    List<Point> geometryPositions
-      = PolylineUtils.decode(originalDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return PolylineDecoder.encodeWithPrecision(originalDirectionRoute().geometry(), Constants.PRECISION_6,
+      Constants.PRECISION_5);
   }
 
   public int originalDistance() {
@@ -75,9 +73,8 @@ public abstract class SessionState {
       return "";
     }
 
-    List<Point> geometryPositions
-      = PolylineUtils.decode(currentDirectionRoute().geometry(), Constants.PRECISION_6);
-    return PolylineUtils.encode(geometryPositions, Constants.PRECISION_5);
+    return PolylineDecoder.encodeWithPrecision(currentDirectionRoute().geometry(), Constants.PRECISION_6,
+      Constants.PRECISION_5);
   }
 
   public abstract int secondsSinceLastReroute();
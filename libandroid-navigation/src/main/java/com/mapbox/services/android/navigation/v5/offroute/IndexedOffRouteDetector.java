@@ -0,0 +1,110 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.RouteSegmentMatch;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.MeasurementUtils;
+import com.mapbox.services.android.navigation.v5.utils.ToleranceUtils;
+
+/**
+ * Detects the user leaving the route in Java, without the native navigator, for example when it
+ * isn't available or when comparing both. Set it with
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#setOffRouteEngine(OffRoute)}.
+ * <p>
+ * The user is deviating when the location is outside of the
+ * {@link ToleranceUtils#offRouteRadius(Location, MapboxNavigationOptions)}, or when it backed up
+ * along the route by more than {@link NavigationConstants#MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE}.
+ * Only once the deviation lasted for {@link MapboxNavigationOptions#secondsBeforeReroute()} the user
+ * is reported off route, and from then on until the location is back within half of the radius.
+ * This keeps a single bad fix from triggering a reroute and keeps the state from flapping at the
+ * radius.
+ * <p>
+ * Each location is matched close along the route to the previous match, within the distance the
+ * user could have driven since then, so a leg passing the same road twice, like a loop, keeps the
+ * user on the pass they are on instead of jumping back to the first one and reporting a backup.
+ * <p>
+ * Detection doesn't allocate. An instance keeps the state of one navigation session and resets it
+ * whenever the route changes.
+ *
+ * @since 0.23.0
+ */
+public class IndexedOffRouteDetector extends OffRoute {
+
+  private static final double ON_ROUTE_RADIUS_RATIO = 0.5;
+  private static final long MILLISECONDS_PER_SECOND = 1000;
+  private static final long NO_DEVIATION = -1;
+  private static final double MINIMUM_CONTINUITY_WINDOW_IN_METERS = 100;
+  private static final double CONTINUITY_WINDOW_SPEED_RATIO = 2;
+
+  private final RouteSegmentMatch match = new RouteSegmentMatch();
+  private RouteGeometryIndex geometryIndex;
+  private long deviationStartTime = NO_DEVIATION;
+  private double furthestDistanceAlongRoute;
+  private double previousDistanceAlongRoute = Double.NaN;
+  private long previousMatchTime;
+  private boolean isOffRoute;
+
+  @Override
+  public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options) {
+    if (routeProgress.routeGeometryIndex() != geometryIndex) {
+      geometryIndex = routeProgress.routeGeometryIndex();
+      reset();
+    }
+    double continuityWindow = continuityWindow(location);
+    if (!MeasurementUtils.matchLocationToLeg(location, routeProgress, previousDistanceAlongRoute,
+      continuityWindow, match)) {
+      return false;
+    }
+    previousDistanceAlongRoute = match.distanceAlongRoute();
+    previousMatchTime = location.getTime();
+
+    double offRouteRadius = ToleranceUtils.offRouteRadius(location, options);
+    boolean isOutsideRadius = match.distance() > offRouteRadius;
+    if (!isOutsideRadius) {
+      furthestDistanceAlongRoute = Math.max(furthestDistanceAlongRoute, match.distanceAlongRoute());
+    }
+    boolean isBackingUp = furthestDistanceAlongRoute - match.distanceAlongRoute()
+      > NavigationConstants.MINIMUM_BACKUP_DISTANCE_FOR_OFF_ROUTE;
+    if (isOffRoute) {
+      if (match.distance() <= offRouteRadius * ON_ROUTE_RADIUS_RATIO && !isBackingUp) {
+        isOffRoute = false;
+        deviationStartTime = NO_DEVIATION;
+      }
+      return isOffRoute;
+    }
+
+    boolean isDeviating = isOutsideRadius || isBackingUp;
+    if (!isDeviating) {
+      deviationStartTime = NO_DEVIATION;
+      return false;
+    }
+    long time = location.getTime();
+    if (deviationStartTime == NO_DEVIATION || time < deviationStartTime) {
+      deviationStartTime = time;
+    }
+    isOffRoute = time - deviationStartTime >= options.secondsBeforeReroute() * MILLISECONDS_PER_SECOND;
+    return isOffRoute;
+  }
+
+  /**
+   * The distance along the route the user could have moved since the previous match, with some
+   * margin for the speed changing in between.
+   */
+  private double continuityWindow(Location location) {
+    double elapsedSeconds = Math.max(0, location.getTime() - previousMatchTime) / (double) MILLISECONDS_PER_SECOND;
+    double reachableDistance = location.getSpeed() * elapsedSeconds * CONTINUITY_WINDOW_SPEED_RATIO;
+    return Math.max(MINIMUM_CONTINUITY_WINDOW_IN_METERS, reachableDistance);
+  }
+
+  private void reset() {
+    deviationStartTime = NO_DEVIATION;
+    furthestDistanceAlongRoute = 0;
+    previousDistanceAlongRoute = Double.NaN;
+    previousMatchTime = 0;
+    isOffRoute = false;
+  }
+}
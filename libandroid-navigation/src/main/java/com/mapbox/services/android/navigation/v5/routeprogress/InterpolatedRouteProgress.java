@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+/**
+ * A read-only view of the progress along the route, predicted for the display frame currently
+ * being drawn and handed to {@link InterpolatedRouteProgressListener}s.
+ * <p>
+ * Between two route processor runs, the snapped position and the remaining distances are
+ * extrapolated along the geometry of the current step with the latest speed of the user, so
+ * cameras, arrows and distance labels can move smoothly instead of jumping once a second. The
+ * prediction never passes the end of the current step and stops after a short horizon if no new
+ * route progress arrives.
+ * </p><p>
+ * Like {@link RouteProgressSnapshot}, the same instance is refilled for every frame, so it is only
+ * valid for the duration of the {@link InterpolatedRouteProgressListener#onInterpolatedProgress}
+ * callback it was passed to.
+ * </p>
+ *
+ * @since 0.23.0
+ */
+public abstract class InterpolatedRouteProgress {
+
+  /**
+   * Index of the current leg.
+   *
+   * @return current leg index
+   * @since 0.23.0
+   */
+  public abstract int legIndex();
+
+  /**
+   * Index of the current step within the current leg.
+   *
+   * @return current step index
+   * @since 0.23.0
+   */
+  public abstract int stepIndex();
+
+  /**
+   * Longitude of the predicted position on the route.
+   *
+   * @return longitude in decimal degrees
+   * @since 0.23.0
+   */
+  public abstract double longitude();
+
+  /**
+   * Latitude of the predicted position on the route.
+   *
+   * @return latitude in decimal degrees
+   * @since 0.23.0
+   */
+  public abstract double latitude();
+
+  /**
+   * Bearing of the route at the predicted position.
+   *
+   * @return bearing in decimal degrees, between 0 and 360
+   * @since 0.23.0
+   */
+  public abstract double bearing();
+
+  /**
+   * Predicted distance remaining in meters till the user reaches the end of the route.
+   *
+   * @return route distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double distanceRemaining();
+
+  /**
+   * Predicted duration remaining in seconds till the user reaches the end of the route.
+   *
+   * @return route duration remaining in seconds
+   * @since 0.23.0
+   */
+  public abstract double durationRemaining();
+
+  /**
+   * Predicted distance remaining in meters till the user reaches the end of the current leg.
+   *
+   * @return leg distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double legDistanceRemaining();
+
+  /**
+   * Predicted duration remaining in seconds till the user reaches the end of the current leg.
+   *
+   * @return leg duration remaining in seconds
+   * @since 0.23.0
+   */
+  public abstract double legDurationRemaining();
+
+  /**
+   * Predicted distance remaining in meters till the user reaches the end of the current step.
+   *
+   * @return step distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double stepDistanceRemaining();
+
+  /**
+   * Predicted distance traveled in meters along the current step.
+   *
+   * @return step distance traveled in meters
+   * @since 0.23.0
+   */
+  public abstract double stepDistanceTraveled();
+
+  /**
+   * Time of the frame this progress was predicted for, in the {@link System#nanoTime()} time base.
+   *
+   * @return frame time in nanoseconds
+   * @since 0.23.0
+   */
+  public abstract long frameTimeNanos();
+
+  /**
+   * Sequence number of the route processor run the prediction started from, see
+   * {@link RouteProgressSnapshot#sequenceNumber()}.
+   *
+   * @return sequence number of the latest route progress
+   * @since 0.23.0
+   */
+  public abstract long sequenceNumber();
+}
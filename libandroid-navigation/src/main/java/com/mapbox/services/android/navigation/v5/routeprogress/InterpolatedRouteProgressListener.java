@@ -0,0 +1,14 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+/**
+ * Invoked on the main thread once per display frame with the {@link InterpolatedRouteProgress}
+ * predicted for that frame, while the user is moving along the route.
+ * <p>
+ * The progress is only valid until this callback returns. Keep the work done here light, it runs
+ * as part of drawing the frame.
+ *
+ * @since 0.23.0
+ */
+public interface InterpolatedRouteProgressListener {
+  void onInterpolatedProgress(InterpolatedRouteProgress progress);
+}
@@ -10,6 +10,7 @@ import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
 import com.mapbox.navigator.VoiceInstruction;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 
 import java.util.List;
 
@@ -168,6 +169,16 @@ public abstract class RouteProgress {
   @Nullable
   public abstract VoiceInstruction voiceInstruction();
 
+  /**
+   * Decoded geometry of the entire route, built once when navigation starts with the route. The
+   * current and upcoming step points are views of this index.
+   *
+   * @return geometry index of the route, or null if one wasn't provided
+   * @since 0.23.0
+   */
+  @Nullable
+  public abstract RouteGeometryIndex routeGeometryIndex();
+
   public abstract RouteProgress.Builder toBuilder();
 
   abstract int stepIndex();
@@ -251,6 +262,8 @@ public abstract class RouteProgress {
 
     abstract Builder currentLegProgress(RouteLegProgress routeLegProgress);
 
+    public abstract Builder routeGeometryIndex(@Nullable RouteGeometryIndex routeGeometryIndex);
+
     public abstract Builder inTunnel(boolean inTunnel);
 
     public abstract Builder voiceInstruction(@Nullable VoiceInstruction voiceInstruction);
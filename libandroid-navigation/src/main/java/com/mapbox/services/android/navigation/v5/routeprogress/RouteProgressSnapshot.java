@@ -0,0 +1,188 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Point;
+import com.mapbox.navigator.VoiceInstruction;
+
+import java.util.List;
+
+/**
+ * A read-only view of the latest progress along the route, handed to
+ * {@link RouteProgressSnapshotListener}s.
+ * <p>
+ * Unlike {@link RouteProgress}, snapshots are recycled by the navigation SDK and refilled with every
+ * route processor run, so no objects get allocated to deliver them. A snapshot is only valid for the
+ * duration of the {@link RouteProgressSnapshotListener#onProgressSnapshot} callback it was passed to.
+ * Don't keep a reference to it or read it from another thread; copy the values you need instead.
+ * </p>
+ *
+ * @since 0.23.0
+ */
+public abstract class RouteProgressSnapshot {
+
+  /**
+   * The route the navigation session is currently using.
+   *
+   * @return current directions route
+   * @since 0.23.0
+   */
+  public abstract DirectionsRoute directionsRoute();
+
+  /**
+   * Index of the current leg.
+   *
+   * @return current leg index
+   * @since 0.23.0
+   */
+  public abstract int legIndex();
+
+  /**
+   * Index of the current step within the current leg.
+   *
+   * @return current step index
+   * @since 0.23.0
+   */
+  public abstract int stepIndex();
+
+  /**
+   * Distance remaining in meters till the user reaches the end of the route.
+   *
+   * @return route distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double distanceRemaining();
+
+  /**
+   * Distance remaining in meters till the user reaches the end of the current leg.
+   *
+   * @return leg distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double legDistanceRemaining();
+
+  /**
+   * Duration remaining in seconds till the user reaches the end of the current leg.
+   *
+   * @return leg duration remaining in seconds
+   * @since 0.23.0
+   */
+  public abstract double legDurationRemaining();
+
+  /**
+   * Distance remaining in meters till the user reaches the end of the current step.
+   *
+   * @return step distance remaining in meters
+   * @since 0.23.0
+   */
+  public abstract double stepDistanceRemaining();
+
+  /**
+   * Distance traveled in meters along the current step.
+   *
+   * @return step distance traveled in meters
+   * @since 0.23.0
+   */
+  public abstract double stepDistanceTraveled();
+
+  /**
+   * Points of the current step geometry.
+   *
+   * @return list of points representing the current step
+   * @since 0.23.0
+   */
+  public abstract List<Point> currentStepPoints();
+
+  /**
+   * Points of the upcoming step geometry.
+   *
+   * @return list of points representing the upcoming step, null if there isn't one
+   * @since 0.23.0
+   */
+  @Nullable
+  public abstract List<Point> upcomingStepPoints();
+
+  /**
+   * The intersection most recently passed on the current step.
+   *
+   * @return current intersection
+   * @since 0.23.0
+   */
+  public abstract StepIntersection currentIntersection();
+
+  /**
+   * The intersection being traveled towards.
+   *
+   * @return upcoming intersection, null if there isn't one
+   * @since 0.23.0
+   */
+  @Nullable
+  public abstract StepIntersection upcomingIntersection();
+
+  /**
+   * Whether or not the location updates are considered in a tunnel along the route.
+   *
+   * @return true if in a tunnel, false otherwise
+   * @since 0.23.0
+   */
+  public abstract boolean inTunnel();
+
+  /**
+   * Current voice instruction.
+   *
+   * @return current voice instruction
+   * @since 0.23.0
+   */
+  @Nullable
+  public abstract VoiceInstruction voiceInstruction();
+
+  /**
+   * Increases with every route processor run and can be used to tell snapshots apart, since the
+   * same instance is handed out again once refilled.
+   *
+   * @return sequence number of the route processor run that filled this snapshot
+   * @since 0.23.0
+   */
+  public abstract long sequenceNumber();
+
+  /**
+   * Total distance traveled in meters along route.
+   *
+   * @return distance traveled along the route in meters
+   * @since 0.23.0
+   */
+  public double distanceTraveled() {
+    double distanceTraveled = directionsRoute().distance() - distanceRemaining();
+    if (distanceTraveled < 0) {
+      distanceTraveled = 0;
+    }
+    return distanceTraveled;
+  }
+
+  /**
+   * Fraction traveled along the current route, between 0 and 1.
+   *
+   * @return fraction traveled along the route
+   * @since 0.23.0
+   */
+  public float fractionTraveled() {
+    float fractionRemaining = 1;
+
+    if (directionsRoute().distance() > 0) {
+      fractionRemaining = (float) (distanceTraveled() / directionsRoute().distance());
+    }
+    return fractionRemaining;
+  }
+
+  /**
+   * Duration remaining in seconds till the user reaches the end of the route.
+   *
+   * @return route duration remaining in seconds
+   * @since 0.23.0
+   */
+  public double durationRemaining() {
+    return (1 - fractionTraveled()) * directionsRoute().duration();
+  }
+}
@@ -0,0 +1,16 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.location.Location;
+
+/**
+ * Allocation free alternative to {@link ProgressChangeListener}, invoked on the main thread with a
+ * recycled {@link RouteProgressSnapshot}.
+ * <p>
+ * The snapshot is only valid until this callback returns. If the main thread falls behind, snapshots
+ * of older route processor runs are skipped rather than queued.
+ *
+ * @since 0.23.0
+ */
+public interface RouteProgressSnapshotListener {
+  void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot);
+}
@@ -0,0 +1,79 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.mapbox.services.android.navigation.v5.geometry.GeometryUtils;
+import com.mapbox.services.android.navigation.v5.geometry.RouteSegmentMatch;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.utils.MeasurementUtils;
+import com.mapbox.services.android.navigation.v5.utils.ToleranceUtils;
+
+/**
+ * Snaps locations onto the current leg in Java, without the native navigator, for example when it
+ * isn't available or when comparing both. Set it with
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#setSnapEngine(Snap)}.
+ * <p>
+ * Locations are matched with the {@link com.mapbox.services.android.navigation.v5.geometry.RouteSegmentIndex}
+ * of the route, preferring segments heading in the direction of travel. Locations outside of the
+ * {@link ToleranceUtils#offRouteRadius(Location, MapboxNavigationOptions)} are returned unchanged.
+ * The bearing is snapped to the route when it differs by less than
+ * {@link MapboxNavigationOptions#maxManipulatedCourseAngle()}.
+ * <p>
+ * Apart from the returned location, snapping doesn't allocate. An instance keeps a reusable match,
+ * so it should only be used by one navigation session.
+ *
+ * @since 0.23.0
+ */
+public class IndexedSnapToRoute extends Snap {
+
+  private static final String INDEXED_SNAPPED_LOCATION = "IndexedSnappedLocation";
+
+  private final MapboxNavigationOptions options;
+  private final RouteSegmentMatch match = new RouteSegmentMatch();
+
+  /**
+   * Creates a snap engine using the default {@link MapboxNavigationOptions}.
+   *
+   * @since 0.23.0
+   */
+  public IndexedSnapToRoute() {
+    this(MapboxNavigationOptions.builder().build());
+  }
+
+  /**
+   * Creates a snap engine using the given options, which should match the ones of the navigation.
+   *
+   * @param options providing the off route radius and the maximum manipulated course angle
+   * @since 0.23.0
+   */
+  public IndexedSnapToRoute(@NonNull MapboxNavigationOptions options) {
+    this.options = options;
+  }
+
+  @Override
+  public Location getSnappedLocation(Location location, RouteProgress routeProgress) {
+    boolean isMatched = MeasurementUtils.matchLocationToLeg(location, routeProgress, match);
+    if (!isMatched || match.distance() > ToleranceUtils.offRouteRadius(location, options)) {
+      return location;
+    }
+    Location snappedLocation = new Location(location);
+    snappedLocation.setProvider(INDEXED_SNAPPED_LOCATION);
+    snappedLocation.setLongitude(match.longitude());
+    snappedLocation.setLatitude(match.latitude());
+    snappedLocation.setBearing(snapBearing(location));
+    return snappedLocation;
+  }
+
+  private float snapBearing(Location location) {
+    if (!location.hasBearing()) {
+      return (float) match.bearing();
+    }
+    double difference = GeometryUtils.bearingDifference(location.getBearing(), match.bearing());
+    if (difference > options.maxManipulatedCourseAngle()) {
+      return location.getBearing();
+    }
+    return (float) match.bearing();
+  }
+}
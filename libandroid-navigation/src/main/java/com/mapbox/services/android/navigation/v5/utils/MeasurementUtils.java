@@ -1,19 +1,29 @@
 package com.mapbox.services.android.navigation.v5.utils;
 
 
+import android.location.Location;
+
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.core.constants.Constants;
 import com.mapbox.core.utils.TextUtils;
 import com.mapbox.geojson.Feature;
-import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.PolylineDecoder;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.RouteSegmentMatch;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.turf.TurfMeasurement;
 import com.mapbox.turf.TurfMisc;
 
+import java.util.List;
+
 import static com.mapbox.turf.TurfConstants.UNIT_METERS;
 
 public final class MeasurementUtils {
 
+  private static final float MINIMUM_SPEED_FOR_RELIABLE_BEARING = 1f;
+  private static final double BEARING_PENALTY_IN_METERS = 30;
+
   private MeasurementUtils() {
     throw new AssertionError("No Instance.");
   }
@@ -34,21 +44,19 @@ public final class MeasurementUtils {
       return 0;
     }
 
-    // Get the lineString from the step geometry.
-    LineString lineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    // Get the coordinates from the step geometry, points are only created when read.
+    List<Point> coordinates = PolylineDecoder.decodePoints(step.geometry(), Constants.PRECISION_6);
 
     // Make sure that the step coordinates isn't less than size 2. If the points equal each other,
     // the distance is obviously zero, so return 0 to avoid executing additional unnecessary code.
-    if (lineString.coordinates().isEmpty()
-      || usersRawLocation.equals(lineString.coordinates().get(0))) {
+    if (coordinates.isEmpty() || usersRawLocation.equals(coordinates.get(0))) {
       return 0;
     }
-    if (lineString.coordinates().size() == 1) {
-      return TurfMeasurement.distance(usersRawLocation, lineString.coordinates().get(0),
-        UNIT_METERS);
+    if (coordinates.size() == 1) {
+      return TurfMeasurement.distance(usersRawLocation, coordinates.get(0), UNIT_METERS);
     }
 
-    Feature feature = TurfMisc.nearestPointOnLine(usersRawLocation, lineString.coordinates());
+    Feature feature = TurfMisc.nearestPointOnLine(usersRawLocation, coordinates);
     Point snappedPoint = (Point) feature.geometry();
 
     if (snappedPoint == null) {
@@ -56,11 +64,93 @@ public final class MeasurementUtils {
     }
     if (Double.isInfinite(snappedPoint.latitude())
       || Double.isInfinite(snappedPoint.longitude())) {
-      return TurfMeasurement.distance(usersRawLocation,
-        lineString.coordinates().get(0), UNIT_METERS);
+      return TurfMeasurement.distance(usersRawLocation, coordinates.get(0), UNIT_METERS);
     }
 
     double distance = TurfMeasurement.distance(usersRawLocation, snappedPoint, UNIT_METERS);
     return Double.isNaN(distance) ? 0d : distance;
   }
+
+  /**
+   * Calculates the distance between the users current raw {@link android.location.Location} object
+   * to the closest point of a step held in the given {@link RouteGeometryIndex}. Unlike
+   * {@link #userTrueDistanceFromStep(Point, LegStep)}, this doesn't decode the step geometry and
+   * only visits the segments near the user, using {@link RouteGeometryIndex#segmentIndex()}.
+   *
+   * @param usersRawLocation {@link Point} the raw location where the user is currently located
+   * @param geometryIndex    holding the decoded route geometry
+   * @param legIndex         of the leg
+   * @param stepIndex        of the step in the leg
+   * @return double in distance meters, zero if the step has no geometry
+   * @since 0.23.0
+   */
+  public static double userTrueDistanceFromStep(Point usersRawLocation, RouteGeometryIndex geometryIndex,
+                                                int legIndex, int stepIndex) {
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    boolean isMatched = geometryIndex.segmentIndex().findNearestSegmentOnStep(
+      usersRawLocation.longitude(), usersRawLocation.latitude(), legIndex, stepIndex, match
+    );
+    if (!isMatched || Double.isNaN(match.distance())) {
+      return 0d;
+    }
+    return match.distance();
+  }
+
+  /**
+   * Matches the given location to the closest point on the current leg, using the
+   * {@link RouteGeometryIndex#segmentIndex()} of the route progress. Once the user moves fast enough
+   * for the location bearing to be reliable, segments heading in the direction of travel are
+   * preferred, so the closer lane of a road running the other way doesn't win.
+   *
+   * @param location      of the user
+   * @param routeProgress holding the geometry index and the current leg
+   * @param match         updated with the matched point of the route
+   * @return true if the location was matched, false if the route progress has no geometry index or
+   * the leg has no geometry
+   * @since 0.23.0
+   */
+  public static boolean matchLocationToLeg(Location location, RouteProgress routeProgress, RouteSegmentMatch match) {
+    return matchLocationToLeg(location, routeProgress, Double.NaN, 0, match);
+  }
+
+  /**
+   * Matches the given location to the closest point on the current leg like
+   * {@link #matchLocationToLeg(Location, RouteProgress, RouteSegmentMatch)}, also preferring points
+   * within the continuity window along the route from the previous match. Where the leg overlaps
+   * itself, this keeps the location on the pass the user is driving.
+   *
+   * @param location                   of the user
+   * @param routeProgress              holding the geometry index and the current leg
+   * @param previousDistanceAlongRoute of the previous match, or {@link Double#NaN} if there is none
+   * @param continuityWindow           in meters along the route the user may have moved since the
+   *                                   previous match
+   * @param match                      updated with the matched point of the route
+   * @return true if the location was matched, false if the route progress has no geometry index or
+   * the leg has no geometry
+   * @since 0.23.0
+   */
+  public static boolean matchLocationToLeg(Location location, RouteProgress routeProgress,
+                                           double previousDistanceAlongRoute, double continuityWindow,
+                                           RouteSegmentMatch match) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      return false;
+    }
+    double bearingPenalty = hasReliableBearing(location) ? BEARING_PENALTY_IN_METERS : 0;
+    return geometryIndex.segmentIndex().findNearestSegmentOnLeg(location.getLongitude(), location.getLatitude(),
+      location.getBearing(), bearingPenalty, previousDistanceAlongRoute, continuityWindow,
+      routeProgress.legIndex(), match);
+  }
+
+  /**
+   * Whether or not the bearing of the given location can be trusted, which isn't the case when
+   * standing still or moving at walking pace.
+   *
+   * @param location of the user
+   * @return true if the location has a bearing and is moving fast enough
+   * @since 0.23.0
+   */
+  public static boolean hasReliableBearing(Location location) {
+    return location.hasBearing() && location.getSpeed() >= MINIMUM_SPEED_FOR_RELIABLE_BEARING;
+  }
 }
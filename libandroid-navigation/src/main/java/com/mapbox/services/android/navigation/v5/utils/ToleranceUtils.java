@@ -1,14 +1,14 @@
 package com.mapbox.services.android.navigation.v5.utils;
 
+import android.location.Location;
+
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.GeometryUtils;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.turf.TurfClassification;
-import com.mapbox.turf.TurfConstants;
-import com.mapbox.turf.TurfMeasurement;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public final class ToleranceUtils {
@@ -21,23 +21,43 @@ public final class ToleranceUtils {
                                                        RouteProgress routeProgress) {
     List<StepIntersection> intersections
       = routeProgress.currentLegProgress().currentStepProgress().intersections();
-    List<Point> intersectionsPoints = new ArrayList<>();
-    for (StepIntersection intersection : intersections) {
-      intersectionsPoints.add(intersection.location());
+    if (intersections.isEmpty()) {
+      return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
     }
 
-    Point closestIntersection = TurfClassification.nearestPoint(snappedPoint, intersectionsPoints);
+    // Same result as TurfClassification#nearestPoint, without copying the intersection locations.
+    Point closestIntersection = null;
+    double distanceToNextIntersection = Double.MAX_VALUE;
+    for (StepIntersection intersection : intersections) {
+      Point location = intersection.location();
+      double distance = GeometryUtils.distance(snappedPoint.longitude(), snappedPoint.latitude(),
+        location.longitude(), location.latitude());
+      if (closestIntersection == null || distance < distanceToNextIntersection) {
+        closestIntersection = location;
+        distanceToNextIntersection = distance;
+      }
+    }
 
     if (closestIntersection.equals(snappedPoint)) {
       return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
     }
 
-    double distanceToNextIntersection = TurfMeasurement.distance(snappedPoint, closestIntersection,
-      TurfConstants.UNIT_METERS);
-
     if (distanceToNextIntersection <= NavigationConstants.MANEUVER_ZONE_RADIUS) {
       return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING / 2;
     }
     return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
   }
-}
\ No newline at end of file
+
+  /**
+   * Radius around the route in which the user is considered on route. It grows with the horizontal
+   * accuracy of the location, so an inaccurate fix doesn't make the user look off route.
+   *
+   * @param location of the user
+   * @param options  holding the maximum distance off route and the user location snap distance
+   * @return radius in meters
+   * @since 0.23.0
+   */
+  public static double offRouteRadius(Location location, MapboxNavigationOptions options) {
+    return Math.max(options.maximumDistanceOffRoute(), location.getAccuracy() + options.userLocationSnapDistance());
+  }
+}
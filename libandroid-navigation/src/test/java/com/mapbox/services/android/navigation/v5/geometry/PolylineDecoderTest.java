@@ -0,0 +1,95 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_5;
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+
+public class PolylineDecoderTest extends BaseTest {
+
+  private static final String PRECISION_5_POLYLINE = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+  @Test
+  public void decodePoints_matchPolylineUtils() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    List<Point> points = PolylineDecoder.decodePoints(route.geometry(), PRECISION_6);
+
+    assertEquals(PolylineUtils.decode(route.geometry(), PRECISION_6), points);
+  }
+
+  @Test
+  public void decodePoints_precisionFiveMatchesPolylineUtils() {
+    List<Point> points = PolylineDecoder.decodePoints(PRECISION_5_POLYLINE, PRECISION_5);
+
+    assertEquals(PolylineUtils.decode(PRECISION_5_POLYLINE, PRECISION_5), points);
+  }
+
+  @Test
+  public void decode_reusedDecoderMatchesEachStep() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    PolylineDecoder decoder = new PolylineDecoder();
+
+    for (LegStep step : route.legs().get(0).steps()) {
+      List<Point> expectedPoints = PolylineUtils.decode(step.geometry(), PRECISION_6);
+      int pointCount = decoder.decode(step.geometry(), PRECISION_6);
+
+      assertEquals(expectedPoints.size(), pointCount);
+      for (int i = 0; i < pointCount; i++) {
+        assertEquals(expectedPoints.get(i).longitude(), decoder.longitude(i), DELTA);
+        assertEquals(expectedPoints.get(i).latitude(), decoder.latitude(i), DELTA);
+      }
+    }
+  }
+
+  @Test
+  public void toPoints_staysValidAfterNextDecode() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    PolylineDecoder decoder = new PolylineDecoder();
+    decoder.decode(route.geometry(), PRECISION_6);
+
+    List<Point> points = decoder.toPoints();
+    decoder.decode(PRECISION_5_POLYLINE, PRECISION_5);
+
+    assertEquals(PolylineUtils.decode(route.geometry(), PRECISION_6), points);
+  }
+
+  @Test
+  public void decode_writesAtOffset() {
+    double[] longitudes = new double[PolylineDecoder.maximumPointCount(PRECISION_5_POLYLINE) + 2];
+    double[] latitudes = new double[longitudes.length];
+
+    int pointCount = PolylineDecoder.decode(PRECISION_5_POLYLINE, PRECISION_5, longitudes, latitudes, 2);
+
+    assertEquals(3, pointCount);
+    assertEquals(-120.2, longitudes[2], DELTA);
+    assertEquals(38.5, latitudes[2], DELTA);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void longitude_invalidIndexThrowsException() {
+    PolylineDecoder decoder = new PolylineDecoder();
+    decoder.decode(PRECISION_5_POLYLINE, PRECISION_5);
+
+    decoder.longitude(3);
+  }
+
+  @Test
+  public void encodeWithPrecision_matchesPolylineUtilsEncode() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    List<Point> points = PolylineUtils.decode(route.geometry(), PRECISION_6);
+
+    String encoded = PolylineDecoder.encodeWithPrecision(route.geometry(), PRECISION_6, PRECISION_5);
+
+    assertEquals(PolylineUtils.encode(points, PRECISION_5), encoded);
+  }
+}
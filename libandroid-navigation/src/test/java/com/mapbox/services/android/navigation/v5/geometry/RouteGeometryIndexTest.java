@@ -0,0 +1,81 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteGeometryIndexTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+
+  @Test
+  public void stepPoints_matchDecodedStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    for (int legIndex = 0; legIndex < route.legs().size(); legIndex++) {
+      List<LegStep> steps = route.legs().get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+        List<Point> expectedPoints = PolylineUtils.decode(steps.get(stepIndex).geometry(), PRECISION_6);
+
+        assertEquals(expectedPoints, geometryIndex.stepPoints(legIndex, stepIndex));
+      }
+    }
+  }
+
+  @Test
+  public void stepPoints_sameViewReturnedForSameStep() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+
+    List<Point> firstPoints = geometryIndex.stepPoints(0, 1);
+    List<Point> secondPoints = geometryIndex.stepPoints(0, 1);
+
+    assertSame(firstPoints, secondPoints);
+  }
+
+  @Test
+  public void stepPoints_invalidIndicesReturnNull() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    int stepCount = geometryIndex.stepCount(0);
+
+    assertNull(geometryIndex.stepPoints(0, stepCount));
+    assertNull(geometryIndex.stepPoints(1, 0));
+    assertNull(geometryIndex.stepPoints(0, -1));
+  }
+
+  @Test
+  public void stepGeometryLength_matchesTurfLength() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute("long_step.json");
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    List<Point> stepPoints = geometryIndex.stepPoints(0, 0);
+    double expectedLength = TurfMeasurement.length(LineString.fromLngLats(stepPoints), TurfConstants.UNIT_METERS);
+
+    assertEquals(expectedLength, geometryIndex.stepGeometryLength(0, 0), LARGE_DELTA);
+  }
+
+  @Test
+  public void isIndexOf_onlyTrueForIndexedRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    DirectionsRoute otherRoute = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+
+    assertTrue(geometryIndex.isIndexOf(route));
+    assertFalse(geometryIndex.isIndexOf(otherRoute));
+  }
+}
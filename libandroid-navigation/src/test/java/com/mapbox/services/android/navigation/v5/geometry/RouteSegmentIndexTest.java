@@ -0,0 +1,207 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteSegmentIndexTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+  private static final double QUERY_OFFSET = 0.0004;
+  private static final double DISTANCE_DELTA = 1E-6;
+
+  @Test
+  public void findNearestSegment_matchesClosestSegmentOfAllSteps() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE));
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(geometryIndex);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    RouteSegmentMatch stepMatch = new RouteSegmentMatch();
+
+    for (int legIndex = 0; legIndex < geometryIndex.legCount(); legIndex++) {
+      for (int stepIndex = 0; stepIndex < geometryIndex.stepCount(legIndex); stepIndex++) {
+        for (int pointIndex = 0; pointIndex < geometryIndex.pointCount(legIndex, stepIndex); pointIndex++) {
+          double longitude = geometryIndex.longitude(legIndex, stepIndex, pointIndex) + QUERY_OFFSET;
+          double latitude = geometryIndex.latitude(legIndex, stepIndex, pointIndex) - QUERY_OFFSET;
+          double closestStepDistance = closestStepDistance(geometryIndex, segmentIndex, longitude, latitude,
+            stepMatch);
+
+          assertTrue(segmentIndex.findNearestSegment(longitude, latitude, match));
+          assertEquals(closestStepDistance, match.distance(), DISTANCE_DELTA);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void distanceAlongRoute_stepStartsMatchPreviousStepLengths() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(geometryIndex);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    double expectedDistanceAlongRoute = 0;
+
+    for (int stepIndex = 0; stepIndex < geometryIndex.stepCount(0); stepIndex++) {
+      double longitude = geometryIndex.longitude(0, stepIndex, 0);
+      double latitude = geometryIndex.latitude(0, stepIndex, 0);
+
+      segmentIndex.findNearestSegment(longitude, latitude, match);
+
+      assertEquals(0d, match.distance(), DISTANCE_DELTA);
+      assertEquals(expectedDistanceAlongRoute, match.distanceAlongRoute(), DISTANCE_DELTA);
+      expectedDistanceAlongRoute += geometryIndex.stepGeometryLength(0, stepIndex);
+    }
+  }
+
+  @Test
+  public void findNearestSegmentOnStep_onlyMatchesGivenStep() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(geometryIndex);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    double longitude = geometryIndex.longitude(0, 0, 0);
+    double latitude = geometryIndex.latitude(0, 0, 0);
+
+    segmentIndex.findNearestSegmentOnStep(longitude, latitude, 0, 2, match);
+
+    assertEquals(0, match.legIndex());
+    assertEquals(2, match.stepIndex());
+    assertTrue(match.distance() > 0);
+  }
+
+  @Test
+  public void findNearestSegmentOnStep_invalidStepReturnsFalse() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(geometryIndex);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+
+    assertFalse(segmentIndex.findNearestSegmentOnStep(0, 0, 0, geometryIndex.stepCount(0), match));
+    assertFalse(segmentIndex.findNearestSegmentOnStep(0, 0, 1, 0, match));
+    assertFalse(segmentIndex.findNearestSegmentOnLeg(0, 0, -1, match));
+  }
+
+  @Test
+  public void distanceToRoute_emptyLineReturnsNaN() {
+    List<Point> coordinates = Collections.emptyList();
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(coordinates);
+
+    assertEquals(0, segmentIndex.segmentCount());
+    assertTrue(Double.isNaN(segmentIndex.distanceToRoute(0, 0)));
+  }
+
+  @Test
+  public void distanceToRoute_singlePointLineMeasuresToPoint() {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(Point.fromLngLat(-95.8427, 29.7757));
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(coordinates);
+
+    double distance = segmentIndex.distanceToRoute(-95.3676974, 29.7589382);
+
+    assertEquals(GeometryUtils.distance(-95.3676974, 29.7589382, -95.8427, 29.7757), distance, DELTA);
+  }
+
+  @Test
+  public void findNearestSegmentOnLeg_withoutBearingMatchesClosestSegment() {
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(buildUTurnCoordinates());
+    RouteSegmentMatch match = new RouteSegmentMatch();
+
+    segmentIndex.findNearestSegmentOnLeg(0.0005, 0.00008, 0, match);
+
+    assertEquals(0, match.segmentIndex());
+    assertEquals(90, match.bearing(), LARGE_DELTA);
+  }
+
+  @Test
+  public void findNearestSegmentOnLeg_bearingPenaltyPrefersSegmentHeadingAlong() {
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(buildUTurnCoordinates());
+    RouteSegmentMatch match = new RouteSegmentMatch();
+
+    segmentIndex.findNearestSegmentOnLeg(0.0005, 0.00008, 270, 30, 0, match);
+
+    assertEquals(2, match.segmentIndex());
+    assertEquals(270, match.bearing(), LARGE_DELTA);
+  }
+
+  @Test
+  public void findNearestSegmentOnLeg_loopWithoutPreviousMatchMatchesFirstPass() {
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(buildLoopCoordinates());
+    RouteSegmentMatch match = new RouteSegmentMatch();
+
+    segmentIndex.findNearestSegmentOnLeg(0.0005, 0.00001, 90, 30, Double.NaN, 100, 0, match);
+
+    assertEquals(0, match.segmentIndex());
+  }
+
+  @Test
+  public void findNearestSegmentOnLeg_loopContinuityMatchesSecondPass() {
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(buildLoopCoordinates());
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    double loopLength = 4 * GeometryUtils.distance(0, 0, 0.001, 0);
+
+    segmentIndex.findNearestSegmentOnLeg(0.0005, 0.00001, 90, 30, loopLength, 100, 0, match);
+
+    assertEquals(4, match.segmentIndex());
+    assertTrue(match.distanceAlongRoute() > loopLength);
+  }
+
+  @Test
+  public void findNearestSegmentOnLeg_continuityPenaltyIsOutweighedByDistance() {
+    RouteSegmentIndex segmentIndex = RouteSegmentIndex.create(buildLoopCoordinates());
+    RouteSegmentMatch match = new RouteSegmentMatch();
+
+    segmentIndex.findNearestSegmentOnLeg(0.0005, 0.001, 0, 0, 0, 30, 0, match);
+
+    assertEquals(2, match.segmentIndex());
+  }
+
+  @Test
+  public void segmentIndex_builtOncePerGeometryIndex() throws Exception {
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(buildTestDirectionsRoute());
+
+    assertSame(geometryIndex.segmentIndex(), geometryIndex.segmentIndex());
+  }
+
+  private List<Point> buildUTurnCoordinates() {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(Point.fromLngLat(0, 0));
+    coordinates.add(Point.fromLngLat(0.001, 0));
+    coordinates.add(Point.fromLngLat(0.001, 0.0002));
+    coordinates.add(Point.fromLngLat(0, 0.0002));
+    return coordinates;
+  }
+
+  /**
+   * Goes around a square counterclockwise and then along its first side again.
+   */
+  private List<Point> buildLoopCoordinates() {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(Point.fromLngLat(0, 0));
+    coordinates.add(Point.fromLngLat(0.001, 0));
+    coordinates.add(Point.fromLngLat(0.001, 0.001));
+    coordinates.add(Point.fromLngLat(0, 0.001));
+    coordinates.add(Point.fromLngLat(0, 0));
+    coordinates.add(Point.fromLngLat(0.001, 0));
+    return coordinates;
+  }
+
+  private double closestStepDistance(RouteGeometryIndex geometryIndex, RouteSegmentIndex segmentIndex,
+                                     double longitude, double latitude, RouteSegmentMatch match) {
+    double closestDistance = Double.MAX_VALUE;
+    for (int legIndex = 0; legIndex < geometryIndex.legCount(); legIndex++) {
+      for (int stepIndex = 0; stepIndex < geometryIndex.stepCount(legIndex); stepIndex++) {
+        if (segmentIndex.findNearestSegmentOnStep(longitude, latitude, legIndex, stepIndex, match)) {
+          closestDistance = Math.min(closestDistance, match.distance());
+        }
+      }
+    }
+    return closestDistance;
+  }
+}
@@ -42,6 +42,17 @@ public class LocationValidatorTest {
     assertFalse(isValid);
   }
 
+  @Test
+  public void isValidUpdate_trueOnFirstUpdateAfterReset() {
+    Location location = buildLocationWithAccuracy(110);
+    LocationValidator validator = buildValidatorWithUpdate();
+    validator.reset();
+
+    boolean isValid = validator.isValidUpdate(location);
+
+    assertTrue(isValid);
+  }
+
   private LocationValidator buildValidatorWithUpdate() {
     Location location = buildLocationWithAccuracy(10);
     int accuracyThreshold = 100;
@@ -1,23 +1,31 @@
 package com.mapbox.services.android.navigation.v5.location.replay;
 
 import android.location.Location;
+import android.os.Handler;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
-import org.xml.sax.SAXException;
+import org.xmlpull.v1.XmlPullParserException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.List;
-
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.NoSuchElementException;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(RobolectricTestRunner.class)
 public class GpxParserTest {
@@ -29,6 +37,15 @@ public class GpxParserTest {
   private static final double FIRST_TEST_GPS_LONGITUDE = -122.326897;
   private static final long FIRST_TEST_GPS_TIME = 1255804646000L;
   private static final int FIRST_LOCATION = 0;
+  private static final double FIRST_TEST_GPS_ALTITUDE = 4.46;
+  private static final String EXTENSIONS_GPX = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+    + "<gpx version=\"1.1\" xmlns=\"http://www.topografix.com/GPX/1/1\""
+    + " xmlns:gpxtpx=\"http://www.garmin.com/xmlschemas/TrackPointExtension/v2\"><trk><trkseg>"
+    + "<trkpt lat=\"52.5\" lon=\"13.4\"><ele>34.5</ele><time>2018-06-01T10:15:30.250+02:00</time>"
+    + "<extensions><gpxtpx:TrackPointExtension><gpxtpx:speed>12.5</gpxtpx:speed>"
+    + "<gpxtpx:course>270.0</gpxtpx:course></gpxtpx:TrackPointExtension></extensions></trkpt>"
+    + "<trkpt lat=\"52.6\" lon=\"13.5\"><speed>3</speed><course>90</course></trkpt>"
+    + "</trkseg></trk></gpx>";
 
   @Test
   public void sanity() {
@@ -38,8 +55,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void invalidGpxTags_returnsNullList() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void invalidGpxTags_returnsNullList() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_INVALID_GPX);
 
@@ -49,8 +66,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void validGpxFile_returnsPopulatedLocationList() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void validGpxFile_returnsPopulatedLocationList() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
 
@@ -60,8 +77,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void validGpxFile_returnsCorrectAmountOfLocations() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void validGpxFile_returnsCorrectAmountOfLocations() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
 
@@ -71,8 +88,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void firstLocationUpdate_returnsCorrectLatitude() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void firstLocationUpdate_returnsCorrectLatitude() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
 
@@ -83,8 +100,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void firstLocationUpdate_returnsCorrectLongitude() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void firstLocationUpdate_returnsCorrectLongitude() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
 
@@ -95,8 +112,8 @@ public class GpxParserTest {
   }
 
   @Test
-  public void firstLocationUpdate_returnsCorrectTimeInMillis() throws ParserConfigurationException, SAXException,
-    ParseException, IOException {
+  public void firstLocationUpdate_returnsCorrectTimeInMillis() throws XmlPullParserException, ParseException,
+    IOException {
     GpxParser parser = new GpxParser();
     InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
 
@@ -106,6 +123,88 @@ public class GpxParserTest {
     assertEquals(FIRST_TEST_GPS_TIME, actualFirstTime, DELTA);
   }
 
+  @Test
+  public void firstLocationUpdate_returnsCorrectAltitude() throws XmlPullParserException, ParseException,
+    IOException {
+    GpxParser parser = new GpxParser();
+    InputStream inputStream = buildTestGpxInputStream(TEST_GPX);
+
+    List<Location> parsedLocations = parser.parseGpx(inputStream);
+
+    assertEquals(FIRST_TEST_GPS_ALTITUDE, parsedLocations.get(FIRST_LOCATION).getAltitude(), DELTA);
+  }
+
+  @Test
+  public void trackPointExtensions_returnsSpeedAndBearing() throws XmlPullParserException, ParseException,
+    IOException {
+    GpxParser parser = new GpxParser();
+    InputStream inputStream = new ByteArrayInputStream(EXTENSIONS_GPX.getBytes(Charset.forName("UTF-8")));
+
+    List<Location> parsedLocations = parser.parseGpx(inputStream);
+
+    Location firstLocation = parsedLocations.get(FIRST_LOCATION);
+    assertEquals(34.5, firstLocation.getAltitude(), DELTA);
+    assertEquals(12.5f, firstLocation.getSpeed(), DELTA);
+    assertEquals(270f, firstLocation.getBearing(), DELTA);
+    assertEquals(1527840930250L, firstLocation.getTime());
+    assertEquals(3f, parsedLocations.get(1).getSpeed(), DELTA);
+    assertEquals(90f, parsedLocations.get(1).getBearing(), DELTA);
+  }
+
+  @Test
+  public void readGpx_returnsLocationsOneAtATime() throws IOException {
+    GpxParser parser = new GpxParser();
+    GpxLocationReader reader = parser.readGpx(buildTestGpxInputStream(TEST_GPX));
+
+    Location firstLocation = reader.next();
+    Location secondLocation = reader.next();
+    Location thirdLocation = reader.next();
+    boolean hasFourthLocation = reader.hasNext();
+    reader.close();
+
+    assertEquals(FIRST_TEST_GPS_LATITUDE, firstLocation.getLatitude(), DELTA);
+    assertEquals(FIRST_TEST_GPS_TIME + 5000, secondLocation.getTime());
+    assertNotNull(thirdLocation);
+    assertFalse(hasFourthLocation);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void readGpx_noSuchElementAfterLastLocation() {
+    GpxParser parser = new GpxParser();
+    GpxLocationReader reader = parser.readGpx(buildTestGpxInputStream(TEST_INVALID_GPX));
+
+    reader.next();
+  }
+
+  @Test(expected = GpxParseException.class)
+  public void readGpx_malformedGpxThrows() {
+    GpxParser parser = new GpxParser();
+    String gpx = "<gpx><trk><trkseg><trkpt lat=\"52.5\" lon=\"13.4\"><time>yesterday</time></trkpt>";
+    GpxLocationReader reader = parser.readGpx(new ByteArrayInputStream(gpx.getBytes(Charset.forName("UTF-8"))));
+
+    reader.hasNext();
+  }
+
+  @Test
+  public void readGpx_locationsAreReplayedByDispatcher() {
+    GpxParser parser = new GpxParser();
+    GpxLocationReader reader = parser.readGpx(buildTestGpxInputStream(TEST_GPX));
+    Handler handler = mock(Handler.class);
+    ReplayLocationDispatcher dispatcher = new ReplayLocationDispatcher(reader, handler);
+    ReplayLocationListener listener = mock(ReplayLocationListener.class);
+    dispatcher.addReplayLocationListener(listener);
+
+    dispatcher.run();
+    dispatcher.run();
+    dispatcher.run();
+
+    ArgumentCaptor<Location> replayedLocations = ArgumentCaptor.forClass(Location.class);
+    verify(listener, times(3)).onLocationReplay(replayedLocations.capture());
+    assertEquals(FIRST_TEST_GPS_LATITUDE, replayedLocations.getAllValues().get(FIRST_LOCATION).getLatitude(), DELTA);
+    verify(handler).postDelayed(eq(dispatcher), eq(5000L));
+    verify(handler).postDelayed(eq(dispatcher), eq(3000L));
+  }
+
   private InputStream buildTestGpxInputStream(String gpxFileName) {
     ClassLoader classLoader = getClass().getClassLoader();
     return classLoader.getResourceAsStream(gpxFileName);
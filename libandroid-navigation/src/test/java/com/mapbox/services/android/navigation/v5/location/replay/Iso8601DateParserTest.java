@@ -0,0 +1,88 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static junit.framework.Assert.assertEquals;
+
+public class Iso8601DateParserTest {
+
+  @Test
+  public void parseTimeInMillis_utcDateTime() throws Exception {
+    long time = parse("2009-10-17T18:37:26Z");
+
+    assertEquals(1255804646000L, time);
+  }
+
+  @Test
+  public void parseTimeInMillis_withoutDesignatorIsUtc() throws Exception {
+    long time = parse("2009-10-17T18:37:26");
+
+    assertEquals(1255804646000L, time);
+  }
+
+  @Test
+  public void parseTimeInMillis_fractionOfASecond() throws Exception {
+    assertEquals(1255804646100L, parse("2009-10-17T18:37:26.1Z"));
+    assertEquals(1255804646123L, parse("2009-10-17T18:37:26.123456Z"));
+  }
+
+  @Test
+  public void parseTimeInMillis_offsets() throws Exception {
+    assertEquals(1255804646000L, parse("2009-10-17T20:37:26+02:00"));
+    assertEquals(1255804646000L, parse("2009-10-17T13:07:26-0530"));
+    assertEquals(1255804646000L, parse("2009-10-18T03:37:26+09"));
+  }
+
+  @Test
+  public void parseTimeInMillis_surroundingWhitespaceIsIgnored() throws Exception {
+    long time = parse("\n    2009-10-17T18:37:26Z\n  ");
+
+    assertEquals(1255804646000L, time);
+  }
+
+  @Test
+  public void parseTimeInMillis_readsFromTheGivenRange() throws Exception {
+    char[] chars = "<time>2009-10-17T18:37:26Z</time>".toCharArray();
+
+    long time = Iso8601DateParser.parseTimeInMillis(chars, 6, 20);
+
+    assertEquals(1255804646000L, time);
+  }
+
+  @Test
+  public void parseTimeInMillis_matchesSimpleDateFormat() throws Exception {
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    String[] dates = {"1970-01-01T00:00:00Z", "1999-12-31T23:59:59Z", "2000-02-29T12:00:00Z",
+      "2016-12-31T23:59:59Z", "2100-03-01T00:00:00Z", "1969-07-20T20:17:40Z"};
+
+    for (String date : dates) {
+      assertEquals(dateFormat.parse(date).getTime(), parse(date));
+    }
+  }
+
+  @Test(expected = ParseException.class)
+  public void parseTimeInMillis_missingTimeThrows() throws Exception {
+    parse("2009-10-17");
+  }
+
+  @Test(expected = ParseException.class)
+  public void parseTimeInMillis_invalidMonthThrows() throws Exception {
+    parse("2009-13-17T18:37:26Z");
+  }
+
+  @Test(expected = ParseException.class)
+  public void parseTimeInMillis_trailingCharactersThrow() throws Exception {
+    parse("2009-10-17T18:37:26Zulu");
+  }
+
+  private long parse(String date) throws ParseException {
+    char[] chars = date.toCharArray();
+    return Iso8601DateParser.parseTimeInMillis(chars, 0, chars.length);
+  }
+}
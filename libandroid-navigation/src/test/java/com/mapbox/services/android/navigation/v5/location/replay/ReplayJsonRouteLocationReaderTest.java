@@ -0,0 +1,121 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReplayJsonRouteLocationReaderTest {
+
+  private static final double DELTA = 1e-15;
+  private static final String REROUTE_JSON = "reroute.json";
+
+  @Test
+  public void checksAllLocationsRead() throws Exception {
+    ReplayJsonRouteDto route = new GsonBuilder().create().fromJson(obtainJson(REROUTE_JSON), ReplayJsonRouteDto.class);
+    ReplayJsonRouteLocationReader reader = buildReader(REROUTE_JSON);
+
+    int locationCount = 0;
+    while (reader.hasNext()) {
+      reader.next();
+      locationCount++;
+    }
+    reader.close();
+
+    assertEquals(route.getLocations().size(), locationCount);
+  }
+
+  @Test
+  public void checksLocationsMatchMappedLocations() throws Exception {
+    ReplayJsonRouteDto route = new GsonBuilder().create().fromJson(obtainJson(REROUTE_JSON), ReplayJsonRouteDto.class);
+    List<Location> mappedLocations = new ReplayJsonRouteLocationMapper(route.getLocations()).toLocations();
+    ReplayJsonRouteLocationReader reader = buildReader(REROUTE_JSON);
+
+    for (Location mappedLocation : mappedLocations) {
+      Location location = reader.next();
+      assertEquals(mappedLocation.getLongitude(), location.getLongitude(), DELTA);
+      assertEquals(mappedLocation.getLatitude(), location.getLatitude(), DELTA);
+      assertEquals(mappedLocation.getBearing(), location.getBearing(), DELTA);
+      assertEquals(mappedLocation.getSpeed(), location.getSpeed(), DELTA);
+      assertEquals(mappedLocation.getAccuracy(), location.getAccuracy(), DELTA);
+      assertEquals(mappedLocation.getTime(), location.getTime());
+      assertEquals("ReplayLocation", location.getProvider());
+    }
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void checksOtherMembersSkipped() {
+    ReplayJsonRouteLocationReader reader = new ReplayJsonRouteLocationReader(new StringReader(
+      "{\"route\":\"https://api.mapbox.com\",\"metadata\":{\"locations\":1},"
+        + "\"locations\":[{\"lng\":2.0,\"lat\":1.0}],\"end\":[]}"));
+
+    Location location = reader.next();
+
+    assertEquals(2.0, location.getLongitude(), DELTA);
+    assertEquals(1.0, location.getLatitude(), DELTA);
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void checksNoLocationsWhenLocationsMissing() {
+    ReplayJsonRouteLocationReader reader = new ReplayJsonRouteLocationReader(new StringReader(
+      "{\"route\":\"https://api.mapbox.com\"}"));
+
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void checksHasNextDoesNotMovePastLocation() {
+    ReplayJsonRouteLocationReader reader = new ReplayJsonRouteLocationReader(new StringReader(
+      "{\"locations\":[{\"lng\":2.0},{\"lng\":3.0}]}"));
+
+    assertTrue(reader.hasNext());
+    assertTrue(reader.hasNext());
+    assertEquals(2.0, reader.next().getLongitude(), DELTA);
+    assertEquals(3.0, reader.next().getLongitude(), DELTA);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void checksNoSuchElementAfterLastLocation() {
+    ReplayJsonRouteLocationReader reader = new ReplayJsonRouteLocationReader(new StringReader(
+      "{\"locations\":[]}"));
+
+    reader.next();
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void checksMalformedJsonThrows() {
+    ReplayJsonRouteLocationReader reader = new ReplayJsonRouteLocationReader(new StringReader(
+      "[{\"lng\":2.0}]"));
+
+    reader.hasNext();
+  }
+
+  private ReplayJsonRouteLocationReader buildReader(String fileName) throws Exception {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
+    return new ReplayJsonRouteLocationReader(new InputStreamReader(inputStream, "UTF-8"));
+  }
+
+  private String obtainJson(String fileName) {
+    ClassLoader classLoader = getClass().getClassLoader();
+    Scanner scanner = new Scanner(classLoader.getResourceAsStream(fileName)).useDelimiter("\\A");
+    return scanner.hasNext() ? scanner.next() : "";
+  }
+}
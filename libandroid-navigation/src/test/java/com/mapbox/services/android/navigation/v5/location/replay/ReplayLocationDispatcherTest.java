@@ -7,8 +7,10 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -20,6 +22,8 @@ import static org.mockito.Mockito.when;
 
 public class ReplayLocationDispatcherTest {
 
+  private static final int PREFETCH_WINDOW_SIZE = 16;
+
   @Test(expected = IllegalArgumentException.class)
   public void checksNonNullLocationListRequired() {
     List<Location> nullLocations = null;
@@ -92,19 +96,22 @@ public class ReplayLocationDispatcherTest {
   }
 
   @Test
-  public void checksClearLocationsWhenStop() {
-    List<Location> theLocations = mock(List.class);
+  public void checksNoLocationDispatchedWhenStop() {
+    List<Location> anyLocations = createLocations(2);
     Handler aHandler = mock(Handler.class);
-    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(theLocations, aHandler);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
 
     theReplayLocationDispatcher.stop();
+    theReplayLocationDispatcher.run();
 
-    verify(theLocations, times(1)).clear();
+    verify(aReplayLocationListener, never()).onLocationReplay(any(Location.class));
   }
 
   @Test
   public void checksStopDispatchingWhenStop() {
-    List<Location> anyLocations = mock(List.class);
+    List<Location> anyLocations = createLocations(2);
     Handler aHandler = mock(Handler.class);
     ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
 
@@ -115,7 +122,7 @@ public class ReplayLocationDispatcherTest {
 
   @Test
   public void checksStopDispatchingWhenPause() {
-    List<Location> anyLocations = mock(List.class);
+    List<Location> anyLocations = createLocations(2);
     Handler aHandler = mock(Handler.class);
     ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
 
@@ -124,9 +131,32 @@ public class ReplayLocationDispatcherTest {
     verify(aHandler, times(1)).removeCallbacks(eq(theReplayLocationDispatcher));
   }
 
+  @Test
+  public void checksNextDispatchScheduledWhenResume() {
+    List<Location> anyLocations = createLocations(2);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+
+    theReplayLocationDispatcher.pause();
+    theReplayLocationDispatcher.resume();
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(0L));
+  }
+
+  @Test
+  public void checksNextDispatchNotScheduledWhenResumeWithoutPause() {
+    List<Location> anyLocations = createLocations(2);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+
+    theReplayLocationDispatcher.resume();
+
+    verify(aHandler, never()).postDelayed(any(Runnable.class), anyLong());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void checksNonNullLocationListRequiredWhenUpdate() {
-    List<Location> anyLocations = mock(List.class);
+    List<Location> anyLocations = createLocations(2);
     Handler aHandler = mock(Handler.class);
     ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
     List<Location> nullLocations = null;
@@ -136,7 +166,7 @@ public class ReplayLocationDispatcherTest {
 
   @Test(expected = IllegalArgumentException.class)
   public void checksNonEmptyLocationListRequiredWhenUpdate() {
-    List<Location> anyLocations = mock(List.class);
+    List<Location> anyLocations = createLocations(2);
     Handler aHandler = mock(Handler.class);
     ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
     List<Location> empty = Collections.emptyList();
@@ -145,19 +175,123 @@ public class ReplayLocationDispatcherTest {
   }
 
   @Test
-  public void checksAddLocationsWhenAdd() {
-    List<Location> anyLocations = mock(List.class);
+  public void checksUpdatedLocationDispatchedWhenUpdate() {
+    List<Location> anyLocations = createLocations(2);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+    List<Location> updatedLocations = createLocations(1);
+
+    theReplayLocationDispatcher.update(updatedLocations);
+    theReplayLocationDispatcher.run();
+
+    verify(aReplayLocationListener).onLocationReplay(eq(updatedLocations.get(0)));
+  }
+
+  @Test
+  public void checksLocationsPulledFromProducerThroughPrefetchWindow() {
+    CountingIterator producer = new CountingIterator(createLocations(100).iterator());
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(producer, aHandler);
+
+    theReplayLocationDispatcher.run();
+
+    assertTrue(producer.nextCount <= PREFETCH_WINDOW_SIZE);
+  }
+
+  @Test
+  public void checksAllProducerLocationsDispatched() {
+    List<Location> anyLocations = createLocations(40);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations.iterator(),
+      aHandler);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+
+    for (int i = 0; i < 41; i++) {
+      theReplayLocationDispatcher.run();
+    }
+
+    verify(aReplayLocationListener, times(40)).onLocationReplay(any(Location.class));
+    verify(aReplayLocationListener).onLocationReplay(eq(anyLocations.get(39)));
+  }
+
+  @Test
+  public void checksNextDispatchDelayDividedBySpeedMultiplier() {
+    List<Location> anyLocations = createLocations(2);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+
+    theReplayLocationDispatcher.updateSpeedMultiplier(4);
+    theReplayLocationDispatcher.run();
+
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(250L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void checksPositiveSpeedMultiplierRequired() {
+    List<Location> anyLocations = createLocations(2);
+    Handler aHandler = mock(Handler.class);
+    ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
+
+    theReplayLocationDispatcher.updateSpeedMultiplier(0);
+  }
+
+  @Test
+  public void checksLocationsSkippedWhenSeekTo() {
+    List<Location> anyLocations = createLocations(10);
     Handler aHandler = mock(Handler.class);
     ReplayLocationDispatcher theReplayLocationDispatcher = new ReplayLocationDispatcher(anyLocations, aHandler);
-    List<Location> locationsToReplay = mock(List.class);
+    ReplayLocationListener aReplayLocationListener = mock(ReplayLocationListener.class);
+    theReplayLocationDispatcher.addReplayLocationListener(aReplayLocationListener);
+
+    theReplayLocationDispatcher.seekTo(5000L);
+    theReplayLocationDispatcher.run();
 
-    theReplayLocationDispatcher.add(locationsToReplay);
+    verify(aHandler, times(1)).postDelayed(eq(theReplayLocationDispatcher), eq(0L));
+    verify(aReplayLocationListener).onLocationReplay(eq(anyLocations.get(5)));
+    verify(aReplayLocationListener, never()).onLocationReplay(eq(anyLocations.get(4)));
+  }
 
-    verify(anyLocations, times(1)).addAll(eq(locationsToReplay));
+  private List<Location> createLocations(int count) {
+    List<Location> locations = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Location location = createALocation();
+      when(location.getTime()).thenReturn(i * 1000L);
+      locations.add(location);
+    }
+    return locations;
   }
 
   private Location createALocation() {
     Location location = mock(Location.class);
     return location;
   }
-}
\ No newline at end of file
+
+  private static class CountingIterator implements Iterator<Location> {
+
+    private final Iterator<Location> iterator;
+    private int nextCount;
+
+    CountingIterator(Iterator<Location> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public Location next() {
+      nextCount++;
+      return iterator.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReplayRouteLocationConverterTest extends BaseTest {
+
+  private static final int ONE_HUNDRED_KM_PER_HOUR = 100;
+  private static final int ONE_SECOND = 1;
+
+  @Test
+  public void toLocationIterator_mocksEachStepOfTheRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    ReplayRouteLocationConverter converter = new ReplayRouteLocationConverter(route, ONE_HUNDRED_KM_PER_HOUR,
+      ONE_SECOND);
+    int routePointCount = 0;
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        LineString stepLine = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+        routePointCount += converter.sliceRoute(stepLine).size();
+      }
+    }
+
+    Iterator<Location> locations = converter.toLocationIterator();
+    int locationCount = 0;
+    while (locations.hasNext()) {
+      locations.next();
+      locationCount++;
+    }
+
+    assertEquals(routePointCount, locationCount);
+  }
+
+  @Test
+  public void toLocationIterator_locationsAreSecondsApart() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    ReplayRouteLocationConverter converter = new ReplayRouteLocationConverter(route, ONE_HUNDRED_KM_PER_HOUR,
+      ONE_SECOND);
+    converter.initializeTime();
+
+    Iterator<Location> locations = converter.toLocationIterator();
+    Location previous = locations.next();
+    while (locations.hasNext()) {
+      Location location = locations.next();
+      assertEquals(1000, location.getTime() - previous.getTime());
+      previous = location;
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void toLocationIterator_endsAfterTheLastStep() throws Exception {
+    ReplayRouteLocationConverter converter = new ReplayRouteLocationConverter(buildTestDirectionsRoute(),
+      ONE_HUNDRED_KM_PER_HOUR, ONE_SECOND);
+    Iterator<Location> locations = converter.toLocationIterator();
+    while (locations.hasNext()) {
+      locations.next();
+    }
+
+    locations.next();
+  }
+
+  @Test
+  public void calculateMockLocations_bearingPointsToTheNextLocation() throws Exception {
+    ReplayRouteLocationConverter converter = new ReplayRouteLocationConverter(buildTestDirectionsRoute(),
+      ONE_HUNDRED_KM_PER_HOUR, ONE_SECOND);
+    List<Point> points = Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.001, 0),
+      Point.fromLngLat(0.001, 0.001));
+
+    List<Location> locations = converter.calculateMockLocations(points);
+
+    assertEquals(90f, locations.get(0).getBearing(), LARGE_DELTA);
+    assertEquals(0f, locations.get(1).getBearing(), LARGE_DELTA);
+    assertEquals(3, locations.size());
+  }
+}
@@ -0,0 +1,92 @@
+package com.mapbox.services.android.navigation.v5.location.replay;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.core.constants.Constants;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class ReplayRouteResamplerTest extends BaseTest {
+
+  private static final double SPACING_IN_METERS = 5d;
+
+  @Test
+  public void next_matchesPointsAlongTheLine() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    for (LegStep step : route.legs().get(0).steps()) {
+      LineString line = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+      double length = TurfMeasurement.length(line, TurfConstants.UNIT_METERS);
+      ReplayRouteResampler resampler = new ReplayRouteResampler(line.coordinates(), SPACING_IN_METERS);
+
+      for (double distance = 0; distance < length; distance += SPACING_IN_METERS) {
+        Point expected = TurfMeasurement.along(line, distance, TurfConstants.UNIT_METERS);
+        Point point = resampler.next();
+        assertEquals(expected.longitude(), point.longitude(), DELTA);
+        assertEquals(expected.latitude(), point.latitude(), DELTA);
+      }
+      assertFalse(resampler.hasNext());
+    }
+  }
+
+  @Test
+  public void peek_doesNotMovePastThePoint() {
+    List<Point> line = Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.001, 0));
+    ReplayRouteResampler resampler = new ReplayRouteResampler(line, SPACING_IN_METERS);
+
+    Point peeked = resampler.peek();
+    Point next = resampler.next();
+
+    assertSame(peeked, next);
+    assertTrue(resampler.next().longitude() > next.longitude());
+  }
+
+  @Test
+  public void next_lastPointIsWithinSpacingOfTheLineEnd() {
+    List<Point> line = Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.001, 0),
+      Point.fromLngLat(0.001, 0.001));
+    ReplayRouteResampler resampler = new ReplayRouteResampler(line, SPACING_IN_METERS);
+
+    List<Point> points = new ArrayList<>();
+    while (resampler.hasNext()) {
+      points.add(resampler.next());
+    }
+
+    Point lastPoint = points.get(points.size() - 1);
+    double distanceToEnd = TurfMeasurement.distance(lastPoint, line.get(2), TurfConstants.UNIT_METERS);
+    assertTrue(distanceToEnd <= SPACING_IN_METERS);
+    assertEquals(line.get(0).longitude(), points.get(0).longitude(), DELTA);
+  }
+
+  @Test
+  public void hasNext_lineWithoutLengthHasNoPoints() {
+    List<Point> line = Collections.singletonList(Point.fromLngLat(1, 2));
+
+    ReplayRouteResampler resampler = new ReplayRouteResampler(line, SPACING_IN_METERS);
+
+    assertFalse(resampler.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void next_throwsAtTheEndOfTheLine() {
+    List<Point> line = Collections.<Point>emptyList();
+    ReplayRouteResampler resampler = new ReplayRouteResampler(line, SPACING_IN_METERS);
+
+    resampler.next();
+  }
+}
@@ -0,0 +1,111 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MilestoneSchedulerTest {
+
+  private final DirectionsRoute route = mock(DirectionsRoute.class);
+
+  @Test
+  public void findTriggeredMilestones_noMilestonesReturnsEmptyList() {
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    RouteProgress routeProgress = buildRouteProgress(0, 100d);
+
+    List<Milestone> triggered = scheduler.findTriggeredMilestones(routeProgress, routeProgress);
+
+    assertTrue(triggered.isEmpty());
+  }
+
+  @Test
+  public void findTriggeredMilestones_stepMilestoneOnlyOccursOnItsStepBelowThreshold() {
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    Milestone milestone = buildStepMilestone(Trigger.all(
+      Trigger.eq(TriggerProperty.STEP_INDEX, 2),
+      Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 50d)
+    ));
+    scheduler.updateMilestones(Collections.singletonList(milestone));
+
+    RouteProgress otherStep = buildRouteProgress(1, 10d);
+    RouteProgress aboveThreshold = buildRouteProgress(2, 80d);
+    RouteProgress belowThreshold = buildRouteProgress(2, 40d);
+
+    assertTrue(scheduler.findTriggeredMilestones(otherStep, otherStep).isEmpty());
+    assertTrue(scheduler.findTriggeredMilestones(otherStep, aboveThreshold).isEmpty());
+    assertEquals(milestone, scheduler.findTriggeredMilestones(aboveThreshold, belowThreshold).get(0));
+  }
+
+  @Test
+  public void findTriggeredMilestones_stepMilestoneOccursOncePerStep() {
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    Milestone milestone = buildStepMilestone(Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 50d));
+    scheduler.updateMilestones(Collections.singletonList(milestone));
+    RouteProgress first = buildRouteProgress(0, 40d);
+    RouteProgress second = buildRouteProgress(0, 30d);
+    RouteProgress nextStep = buildRouteProgress(1, 20d);
+
+    assertEquals(1, scheduler.findTriggeredMilestones(first, first).size());
+    assertEquals(0, scheduler.findTriggeredMilestones(first, second).size());
+    assertEquals(1, scheduler.findTriggeredMilestones(second, nextStep).size());
+  }
+
+  @Test
+  public void findTriggeredMilestones_stepMilestoneResetsWhenStepChangeWasNotChecked() {
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    Milestone milestone = buildStepMilestone(Trigger.all(
+      Trigger.eq(TriggerProperty.STEP_INDEX, 1),
+      Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 50d)
+    ));
+    scheduler.updateMilestones(Collections.singletonList(milestone));
+    RouteProgress stepOne = buildRouteProgress(1, 40d);
+    RouteProgress stepTwo = buildRouteProgress(2, 40d);
+    RouteProgress stepOneAgain = buildRouteProgress(1, 40d);
+
+    assertEquals(1, scheduler.findTriggeredMilestones(stepOne, stepOne).size());
+    scheduler.findTriggeredMilestones(stepOne, stepTwo);
+    assertEquals(1, scheduler.findTriggeredMilestones(stepOneAgain, stepOneAgain).size());
+  }
+
+  @Test
+  public void findTriggeredMilestones_customMilestonesAreCheckedEveryUpdate() {
+    MilestoneScheduler scheduler = new MilestoneScheduler();
+    Milestone custom = mock(Milestone.class);
+    Milestone scheduled = buildStepMilestone(Trigger.eq(TriggerProperty.STEP_INDEX, 5));
+    scheduler.updateMilestones(Arrays.asList(custom, scheduled));
+    RouteProgress first = buildRouteProgress(0, 40d);
+    RouteProgress second = buildRouteProgress(0, 30d);
+
+    scheduler.findTriggeredMilestones(first, first);
+    scheduler.findTriggeredMilestones(first, second);
+
+    verify(custom, times(1)).isOccurring(first, first);
+    verify(custom, times(1)).isOccurring(first, second);
+  }
+
+  private Milestone buildStepMilestone(Trigger.Statement trigger) {
+    return new StepMilestone.Builder().setTrigger(trigger).build();
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double stepDistanceRemaining) {
+    RouteProgress routeProgress = mock(RouteProgress.class, RETURNS_DEEP_STUBS);
+    when(routeProgress.directionsRoute()).thenReturn(route);
+    when(routeProgress.currentLegProgress().stepIndex()).thenReturn(stepIndex);
+    when(routeProgress.currentLegProgress().currentStepProgress().distanceRemaining())
+      .thenReturn(stepDistanceRemaining);
+    return routeProgress;
+  }
+}
@@ -0,0 +1,148 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TriggerProgramTest extends BaseTest {
+
+  private static final String ROUTE_FIXTURE = "directions_v5_precision_6.json";
+  private static final int[] PROPERTIES = {
+    TriggerProperty.STEP_DURATION_REMAINING_SECONDS,
+    TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+    TriggerProperty.STEP_DISTANCE_TOTAL_METERS,
+    TriggerProperty.STEP_DURATION_TOTAL_SECONDS,
+    TriggerProperty.STEP_INDEX,
+    TriggerProperty.NEW_STEP,
+    TriggerProperty.LAST_STEP,
+    TriggerProperty.NEXT_STEP_DISTANCE_METERS,
+    TriggerProperty.FIRST_STEP,
+    TriggerProperty.FIRST_LEG,
+    TriggerProperty.LAST_LEG,
+    TriggerProperty.NEXT_STEP_DURATION_SECONDS
+  };
+  private static final Object[] VALUES = {
+    TriggerProperty.TRUE, TriggerProperty.FALSE, 0, 1, 2, 0d, 1d, 100d, 180.3, 1000d, -1d
+  };
+
+  @Test
+  public void compile_comparisonsMatchSparseArrayEvaluation() throws Exception {
+    RouteProgress previousRouteProgress = buildRouteProgress(0);
+    RouteProgress routeProgress = buildRouteProgress(1);
+    SparseArray<Number[]> statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress);
+
+    for (int property : PROPERTIES) {
+      for (Object value : VALUES) {
+        Trigger.Statement[] statements = {
+          Trigger.gt(property, value), Trigger.gte(property, value), Trigger.lt(property, value),
+          Trigger.lte(property, value), Trigger.eq(property, value), Trigger.neq(property, value)
+        };
+        for (Trigger.Statement statement : statements) {
+          TriggerProgram program = TriggerProgram.compile(statement);
+
+          assertTrue(program.isCompiled());
+          assertEquals(statement.isOccurring(statementObjects),
+            program.isOccurring(new TriggerSnapshot(previousRouteProgress, routeProgress)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void compile_compoundStatementsMatchSparseArrayEvaluation() throws Exception {
+    RouteProgress routeProgress = buildRouteProgress(1);
+    SparseArray<Number[]> statementObjects = TriggerProperty.getSparseArray(routeProgress, routeProgress);
+    Trigger.Statement statement = Trigger.all(
+      Trigger.any(
+        Trigger.eq(TriggerProperty.STEP_INDEX, 1),
+        Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE)
+      ),
+      Trigger.none(
+        Trigger.lt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100d),
+        Trigger.eq(TriggerProperty.LAST_LEG, TriggerProperty.FALSE)
+      ),
+      Trigger.all()
+    );
+
+    TriggerProgram program = TriggerProgram.compile(statement);
+
+    assertTrue(program.isCompiled());
+    assertEquals(statement.isOccurring(statementObjects),
+      program.isOccurring(new TriggerSnapshot(routeProgress, routeProgress)));
+  }
+
+  @Test
+  public void compile_customStatementFallsBackToSparseArray() throws Exception {
+    RouteProgress routeProgress = buildRouteProgress(1);
+    Trigger.Statement custom = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return statementObjects.get(TriggerProperty.STEP_INDEX)[0].intValue() == 1;
+      }
+    };
+
+    TriggerProgram program = TriggerProgram.compile(Trigger.all(custom));
+
+    assertFalse(program.isCompiled());
+    assertTrue(program.isOccurring(new TriggerSnapshot(routeProgress, routeProgress)));
+  }
+
+  @Test
+  public void compile_unknownPropertyFallsBack() throws Exception {
+    TriggerProgram program = TriggerProgram.compile(Trigger.gt(0x00000099, 1));
+
+    assertFalse(program.isCompiled());
+  }
+
+  @Test
+  public void snapshot_isMeasuredAgainAfterUpdate() throws Exception {
+    RouteProgress firstRouteProgress = buildRouteProgress(1);
+    RouteProgress secondRouteProgress = buildRouteProgress(2);
+    TriggerProgram program = TriggerProgram.compile(Trigger.eq(TriggerProperty.STEP_INDEX, 2));
+    TriggerSnapshot snapshot = new TriggerSnapshot(firstRouteProgress, firstRouteProgress);
+
+    assertFalse(program.isOccurring(snapshot));
+    snapshot.update(firstRouteProgress, secondRouteProgress);
+
+    assertTrue(program.isOccurring(snapshot));
+  }
+
+  @Test
+  public void isOccurring_allStatementShortCircuits() throws Exception {
+    RouteProgress routeProgress = buildRouteProgress(1);
+    SparseArray<Number[]> statementObjects = TriggerProperty.getSparseArray(routeProgress, routeProgress);
+    Trigger.Statement failing = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        throw new IllegalStateException("Should not be evaluated");
+      }
+    };
+
+    boolean result = Trigger.all(Trigger.eq(TriggerProperty.STEP_INDEX, 5), failing).isOccurring(statementObjects);
+
+    assertFalse(result);
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex) throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ROUTE_FIXTURE);
+    int stepDistanceRemaining = (int) route.legs().get(0).steps().get(stepIndex).distance();
+    int legDistanceRemaining = route.legs().get(0).distance().intValue();
+    int routeDistance = route.distance().intValue();
+    return buildTestRouteProgress(route, stepDistanceRemaining, legDistanceRemaining,
+      routeDistance, stepIndex, 0);
+  }
+}
@@ -0,0 +1,94 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveRouteProcessingPolicyTest {
+
+  @Test
+  public void nextInterval_nearManeuverReturnsMinimum() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(50);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, buildLocation(10f), true);
+
+    assertEquals(200, interval);
+  }
+
+  @Test
+  public void nextInterval_stationaryReturnsMaximum() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(5000);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, buildLocation(0f), true);
+
+    assertEquals(4000, interval);
+  }
+
+  @Test
+  public void nextInterval_longStepReturnsRelaxedInterval() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(20000);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, buildLocation(30f), true);
+
+    assertEquals(2000, interval);
+  }
+
+  @Test
+  public void nextInterval_highSpeedReturnsMinimum() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(2000);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, buildLocation(30f), true);
+
+    assertEquals(200, interval);
+  }
+
+  @Test
+  public void nextInterval_screenOffReturnsRelaxedInterval() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(2000);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, buildLocation(30f), false);
+
+    assertEquals(2000, interval);
+  }
+
+  @Test
+  public void nextInterval_unknownSpeedReturnsDefault() {
+    AdaptiveRouteProcessingPolicy policy = new AdaptiveRouteProcessingPolicy(200, 1000, 4000);
+    RouteProgress routeProgress = buildRouteProgress(2000);
+
+    long interval = policy.nextIntervalInMilliseconds(routeProgress, null, true);
+
+    assertEquals(1000, interval);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_unorderedIntervalsThrowException() {
+    new AdaptiveRouteProcessingPolicy(2000, 1000, 4000);
+  }
+
+  private RouteProgress buildRouteProgress(double stepDistanceRemaining) {
+    RouteProgress routeProgress = mock(RouteProgress.class, RETURNS_DEEP_STUBS);
+    when(routeProgress.currentLegProgress().currentStepProgress().distanceRemaining())
+      .thenReturn(stepDistanceRemaining);
+    return routeProgress;
+  }
+
+  private Location buildLocation(float speed) {
+    Location location = mock(Location.class);
+    when(location.hasSpeed()).thenReturn(true);
+    when(location.getSpeed()).thenReturn(speed);
+    return location;
+  }
+}
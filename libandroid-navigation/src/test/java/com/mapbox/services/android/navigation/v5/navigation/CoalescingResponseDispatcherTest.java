@@ -0,0 +1,99 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.os.Handler;
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CoalescingResponseDispatcherTest {
+
+  private final List<Milestone> noMilestones = Collections.emptyList();
+
+  @Test
+  public void dispatch_postsOnceUntilDelivered() {
+    Handler responseHandler = mock(Handler.class);
+    CoalescingResponseDispatcher dispatcher = new CoalescingResponseDispatcher(responseHandler,
+      mock(RouteProcessorBackgroundThread.Listener.class));
+
+    dispatcher.dispatch(mock(Location.class), mock(RouteProgress.class), noMilestones, false, false, 1000);
+    dispatcher.dispatch(mock(Location.class), mock(RouteProgress.class), noMilestones, false, false, 1000);
+
+    verify(responseHandler, times(1)).postAtTime(eq(dispatcher), anyLong());
+  }
+
+  @Test
+  public void run_deliversLatestRouteProgressAndCoalescedCount() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    CoalescingResponseDispatcher dispatcher = new CoalescingResponseDispatcher(mock(Handler.class), listener);
+    Location latestLocation = mock(Location.class);
+    RouteProgress latestRouteProgress = mock(RouteProgress.class);
+    RouteProgress staleRouteProgress = mock(RouteProgress.class);
+    dispatcher.dispatch(mock(Location.class), staleRouteProgress, noMilestones, false, false, 1000);
+    dispatcher.dispatch(mock(Location.class), staleRouteProgress, noMilestones, false, false, 1000);
+    dispatcher.dispatch(latestLocation, latestRouteProgress, noMilestones, false, false, 500);
+
+    dispatcher.run();
+
+    verify(listener).onNewRouteProgress(latestLocation, latestRouteProgress);
+    verify(listener, never()).onNewRouteProgress(any(Location.class), eq(staleRouteProgress));
+    verify(listener).onRouteProcessingInterval(500);
+    verify(listener).onRouteProgressCoalesced(2);
+  }
+
+  @Test
+  public void run_neverDropsMilestonesOrOffRouteEvents() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    CoalescingResponseDispatcher dispatcher = new CoalescingResponseDispatcher(mock(Handler.class), listener);
+    List<Milestone> milestones = Collections.singletonList(mock(Milestone.class));
+    RouteProgress milestoneRouteProgress = mock(RouteProgress.class);
+    Location offRouteLocation = mock(Location.class);
+    dispatcher.dispatch(mock(Location.class), milestoneRouteProgress, milestones, false, false, 1000);
+    dispatcher.dispatch(offRouteLocation, mock(RouteProgress.class), noMilestones, true, false, 1000);
+    dispatcher.dispatch(mock(Location.class), mock(RouteProgress.class), noMilestones, false, false, 1000);
+
+    dispatcher.run();
+
+    verify(listener).onMilestoneTrigger(milestones, milestoneRouteProgress);
+    verify(listener).onUserOffRoute(offRouteLocation, true);
+  }
+
+  @Test
+  public void run_keepsFasterRouteCheckOfCoalescedUpdate() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    CoalescingResponseDispatcher dispatcher = new CoalescingResponseDispatcher(mock(Handler.class), listener);
+    Location fasterRouteLocation = mock(Location.class);
+    RouteProgress fasterRouteProgress = mock(RouteProgress.class);
+    dispatcher.dispatch(fasterRouteLocation, fasterRouteProgress, noMilestones, false, true, 1000);
+    dispatcher.dispatch(mock(Location.class), mock(RouteProgress.class), noMilestones, false, false, 1000);
+
+    dispatcher.run();
+
+    verify(listener).onCheckFasterRoute(fasterRouteLocation, fasterRouteProgress, true);
+  }
+
+  @Test
+  public void run_withoutCoalescedUpdatesDoesNotReportCount() {
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    CoalescingResponseDispatcher dispatcher = new CoalescingResponseDispatcher(mock(Handler.class), listener);
+    dispatcher.dispatch(mock(Location.class), mock(RouteProgress.class), noMilestones, false, false, 1000);
+
+    dispatcher.run();
+
+    verify(listener, never()).onRouteProgressCoalesced(anyInt());
+  }
+}
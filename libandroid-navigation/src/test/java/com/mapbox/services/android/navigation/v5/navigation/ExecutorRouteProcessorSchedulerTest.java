@@ -0,0 +1,165 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class ExecutorRouteProcessorSchedulerTest {
+
+  private static final long TIMEOUT_IN_SECONDS = 5;
+  private static final int THREAD_COUNT = 4;
+
+  private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(THREAD_COUNT);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void postDelayed_runsRunnable() throws Exception {
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    scheduler.postDelayed(new CountDownRunnable(latch), 10);
+
+    assertTrue(latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void removeCallbacks_runnableDoesNotRun() throws Exception {
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    CountDownLatch removedLatch = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    Runnable removedRunnable = new CountDownRunnable(removedLatch);
+
+    scheduler.postDelayed(removedRunnable, 50);
+    scheduler.removeCallbacks(removedRunnable);
+    scheduler.postDelayed(new CountDownRunnable(latch), 100);
+
+    assertTrue(latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+    assertEquals(1, removedLatch.getCount());
+  }
+
+  @Test
+  public void stop_pendingAndLaterRunnablesDoNotRun() throws Exception {
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    CountDownLatch latch = new CountDownLatch(2);
+
+    scheduler.postDelayed(new CountDownRunnable(latch), 50);
+    scheduler.stop();
+    scheduler.post(new CountDownRunnable(latch));
+
+    assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+    assertEquals(2, latch.getCount());
+  }
+
+  @Test
+  public void post_runnablesOfOneSchedulerNeverOverlap() throws Exception {
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    int runCount = 20;
+    CountDownLatch latch = new CountDownLatch(runCount);
+    AtomicInteger activeCount = new AtomicInteger();
+    AtomicInteger maximumActiveCount = new AtomicInteger();
+
+    for (int i = 0; i < runCount; i++) {
+      scheduler.post(new OverlapRunnable(latch, activeCount, maximumActiveCount));
+    }
+
+    assertTrue(latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+    assertEquals(1, maximumActiveCount.get());
+  }
+
+  @Test
+  public void post_slowSchedulerDoesNotStallOthers() throws Exception {
+    ExecutorRouteProcessorScheduler slowScheduler = new ExecutorRouteProcessorScheduler(executor);
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    CountDownLatch releaseLatch = new CountDownLatch(1);
+    CountDownLatch slowLatch = new CountDownLatch(THREAD_COUNT);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    slowScheduler.post(new BlockingRunnable(releaseLatch, slowLatch));
+    for (int i = 1; i < THREAD_COUNT; i++) {
+      slowScheduler.post(new CountDownRunnable(slowLatch));
+    }
+    scheduler.post(new CountDownRunnable(latch));
+
+    try {
+      assertTrue(latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+      assertEquals(THREAD_COUNT, slowLatch.getCount());
+    } finally {
+      releaseLatch.countDown();
+    }
+    assertTrue(slowLatch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+  }
+
+  private static class CountDownRunnable implements Runnable {
+
+    private final CountDownLatch latch;
+
+    CountDownRunnable(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      latch.countDown();
+    }
+  }
+
+  private static class BlockingRunnable implements Runnable {
+
+    private final CountDownLatch releaseLatch;
+    private final CountDownLatch latch;
+
+    BlockingRunnable(CountDownLatch releaseLatch, CountDownLatch latch) {
+      this.releaseLatch = releaseLatch;
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      try {
+        releaseLatch.await();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+      latch.countDown();
+    }
+  }
+
+  private static class OverlapRunnable implements Runnable {
+
+    private final CountDownLatch latch;
+    private final AtomicInteger activeCount;
+    private final AtomicInteger maximumActiveCount;
+
+    OverlapRunnable(CountDownLatch latch, AtomicInteger activeCount, AtomicInteger maximumActiveCount) {
+      this.latch = latch;
+      this.activeCount = activeCount;
+      this.maximumActiveCount = maximumActiveCount;
+    }
+
+    @Override
+    public void run() {
+      int active = activeCount.incrementAndGet();
+      maximumActiveCount.set(Math.max(maximumActiveCount.get(), active));
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+      activeCount.decrementAndGet();
+      latch.countDown();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FleetNavigationEngineTest extends BaseTest {
+
+  private static final int RESCHEDULE_COUNT = 1000;
+  private static final long RESCHEDULE_DELAY_IN_MILLISECONDS = 60000;
+
+  private final MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+    .defaultMilestonesEnabled(false)
+    .build();
+
+  @Test
+  public void startSession_sessionsOfEqualRoutesShareRoute() throws Exception {
+    FleetNavigationEngine engine = buildEngine(buildNavigator());
+
+    FleetNavigationSession firstSession = engine.startSession(buildTestDirectionsRoute(), options);
+    FleetNavigationSession secondSession = engine.startSession(buildTestDirectionsRoute(), options);
+
+    assertEquals(2, engine.sessionCount());
+    assertEquals(1, engine.sharedRouteCount());
+    assertSame(firstSession.retrieveFleetRoute(), secondSession.retrieveFleetRoute());
+  }
+
+  @Test
+  public void startSession_eachSessionSetsRouteOnOwnNavigator() throws Exception {
+    MapboxNavigator mapboxNavigator = buildNavigator();
+    FleetNavigationEngine.NavigatorFactory navigatorFactory = mock(FleetNavigationEngine.NavigatorFactory.class);
+    when(navigatorFactory.create()).thenReturn(mapboxNavigator);
+    FleetNavigationEngine engine = new FleetNavigationEngine(mock(ScheduledExecutorService.class), navigatorFactory);
+    DirectionsRoute route = buildTestDirectionsRoute();
+
+    engine.startSession(route, options);
+    engine.startSession(route, options);
+
+    verify(navigatorFactory, times(2)).create();
+    verify(mapboxNavigator, times(2)).updateRoute(anyString());
+  }
+
+  @Test
+  public void stop_lastSessionReleasesSharedRoute() throws Exception {
+    FleetNavigationEngine engine = buildEngine(buildNavigator());
+    FleetNavigationSession firstSession = engine.startSession(buildTestDirectionsRoute(), options);
+    FleetNavigationSession secondSession = engine.startSession(buildTestDirectionsRoute(), options);
+
+    firstSession.stop();
+    int sharedRouteCount = engine.sharedRouteCount();
+    secondSession.stop();
+
+    assertEquals(1, sharedRouteCount);
+    assertEquals(0, engine.sharedRouteCount());
+    assertEquals(0, engine.sessionCount());
+  }
+
+  @Test
+  public void shutdown_stopsSessionsAndExecutor() throws Exception {
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    FleetNavigationEngine.NavigatorFactory navigatorFactory = mock(FleetNavigationEngine.NavigatorFactory.class);
+    MapboxNavigator mapboxNavigator = buildNavigator();
+    when(navigatorFactory.create()).thenReturn(mapboxNavigator);
+    FleetNavigationEngine engine = new FleetNavigationEngine(executor, navigatorFactory);
+    FleetNavigationSession session = engine.startSession(buildTestDirectionsRoute(), options);
+
+    engine.shutdown();
+
+    assertTrue(session.isStopped());
+    assertEquals(0, engine.sessionCount());
+    verify(executor).shutdown();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void startSession_afterShutdownThrowsException() throws Exception {
+    FleetNavigationEngine engine = buildEngine(buildNavigator());
+    engine.shutdown();
+
+    engine.startSession(buildTestDirectionsRoute(), options);
+  }
+
+  @Test
+  public void startSession_failingToSetRouteThrowsAndReleasesRoute() throws Exception {
+    MapboxNavigator mapboxNavigator = mock(MapboxNavigator.class);
+    when(mapboxNavigator.updateRoute(anyString())).thenReturn(buildFailedFuture(new IllegalArgumentException()));
+    FleetNavigationEngine engine = buildEngine(mapboxNavigator);
+    boolean isThrown = false;
+
+    try {
+      engine.startSession(buildTestDirectionsRoute(), options);
+    } catch (IllegalArgumentException exception) {
+      isThrown = true;
+    }
+
+    assertTrue(isThrown);
+    assertEquals(0, engine.sharedRouteCount());
+    assertEquals(0, engine.sessionCount());
+  }
+
+  @Test
+  public void buildExecutor_cancelledRunsAreRemovedFromQueue() throws Exception {
+    ScheduledThreadPoolExecutor executor = FleetNavigationEngine.buildExecutor(1);
+    ExecutorRouteProcessorScheduler scheduler = new ExecutorRouteProcessorScheduler(executor);
+    Runnable runnable = mock(Runnable.class);
+
+    for (int i = 0; i < RESCHEDULE_COUNT; i++) {
+      scheduler.postDelayed(runnable, RESCHEDULE_DELAY_IN_MILLISECONDS);
+      scheduler.removeCallbacks(runnable);
+    }
+    int queueSize = executor.getQueue().size();
+    executor.shutdownNow();
+
+    assertEquals(0, queueSize);
+  }
+
+  private MapboxNavigator buildNavigator() {
+    MapboxNavigator mapboxNavigator = mock(MapboxNavigator.class);
+    FutureTask<Void> future = new FutureTask<>(new Callable<Void>() {
+      @Override
+      public Void call() {
+        return null;
+      }
+    });
+    future.run();
+    when(mapboxNavigator.updateRoute(anyString())).thenReturn(future);
+    return mapboxNavigator;
+  }
+
+  private Future<Void> buildFailedFuture(final RuntimeException exception) {
+    FutureTask<Void> future = new FutureTask<>(new Callable<Void>() {
+      @Override
+      public Void call() {
+        throw exception;
+      }
+    });
+    future.run();
+    return future;
+  }
+
+  private FleetNavigationEngine buildEngine(MapboxNavigator mapboxNavigator) {
+    FleetNavigationEngine.NavigatorFactory navigatorFactory = mock(FleetNavigationEngine.NavigatorFactory.class);
+    when(navigatorFactory.create()).thenReturn(mapboxNavigator);
+    return new FleetNavigationEngine(mock(ScheduledExecutorService.class), navigatorFactory);
+  }
+}
@@ -0,0 +1,114 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgressListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InterpolatedRouteProgressPublisherTest {
+
+  private final List<InterpolatedRouteProgressListener> listeners = new ArrayList<>();
+  private final FrameScheduler frameScheduler = mock(FrameScheduler.class);
+  private final RouteProgressInterpolator interpolator = mock(RouteProgressInterpolator.class);
+  private final InterpolatedRouteProgressPublisher publisher = new InterpolatedRouteProgressPublisher(listeners,
+    frameScheduler, interpolator);
+
+  @Test
+  public void onProgressSnapshot_withoutListenersIsIgnored() {
+    publisher.onProgressSnapshot(mock(Location.class), mock(RouteProgressSnapshot.class));
+
+    verify(interpolator, never()).update(any(RouteProgressSnapshot.class), anyDouble(), anyLong());
+    verify(frameScheduler, never()).scheduleFrame(publisher);
+  }
+
+  @Test
+  public void onProgressSnapshot_updatesInterpolatorAndSchedulesFrame() {
+    listeners.add(mock(InterpolatedRouteProgressListener.class));
+    Location location = mock(Location.class);
+    when(location.hasSpeed()).thenReturn(true);
+    when(location.getSpeed()).thenReturn(12f);
+    RouteProgressSnapshot snapshot = mock(RouteProgressSnapshot.class);
+
+    publisher.onProgressSnapshot(location, snapshot);
+
+    verify(interpolator).update(eq(snapshot), eq(12d), anyLong());
+    verify(frameScheduler).scheduleFrame(publisher);
+  }
+
+  @Test
+  public void onProgressSnapshot_locationWithoutSpeedDerivesSpeed() {
+    listeners.add(mock(InterpolatedRouteProgressListener.class));
+    RouteProgressSnapshot snapshot = mock(RouteProgressSnapshot.class);
+
+    publisher.onProgressSnapshot(mock(Location.class), snapshot);
+
+    verify(interpolator).update(eq(snapshot), eq(RouteProgressInterpolator.UNKNOWN_SPEED), anyLong());
+  }
+
+  @Test
+  public void onFrame_sendsInterpolatedProgressToListeners() {
+    InterpolatedRouteProgressListener listener = mock(InterpolatedRouteProgressListener.class);
+    listeners.add(listener);
+    when(interpolator.hasProgress()).thenReturn(true);
+
+    publisher.onFrame(16000000L);
+
+    verify(interpolator).interpolate(16000000L);
+    verify(listener).onInterpolatedProgress(interpolator);
+  }
+
+  @Test
+  public void onFrame_changingProgressSchedulesNextFrame() {
+    listeners.add(mock(InterpolatedRouteProgressListener.class));
+    when(interpolator.hasProgress()).thenReturn(true);
+    when(interpolator.interpolate(anyLong())).thenReturn(true);
+
+    publisher.onFrame(16000000L);
+
+    verify(frameScheduler).scheduleFrame(publisher);
+  }
+
+  @Test
+  public void onFrame_settledProgressStopsFrames() {
+    listeners.add(mock(InterpolatedRouteProgressListener.class));
+    when(interpolator.hasProgress()).thenReturn(true);
+    when(interpolator.interpolate(anyLong())).thenReturn(false);
+
+    publisher.onFrame(16000000L);
+
+    verify(frameScheduler, never()).scheduleFrame(publisher);
+  }
+
+  @Test
+  public void onFrame_withoutProgressIsIgnored() {
+    InterpolatedRouteProgressListener listener = mock(InterpolatedRouteProgressListener.class);
+    listeners.add(listener);
+
+    publisher.onFrame(16000000L);
+
+    verify(listener, never()).onInterpolatedProgress(interpolator);
+  }
+
+  @Test
+  public void stop_cancelsFrameAndResetsInterpolator() {
+    publisher.stop();
+
+    verify(frameScheduler, times(1)).cancelFrame(publisher);
+    verify(interpolator).reset();
+  }
+}
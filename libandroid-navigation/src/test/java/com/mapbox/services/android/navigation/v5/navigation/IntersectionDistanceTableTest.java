@@ -0,0 +1,105 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class IntersectionDistanceTableTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+
+  @Test
+  public void measuredIntersections_matchNavigationHelperDistances() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    List<LegStep> steps = route.legs().get(0).steps();
+
+    for (int stepIndex = 0; stepIndex < steps.size() - 1; stepIndex++) {
+      List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(
+        steps.get(stepIndex), steps.get(stepIndex + 1)
+      );
+      List<Pair<StepIntersection, Double>> expected = NavigationHelper.createDistancesToIntersections(
+        geometryIndex.stepPoints(0, stepIndex), intersections
+      );
+
+      IntersectionDistanceTable table = IntersectionDistanceTable.create(
+        geometryIndex, 0, stepIndex, intersections, steps.get(stepIndex + 1)
+      );
+
+      List<Pair<StepIntersection, Double>> measured = table.measuredIntersections();
+      assertEquals(expected.size(), measured.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.get(i).first, measured.get(i).first);
+        assertEquals(expected.get(i).second, measured.get(i).second, LARGE_DELTA);
+      }
+    }
+  }
+
+  @Test
+  public void findCurrentIntersectionIndex_matchesNavigationHelper() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    LegStep currentStep = route.legs().get(0).steps().get(1);
+    LegStep upcomingStep = route.legs().get(0).steps().get(2);
+    List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(currentStep, upcomingStep);
+    IntersectionDistanceTable table = IntersectionDistanceTable.create(
+      geometryIndex, 0, 1, intersections, upcomingStep
+    );
+    List<Pair<StepIntersection, Double>> measured = table.measuredIntersections();
+
+    for (double traveled = 0; traveled < currentStep.distance() + 10; traveled += 5) {
+      StepIntersection expected = NavigationHelper.findCurrentIntersection(intersections, measured, traveled);
+
+      int currentIndex = table.findCurrentIntersectionIndex(traveled);
+
+      assertEquals(expected, table.findCurrentIntersection(currentIndex));
+    }
+  }
+
+  @Test
+  public void findUpcomingIntersection_lastIntersectionWithoutUpcomingStepReturnsNull() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    LegStep currentStep = route.legs().get(0).steps().get(1);
+    List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(currentStep, null);
+    IntersectionDistanceTable table = IntersectionDistanceTable.create(
+      geometryIndex, 0, 1, intersections, null
+    );
+
+    StepIntersection upcomingIntersection = table.findUpcomingIntersection(intersections.size() - 1);
+
+    assertNull(upcomingIntersection);
+  }
+
+  @Test
+  public void create_singlePointStepReturnsEmptyMeasuredIntersections() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    LegStep currentStep = route.legs().get(0).steps().get(0);
+    List<StepIntersection> intersections = currentStep.intersections();
+
+    IntersectionDistanceTable table = IntersectionDistanceTable.create(
+      geometryIndex, 0, geometryIndex.stepCount(0), intersections, null
+    );
+
+    assertEquals(0, table.measuredIntersections().size());
+    assertEquals(0, table.findCurrentIntersectionIndex(100));
+  }
+}
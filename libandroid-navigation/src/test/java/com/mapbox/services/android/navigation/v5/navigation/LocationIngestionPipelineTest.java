@@ -0,0 +1,216 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.location.LocationValidator;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocationIngestionPipelineTest {
+
+  private static final int ACCURACY_THRESHOLD = 100;
+  private static final long RECEIVED_TIME = 1000L;
+
+  @Test
+  public void offer_inaccurateLocationIsRejected() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(1000L, 0, 0, 10f), RECEIVED_TIME);
+
+    boolean isAccepted = pipeline.offer(buildLocation(2000L, 1, 1, 200f), RECEIVED_TIME);
+
+    assertFalse(isAccepted);
+    assertEquals(1, pipeline.retrieveCounters().inaccurateCount());
+  }
+
+  @Test
+  public void offer_sameLocationTwiceIsDuplicate() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    Location location = buildLocation(1000L, 0, 0, 10f);
+    pipeline.offer(location, RECEIVED_TIME);
+
+    boolean isAccepted = pipeline.offer(location, RECEIVED_TIME);
+
+    assertFalse(isAccepted);
+    assertEquals(1, pipeline.retrieveCounters().duplicateCount());
+  }
+
+  @Test
+  public void offer_equalTimeAndPositionIsDuplicate() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(1000L, 1, 2, 10f), RECEIVED_TIME);
+
+    boolean isAccepted = pipeline.offer(buildLocation(1000L, 1, 2, 10f), RECEIVED_TIME);
+
+    assertFalse(isAccepted);
+    assertEquals(1, pipeline.retrieveCounters().duplicateCount());
+  }
+
+  @Test
+  public void offer_olderLocationIsOutOfOrder() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(5000L, 0, 0, 10f), RECEIVED_TIME);
+
+    boolean isAccepted = pipeline.offer(buildLocation(4000L, 1, 1, 10f), RECEIVED_TIME);
+
+    assertFalse(isAccepted);
+    assertEquals(1, pipeline.retrieveCounters().outOfOrderCount());
+  }
+
+  @Test
+  public void offer_largeStepBackInTimeStartsNewTimeBase() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(60000L, 0, 0, 10f), RECEIVED_TIME);
+
+    boolean isAccepted = pipeline.offer(buildLocation(1000L, 1, 1, 10f), RECEIVED_TIME);
+
+    assertTrue(isAccepted);
+    assertEquals(0, pipeline.retrieveCounters().outOfOrderCount());
+  }
+
+  @Test
+  public void offer_fullQueueReplacesOldestLocation() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(new LocationValidator(ACCURACY_THRESHOLD), 2);
+    Location first = buildLocation(1000L, 0, 0, 10f);
+    Location second = buildLocation(2000L, 1, 1, 10f);
+    Location third = buildLocation(3000L, 2, 2, 10f);
+    pipeline.offer(first, RECEIVED_TIME);
+    pipeline.offer(second, RECEIVED_TIME);
+    pipeline.offer(third, RECEIVED_TIME);
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    List<Location> delivered = recordDeliveredLocations(navigator);
+
+    pipeline.drainTo(navigator);
+
+    assertEquals(2, delivered.size());
+    assertSame(second, delivered.get(0));
+    assertSame(third, delivered.get(1));
+    assertEquals(1, pipeline.retrieveCounters().overflowCount());
+  }
+
+  @Test
+  public void drainTo_deliversQueuedLocationsInOneBatch() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(1000L, 0, 0, 10f), RECEIVED_TIME);
+    pipeline.offer(buildLocation(2000L, 1, 1, 10f), RECEIVED_TIME);
+    pipeline.offer(buildLocation(3000L, 2, 2, 10f), RECEIVED_TIME);
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+
+    int count = pipeline.drainTo(navigator);
+
+    assertEquals(3, count);
+    verify(navigator, times(1)).updateLocations(any(Location[].class), any(long[].class), anyInt());
+  }
+
+  @Test
+  public void drainTo_emptyQueueDoesNotCallNavigator() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+
+    int count = pipeline.drainTo(navigator);
+
+    assertEquals(0, count);
+    verify(navigator, never()).updateLocations(any(Location[].class), any(long[].class), anyInt());
+  }
+
+  @Test
+  public void drainTo_locationsAreOnlyDeliveredOnce() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(1000L, 0, 0, 10f), RECEIVED_TIME);
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    pipeline.drainTo(navigator);
+
+    int count = pipeline.drainTo(navigator);
+
+    assertEquals(0, count);
+  }
+
+  @Test
+  public void reset_dropsQueueAndLastAcceptedLocation() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(5000L, 0, 0, 10f), RECEIVED_TIME);
+    pipeline.reset();
+
+    boolean isAccepted = pipeline.offer(buildLocation(4000L, 1, 1, 10f), RECEIVED_TIME);
+    int count = pipeline.drainTo(mock(MapboxNavigator.class));
+
+    assertTrue(isAccepted);
+    assertEquals(1, count);
+  }
+
+  @Test
+  public void reset_firstLocationOfNewRouteIsAcceptedRegardlessOfAccuracy() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    pipeline.offer(buildLocation(1000L, 0, 0, 10f), RECEIVED_TIME);
+    pipeline.reset();
+
+    boolean isAccepted = pipeline.offer(buildLocation(2000L, 1, 1, 200f), RECEIVED_TIME);
+
+    assertTrue(isAccepted);
+    assertEquals(0, pipeline.retrieveCounters().inaccurateCount());
+  }
+
+  @Test
+  public void retrieveCounters_countsEveryStage() {
+    LocationIngestionPipeline pipeline = new LocationIngestionPipeline(ACCURACY_THRESHOLD);
+    Location location = buildLocation(5000L, 0, 0, 10f);
+    pipeline.offer(location, RECEIVED_TIME);
+    pipeline.offer(location, RECEIVED_TIME);
+    pipeline.offer(buildLocation(4000L, 1, 1, 10f), RECEIVED_TIME);
+    pipeline.offer(buildLocation(6000L, 2, 2, 200f), RECEIVED_TIME);
+    pipeline.offer(buildLocation(7000L, 3, 3, 10f), RECEIVED_TIME);
+    pipeline.drainTo(mock(MapboxNavigator.class));
+
+    LocationIngestionCounters counters = pipeline.retrieveCounters();
+
+    assertEquals(5, counters.receivedCount());
+    assertEquals(1, counters.inaccurateCount());
+    assertEquals(1, counters.duplicateCount());
+    assertEquals(1, counters.outOfOrderCount());
+    assertEquals(0, counters.overflowCount());
+    assertEquals(2, counters.deliveredCount());
+    assertEquals(1, counters.batchCount());
+  }
+
+  private Location buildLocation(long time, double latitude, double longitude, float accuracy) {
+    Location location = mock(Location.class);
+    when(location.getTime()).thenReturn(time);
+    when(location.getLatitude()).thenReturn(latitude);
+    when(location.getLongitude()).thenReturn(longitude);
+    when(location.getAccuracy()).thenReturn(accuracy);
+    return location;
+  }
+
+  private List<Location> recordDeliveredLocations(MapboxNavigator navigator) {
+    final List<Location> delivered = new ArrayList<>();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        Location[] locations = invocation.getArgument(0);
+        int count = invocation.getArgument(2);
+        for (int i = 0; i < count; i++) {
+          delivered.add(locations[i]);
+        }
+        return null;
+      }
+    }).when(navigator).updateLocations(any(Location[].class), any(long[].class), anyInt());
+    return delivered;
+  }
+}
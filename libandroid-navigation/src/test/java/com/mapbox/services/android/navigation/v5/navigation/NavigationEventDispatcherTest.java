@@ -18,6 +18,7 @@ import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListene
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListener;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedRouteProgressListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
@@ -30,7 +31,9 @@ import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -368,6 +371,26 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(metricEventListener, times(0)).onOffRouteEvent(location);
   }
 
+  @Test
+  public void addInterpolatedRouteProgressListener_snapshotsAreFilled() throws Exception {
+    NavigationEventDispatcher dispatcher = new NavigationEventDispatcher();
+
+    dispatcher.addInterpolatedRouteProgressListener(mock(InterpolatedRouteProgressListener.class));
+
+    assertTrue(dispatcher.hasRouteProgressSnapshotListeners());
+  }
+
+  @Test
+  public void removeInterpolatedRouteProgressListener_snapshotsAreNoLongerFilled() throws Exception {
+    NavigationEventDispatcher dispatcher = new NavigationEventDispatcher();
+    InterpolatedRouteProgressListener interpolatedListener = mock(InterpolatedRouteProgressListener.class);
+    dispatcher.addInterpolatedRouteProgressListener(interpolatedListener);
+
+    dispatcher.removeInterpolatedRouteProgressListener(interpolatedListener);
+
+    assertFalse(dispatcher.hasRouteProgressSnapshotListeners());
+  }
+
   @NonNull
   private NavigationEventDispatcher buildEventDispatcherHasArrived(String instruction, RouteUtils routeUtils,
                                                                    Milestone milestone) {
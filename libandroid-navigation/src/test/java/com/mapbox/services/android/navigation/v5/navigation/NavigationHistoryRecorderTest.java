@@ -0,0 +1,200 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NavigationHistoryRecorderTest {
+
+  private static final long MAXIMUM_AGE = 60000L;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void start_turnsOnHistoryAndSchedulesDrains() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.toggleHistory(true)).thenReturn(buildFuture((Void) null));
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    NavigationHistoryRecorder recorder = new NavigationHistoryRecorder(navigator, buildOptions(1000000L),
+      executor);
+
+    recorder.start();
+
+    verify(navigator).toggleHistory(true);
+    verify(executor).scheduleWithFixedDelay(recorder, 60000L, 60000L, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void start_failingToTurnOnHistoryThrows() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    when(navigator.toggleHistory(true)).thenReturn(buildFailedFuture(new IllegalStateException()));
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 1000000L);
+
+    recorder.start();
+  }
+
+  @Test
+  public void drain_chunksAreAppendedAsCompressedLines() throws Exception {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 1000000L);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{\"first\":1}"), buildFuture("{\"second\":2}"));
+
+    recorder.drain(1000L);
+    recorder.drain(2000L);
+
+    File[] segments = folder.getRoot().listFiles();
+    assertEquals(1, segments.length);
+    List<String> lines = readLines(segments[0]);
+    assertEquals(2, lines.size());
+    assertEquals("{\"first\":1}", lines.get(0));
+    assertEquals("{\"second\":2}", lines.get(1));
+  }
+
+  @Test
+  public void drain_emptyHistoryIsNotWritten() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 1000000L);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{}"));
+
+    recorder.drain(1000L);
+
+    assertEquals(0, folder.getRoot().listFiles().length);
+  }
+
+  @Test
+  public void drain_oldestSegmentsOverMaximumSizeAreDeleted() throws Exception {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 8L);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{\"first\":1}"), buildFuture("{\"second\":2}"),
+      buildFuture("{\"third\":3}"));
+
+    recorder.drain(1000L);
+    recorder.drain(2000L);
+    recorder.drain(3000L);
+
+    File[] segments = folder.getRoot().listFiles();
+    assertEquals(1, segments.length);
+    assertEquals("{\"third\":3}", readLines(segments[0]).get(0));
+  }
+
+  @Test
+  public void drain_segmentsOverMaximumAgeAreDeleted() throws Exception {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 1000000L);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{\"first\":1}"));
+    long currentTime = System.currentTimeMillis();
+    File oldSegment = folder.newFile(NavigationHistoryRecorder.SEGMENT_PREFIX + "0000000000001"
+      + NavigationHistoryRecorder.SEGMENT_SUFFIX);
+    oldSegment.setLastModified(currentTime - 2 * MAXIMUM_AGE);
+
+    recorder.drain(currentTime);
+
+    assertFalse(oldSegment.exists());
+    assertEquals(1, folder.getRoot().listFiles().length);
+  }
+
+  @Test
+  public void drain_otherFilesInDirectoryAreKept() throws Exception {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    NavigationHistoryRecorder recorder = buildRecorder(navigator, 8L);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{\"first\":1}"));
+    File otherFile = folder.newFile("route.json");
+
+    recorder.drain(1000L);
+
+    assertTrue(otherFile.exists());
+  }
+
+  @Test
+  public void stop_drainsRemainingHistoryAndTurnsItOff() {
+    MapboxNavigator navigator = mock(MapboxNavigator.class);
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    NavigationHistoryRecorder recorder = new NavigationHistoryRecorder(navigator, buildOptions(1000000L),
+      executor);
+    when(navigator.drainHistory()).thenReturn(buildFuture("{\"last\":1}"));
+    when(navigator.toggleHistory(false)).thenReturn(buildFuture((Void) null));
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+
+    recorder.stop();
+    verify(executor).execute(captor.capture());
+    captor.getValue().run();
+
+    verify(executor).shutdown();
+    verify(navigator).drainHistory();
+    verify(navigator).toggleHistory(false);
+    assertEquals(1, folder.getRoot().listFiles().length);
+  }
+
+  private NavigationHistoryRecorder buildRecorder(MapboxNavigator navigator, long maximumSize) {
+    return new NavigationHistoryRecorder(navigator, buildOptions(maximumSize), mock(ScheduledExecutorService.class));
+  }
+
+  private NavigationHistoryRecorderOptions buildOptions(long maximumSize) {
+    return NavigationHistoryRecorderOptions.builder()
+      .directory(folder.getRoot())
+      .maximumSizeInBytes(maximumSize)
+      .maximumAgeInMilliseconds(MAXIMUM_AGE)
+      .build();
+  }
+
+  private <T> Future<T> buildFuture(final T result) {
+    FutureTask<T> future = new FutureTask<>(new Callable<T>() {
+      @Override
+      public T call() {
+        return result;
+      }
+    });
+    future.run();
+    return future;
+  }
+
+  private Future<Void> buildFailedFuture(final RuntimeException exception) {
+    FutureTask<Void> future = new FutureTask<>(new Callable<Void>() {
+      @Override
+      public Void call() {
+        throw exception;
+      }
+    });
+    future.run();
+    return future;
+  }
+
+  private List<String> readLines(File segment) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(
+      new GZIPInputStream(new FileInputStream(segment)), "UTF-8"));
+    try {
+      List<String> lines = new ArrayList<>();
+      String line = reader.readLine();
+      while (line != null) {
+        lines.add(line);
+        line = reader.readLine();
+      }
+      return lines;
+    } finally {
+      reader.close();
+    }
+  }
+}
@@ -3,7 +3,6 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.location.Location;
 
 import com.mapbox.android.core.location.LocationEngine;
-import com.mapbox.services.android.navigation.v5.location.LocationValidator;
 
 import org.junit.Test;
 
@@ -34,12 +33,10 @@ public class NavigationLocationEngineListenerTest {
   }
 
   private NavigationLocationEngineListener buildListener(RouteProcessorBackgroundThread thread) {
-    return new NavigationLocationEngineListener(thread, mock(LocationEngine.class),
-      mock(LocationValidator.class));
+    return new NavigationLocationEngineListener(thread, mock(LocationEngine.class));
   }
 
   private NavigationLocationEngineListener buildListener(LocationEngine locationEngine) {
-    return new NavigationLocationEngineListener(mock(RouteProcessorBackgroundThread.class),
-      locationEngine, mock(LocationValidator.class));
+    return new NavigationLocationEngineListener(mock(RouteProcessorBackgroundThread.class), locationEngine);
   }
 }
\ No newline at end of file
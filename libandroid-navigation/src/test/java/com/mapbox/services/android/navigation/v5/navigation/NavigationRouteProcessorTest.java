@@ -20,7 +20,9 @@ public class NavigationRouteProcessorTest extends BaseTest {
     NavigationRouteProcessor processor = new NavigationRouteProcessor();
 
     // TODO mock final status
-    RouteProgress progress = processor.buildNewRouteProgress(mock(NavigationStatus.class), buildTestDirectionsRoute());
+    RouteProgress progress = processor.buildNewRouteProgress(
+      mock(NavigationStatus.class), buildTestDirectionsRoute(), null
+    );
 
     assertNotNull(progress);
   }
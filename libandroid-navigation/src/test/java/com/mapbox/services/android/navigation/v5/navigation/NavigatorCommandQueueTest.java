@@ -0,0 +1,133 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class NavigatorCommandQueueTest {
+
+  @Test
+  public void submit_resultIsReturnedThroughFuture() throws Exception {
+    NavigatorCommandQueue queue = new NavigatorCommandQueue();
+
+    Future<String> future = queue.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        return "status";
+      }
+    });
+
+    assertTrue(future.isDone());
+    assertEquals("status", future.get());
+  }
+
+  @Test
+  public void submit_commandsRunInSubmissionOrder() {
+    NavigatorCommandQueue queue = new NavigatorCommandQueue();
+    List<Integer> order = new ArrayList<>();
+
+    queue.submit(buildRecordingCommand(order, 1));
+    queue.submit(buildRecordingCommand(order, 2));
+    queue.submit(buildRecordingCommand(order, 3));
+
+    assertEquals(3, order.size());
+    assertEquals(1, (int) order.get(0));
+    assertEquals(2, (int) order.get(1));
+    assertEquals(3, (int) order.get(2));
+  }
+
+  @Test
+  public void submit_whileWritingIsRunByWriter() throws Exception {
+    final NavigatorCommandQueue queue = new NavigatorCommandQueue();
+    final List<Future<String>> otherThreadFutures = new ArrayList<>();
+    final List<Boolean> isDoneWhileWriting = new ArrayList<>();
+
+    queue.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        Thread otherThread = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            otherThreadFutures.add(queue.submit(new Callable<String>() {
+              @Override
+              public String call() {
+                return Thread.currentThread().getName();
+              }
+            }));
+          }
+        }, "other");
+        otherThread.start();
+        otherThread.join();
+        isDoneWhileWriting.add(otherThreadFutures.get(0).isDone());
+        return null;
+      }
+    });
+
+    assertFalse(isDoneWhileWriting.get(0));
+    assertEquals(Thread.currentThread().getName(), otherThreadFutures.get(0).get());
+    assertEquals(1, queue.retrieveCounters().writeCount());
+    assertEquals(2, queue.retrieveCounters().executedCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void await_commandExceptionIsRethrown() {
+    NavigatorCommandQueue queue = new NavigatorCommandQueue();
+
+    NavigatorCommandQueue.await(queue.submit(new Callable<Void>() {
+      @Override
+      public Void call() {
+        throw new IllegalArgumentException();
+      }
+    }));
+  }
+
+  @Test
+  public void await_keepsInterruptOfCallingThread() {
+    NavigatorCommandQueue queue = new NavigatorCommandQueue();
+    Future<String> future = queue.submit(new Callable<String>() {
+      @Override
+      public String call() {
+        return "history";
+      }
+    });
+    Thread.currentThread().interrupt();
+
+    String result = NavigatorCommandQueue.await(future);
+
+    assertEquals("history", result);
+    assertTrue(Thread.interrupted());
+  }
+
+  @Test
+  public void retrieveCounters_countsRunCommands() {
+    NavigatorCommandQueue queue = new NavigatorCommandQueue();
+    List<Integer> order = new ArrayList<>();
+    queue.submit(buildRecordingCommand(order, 1));
+    queue.submit(buildRecordingCommand(order, 2));
+
+    NavigatorCommandCounters counters = queue.retrieveCounters();
+
+    assertEquals(2, counters.executedCount());
+    assertEquals(2, counters.writeCount());
+    assertEquals(0, counters.queueDepth());
+    assertEquals(1, counters.maximumQueueDepth());
+    assertTrue(counters.totalHoldNanoseconds() >= counters.maximumHoldNanoseconds());
+  }
+
+  private Callable<Void> buildRecordingCommand(final List<Integer> order, final int id) {
+    return new Callable<Void>() {
+      @Override
+      public Void call() {
+        order.add(id);
+        return null;
+      }
+    };
+  }
+}
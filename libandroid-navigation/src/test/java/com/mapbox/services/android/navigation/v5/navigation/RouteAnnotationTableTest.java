@@ -0,0 +1,111 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class RouteAnnotationTableTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+  private static final String ANNOTATED_ROUTE_FIXTURE = "directions_distance_congestion_annotation.json";
+
+  @Test
+  public void routeDistanceRemaining_matchesNavigationHelper() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+
+    for (int legIndex = 0; legIndex < route.legs().size(); legIndex++) {
+      double expected = NavigationHelper.routeDistanceRemaining(100d, legIndex, route);
+
+      assertEquals(expected, table.routeDistanceRemaining(100d, legIndex), DELTA);
+    }
+  }
+
+  @Test
+  public void routeDurationRemaining_addsUpcomingLegDurations() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+    double secondLegDuration = route.legs().get(1).duration();
+
+    assertEquals(10d + secondLegDuration, table.routeDurationRemaining(10d, 0), DELTA);
+    assertEquals(10d, table.routeDurationRemaining(10d, 1), DELTA);
+  }
+
+  @Test
+  public void hasAnnotationDistances_falseWithoutAnnotations() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+
+    assertFalse(table.hasAnnotationDistances(0));
+    assertNull(table.createCurrentAnnotation(null, route.legs().get(0), 0, 0));
+  }
+
+  @Test
+  public void createCurrentAnnotation_matchesNavigationHelperAlongLeg() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE);
+    RouteLeg leg = route.legs().get(0);
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+    double legDistance = leg.distance();
+
+    assertTrue(table.hasAnnotationDistances(0));
+    for (double legDistanceTraveled = 0; legDistanceTraveled < legDistance; legDistanceTraveled += 7.5) {
+      double legDistanceRemaining = legDistance - legDistanceTraveled;
+      CurrentLegAnnotation expected = NavigationHelper.createCurrentAnnotation(null, leg, legDistanceRemaining);
+
+      CurrentLegAnnotation actual = table.createCurrentAnnotation(null, leg, 0, legDistanceTraveled);
+
+      assertEquals(expected.index(), actual.index());
+      assertEquals(expected.distanceToAnnotation(), actual.distanceToAnnotation(), LARGE_DELTA);
+      assertEquals(expected.congestion(), actual.congestion());
+    }
+  }
+
+  @Test
+  public void createCurrentAnnotation_reusesPreviousAnnotationWithSameIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE);
+    RouteLeg leg = route.legs().get(0);
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+    CurrentLegAnnotation previous = table.createCurrentAnnotation(null, leg, 0, 0);
+
+    CurrentLegAnnotation current = table.createCurrentAnnotation(previous, leg, 0, 0.1);
+
+    assertSame(previous, current);
+  }
+
+  @Test
+  public void durationToAnnotation_sumsPriorDurations() throws Exception {
+    RouteLeg leg = mock(RouteLeg.class);
+    LegAnnotation annotation = mock(LegAnnotation.class);
+    when(annotation.distance()).thenReturn(Arrays.asList(10d, 20d, 30d));
+    when(annotation.duration()).thenReturn(Arrays.asList(1d, 2d, 3d));
+    when(leg.annotation()).thenReturn(annotation);
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.legs()).thenReturn(Collections.singletonList(leg));
+    RouteAnnotationTable table = RouteAnnotationTable.create(route);
+
+    assertEquals(3d, table.durationToAnnotation(0, 2), DELTA);
+    assertEquals(2, table.findAnnotationIndex(0, 30d));
+    assertEquals(30d, table.distanceToAnnotation(0, 2), DELTA);
+  }
+}
@@ -0,0 +1,72 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import org.junit.Test;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ROUTE_PROCESSING_STAGE_SNAP;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.ROUTE_PROCESSING_STAGE_STATUS;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+
+public class RouteProcessingStageTimerTest {
+
+  @Test
+  public void finishRun_returnsNullUntilWindowIsFull() {
+    RouteProcessingStageTimer stageTimer = new RouteProcessingStageTimer(3);
+
+    recordRun(stageTimer, 10);
+    assertNull(stageTimer.finishRun());
+    recordRun(stageTimer, 20);
+    assertNull(stageTimer.finishRun());
+    recordRun(stageTimer, 30);
+
+    assertNotNull(stageTimer.finishRun());
+  }
+
+  @Test
+  public void finishRun_timingsContainPercentilesOfWindow() {
+    RouteProcessingStageTimer stageTimer = new RouteProcessingStageTimer(20);
+
+    RouteProcessingTimings timings = null;
+    for (int i = 20; i > 0; i--) {
+      recordRun(stageTimer, i * 100);
+      timings = stageTimer.finishRun();
+    }
+
+    assertEquals(20, timings.runCount());
+    assertEquals(1000, timings.p50Nanoseconds(ROUTE_PROCESSING_STAGE_SNAP));
+    assertEquals(1900, timings.p95Nanoseconds(ROUTE_PROCESSING_STAGE_SNAP));
+    assertEquals(2000, timings.maxNanoseconds(ROUTE_PROCESSING_STAGE_SNAP));
+  }
+
+  @Test
+  public void finishRun_allocationCountsAreSummedPerStage() {
+    RouteProcessingStageTimer stageTimer = new RouteProcessingStageTimer(2);
+
+    stageTimer.record(ROUTE_PROCESSING_STAGE_STATUS, 10, 3);
+    stageTimer.finishRun();
+    stageTimer.record(ROUTE_PROCESSING_STAGE_STATUS, 10, 4);
+    RouteProcessingTimings timings = stageTimer.finishRun();
+
+    assertEquals(7, timings.allocationCount(ROUTE_PROCESSING_STAGE_STATUS));
+    assertEquals(0, timings.allocationCount(ROUTE_PROCESSING_STAGE_SNAP));
+  }
+
+  @Test
+  public void finishRun_startsNewWindowAfterTimingsAreReturned() {
+    RouteProcessingStageTimer stageTimer = new RouteProcessingStageTimer(1);
+    stageTimer.record(ROUTE_PROCESSING_STAGE_STATUS, 500, 5);
+    stageTimer.finishRun();
+
+    stageTimer.record(ROUTE_PROCESSING_STAGE_STATUS, 100, 1);
+    RouteProcessingTimings timings = stageTimer.finishRun();
+
+    assertEquals(100, timings.maxNanoseconds(ROUTE_PROCESSING_STAGE_STATUS));
+    assertEquals(1, timings.allocationCount(ROUTE_PROCESSING_STAGE_STATUS));
+  }
+
+  private void recordRun(RouteProcessingStageTimer stageTimer, long snapNanoseconds) {
+    stageTimer.record(ROUTE_PROCESSING_STAGE_STATUS, 1, 0);
+    stageTimer.record(ROUTE_PROCESSING_STAGE_SNAP, snapNanoseconds, 0);
+  }
+}
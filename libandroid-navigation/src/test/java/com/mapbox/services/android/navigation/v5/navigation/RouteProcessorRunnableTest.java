@@ -0,0 +1,309 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.navigator.NavigationStatus;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.milestone.MilestoneScheduler;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.route.RouteFetcher;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_MODE_FIXED_INTERVAL;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants
+  .ROUTE_PROCESSING_MODE_LOCATION_DRIVEN;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RouteProcessorRunnableTest {
+
+  private static final int WATCHDOG_INTERVAL_IN_MILLISECONDS = 1000;
+
+  private final FakeRouteProcessorScheduler workerScheduler = new FakeRouteProcessorScheduler();
+  private final FakeRouteProcessorScheduler responseScheduler = new FakeRouteProcessorScheduler();
+  private MapboxNavigator mapboxNavigator;
+  private RouteProcessorSession session;
+  private NavigationEngineFactory engineFactory;
+  private NavigationEventDispatcher eventDispatcher;
+  private NavigationRouteProcessor routeProcessor;
+  private RouteProcessorBackgroundThread.Listener listener;
+  private int runCount;
+
+  @Before
+  public void setUp() {
+    mapboxNavigator = mock(MapboxNavigator.class);
+    session = mock(RouteProcessorSession.class);
+    LocationIngestionPipeline ingestionPipeline = mock(LocationIngestionPipeline.class);
+    when(ingestionPipeline.offer(any(Location.class), anyLong())).thenReturn(true);
+    engineFactory = mock(NavigationEngineFactory.class);
+    eventDispatcher = mock(NavigationEventDispatcher.class);
+    routeProcessor = mock(NavigationRouteProcessor.class);
+    listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    when(engineFactory.retrieveOffRouteEngine()).thenReturn(mock(OffRoute.class));
+    when(engineFactory.retrieveSnapEngine()).thenReturn(mock(Snap.class));
+    when(engineFactory.retrieveFasterRouteEngine()).thenReturn(mock(FasterRoute.class));
+    when(session.retrieveMapboxNavigator()).thenReturn(mapboxNavigator);
+    when(session.retrieveLocationIngestionPipeline()).thenReturn(ingestionPipeline);
+    when(session.retrieveEngineFactory()).thenReturn(engineFactory);
+    when(session.retrieveMilestoneScheduler()).thenReturn(mock(MilestoneScheduler.class));
+    when(session.getEventDispatcher()).thenReturn(eventDispatcher);
+    when(mapboxNavigator.retrieveStatus(any(Date.class), anyLong())).thenAnswer(new CountingStatusAnswer());
+  }
+
+  @Test
+  public void updateRawLocation_locationsBeforeARunAreCoalescedIntoOneRun() {
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+
+    runnable.updateRawLocation(mock(Location.class));
+    runnable.updateRawLocation(mock(Location.class));
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    assertEquals(1, runCount);
+  }
+
+  @Test
+  public void updateRawLocation_fixedIntervalModeDoesNotPostARun() {
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_FIXED_INTERVAL);
+
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    assertEquals(0, runCount);
+  }
+
+  @Test
+  public void updateRawLocation_locationDuringARunPostsExactlyOneMoreRun() {
+    final RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+    doAnswer(new CountingStatusAnswer() {
+      @Override
+      public Future<NavigationStatus> answer(InvocationOnMock invocation) throws Throwable {
+        if (runCount == 0) {
+          runnable.updateRawLocation(mock(Location.class));
+          runnable.updateRawLocation(mock(Location.class));
+        }
+        return super.answer(invocation);
+      }
+    }).when(mapboxNavigator).retrieveStatus(any(Date.class), anyLong());
+
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    assertEquals(2, runCount);
+  }
+
+  @Test
+  public void run_watchdogRunsWhenNoLocationsArrive() {
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    workerScheduler.advanceBy(WATCHDOG_INTERVAL_IN_MILLISECONDS - 1);
+    assertEquals(1, runCount);
+    workerScheduler.advanceBy(1);
+    assertEquals(2, runCount);
+    workerScheduler.advanceBy(WATCHDOG_INTERVAL_IN_MILLISECONDS);
+    assertEquals(3, runCount);
+  }
+
+  @Test
+  public void run_watchdogIsRescheduledAfterEachRun() {
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    workerScheduler.advanceBy(WATCHDOG_INTERVAL_IN_MILLISECONDS / 2);
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+    workerScheduler.advanceBy(WATCHDOG_INTERVAL_IN_MILLISECONDS - 1);
+
+    assertEquals(2, runCount);
+    assertEquals(1, workerScheduler.pendingTaskCount());
+    workerScheduler.advanceBy(1);
+    assertEquals(3, runCount);
+  }
+
+  @Test
+  public void run_snapshotOnlySessionDoesNotBuildRouteProgress() {
+    when(eventDispatcher.hasRouteProgressSnapshotListeners()).thenReturn(true);
+    when(engineFactory.retrieveOffRouteEngine()).thenReturn(mock(OffRouteDetector.class));
+    when(engineFactory.retrieveSnapEngine()).thenReturn(mock(SnapToRoute.class));
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+    responseScheduler.runDueTasks();
+
+    verify(routeProcessor).updateRouteProgressSnapshot(isNull(NavigationStatus.class),
+      isNull(DirectionsRoute.class), isNull(RouteGeometryIndex.class), any(MutableRouteProgressSnapshot.class));
+    verify(routeProcessor, never()).buildNewRouteProgress(any(NavigationStatus.class), any(DirectionsRoute.class),
+      any(RouteGeometryIndex.class), any(MutableRouteProgressSnapshot.class));
+    verify(listener, never()).onNewRouteProgress(any(Location.class), any(RouteProgress.class));
+    verify(listener).onNewRouteProgressSnapshot(isNull(Location.class), any(RouteProgressSnapshot.class));
+  }
+
+  @Test
+  public void run_listenerReadingRouteProgressBuildsIt() {
+    when(eventDispatcher.hasRouteProgressSnapshotListeners()).thenReturn(true);
+    when(engineFactory.retrieveOffRouteEngine()).thenReturn(mock(OffRouteDetector.class));
+    when(engineFactory.retrieveSnapEngine()).thenReturn(mock(SnapToRoute.class));
+    when(listener.isRouteProgressRequired(anyLong())).thenReturn(true);
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_LOCATION_DRIVEN);
+
+    runnable.updateRawLocation(mock(Location.class));
+    workerScheduler.runDueTasks();
+
+    verify(routeProcessor).buildNewRouteProgress(isNull(NavigationStatus.class), isNull(DirectionsRoute.class),
+      isNull(RouteGeometryIndex.class), any(MutableRouteProgressSnapshot.class));
+    verify(routeProcessor, never()).updateRouteProgressSnapshot(any(NavigationStatus.class),
+      any(DirectionsRoute.class), any(RouteGeometryIndex.class), any(MutableRouteProgressSnapshot.class));
+  }
+
+  @Test
+  public void run_navigationListenerWithOnlySnapshotListenersSkipsBuildingRouteProgress() {
+    when(eventDispatcher.hasRouteProgressSnapshotListeners()).thenReturn(true);
+    when(engineFactory.retrieveOffRouteEngine()).thenReturn(mock(OffRouteDetector.class));
+    when(engineFactory.retrieveSnapEngine()).thenReturn(mock(SnapToRoute.class));
+    NavigationNotificationProvider notificationProvider = mock(NavigationNotificationProvider.class);
+    listener = new RouteProcessorThreadListener(eventDispatcher, mock(RouteFetcher.class), notificationProvider);
+    RouteProcessorRunnable runnable = buildRunnable(ROUTE_PROCESSING_MODE_FIXED_INTERVAL);
+    long runsUntilNotificationUpdate = RouteProcessorThreadListener.NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS
+      / WATCHDOG_INTERVAL_IN_MILLISECONDS;
+
+    workerScheduler.post(runnable);
+    workerScheduler.runDueTasks();
+    responseScheduler.runDueTasks();
+    for (int i = 1; i < runsUntilNotificationUpdate; i++) {
+      workerScheduler.advanceBy(WATCHDOG_INTERVAL_IN_MILLISECONDS);
+      responseScheduler.runDueTasks();
+    }
+
+    assertEquals(runsUntilNotificationUpdate, runCount);
+    verify(routeProcessor, times(1)).buildNewRouteProgress(isNull(NavigationStatus.class),
+      isNull(DirectionsRoute.class), isNull(RouteGeometryIndex.class), any(MutableRouteProgressSnapshot.class));
+    verify(routeProcessor, times((int) runsUntilNotificationUpdate - 1)).updateRouteProgressSnapshot(
+      isNull(NavigationStatus.class), isNull(DirectionsRoute.class), isNull(RouteGeometryIndex.class),
+      any(MutableRouteProgressSnapshot.class));
+  }
+
+  private RouteProcessorRunnable buildRunnable(int routeProcessingMode) {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .routeProcessingMode(routeProcessingMode)
+      .routeProcessingIntervalInMilliseconds(WATCHDOG_INTERVAL_IN_MILLISECONDS)
+      .build();
+    when(session.options()).thenReturn(options);
+    return new RouteProcessorRunnable(routeProcessor, session, workerScheduler, responseScheduler, listener,
+      new ScreenStateMonitor());
+  }
+
+  private class CountingStatusAnswer implements Answer<Future<NavigationStatus>> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Future<NavigationStatus> answer(InvocationOnMock invocation) throws Throwable {
+      runCount++;
+      return mock(Future.class);
+    }
+  }
+
+  /**
+   * Runs posted tasks only when told to, in the order of their time and then the order they were
+   * posted in, like a {@link android.os.Handler} on a paused looper.
+   */
+  private static class FakeRouteProcessorScheduler implements RouteProcessorScheduler {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private long uptimeMillis;
+
+    @Override
+    public long uptimeMillis() {
+      return uptimeMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+      return uptimeMillis;
+    }
+
+    @Override
+    public void post(Runnable runnable) {
+      postAtTime(runnable, uptimeMillis);
+    }
+
+    @Override
+    public void postDelayed(Runnable runnable, long delayInMilliseconds) {
+      postAtTime(runnable, uptimeMillis + delayInMilliseconds);
+    }
+
+    @Override
+    public void postAtTime(Runnable runnable, long uptimeMillis) {
+      int index = tasks.size();
+      while (index > 0 && tasks.get(index - 1).uptimeMillis > uptimeMillis) {
+        index--;
+      }
+      tasks.add(index, new Task(runnable, uptimeMillis));
+    }
+
+    @Override
+    public void removeCallbacks(Runnable runnable) {
+      Iterator<Task> iterator = tasks.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().runnable == runnable) {
+          iterator.remove();
+        }
+      }
+    }
+
+    void advanceBy(long milliseconds) {
+      uptimeMillis += milliseconds;
+      runDueTasks();
+    }
+
+    void runDueTasks() {
+      while (!tasks.isEmpty() && tasks.get(0).uptimeMillis <= uptimeMillis) {
+        tasks.remove(0).runnable.run();
+      }
+    }
+
+    int pendingTaskCount() {
+      return tasks.size();
+    }
+  }
+
+  private static class Task {
+
+    private final Runnable runnable;
+    private final long uptimeMillis;
+
+    Task(Runnable runnable, long uptimeMillis) {
+      this.runnable = runnable;
+      this.uptimeMillis = uptimeMillis;
+    }
+  }
+}
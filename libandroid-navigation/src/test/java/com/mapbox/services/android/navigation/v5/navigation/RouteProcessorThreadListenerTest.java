@@ -14,14 +14,19 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 public class RouteProcessorThreadListenerTest {
 
+  private static final long START_TIME_MILLIS = 1500000000000L;
+
   @Test
   public void onNewRouteProgress_notificationProviderIsUpdated() {
     NavigationNotificationProvider provider = mock(NavigationNotificationProvider.class);
@@ -45,6 +50,34 @@ public class RouteProcessorThreadListenerTest {
     verify(dispatcher).onProgressChange(eq(location), eq(routeProgress));
   }
 
+  @Test
+  public void isRouteProgressRequired_progressChangeListenersRequireEveryRun() {
+    NavigationEventDispatcher dispatcher = mock(NavigationEventDispatcher.class);
+    when(dispatcher.hasProgressChangeListeners()).thenReturn(true);
+    RouteProcessorThreadListener listener = buildListener(dispatcher);
+
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS));
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS + 1000));
+  }
+
+  @Test
+  public void isRouteProgressRequired_withoutProgressChangeListenersOnlyForNotificationUpdates() {
+    RouteProcessorThreadListener listener = buildListener(mock(NavigationEventDispatcher.class));
+    long interval = RouteProcessorThreadListener.NOTIFICATION_UPDATE_INTERVAL_IN_MILLISECONDS;
+
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS));
+    assertFalse(listener.isRouteProgressRequired(START_TIME_MILLIS + interval - 1));
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS + interval));
+  }
+
+  @Test
+  public void isRouteProgressRequired_clockTurnedBackUpdatesNotification() {
+    RouteProcessorThreadListener listener = buildListener(mock(NavigationEventDispatcher.class));
+
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS));
+    assertTrue(listener.isRouteProgressRequired(START_TIME_MILLIS - 1));
+  }
+
   @Test
   public void onMilestoneTrigger_eventDispatcherSendsMilestone() {
     List<Milestone> milestones = new ArrayList<>();
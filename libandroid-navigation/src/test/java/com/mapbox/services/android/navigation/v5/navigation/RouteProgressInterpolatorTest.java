@@ -0,0 +1,155 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.GeometryUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RouteProgressInterpolatorTest {
+
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final double ROUTE_DISTANCE = 1000;
+  private static final double ROUTE_DURATION = 100;
+  private static final double DELTA = 1E-6;
+
+  private final DirectionsRoute route = mock(DirectionsRoute.class);
+  private final List<Point> stepPoints = new ArrayList<>();
+  private double stepDistance;
+
+  @Before
+  public void setUp() {
+    when(route.distance()).thenReturn(ROUTE_DISTANCE);
+    when(route.duration()).thenReturn(ROUTE_DURATION);
+    stepPoints.add(Point.fromLngLat(0, 0));
+    stepPoints.add(Point.fromLngLat(0.001, 0));
+    stepPoints.add(Point.fromLngLat(0.002, 0));
+    stepDistance = 2 * GeometryUtils.distance(0, 0, 0.001, 0);
+  }
+
+  @Test
+  public void interpolate_extrapolatesDistancesWithSpeed() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 10, 0);
+
+    interpolator.interpolate(NANOS_PER_SECOND / 2);
+
+    assertEquals(55, interpolator.stepDistanceTraveled(), DELTA);
+    assertEquals(stepDistance - 55, interpolator.stepDistanceRemaining(), DELTA);
+    assertEquals(ROUTE_DISTANCE - 55, interpolator.distanceRemaining(), DELTA);
+    assertEquals(ROUTE_DURATION * (ROUTE_DISTANCE - 55) / ROUTE_DISTANCE, interpolator.durationRemaining(), DELTA);
+  }
+
+  @Test
+  public void interpolate_positionFollowsStepGeometry() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(stepDistance / 2), 0, 0);
+
+    interpolator.interpolate(0);
+
+    assertEquals(0.001, interpolator.longitude(), DELTA);
+    assertEquals(0, interpolator.latitude(), DELTA);
+    assertEquals(90, interpolator.bearing(), DELTA);
+  }
+
+  @Test
+  public void interpolate_doesNotPassStepEnd() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(stepDistance - 10), 30, 0);
+
+    interpolator.interpolate(NANOS_PER_SECOND);
+
+    assertEquals(stepDistance, interpolator.stepDistanceTraveled(), DELTA);
+    assertEquals(0, interpolator.stepDistanceRemaining(), DELTA);
+    assertEquals(0.002, interpolator.longitude(), DELTA);
+  }
+
+  @Test
+  public void interpolate_stopsAfterMaximumExtrapolation() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 10, 0);
+
+    boolean isChanging = interpolator.interpolate(5 * NANOS_PER_SECOND);
+
+    assertFalse(isChanging);
+    assertEquals(70, interpolator.stepDistanceTraveled(), DELTA);
+  }
+
+  @Test
+  public void interpolate_movingUserKeepsChanging() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 10, 0);
+
+    boolean isChanging = interpolator.interpolate(NANOS_PER_SECOND / 2);
+
+    assertTrue(isChanging);
+  }
+
+  @Test
+  public void interpolate_stoppedUserSettles() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 0, 0);
+
+    boolean isChanging = interpolator.interpolate(0);
+
+    assertFalse(isChanging);
+  }
+
+  @Test
+  public void update_differenceToPredictionIsBlendedOut() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 10, 0);
+    interpolator.update(buildSnapshot(55), 10, NANOS_PER_SECOND);
+
+    interpolator.interpolate(NANOS_PER_SECOND);
+    double traveledWhenUpdated = interpolator.stepDistanceTraveled();
+    interpolator.interpolate(2 * NANOS_PER_SECOND);
+    double traveledAfterCorrection = interpolator.stepDistanceTraveled();
+
+    assertEquals(60, traveledWhenUpdated, DELTA);
+    assertEquals(65, traveledAfterCorrection, DELTA);
+  }
+
+  @Test
+  public void update_newStepStartsOverFromSnapshot() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), 10, 0);
+    List<Point> nextStepPoints = new ArrayList<>(stepPoints);
+    MutableRouteProgressSnapshot nextStepSnapshot = buildSnapshot(5);
+    nextStepSnapshot.updateGeometry(nextStepPoints, null, null, null);
+    interpolator.update(nextStepSnapshot, 10, NANOS_PER_SECOND);
+
+    interpolator.interpolate(NANOS_PER_SECOND);
+
+    assertEquals(5, interpolator.stepDistanceTraveled(), DELTA);
+  }
+
+  @Test
+  public void update_unknownSpeedIsDerivedFromSnapshots() {
+    RouteProgressInterpolator interpolator = new RouteProgressInterpolator();
+    interpolator.update(buildSnapshot(50), RouteProgressInterpolator.UNKNOWN_SPEED, 0);
+    interpolator.update(buildSnapshot(60), RouteProgressInterpolator.UNKNOWN_SPEED, NANOS_PER_SECOND);
+
+    interpolator.interpolate(2 * NANOS_PER_SECOND);
+
+    assertEquals(70, interpolator.stepDistanceTraveled(), DELTA);
+  }
+
+  private MutableRouteProgressSnapshot buildSnapshot(double stepDistanceTraveled) {
+    MutableRouteProgressSnapshot snapshot = new MutableRouteProgressSnapshot();
+    snapshot.update(route, 0, 0, ROUTE_DISTANCE - stepDistanceTraveled, ROUTE_DISTANCE - stepDistanceTraveled,
+      ROUTE_DURATION, stepDistance - stepDistanceTraveled, stepDistanceTraveled);
+    snapshot.updateGeometry(stepPoints, null, null, null);
+    return snapshot;
+  }
+}
@@ -0,0 +1,66 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class RouteProgressSnapshotPoolTest {
+
+  @Test
+  public void obtain_returnsDifferentSnapshotsWhileInUse() {
+    RouteProgressSnapshotPool pool = new RouteProgressSnapshotPool(2);
+
+    MutableRouteProgressSnapshot first = pool.obtain();
+    MutableRouteProgressSnapshot second = pool.obtain();
+
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void obtain_allSnapshotsInUseReturnsNull() {
+    RouteProgressSnapshotPool pool = new RouteProgressSnapshotPool(2);
+    pool.obtain();
+    pool.obtain();
+
+    MutableRouteProgressSnapshot snapshot = pool.obtain();
+
+    assertNull(snapshot);
+  }
+
+  @Test
+  public void obtain_dispatchedSnapshotIsRecycled() {
+    RouteProgressSnapshotPool pool = new RouteProgressSnapshotPool(1);
+    MutableRouteProgressSnapshot snapshot = pool.obtain();
+    snapshot.prepareDispatch(mock(RouteProcessorBackgroundThread.Listener.class), mock(Location.class));
+    snapshot.run();
+
+    MutableRouteProgressSnapshot recycledSnapshot = pool.obtain();
+
+    assertSame(snapshot, recycledSnapshot);
+  }
+
+  @Test
+  public void run_snapshotIsSentToListener() {
+    RouteProgressSnapshotPool pool = new RouteProgressSnapshotPool(1);
+    RouteProcessorBackgroundThread.Listener listener = mock(RouteProcessorBackgroundThread.Listener.class);
+    Location location = mock(Location.class);
+    MutableRouteProgressSnapshot snapshot = pool.obtain();
+    snapshot.prepareDispatch(listener, location);
+
+    snapshot.run();
+
+    verify(listener).onNewRouteProgressSnapshot(eq(location), eq((RouteProgressSnapshot) snapshot));
+  }
+}
@@ -0,0 +1,153 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexedOffRouteDetectorTest extends BaseTest {
+
+  private static final double ON_ROUTE = 0;
+  private static final double WITHIN_HALF_RADIUS = 0.00005;
+  private static final double WITHIN_RADIUS = 0.00015;
+  private static final double OUTSIDE_RADIUS = 0.0005;
+
+  private final MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+  private RouteProgress routeProgress;
+  private RouteGeometryIndex geometryIndex;
+
+  @Before
+  public void setUp() throws Exception {
+    RouteProgress defaultRouteProgress = buildDefaultTestRouteProgress();
+    geometryIndex = RouteGeometryIndex.create(defaultRouteProgress.directionsRoute());
+    routeProgress = defaultRouteProgress.toBuilder().routeGeometryIndex(geometryIndex).build();
+  }
+
+  @Test
+  public void isUserOffRoute_locationOnRouteReturnsFalse() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(ON_ROUTE, 0), routeProgress, options);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_shortDeviationReturnsFalse() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgress, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 2000), routeProgress, options);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_deviationLastingSecondsBeforeRerouteReturnsTrue() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgress, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 3000), routeProgress, options);
+
+    assertTrue(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_returningWithinRadiusRestartsDeviation() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgress, options);
+    detector.isUserOffRoute(buildLocation(ON_ROUTE, 2000), routeProgress, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 4000), routeProgress, options);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_staysOffRouteUntilWithinHalfRadius() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgress, options);
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 3000), routeProgress, options);
+
+    boolean isOffRouteWithinRadius = detector.isUserOffRoute(buildLocation(WITHIN_RADIUS, 4000),
+      routeProgress, options);
+    boolean isOffRouteWithinHalfRadius = detector.isUserOffRoute(buildLocation(WITHIN_HALF_RADIUS, 5000),
+      routeProgress, options);
+
+    assertTrue(isOffRouteWithinRadius);
+    assertFalse(isOffRouteWithinHalfRadius);
+  }
+
+  @Test
+  public void isUserOffRoute_backingUpAlongRouteReturnsTrue() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+    detector.isUserOffRoute(buildLocation(0, 2, 0, 0), routeProgress, options);
+
+    detector.isUserOffRoute(buildLocation(0, 1, 0, 1000), routeProgress, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(0, 1, 0, 4000), routeProgress, options);
+
+    assertTrue(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_movingForwardAlongRouteReturnsFalse() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+    detector.isUserOffRoute(buildLocation(0, 1, 0, 0), routeProgress, options);
+
+    detector.isUserOffRoute(buildLocation(0, 2, 0, 1000), routeProgress, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(0, 2, 0, 4000), routeProgress, options);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_newRouteResetsOffRoute() {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgress, options);
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 3000), routeProgress, options);
+    RouteProgress newRouteProgress = routeProgress.toBuilder()
+      .routeGeometryIndex(RouteGeometryIndex.create(routeProgress.directionsRoute()))
+      .build();
+
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 4000), newRouteProgress, options);
+
+    assertFalse(isOffRoute);
+  }
+
+  @Test
+  public void isUserOffRoute_withoutGeometryIndexReturnsFalse() throws Exception {
+    IndexedOffRouteDetector detector = new IndexedOffRouteDetector();
+    RouteProgress routeProgressWithoutIndex = buildDefaultTestRouteProgress();
+
+    detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 0), routeProgressWithoutIndex, options);
+    boolean isOffRoute = detector.isUserOffRoute(buildLocation(OUTSIDE_RADIUS, 3000), routeProgressWithoutIndex,
+      options);
+
+    assertFalse(isOffRoute);
+  }
+
+  private Location buildLocation(double latitudeOffset, long time) {
+    Location location = buildLocation(0, 1, 0, time);
+    when(location.getLatitude()).thenReturn(geometryIndex.latitude(0, 1, 0) + latitudeOffset);
+    return location;
+  }
+
+  private Location buildLocation(int legIndex, int stepIndex, int pointIndex, long time) {
+    Location location = mock(Location.class);
+    when(location.getLongitude()).thenReturn(geometryIndex.longitude(legIndex, stepIndex, pointIndex));
+    when(location.getLatitude()).thenReturn(geometryIndex.latitude(legIndex, stepIndex, pointIndex));
+    when(location.getAccuracy()).thenReturn(10f);
+    when(location.getTime()).thenReturn(time);
+    return location;
+  }
+}
@@ -0,0 +1,90 @@
+package com.mapbox.services.android.navigation.v5.snap;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.RouteSegmentMatch;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, manifest = Config.DEFAULT_MANIFEST_NAME)
+public class IndexedSnapToRouteTest extends BaseTest {
+
+  private static final double WITHIN_RADIUS = 0.00005;
+  private static final double OUTSIDE_RADIUS = 0.0005;
+
+  private RouteProgress routeProgress;
+  private RouteGeometryIndex geometryIndex;
+
+  @Before
+  public void setUp() throws Exception {
+    RouteProgress defaultRouteProgress = buildDefaultTestRouteProgress();
+    geometryIndex = RouteGeometryIndex.create(defaultRouteProgress.directionsRoute());
+    routeProgress = defaultRouteProgress.toBuilder().routeGeometryIndex(geometryIndex).build();
+  }
+
+  @Test
+  public void getSnappedLocation_locationWithinRadiusIsSnappedToRoute() {
+    IndexedSnapToRoute snap = new IndexedSnapToRoute();
+    Location location = buildLocation(WITHIN_RADIUS);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    geometryIndex.segmentIndex().findNearestSegmentOnLeg(location.getLongitude(), location.getLatitude(), 0, match);
+
+    Location snappedLocation = snap.getSnappedLocation(location, routeProgress);
+
+    assertEquals("IndexedSnappedLocation", snappedLocation.getProvider());
+    assertEquals(match.longitude(), snappedLocation.getLongitude(), DELTA);
+    assertEquals(match.latitude(), snappedLocation.getLatitude(), DELTA);
+  }
+
+  @Test
+  public void getSnappedLocation_locationWithoutBearingTakesRouteBearing() {
+    IndexedSnapToRoute snap = new IndexedSnapToRoute();
+    Location location = buildLocation(WITHIN_RADIUS);
+    RouteSegmentMatch match = new RouteSegmentMatch();
+    geometryIndex.segmentIndex().findNearestSegmentOnLeg(location.getLongitude(), location.getLatitude(), 0, match);
+
+    Location snappedLocation = snap.getSnappedLocation(location, routeProgress);
+
+    assertEquals(match.bearing(), snappedLocation.getBearing(), LARGE_DELTA);
+  }
+
+  @Test
+  public void getSnappedLocation_locationOutsideRadiusIsReturnedUnchanged() {
+    IndexedSnapToRoute snap = new IndexedSnapToRoute();
+    Location location = buildLocation(OUTSIDE_RADIUS);
+
+    Location snappedLocation = snap.getSnappedLocation(location, routeProgress);
+
+    assertSame(location, snappedLocation);
+  }
+
+  @Test
+  public void getSnappedLocation_withoutGeometryIndexReturnsLocation() throws Exception {
+    IndexedSnapToRoute snap = new IndexedSnapToRoute();
+    Location location = buildLocation(WITHIN_RADIUS);
+
+    Location snappedLocation = snap.getSnappedLocation(location, buildDefaultTestRouteProgress());
+
+    assertSame(location, snappedLocation);
+  }
+
+  private Location buildLocation(double latitudeOffset) {
+    Location location = new Location("test");
+    location.setLongitude(geometryIndex.longitude(0, 1, 0));
+    location.setLatitude(geometryIndex.latitude(0, 1, 0) + latitudeOffset);
+    location.setAccuracy(10f);
+    return location;
+  }
+}
@@ -1,10 +1,12 @@
 package com.mapbox.services.android.navigation.v5.utils;
 
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.StepManeuver;
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 
 import org.junit.Test;
 
@@ -56,6 +58,20 @@ public class MeasurementUtilsTest extends BaseTest {
     assertEquals(0.04457271773629306d, distance, DELTA);
   }
 
+  @Test
+  public void userTrueDistanceFromStep_geometryIndexMatchesDecodedStep() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = RouteGeometryIndex.create(route);
+    LegStep step = route.legs().get(0).steps().get(1);
+    Point stepPoint = geometryIndex.stepPoints(0, 1).get(1);
+    Point userPoint = Point.fromLngLat(stepPoint.longitude() + 0.0002, stepPoint.latitude() - 0.0001);
+
+    double expectedDistance = MeasurementUtils.userTrueDistanceFromStep(userPoint, step);
+    double distance = MeasurementUtils.userTrueDistanceFromStep(userPoint, geometryIndex, 0, 1);
+
+    assertEquals(expectedDistance, distance, LARGE_DELTA);
+  }
+
   private LegStep getLegStep(double[] rawLocation, List<Point> geometryPoints) {
     return LegStep.builder()
       .geometry(PolylineUtils.encode(geometryPoints, PRECISION_6))